@@ -30,6 +30,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.icgc.dcc.release.client.cli.Options;
 import org.icgc.dcc.release.client.core.Workflow;
 import org.icgc.dcc.release.client.core.WorkflowContext;
+import org.icgc.dcc.release.client.plan.WorkflowPlanner;
 import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
 import org.springframework.boot.builder.SpringApplicationBuilder;
 import org.springframework.context.annotation.ComponentScan;
@@ -81,10 +82,17 @@ public class ClientMain {
 
   private static void execute(Options options, String[] args) {
     val applicationContext = new SpringApplicationBuilder(ClientMain.class).web(false).run(args);
-    val workflow = applicationContext.getBean(Workflow.class);
     val workflowContext = createWorkflowContext(options);
     log.info("{}\n", repeat("-", 100));
 
+    if (options.plan) {
+      val planner = applicationContext.getBean(WorkflowPlanner.class);
+      planner.plan(workflowContext);
+
+      return;
+    }
+
+    val workflow = applicationContext.getBean(Workflow.class);
     workflow.execute(workflowContext);
   }
 
@@ -45,6 +45,8 @@ public class Options {
   public String release;
   @Parameter(names = { "--compress-output" }, arity = 1, required = false, description = "Sets if the output should be compressed.")
   public boolean compressOutput = true;
+  @Parameter(names = { "--plan" }, description = "Only estimate input sizes, partitions, broadcasts and executor memory of the jobs without running them.")
+  public boolean plan;
 
   /**
    * Info
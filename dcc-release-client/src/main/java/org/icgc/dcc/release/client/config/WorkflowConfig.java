@@ -22,6 +22,8 @@ import java.util.concurrent.Executors;
 
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.spark.api.java.JavaSparkContext;
+import org.apache.spark.storage.StorageLevel;
+import org.icgc.dcc.release.core.job.DatasetCache;
 import org.icgc.dcc.release.core.task.TaskExecutor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
@@ -50,6 +52,12 @@ public class WorkflowConfig {
     }
   }
 
+  @Bean
+  public DatasetCache datasetCache(
+      @Value("${workflow.cacheStorageLevel:MEMORY_AND_DISK_SER}") String cacheStorageLevel) {
+    return new DatasetCache(StorageLevel.fromString(cacheStorageLevel));
+  }
+
   @Bean
   public TaskExecutor taskExecutor(ExecutorService executor, JavaSparkContext sparkContext, FileSystem fileSystem) {
     return new TaskExecutor(executor, sparkContext, fileSystem);
@@ -25,6 +25,7 @@ import org.icgc.dcc.release.core.config.SnpEffProperties;
 import org.icgc.dcc.release.job.document.config.DocumentProperties;
 import org.icgc.dcc.release.job.export.config.ExportProperties;
 import org.icgc.dcc.release.job.id.config.IdProperties;
+import org.icgc.dcc.release.job.image.config.ImageProperties;
 import org.icgc.dcc.release.job.imports.config.MongoProperties;
 import org.icgc.dcc.release.job.index.config.IndexProperties;
 import org.springframework.boot.context.properties.ConfigurationProperties;
@@ -90,6 +91,12 @@ public class WorkflowProperties {
     return new IdProperties();
   }
 
+  @Bean
+  @ConfigurationProperties(prefix = "image")
+  public ImageProperties imageProperties() {
+    return new ImageProperties();
+  }
+
   @Data
   public static class SparkProperties {
 
@@ -28,13 +28,15 @@ import lombok.RequiredArgsConstructor;
 import lombok.val;
 import lombok.extern.slf4j.Slf4j;
 
-import org.apache.hadoop.fs.Path;
 import org.icgc.dcc.release.client.mail.Mailer;
+import org.icgc.dcc.release.core.job.DatasetCache;
 import org.icgc.dcc.release.core.job.DefaultJobContext;
 import org.icgc.dcc.release.core.job.Job;
 import org.icgc.dcc.release.core.job.JobContext;
 import org.icgc.dcc.release.core.job.JobSummary;
 import org.icgc.dcc.release.core.job.JobType;
+import org.icgc.dcc.release.core.submission.SubmissionFile;
+import org.icgc.dcc.release.core.submission.SubmissionFileManifest;
 import org.icgc.dcc.release.core.submission.SubmissionFileSchema;
 import org.icgc.dcc.release.core.submission.SubmissionFileSystem;
 import org.icgc.dcc.release.core.submission.SubmissionMetadataService;
@@ -44,8 +46,6 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
 
-import com.google.common.collect.Table;
-
 @Slf4j
 @Lazy
 @Service
@@ -62,6 +62,8 @@ public class Workflow {
   @NonNull
   private final TaskExecutor taskExecutor;
   @NonNull
+  private final DatasetCache datasetCache;
+  @NonNull
   private final Mailer mailer;
 
   /**
@@ -76,12 +78,16 @@ public class Workflow {
 
     val submissionFiles = resolveSubmissionFiles(workflowContext);
 
-    executeJobs(submissionFiles, workflowContext);
+    try {
+      executeJobs(submissionFiles, workflowContext);
+    } finally {
+      datasetCache.clear();
+    }
 
     log.info("Finished executing workflow in {}", watch);
   }
 
-  private void executeJobs(Table<String, String, List<Path>> submissionFiles, WorkflowContext workflowContext) {
+  private void executeJobs(SubmissionFileManifest submissionFiles, WorkflowContext workflowContext) {
     for (val jobType : JobType.getTopologicalSortOrder()) {
       // Filter
       val included = workflowContext.isIncluded(jobType);
@@ -120,17 +126,18 @@ public class Workflow {
     }
   }
 
-  private Table<String, String, List<Path>> resolveSubmissionFiles(WorkflowContext workflowContext) {
-    return new LazyTable<String, String, List<Path>>(() -> {
+  private SubmissionFileManifest resolveSubmissionFiles(WorkflowContext workflowContext) {
+    // Resolved once on first use and shared by all jobs
+    return new SubmissionFileManifest(new LazyTable<String, String, List<SubmissionFile>>(() -> {
       List<SubmissionFileSchema> metadata = submissionMetadata.getMetadata();
 
       return submissionFileSystem.getFiles(workflowContext.getReleaseDir(), workflowContext.getProjectNames(),
           metadata);
-    });
+    }));
   }
 
   private JobContext createJobContext(JobType type, WorkflowContext workflowContext,
-      Table<String, String, List<Path>> submissionFiles) {
+      SubmissionFileManifest submissionFiles) {
     return new DefaultJobContext(
         type,
         workflowContext.getReleaseName(),
@@ -138,6 +145,7 @@ public class Workflow {
         workflowContext.getReleaseDir(),
         workflowContext.getWorkingDir(),
         submissionFiles,
+        datasetCache,
         taskExecutor,
         workflowContext.isCompressOutput());
   }
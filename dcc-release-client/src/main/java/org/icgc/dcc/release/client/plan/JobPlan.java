@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2015 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.release.client.plan;
+
+import java.util.List;
+
+import lombok.Value;
+
+import org.icgc.dcc.release.core.job.JobType;
+
+/**
+ * Estimated cost of a job, as the aggregate of its {@link TaskPlan}s.
+ */
+@Value
+public class JobPlan {
+
+  JobType type;
+  List<TaskPlan> tasks;
+
+  public long getInputBytes() {
+    return tasks.stream().mapToLong(TaskPlan::getInputBytes).sum();
+  }
+
+  public long getOutputBytes() {
+    return tasks.stream().mapToLong(TaskPlan::getOutputBytes).sum();
+  }
+
+  public int getPartitions() {
+    return tasks.stream().mapToInt(TaskPlan::getPartitions).sum();
+  }
+
+  public long getBroadcastBytes() {
+    return tasks.stream().mapToLong(TaskPlan::getBroadcastBytes).max().orElse(0L);
+  }
+
+  public long getExecutorMemory() {
+    return tasks.stream().mapToLong(TaskPlan::getExecutorMemory).max().orElse(0L);
+  }
+
+}
@@ -0,0 +1,371 @@
+/*
+ * Copyright (c) 2015 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.release.client.plan;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Stopwatch.createStarted;
+import static com.google.common.base.Strings.repeat;
+import static java.lang.String.format;
+import static org.icgc.dcc.common.core.util.Formats.formatBytes;
+
+import java.util.List;
+import java.util.Map;
+
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
+import lombok.Value;
+import lombok.val;
+import lombok.extern.slf4j.Slf4j;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.icgc.dcc.release.client.config.WorkflowProperties.HadoopProperties;
+import org.icgc.dcc.release.client.core.WorkflowContext;
+import org.icgc.dcc.release.core.config.SnpEffProperties;
+import org.icgc.dcc.release.core.job.FileType;
+import org.icgc.dcc.release.core.job.Job;
+import org.icgc.dcc.release.core.job.JobType;
+import org.icgc.dcc.release.core.submission.SubmissionFile;
+import org.icgc.dcc.release.core.submission.SubmissionFileManifest;
+import org.icgc.dcc.release.core.submission.SubmissionFileSystem;
+import org.icgc.dcc.release.core.submission.SubmissionMetadataService;
+import org.icgc.dcc.release.core.task.TaskSpec;
+import org.icgc.dcc.release.core.util.Configurations;
+import org.icgc.dcc.release.core.util.Partitions;
+import org.icgc.dcc.release.job.annotate.function.SnpEffAnnotate;
+import org.icgc.dcc.release.job.annotate.snpeff.SnpEffPredictorPool;
+import org.icgc.dcc.release.job.annotate.util.VariantCosts;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Service;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Maps;
+
+/**
+ * Dry-run of the workflow. Walks the jobs in topological order and estimates input / output sizes, partitions,
+ * broadcast sizes and executor memory of each task declared by {@link Job#getTaskSpecs()}, without running any of them.
+ * <p>
+ * Sizes of existing inputs are measured on the file system. Outputs of the planned jobs are assumed to be as large as
+ * their previous run if it exists, or as large as their inputs otherwise, and are carried forward to the downstream
+ * jobs.
+ */
+@Slf4j
+@Lazy
+@Service
+@RequiredArgsConstructor(onConstructor = @__({ @Autowired }))
+public class WorkflowPlanner {
+
+  /**
+   * Estimated in-memory size of a record relative to its serialized size.
+   */
+  private static final int EXPANSION_FACTOR = 4;
+
+  /**
+   * Estimated size of the Elasticsearch index relative to the documents it is built from (stored source plus inverted
+   * indices).
+   */
+  private static final int INDEX_VOLUME_FACTOR = 3;
+
+  /**
+   * Estimated memory of a variant and its secondary entities while buffered in a batch of {@link SnpEffAnnotate}.
+   */
+  private static final long SNPEFF_ANNOTATED_VARIANT_MEMORY = 2L * 1024L;
+
+  /**
+   * Dependencies.
+   */
+  @NonNull
+  private final SubmissionMetadataService submissionMetadata;
+  @NonNull
+  private final HadoopProperties hadoop;
+  @NonNull
+  private final SnpEffProperties snpEff;
+  @NonNull
+  private final List<Job> jobs;
+
+  @SneakyThrows
+  public List<JobPlan> plan(@NonNull WorkflowContext workflowContext) {
+    val watch = createStarted();
+    log.info("Planning workflow...");
+
+    // Measured with the configured Hadoop properties only, not the ones the jobs add for their inputs / outputs
+    val conf = new Configuration();
+    Configurations.setAll(conf, hadoop.getProperties());
+    val fileSystem = FileSystem.get(conf);
+
+    val planner = new Planner(fileSystem, workflowContext);
+    val plans = ImmutableList.<JobPlan> builder();
+    for (val jobType : JobType.getTopologicalSortOrder()) {
+      if (workflowContext.isIncluded(jobType)) {
+        plans.add(planner.planJob(jobType));
+      }
+    }
+
+    val result = plans.build();
+    logPlans(result);
+
+    log.info("Finished planning workflow in {}", watch);
+    return result;
+  }
+
+  private static void logPlans(List<JobPlan> plans) {
+    log.info("{}", repeat("-", 100));
+    log.info(formatRow("Job / Task", "Input", "Output", "Partitions", "Broadcast", "Executor Memory"));
+    log.info("{}", repeat("-", 100));
+    for (val plan : plans) {
+      log.info(formatRow(plan.getType().name(), formatBytes(plan.getInputBytes()), formatBytes(plan.getOutputBytes()),
+          String.valueOf(plan.getPartitions()), formatBytes(plan.getBroadcastBytes()),
+          formatBytes(plan.getExecutorMemory())));
+
+      for (val task : plan.getTasks()) {
+        val name = "  " + task.getName() + (task.isEstimated() ? " *" : "");
+        log.info(formatRow(name, formatBytes(task.getInputBytes()), formatBytes(task.getOutputBytes()),
+            String.valueOf(task.getPartitions()), formatBytes(task.getBroadcastBytes()),
+            formatBytes(task.getExecutorMemory())));
+      }
+    }
+
+    log.info("{}", repeat("-", 100));
+    log.info("* input size carried forward from an upstream job which has not run yet");
+  }
+
+  private static String formatRow(Object... values) {
+    return format("%-40s %12s %12s %12s %12s %16s", values);
+  }
+
+  @RequiredArgsConstructor
+  private class Planner {
+
+    @NonNull
+    private final FileSystem fileSystem;
+    @NonNull
+    private final WorkflowContext workflowContext;
+
+    /**
+     * Sizes of the outputs of the already planned jobs.
+     */
+    private final Map<FileType, Size> estimates = Maps.newEnumMap(FileType.class);
+
+    private JobPlan planJob(JobType jobType) {
+      val tasks = jobType == JobType.STAGE ? planStageTasks() : planTasks(jobType);
+
+      return new JobPlan(jobType, tasks);
+    }
+
+    private List<TaskPlan> planStageTasks() {
+      val metadata = submissionMetadata.getMetadata();
+      val submissionFiles = new SubmissionFileManifest(new SubmissionFileSystem(fileSystem)
+          .getFiles(workflowContext.getReleaseDir(), workflowContext.getProjectNames(), metadata));
+
+      val tasks = ImmutableList.<TaskPlan> builder();
+      for (val schemaName : submissionFiles.getSchemaNames()) {
+        for (val entry : submissionFiles.getSchemaFiles(schemaName).entrySet()) {
+          val input = measureSubmissionFiles(entry.getValue());
+          val outputFileType = FileType.getFileType(schemaName);
+          addEstimate(outputFileType, new Size(input.getBytes(), input.getSplits(), true));
+
+          val name = schemaName + ":" + entry.getKey();
+          tasks.add(createTaskPlan(name, input, input.getBytes(), 0L, 0L));
+        }
+      }
+
+      return tasks.build();
+    }
+
+    /**
+     * Same split selection as {@code IndexedGzipTextInputFormat}, which splits every file larger than a block: gzip
+     * files on their index, assuming it can be built, and all other files by their codec.
+     */
+    private Size measureSubmissionFiles(List<SubmissionFile> files) {
+      long bytes = 0;
+      int splits = 0;
+      for (val file : files) {
+        bytes += file.getLength();
+        splits += Partitions.getSplitsCount(file.getLength(), file.getBlockSize(), true);
+      }
+
+      return new Size(bytes, splits, false);
+    }
+
+    private List<TaskPlan> planTasks(JobType jobType) {
+      val plannedOutputs = Maps.<FileType, Size> newEnumMap(FileType.class);
+      val tasks = ImmutableList.<TaskPlan> builder();
+      for (val spec : findJob(jobType).getTaskSpecs()) {
+        tasks.add(planTask(jobType, spec, plannedOutputs));
+      }
+
+      // Outputs become visible to the downstream jobs only
+      estimates.putAll(plannedOutputs);
+
+      return tasks.build();
+    }
+
+    private TaskPlan planTask(JobType jobType, TaskSpec spec, Map<FileType, Size> plannedOutputs) {
+      val input = getSize(spec.getInputs());
+      val partitioned = spec.isCombined() ? combine(input) : input;
+
+      long outputBytes = 0;
+      for (val outputFileType : spec.getOutputs()) {
+        val previous = measure(outputFileType);
+        val output = previous.getBytes() > 0 ? previous : input;
+        plannedOutputs.put(outputFileType, new Size(output.getBytes(), output.getSplits(), true));
+        outputBytes += output.getBytes();
+      }
+
+      if (jobType == JobType.INDEX) {
+        // Written to Elasticsearch rather than to the working dir
+        outputBytes += input.getBytes() * INDEX_VOLUME_FACTOR;
+      } else if (jobType == JobType.EXPORT) {
+        // Written to the export dir rather than to the working dir
+        outputBytes += input.getBytes();
+      }
+
+      val broadcastBytes = getSize(spec.getBroadcasts()).getBytes();
+      val overhead = jobType == JobType.ANNOTATE ? getSnpEffMemory() : 0L;
+
+      return createTaskPlan(spec.getName(), partitioned, outputBytes, broadcastBytes, overhead);
+    }
+
+    private TaskPlan createTaskPlan(String name, Size input, long outputBytes, long broadcastBytes, long overhead) {
+      val partitionBytes = input.getSplits() == 0 ? 0L : (input.getBytes() + input.getSplits() - 1) / input.getSplits();
+      val executorMemory = (partitionBytes + broadcastBytes) * EXPANSION_FACTOR + overhead;
+
+      return new TaskPlan(name, input.getBytes(), outputBytes, input.getSplits(), broadcastBytes, executorMemory,
+          input.isEstimated());
+    }
+
+    /**
+     * SnpEff memory of an executor for one annotated file type: the pooled predictors plus the batch of variants
+     * buffered by the running task. Embedded predictors share a single SnpEff database in the executor heap.
+     */
+    private long getSnpEffMemory() {
+      val predictors = SnpEffPredictorPool.isEmbedded(snpEff) ? 1 : snpEff.getPredictorPoolSize();
+      val predictorsMemory = predictors * snpEff.getProcessMemoryMb() * 1024L * 1024L;
+      val batchMemory = SnpEffAnnotate.BATCH_SIZE * SNPEFF_ANNOTATED_VARIANT_MEMORY;
+
+      return predictorsMemory + batchMemory;
+    }
+
+    /**
+     * Same split size as {@code GenericTask.readInput(TaskContext, FileType, int)} used by the annotate job, which
+     * then raises the partition count until each partition stays under {@code snpeff.maxPartitionCost}. The type of the
+     * variants is unknown here, so each one is charged the most expensive one.
+     */
+    private Size combine(Size input) {
+      if (input.getBytes() == 0) {
+        return new Size(0L, 0, input.isEstimated());
+      }
+
+      val splitSize = Partitions.getSplitSize(snpEff.getMaxFileSizeMb());
+      val splits = Partitions.getSplitsCount(input.getBytes(), splitSize, true);
+
+      val variants = input.getBytes() / snpEff.getEstimatedObservationBytes();
+      val cost = variants * VariantCosts.getMaxCost();
+      long maxPartitionCost = snpEff.getMaxPartitionCost();
+      val costSplits = (int) ((cost + maxPartitionCost - 1) / maxPartitionCost);
+
+      return new Size(input.getBytes(), Math.max(splits, costSplits), input.isEstimated());
+    }
+
+    private Size getSize(List<FileType> fileTypes) {
+      Size total = Size.EMPTY;
+      for (val fileType : fileTypes) {
+        val estimate = estimates.get(fileType);
+        total = total.plus(estimate != null ? estimate : measure(fileType));
+      }
+
+      return total;
+    }
+
+    private void addEstimate(FileType fileType, Size size) {
+      estimates.merge(fileType, size, Size::plus);
+    }
+
+    private Size measure(FileType fileType) {
+      val dir = new Path(workingDir(), fileType.getDirName());
+      if (!fileType.isPartitioned()) {
+        return measure(dir);
+      }
+
+      Size total = Size.EMPTY;
+      for (val projectName : workflowContext.getProjectNames()) {
+        total = total.plus(measure(new Path(dir, Partitions.getPartitionName(projectName))));
+      }
+
+      return total;
+    }
+
+    @SneakyThrows
+    private Size measure(Path dir) {
+      if (!fileSystem.exists(dir)) {
+        return Size.EMPTY;
+      }
+
+      long bytes = 0;
+      int splits = 0;
+      val files = fileSystem.listFiles(dir, true);
+      while (files.hasNext()) {
+        val file = files.next();
+        if (isHidden(file.getPath())) {
+          continue;
+        }
+
+        bytes += file.getLen();
+        splits += Partitions.getSplitsCount(file.getLen(), file.getBlockSize(), true);
+      }
+
+      return new Size(bytes, splits, false);
+    }
+
+    private Path workingDir() {
+      return new Path(workflowContext.getWorkingDir());
+    }
+
+  }
+
+  private Job findJob(JobType jobType) {
+    val result = jobs.stream().filter(job -> job.getType() == jobType).findFirst();
+    checkArgument(result.isPresent(), "Job type '%s' unavailable in '%s'", jobType, jobs);
+
+    return result.get();
+  }
+
+  private static boolean isHidden(Path path) {
+    val name = path.getName();
+    return name.startsWith("_") || name.startsWith(".");
+  }
+
+  @Value
+  private static class Size {
+
+    static final Size EMPTY = new Size(0L, 0, false);
+
+    long bytes;
+    int splits;
+    boolean estimated;
+
+    Size plus(Size other) {
+      return new Size(bytes + other.bytes, splits + other.splits, estimated || other.estimated);
+    }
+
+  }
+
+}
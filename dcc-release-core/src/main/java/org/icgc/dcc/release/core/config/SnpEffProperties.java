@@ -35,10 +35,65 @@ public class SnpEffProperties implements Serializable {
    */
   private File resourceDir;
   private String resourceUrl;
+
+  /**
+   * Repository root the SnpEff jar is resolved from. Like {@link #resourceUrl}, may be a {@code file:} URL of a local
+   * mirror for offline runs.
+   */
+  private String jarResourceUrl = "https://artifacts.oicr.on.ca/artifactory/simple/dcc-dependencies";
   private String version;
   private String databaseVersion;
   private String referenceGenomeVersion;
   private String geneBuildVersion;
   private int maxFileSizeMb;
 
+  /**
+   * Number of variants kept in flight to the SnpEff process.
+   */
+  private int predictionWindowSize = 1000;
+
+  /**
+   * Maximum number of SnpEff processes kept running per executor and file type. Each one needs
+   * {@link #processMemoryMb}.
+   */
+  private int predictorPoolSize = 2;
+
+  /**
+   * Heap of a forked SnpEff process, in MB. Also used to plan the executor memory of the annotate job.
+   */
+  private int processMemoryMb = 4096;
+
+  /**
+   * Rough compressed size of an annotate input observation, in bytes. Used to estimate the number of variants of an
+   * input when planning.
+   */
+  private int estimatedObservationBytes = 100;
+
+  /**
+   * Minutes after which an executor stops a SnpEff process nobody borrowed, e.g. once the annotate job finished.
+   */
+  private int predictorIdleTimeoutMinutes = 5;
+
+  /**
+   * Minutes a partition waits for a SnpEff process of an exhausted pool before failing.
+   */
+  private int predictorBorrowTimeoutMinutes = 60;
+
+  /**
+   * Upper bound on the annotation cost of a partition, in single base substitution equivalents. Indels count more.
+   */
+  private int maxPartitionCost = 200000;
+
+  /**
+   * Whether SnpEff runs inside the executor JVM rather than in forked processes. Requires SnpEff 4.1 or 4.2, otherwise
+   * processes are forked, and a {@link #databaseVersion} of the same version. The database is then loaded once per
+   * executor and shared by its pooled predictors.
+   */
+  private boolean embedded;
+
+  /**
+   * Directory of the persistent variant annotation cache reused across releases. Disabled when not set.
+   */
+  private String annotationCacheDir;
+
 }
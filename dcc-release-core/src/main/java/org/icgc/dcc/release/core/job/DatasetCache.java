@@ -0,0 +1,190 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.release.core.job;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import lombok.AllArgsConstructor;
+import lombok.NonNull;
+import lombok.Value;
+import lombok.val;
+import lombok.extern.slf4j.Slf4j;
+
+import org.apache.spark.api.java.JavaRDD;
+import org.apache.spark.storage.StorageLevel;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+
+/**
+ * Workflow scoped cache of {@link FileType} inputs that are read by more than one task.
+ * <p>
+ * Jobs register the number of consumers of a dataset up front. The first consumer persists the dataset of its project,
+ * the following consumers reuse the persisted partitions and the dataset is unpersisted once the last registered
+ * consumer has finished. Datasets without registered consumers are read directly.
+ * <p>
+ * Only serialized storage levels are accepted, so every consumer deserializes its own copy of the rows and is free to
+ * modify them.
+ */
+@Slf4j
+public class DatasetCache {
+
+  /**
+   * Constants.
+   */
+  public static final StorageLevel DEFAULT_STORAGE_LEVEL = StorageLevel.MEMORY_AND_DISK_SER();
+
+  /**
+   * Configuration.
+   */
+  private final StorageLevel storageLevel;
+
+  /**
+   * State.
+   */
+  private final Map<DatasetKey, Integer> consumerCounts = Maps.newHashMap();
+  private final Map<ProjectDataset, CachedDataset> datasets = Maps.newHashMap();
+  private final Map<Object, Set<ProjectDataset>> consumerDatasets = Maps.newIdentityHashMap();
+
+  public DatasetCache() {
+    this(DEFAULT_STORAGE_LEVEL);
+  }
+
+  public DatasetCache(@NonNull StorageLevel storageLevel) {
+    checkArgument(!storageLevel.deserialized(), "Cached datasets must be serialized. Storage level: %s",
+        storageLevel.description());
+    this.storageLevel = storageLevel;
+  }
+
+  /**
+   * Registers {@code consumerCount} additional consumers of the dataset identified by {@code key}.
+   */
+  public synchronized void register(@NonNull DatasetKey key, int consumerCount) {
+    checkArgument(consumerCount > 0, "Consumer count must be positive: %s", consumerCount);
+    consumerCounts.merge(key, consumerCount, Integer::sum);
+    log.info("Registered {} consumer(s) of {}", consumerCount, key);
+  }
+
+  /**
+   * Returns the dataset of {@code projectName} identified by {@code key} on behalf of {@code consumer}. The
+   * {@code loader} is only called if the dataset is not cached yet.
+   */
+  public synchronized JavaRDD<ObjectNode> acquire(@NonNull Object consumer, @NonNull DatasetKey key,
+      @NonNull Optional<String> projectName, @NonNull Supplier<JavaRDD<ObjectNode>> loader) {
+    val consumerCount = consumerCounts.get(key);
+    if (consumerCount == null) {
+      return loader.get();
+    }
+
+    val projectDataset = new ProjectDataset(key, projectName);
+    CachedDataset dataset = datasets.get(projectDataset);
+    if (dataset == null) {
+      log.info("Caching {} with storage level {}...", projectDataset, storageLevel.description());
+      dataset = new CachedDataset(loader.get().persist(storageLevel), consumerCount);
+      datasets.put(projectDataset, dataset);
+    }
+
+    consumerDatasets.computeIfAbsent(consumer, c -> Sets.newHashSet()).add(projectDataset);
+
+    return dataset.rdd;
+  }
+
+  /**
+   * Releases all datasets acquired by {@code consumer}. Datasets without remaining consumers are unpersisted.
+   */
+  public synchronized void release(@NonNull Object consumer) {
+    val projectDatasets = consumerDatasets.remove(consumer);
+    if (projectDatasets == null) {
+      return;
+    }
+
+    for (val projectDataset : projectDatasets) {
+      val dataset = datasets.get(projectDataset);
+      if (dataset == null) {
+        continue;
+      }
+
+      dataset.remainingConsumers--;
+      if (dataset.remainingConsumers <= 0) {
+        log.info("Unpersisting {}...", projectDataset);
+        dataset.rdd.unpersist(false);
+        datasets.remove(projectDataset);
+      }
+    }
+  }
+
+  /**
+   * Unpersists all cached datasets and forgets all registrations.
+   */
+  public synchronized void clear() {
+    for (val entry : datasets.entrySet()) {
+      log.info("Unpersisting {}...", entry.getKey());
+      entry.getValue().rdd.unpersist(false);
+    }
+
+    datasets.clear();
+    consumerDatasets.clear();
+    consumerCounts.clear();
+  }
+
+  /**
+   * Identifies a cached dataset by its {@link FileType} and the fields it is projected to. An empty set of fields
+   * denotes the complete rows.
+   */
+  @Value
+  public static class DatasetKey {
+
+    @NonNull
+    FileType fileType;
+    @NonNull
+    Set<String> fields;
+
+    public static DatasetKey datasetKey(@NonNull FileType fileType, @NonNull String... fields) {
+      return new DatasetKey(fileType, ImmutableSet.copyOf(fields));
+    }
+
+    public boolean isProjected() {
+      return !fields.isEmpty();
+    }
+
+  }
+
+  @Value
+  private static class ProjectDataset {
+
+    DatasetKey key;
+    Optional<String> projectName;
+
+  }
+
+  @AllArgsConstructor
+  private static class CachedDataset {
+
+    private final JavaRDD<ObjectNode> rdd;
+    private int remainingConsumers;
+
+  }
+
+}
@@ -22,12 +22,11 @@ import java.util.List;
 
 import lombok.Value;
 
-import org.apache.hadoop.fs.Path;
+import org.icgc.dcc.release.core.submission.SubmissionFileManifest;
 import org.icgc.dcc.release.core.task.Task;
 import org.icgc.dcc.release.core.task.TaskExecutor;
 
 import com.google.common.collect.ImmutableList;
-import com.google.common.collect.Table;
 
 @Value
 public class DefaultJobContext implements JobContext {
@@ -39,7 +38,8 @@ public class DefaultJobContext implements JobContext {
   String releaseDir;
   String workingDir;
 
-  Table<String, String, List<Path>> files;
+  SubmissionFileManifest files;
+  DatasetCache datasetCache;
 
   TaskExecutor executor;
 
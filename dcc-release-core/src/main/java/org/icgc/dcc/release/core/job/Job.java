@@ -17,6 +17,10 @@
  */
 package org.icgc.dcc.release.core.job;
 
+import java.util.List;
+
+import org.icgc.dcc.release.core.task.TaskSpec;
+
 /**
  * Represents a logical unit of processing within a workflow.
  */
@@ -26,4 +30,9 @@ public interface Job {
 
   void execute(JobContext jobContext);
 
+  /**
+   * Describes the tasks {@link #execute(JobContext)} submits, e.g. to plan a workflow without running it.
+   */
+  List<TaskSpec> getTaskSpecs();
+
 }
@@ -20,11 +20,9 @@ package org.icgc.dcc.release.core.job;
 import java.util.Collection;
 import java.util.List;
 
-import org.apache.hadoop.fs.Path;
+import org.icgc.dcc.release.core.submission.SubmissionFileManifest;
 import org.icgc.dcc.release.core.task.Task;
 
-import com.google.common.collect.Table;
-
 public interface JobContext {
 
   JobType getType();
@@ -37,7 +35,9 @@ public interface JobContext {
 
   String getWorkingDir();
 
-  Table<String, String, List<Path>> getFiles();
+  SubmissionFileManifest getFiles();
+
+  DatasetCache getDatasetCache();
 
   void execute(Task... tasks);
 
@@ -18,11 +18,12 @@
 package org.icgc.dcc.release.core.resolver;
 
 import static com.google.common.base.Preconditions.checkState;
+import static org.icgc.dcc.release.core.util.Downloads.download;
 
 import java.io.File;
-import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.util.zip.GZIPInputStream;
@@ -66,18 +67,18 @@ public class ReferenceGenomeResolver extends DirectoryResourceResolver<File> {
     }
 
     log.info("Reference genome '{}' does not exist. Creating...", versionDir.getAbsolutePath());
-    checkState(versionDir.mkdirs(), "Could not make data version directory '%s'", versionDir);
+    checkState(dataDir.exists() || dataDir.mkdirs(), "Could not make data directory '%s'", dataDir);
 
     log.info("Downloading reference genome version '{}'...", version);
-    download(url, versionDir);
+    download(url, versionDir, this::extract);
     log.info("Finished downloading reference genome");
 
     return fastaFile;
   }
 
-  private void download(URL url, File dir) throws IOException, FileNotFoundException {
-    @Cleanup
-    val tar = new TarInputStream(new GZIPInputStream(url.openStream()));
+  private void extract(InputStream input, File dir) throws IOException {
+    // Not closed as the input is owned by the caller
+    val tar = new TarInputStream(new GZIPInputStream(input));
 
     TarEntry entry;
 
@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2015 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.release.core.submission;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.val;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Table;
+
+/**
+ * Index of the submission files of a release, resolved once per workflow and shared by the jobs through the
+ * {@code JobContext}.
+ */
+@RequiredArgsConstructor
+public class SubmissionFileManifest {
+
+  /**
+   * Schema name -> project name -> files.
+   */
+  @NonNull
+  private final Table<String, String, List<SubmissionFile>> files;
+
+  public Set<String> getSchemaNames() {
+    return files.rowKeySet();
+  }
+
+  /**
+   * @return project name -> files of the {@code schemaName}
+   */
+  public Map<String, List<SubmissionFile>> getSchemaFiles(@NonNull String schemaName) {
+    return files.row(schemaName);
+  }
+
+  public List<SubmissionFile> getFiles(@NonNull String schemaName, @NonNull String projectName) {
+    val schemaProjectFiles = files.get(schemaName, projectName);
+    if (schemaProjectFiles == null) {
+      return ImmutableList.of();
+    }
+
+    return ImmutableList.copyOf(schemaProjectFiles);
+  }
+
+}
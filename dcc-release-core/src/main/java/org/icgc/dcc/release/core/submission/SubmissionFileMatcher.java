@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2015 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.release.core.submission;
+
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.val;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+
+/**
+ * Matches file names against the patterns of all submission file schemas at once.
+ * <p>
+ * Patterns are compiled once and bucketed by the first character of their literal prefix, so a file name is only
+ * tested against the patterns it could match.
+ */
+public class SubmissionFileMatcher {
+
+  /**
+   * Constants.
+   */
+  private static final String REGEX_META_CHARACTERS = "\\.[]{}()<>*+-=!?^$|";
+  private static final String OPTIONAL_QUANTIFIERS = "?*{";
+
+  /**
+   * Metadata.
+   */
+  private final Map<Character, List<SchemaPattern>> prefixed = Maps.newHashMap();
+  private final List<SchemaPattern> unprefixed = Lists.newArrayList();
+
+  public SubmissionFileMatcher(@NonNull List<SubmissionFileSchema> schemas) {
+    for (val schema : schemas) {
+      val pattern = schema.getPattern();
+      val schemaPattern = new SchemaPattern(schema.getName(), Pattern.compile(pattern), getLiteralPrefix(pattern));
+
+      if (schemaPattern.prefix.isEmpty()) {
+        unprefixed.add(schemaPattern);
+      } else {
+        prefixed.computeIfAbsent(schemaPattern.prefix.charAt(0), c -> Lists.newArrayList()).add(schemaPattern);
+      }
+    }
+  }
+
+  /**
+   * @return names of the schemas whose pattern matches the whole {@code fileName}
+   */
+  public List<String> match(@NonNull String fileName) {
+    val schemaNames = ImmutableList.<String> builder();
+    if (!fileName.isEmpty()) {
+      val candidates = prefixed.get(fileName.charAt(0));
+      if (candidates != null) {
+        addMatches(candidates, fileName, schemaNames);
+      }
+    }
+
+    addMatches(unprefixed, fileName, schemaNames);
+
+    return schemaNames.build();
+  }
+
+  private static void addMatches(List<SchemaPattern> candidates, String fileName,
+      ImmutableList.Builder<String> schemaNames) {
+    for (val candidate : candidates) {
+      if (fileName.startsWith(candidate.prefix) && candidate.pattern.matcher(fileName).matches()) {
+        schemaNames.add(candidate.schemaName);
+      }
+    }
+  }
+
+  /**
+   * Literal characters every match of {@code pattern} starts with, or an empty string if they can't be determined
+   * safely (top-level alternation, inline flags, ...).
+   */
+  static String getLiteralPrefix(String pattern) {
+    if (hasTopLevelAlternation(pattern)) {
+      return "";
+    }
+
+    val prefix = new StringBuilder();
+    int i = pattern.startsWith("^") ? 1 : 0;
+    for (; i < pattern.length(); i++) {
+      val c = pattern.charAt(i);
+      if (REGEX_META_CHARACTERS.indexOf(c) >= 0) {
+        break;
+      }
+
+      prefix.append(c);
+    }
+
+    // The last literal is optional if it is followed by an optional quantifier
+    if (prefix.length() > 0 && i < pattern.length() && OPTIONAL_QUANTIFIERS.indexOf(pattern.charAt(i)) >= 0) {
+      prefix.setLength(prefix.length() - 1);
+    }
+
+    return prefix.toString();
+  }
+
+  private static boolean hasTopLevelAlternation(String pattern) {
+    int depth = 0;
+    for (int i = 0; i < pattern.length(); i++) {
+      val c = pattern.charAt(i);
+      if (c == '\\') {
+        i++;
+      } else if (c == '(') {
+        depth++;
+      } else if (c == ')') {
+        depth--;
+      } else if (c == '|' && depth == 0) {
+        return true;
+      }
+    }
+
+    return false;
+  }
+
+  @RequiredArgsConstructor
+  private static class SchemaPattern {
+
+    private final String schemaName;
+    private final Pattern pattern;
+    private final String prefix;
+
+  }
+
+}
@@ -21,6 +21,7 @@ import static com.google.common.base.Stopwatch.createStarted;
 import static com.google.common.collect.Lists.newArrayList;
 
 import java.util.List;
+import java.util.Set;
 
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
@@ -34,6 +35,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
 
+import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Table;
 import com.google.common.collect.TreeBasedTable;
 
@@ -52,53 +54,63 @@ public class SubmissionFileSystem {
   @NonNull
   private final FileSystem fileSystem;
 
+  /**
+   * Resolves the submission files of the {@code projectNames} with a single recursive listing of the
+   * {@code releaseDir}.
+   * 
+   * @return schema name -> project name -> files. See {@link SubmissionFileManifest}
+   */
   @NonNull
   @SneakyThrows
-  public Table<String, String, List<Path>> getFiles(String releaseDir, List<String> projectNames,
+  public Table<String, String, List<SubmissionFile>> getFiles(String releaseDir, List<String> projectNames,
       List<SubmissionFileSchema> metadata) {
     val watch = createStarted();
     log.info("Resolving submission files...");
 
-    val table = TreeBasedTable.<String, String, List<Path>> create();
+    val matcher = new SubmissionFileMatcher(metadata);
+    val projects = ImmutableSet.copyOf(projectNames);
+    val table = TreeBasedTable.<String, String, List<SubmissionFile>> create();
     val iterator = fileSystem.listFiles(new Path(releaseDir), true);
 
+    int fileCount = 0;
     while (iterator.hasNext()) {
       val status = iterator.next();
       val path = status.getPath();
+      val projectName = SubmissionFiles.getProjectName(SubmissionFiles.getProjectPath(path));
+      if (!isIncluded(projectName, projects)) {
+        continue;
+      }
 
-      for (val schema : metadata) {
-        val name = path.getName();
-        if (name.matches(schema.getPattern())) {
-          addFile(projectNames, schema, path, table);
-        }
+      for (val schemaName : matcher.match(path.getName())) {
+        val file = new SubmissionFile(path, status.getLen(), status.getBlockSize(), status.getModificationTime());
+        addFile(schemaName, projectName, file, table);
+        fileCount++;
       }
     }
 
-    log.info("Finished resolving submission files in {}", watch);
+    log.info("Finished resolving {} submission files in {}", fileCount, watch);
     return table;
   }
 
-  private void addFile(List<String> projectNames, SubmissionFileSchema schema, Path path,
-      Table<String, String, List<Path>> files) {
-    val schemaName = schema.getName();
-    val projectName = path.getParent().getName();
-    if (isTestProject(projectName)) {
-      // Skip test projects
-      return;
-    }
-
-    if (!projectNames.contains(projectName)) {
-      // Skip unspecified projects
-      return;
-    }
-
-    List<Path> paths = files.get(schemaName, projectName);
+  private static void addFile(String schemaName, String projectName, SubmissionFile file,
+      Table<String, String, List<SubmissionFile>> files) {
+    List<SubmissionFile> paths = files.get(schemaName, projectName);
     if (paths == null) {
       paths = newArrayList();
       files.put(schemaName, projectName, paths);
     }
 
-    paths.add(path);
+    paths.add(file);
+  }
+
+  private static boolean isIncluded(String projectName, Set<String> projectNames) {
+    if (isTestProject(projectName)) {
+      // Skip test projects
+      return false;
+    }
+
+    // Skip unspecified projects
+    return projectNames.contains(projectName);
   }
 
   private static boolean isTestProject(String projectName) {
@@ -26,6 +26,7 @@ import org.apache.spark.api.java.JavaRDD;
 import org.icgc.dcc.release.core.job.FileType;
 
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.collect.ImmutableList;
 
 @Slf4j
 public abstract class GenericProcessTask extends GenericTask {
@@ -51,15 +52,22 @@ public abstract class GenericProcessTask extends GenericTask {
 
     val input = readInput(taskContext);
 
-    val processed = process(input);
+    val processed = process(taskContext, input);
 
     writeOutput(taskContext, processed);
   }
 
+  /**
+   * @return the input and output of the task
+   */
+  public TaskSpec getSpec() {
+    return TaskSpec.of(getName(), ImmutableList.of(inputFileType), ImmutableList.of(outputFileType));
+  }
+
   /**
    * Template method.
    */
-  protected abstract JavaRDD<ObjectNode> process(JavaRDD<ObjectNode> input);
+  protected abstract JavaRDD<ObjectNode> process(TaskContext taskContext, JavaRDD<ObjectNode> input);
 
   protected boolean hasInput(TaskContext taskContext) {
     return taskContext.exists(inputFileType);
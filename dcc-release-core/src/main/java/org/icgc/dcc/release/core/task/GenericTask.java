@@ -22,10 +22,12 @@ import static java.util.Collections.singleton;
 import static org.icgc.dcc.common.core.util.Formats.formatBytes;
 import static org.icgc.dcc.common.core.util.Separators.EMPTY_STRING;
 import static org.icgc.dcc.common.hadoop.fs.HadoopUtils.checkExistence;
+import static org.icgc.dcc.release.core.job.DatasetCache.DatasetKey.datasetKey;
 import static org.icgc.dcc.release.core.util.JavaRDDs.exists;
 import static org.icgc.dcc.release.core.util.Tuples.tuple;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.regex.Pattern;
 
 import lombok.val;
@@ -37,6 +39,9 @@ import org.apache.spark.api.java.JavaPairRDD;
 import org.apache.spark.api.java.JavaRDD;
 import org.icgc.dcc.common.hadoop.fs.HadoopUtils;
 import org.icgc.dcc.release.core.document.Document;
+import org.icgc.dcc.release.core.function.RetainFields;
+import org.icgc.dcc.release.core.job.DatasetCache;
+import org.icgc.dcc.release.core.job.DatasetCache.DatasetKey;
 import org.icgc.dcc.release.core.job.FileType;
 import org.icgc.dcc.release.core.util.DocumentRDDs;
 import org.icgc.dcc.release.core.util.HadoopFiles;
@@ -91,7 +96,7 @@ public abstract class GenericTask implements Task {
    * @param size split/combine size in MBytes
    */
   protected JavaRDD<ObjectNode> readInput(TaskContext taskContext, JobConf hadoopConf, FileType inputFileType, int size) {
-    val maxFileSize = size * 1024L * 1024L;
+    val maxFileSize = Partitions.getSplitSize(size);
 
     log.debug("Setting input split size of {}", formatBytes(maxFileSize));
     val splitSize = Long.toString(maxFileSize);
@@ -136,6 +141,35 @@ public abstract class GenericTask implements Task {
     return input;
   }
 
+  /**
+   * Reads {@code inputFileType} through the workflow {@link DatasetCache}. If {@code fields} are specified the cached
+   * rows are projected to them.
+   */
+  protected JavaRDD<ObjectNode> readCachedInput(TaskContext taskContext, FileType inputFileType, String... fields) {
+    return readCachedInput(taskContext, datasetKey(inputFileType, fields));
+  }
+
+  /**
+   * Reads the dataset identified by {@code key} through the workflow {@link DatasetCache}.
+   */
+  protected JavaRDD<ObjectNode> readCachedInput(TaskContext taskContext, DatasetKey key) {
+    val inputFileType = key.getFileType();
+    val cache = taskContext.getJobContext().getDatasetCache();
+    if (!isReadAll(taskContext, inputFileType)) {
+      return cache.acquire(taskContext, key, taskContext.getProjectName(),
+          () -> project(readInput(taskContext, inputFileType), key));
+    }
+
+    val conf = createJobConf(taskContext);
+    val fileTypePath = new Path(taskContext.getJobContext().getWorkingDir(), inputFileType.getDirName());
+    val inputPaths = resolveInputPaths(taskContext, fileTypePath);
+
+    return inputPaths.stream()
+        .map(inputPath -> cache.acquire(taskContext, key, Optional.of(Partitions.getProjectName(inputPath.getName())),
+            () -> project(readInput(taskContext, inputPath.toString(), conf, ObjectNode.class), key)))
+        .reduce((x, y) -> x.union(y)).get();
+  }
+
   protected JavaRDD<ObjectNode> readUnpartitionedInput(TaskContext taskContext, FileType inputFileType) {
     val filePath = taskContext.getPath(inputFileType);
     val sparkContext = taskContext.getSparkContext();
@@ -273,6 +307,10 @@ public abstract class GenericTask implements Task {
     return HadoopUtils.lsDir(taskContext.getFileSystem(), fileTypePath, PARTITION_NAME_PATTERN);
   }
 
+  private static JavaRDD<ObjectNode> project(JavaRDD<ObjectNode> input, DatasetKey key) {
+    return key.isProjected() ? input.map(new RetainFields(key.getFields())) : input;
+  }
+
   private static boolean isReadAll(TaskContext taskContext, FileType inputFileType) {
     return inputFileType.isPartitioned() && !taskContext.getProjectName().isPresent();
   }
@@ -139,6 +139,8 @@ public class TaskExecutor {
       } catch (Exception e) {
         log.error("Failed to execute task '{}'", task.getName());
         throw e;
+      } finally {
+        jobContext.getDatasetCache().release(taskContext);
       }
 
       return task.getName() + " - " + watch;
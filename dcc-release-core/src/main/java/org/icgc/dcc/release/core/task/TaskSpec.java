@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2015 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.release.core.task;
+
+import static lombok.AccessLevel.PRIVATE;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.NonNull;
+import lombok.Value;
+
+import org.icgc.dcc.release.core.job.FileType;
+
+import com.google.common.collect.ImmutableList;
+
+/**
+ * Inputs, outputs and broadcasts of a task, declared by the job submitting it so that a workflow can be planned
+ * without running it.
+ * 
+ * @see org.icgc.dcc.release.core.job.Job#getTaskSpecs()
+ */
+@Value
+@AllArgsConstructor(access = PRIVATE)
+public class TaskSpec {
+
+  String name;
+  List<FileType> inputs;
+  List<FileType> outputs;
+
+  /**
+   * File types collected to the driver and broadcast to every executor.
+   */
+  List<FileType> broadcasts;
+
+  /**
+   * {@code true} if the inputs are read with a combine input format of the configured split size.
+   */
+  boolean combined;
+
+  public static TaskSpec of(@NonNull String name, @NonNull List<FileType> inputs, @NonNull List<FileType> outputs) {
+    return of(name, inputs, outputs, ImmutableList.of());
+  }
+
+  public static TaskSpec of(@NonNull String name, @NonNull List<FileType> inputs, @NonNull List<FileType> outputs,
+      @NonNull List<FileType> broadcasts) {
+    return new TaskSpec(name, ImmutableList.copyOf(inputs), ImmutableList.copyOf(outputs),
+        ImmutableList.copyOf(broadcasts), false);
+  }
+
+  public static TaskSpec combined(@NonNull String name, @NonNull List<FileType> inputs,
+      @NonNull List<FileType> outputs) {
+    return new TaskSpec(name, ImmutableList.copyOf(inputs), ImmutableList.copyOf(outputs), ImmutableList.of(), true);
+  }
+
+  /**
+   * @return the same task with {@code broadcasts} added, e.g. the inputs of the values the job resolves on the driver
+   * before submitting it
+   */
+  public TaskSpec withBroadcasts(@NonNull List<FileType> broadcasts) {
+    return new TaskSpec(name, inputs, outputs, ImmutableList.<FileType> builder().addAll(this.broadcasts)
+        .addAll(broadcasts).build(), combined);
+  }
+
+}
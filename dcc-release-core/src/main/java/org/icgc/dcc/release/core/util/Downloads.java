@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) 2015 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.release.core.util;
+
+import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static lombok.AccessLevel.PRIVATE;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.file.Files;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+
+import lombok.Cleanup;
+import lombok.NoArgsConstructor;
+import lombok.NonNull;
+import lombok.SneakyThrows;
+import lombok.val;
+import lombok.extern.slf4j.Slf4j;
+
+import com.google.common.io.BaseEncoding;
+import com.google.common.io.ByteStreams;
+import com.google.common.io.Resources;
+
+/**
+ * Utilities for downloading resources so that they only ever appear complete and verified in the local resource
+ * directory, however the download ends.
+ * <p>
+ * Resources are checked against the {@code .sha1} checksum the artifact repository publishes next to them. Local
+ * mirrors ({@code file:} URLs) may omit it, in which case verification is skipped.
+ */
+@Slf4j
+@NoArgsConstructor(access = PRIVATE)
+public final class Downloads {
+
+  /**
+   * Constants.
+   */
+  private static final String CHECKSUM_ALGORITHM = "SHA-1";
+  private static final String CHECKSUM_EXTENSION = ".sha1";
+  private static final String PART_EXTENSION = ".part";
+
+  /**
+   * Downloads {@code url} to {@code file}, which is only created once the download is complete and verified.
+   */
+  public static void download(@NonNull URL url, @NonNull File file) throws IOException {
+    val tempFile = File.createTempFile(file.getName() + ".", PART_EXTENSION, file.getParentFile());
+    try {
+      copy(url, tempFile);
+      moveAtomically(tempFile, file);
+    } finally {
+      // Only left behind on failure
+      tempFile.delete();
+    }
+  }
+
+  /**
+   * Downloads {@code url} and extracts it with {@code extractor} into {@code dir}, which is only created once the
+   * download is complete and verified. An existing {@code dir} is taken to be left over from an interrupted download
+   * and is replaced.
+   */
+  public static void download(@NonNull URL url, @NonNull File dir, @NonNull Extractor extractor) throws IOException {
+    val tempDir = Files.createTempDirectory(dir.getParentFile().toPath(), dir.getName() + ".").toFile();
+    try {
+      val digest = createDigest();
+
+      @Cleanup
+      val input = new DigestInputStream(url.openStream(), digest);
+      extractor.extract(input, tempDir);
+
+      // Archives may be followed by padding the extractor does not read
+      ByteStreams.copy(input, ByteStreams.nullOutputStream());
+      verify(url, digest);
+
+      if (dir.exists()) {
+        log.warn("Replacing incomplete '{}'...", dir);
+        delete(dir);
+      }
+
+      moveAtomically(tempDir, dir);
+    } finally {
+      delete(tempDir);
+    }
+  }
+
+  /**
+   * Renames {@code source} to {@code target} in a single step, so that readers see either nothing or all of it.
+   */
+  public static void moveAtomically(@NonNull File source, @NonNull File target) throws IOException {
+    Files.move(source.toPath(), target.toPath(), ATOMIC_MOVE);
+  }
+
+  private static void copy(URL url, File file) throws IOException {
+    val digest = createDigest();
+
+    @Cleanup
+    val input = new DigestInputStream(url.openStream(), digest);
+    @Cleanup
+    val output = new FileOutputStream(file);
+    ByteStreams.copy(input, output);
+
+    verify(url, digest);
+  }
+
+  private static void verify(URL url, MessageDigest digest) throws IOException {
+    val actual = BaseEncoding.base16().lowerCase().encode(digest.digest());
+    val expected = readChecksum(url);
+    if (expected == null) {
+      log.warn("No checksum found for '{}'. Skipping verification of {} '{}'", url, CHECKSUM_ALGORITHM, actual);
+      return;
+    }
+
+    if (!actual.equals(expected)) {
+      throw new IllegalStateException(format("%s checksum of '%s' is '%s' but '%s' was expected",
+          CHECKSUM_ALGORITHM, url, actual, expected));
+    }
+
+    log.info("Verified {} checksum '{}' of '{}'", CHECKSUM_ALGORITHM, actual, url);
+  }
+
+  private static String readChecksum(URL url) throws IOException {
+    try {
+      // The checksum may be followed by the file name
+      val contents = Resources.toString(new URL(url + CHECKSUM_EXTENSION), US_ASCII).trim();
+
+      return contents.split("\\s+")[0].toLowerCase();
+    } catch (FileNotFoundException e) {
+      return null;
+    }
+  }
+
+  @SneakyThrows
+  private static MessageDigest createDigest() {
+    return MessageDigest.getInstance(CHECKSUM_ALGORITHM);
+  }
+
+  private static void delete(File file) {
+    val children = file.listFiles();
+    if (children != null) {
+      for (val child : children) {
+        delete(child);
+      }
+    }
+
+    file.delete();
+  }
+
+  /**
+   * Extracts a downloaded archive.
+   */
+  public interface Extractor {
+
+    void extract(InputStream input, File dir) throws IOException;
+
+  }
+
+}
@@ -17,64 +17,60 @@
  */
 package org.icgc.dcc.release.core.util;
 
-import static java.util.concurrent.TimeUnit.SECONDS;
-
 import java.io.File;
 import java.io.IOException;
 import java.io.RandomAccessFile;
-import java.nio.channels.FileLock;
-import java.nio.channels.OverlappingFileLockException;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReentrantLock;
 
 import lombok.Cleanup;
 import lombok.NonNull;
 import lombok.val;
 import lombok.extern.slf4j.Slf4j;
 
+import com.google.common.collect.Maps;
+
+/**
+ * Runs {@link #withLock()} while holding an exclusive lock on a file.
+ * <p>
+ * File locks are held on behalf of the whole JVM, so threads of the same JVM (e.g. the tasks of an executor) are first
+ * serialized on an in-process lock. Both locks block until released, so waiters resume as soon as the holder is done
+ * instead of polling.
+ */
 @Slf4j
 public abstract class FileMutex {
 
   /**
    * Constants.
    */
-  private static final int MAX_RETRIES = 10;
-  private static final int RETRY_DELAY_SECONDS = 60;
   private static final String READ_WRITE_MODE = "rw";
 
+  /**
+   * State.
+   */
+  private static final ConcurrentMap<String, ReentrantLock> THREAD_LOCKS = Maps.newConcurrentMap();
+
   public FileMutex(@NonNull File lockFile) throws InterruptedException, IOException {
-    @Cleanup
-    val delegate = new RandomAccessFile(lockFile, READ_WRITE_MODE);
-    @Cleanup
-    val channel = delegate.getChannel();
+    val threadLock = getThreadLock(lockFile);
+    if (threadLock.isLocked() && !threadLock.isHeldByCurrentThread()) {
+      log.info("Waiting for lock '{}' held by another thread...", lockFile.getAbsolutePath());
+    }
 
-    int counter = 0;
-    FileLock lock = null;
+    threadLock.lockInterruptibly();
     try {
-      while (lock == null && counter < MAX_RETRIES) {
-        try {
-          lock = channel.lock();
-
-          // Delegate to derived class
-          withLock();
-
-          // Success
-          return;
-        } catch (OverlappingFileLockException e) {
-          // Thrown when an attempt is made to acquire a lock on a a file that overlaps
-          // a region already locked by the same JVM or when another thread is already
-          // waiting to lock an overlapping region of the same file
-          delay(lockFile);
+      @Cleanup
+      val delegate = new RandomAccessFile(lockFile, READ_WRITE_MODE);
+      @Cleanup
+      val channel = delegate.getChannel();
 
-          counter++;
-        }
-      }
+      // Blocks while another process holds the lock
+      @Cleanup
+      val lock = channel.lock();
 
-      // Failure
-      fail(lockFile);
+      // Delegate to derived class
+      withLock();
     } finally {
-      if (lock != null) {
-        // Release the lock
-        lock.release();
-      }
+      threadLock.unlock();
     }
   }
 
@@ -83,18 +79,8 @@ public abstract class FileMutex {
    */
   abstract public void withLock();
 
-  private void delay(File lockFile) throws InterruptedException {
-    log.error(
-        "*** Overlapping file lock on '{}' error due to same JVM inter-thread contention. Waiting {}s before retrying...",
-        lockFile.getAbsolutePath(), RETRY_DELAY_SECONDS);
-    Thread.sleep(SECONDS.toMillis(RETRY_DELAY_SECONDS));
-  }
-
-  private void fail(File lockFile) {
-    val message = String.format("Failed to acquire lock '%s' after %s retries with %s seconds delay. Aborting...",
-        lockFile, MAX_RETRIES, RETRY_DELAY_SECONDS);
-    log.error(message);
-    throw new IllegalStateException(message);
+  private static ReentrantLock getThreadLock(File lockFile) throws IOException {
+    return THREAD_LOCKS.computeIfAbsent(lockFile.getCanonicalPath(), path -> new ReentrantLock());
   }
 
-}
\ No newline at end of file
+}
@@ -34,6 +34,7 @@ import org.apache.hadoop.io.NullWritable;
 import org.apache.hadoop.io.SequenceFile.CompressionType;
 import org.apache.hadoop.io.Text;
 import org.apache.hadoop.io.compress.SnappyCodec;
+import org.apache.hadoop.mapred.FileInputFormat;
 import org.apache.hadoop.mapred.JobConf;
 import org.apache.hadoop.mapred.SequenceFileInputFormat;
 import org.apache.hadoop.mapred.SequenceFileOutputFormat;
@@ -61,8 +62,14 @@ public final class JavaRDDs {
 
   @NonNull
   public static JavaHadoopRDD<LongWritable, Text> textFile(JavaSparkContext sparkContext, String paths, JobConf conf) {
-    TextInputFormat.setInputPaths(conf, paths);
-    val hadoopRDD = sparkContext.hadoopRDD(conf, TextInputFormat.class, LongWritable.class, Text.class,
+    return textFile(sparkContext, paths, conf, TextInputFormat.class);
+  }
+
+  @NonNull
+  public static JavaHadoopRDD<LongWritable, Text> textFile(JavaSparkContext sparkContext, String paths, JobConf conf,
+      Class<? extends FileInputFormat<LongWritable, Text>> inputFormatClass) {
+    FileInputFormat.setInputPaths(conf, paths);
+    val hadoopRDD = sparkContext.hadoopRDD(conf, inputFormatClass, LongWritable.class, Text.class,
         sparkContext.defaultMinPartitions());
 
     return (JavaHadoopRDD<LongWritable, Text>) hadoopRDD;
@@ -138,16 +145,22 @@ public final class JavaRDDs {
   @NonNull
   public static <K, V> void saveAsSequenceFile(JavaPairRDD<K, V> rdd, Class<K> keyClass, Class<V> valueClass,
       String path, JobConf conf) {
+    setSequenceFileCompression(conf);
 
-    // Compress
+    rdd.saveAsHadoopFile(path, keyClass, valueClass, SequenceFileOutputFormat.class, conf);
+  }
+
+  /**
+   * Configures block compression for sequence file outputs, using Snappy when it is available.
+   */
+  @NonNull
+  public static void setSequenceFileCompression(JobConf conf) {
     SequenceFileOutputFormat.setCompressOutput(conf, true);
     SequenceFileOutputFormat.setOutputCompressionType(conf, CompressionType.BLOCK);
     if (SnappyCodec.isNativeCodeLoaded()) {
       log.debug("Saving output with Snappy compression");
       SequenceFileOutputFormat.setOutputCompressorClass(conf, SnappyCodec.class);
     }
-
-    rdd.saveAsHadoopFile(path, keyClass, valueClass, SequenceFileOutputFormat.class, conf);
   }
 
   @NonNull
@@ -34,10 +34,47 @@ public final class Partitions {
    */
   public static final String PARTITION_NAME = "project_name";
 
+  /**
+   * Same as {@code FileInputFormat.SPLIT_SLOP}: the last split may be up to 10% larger than the split size.
+   */
+  private static final double SPLIT_SLOP = 1.1;
+
   public static String getPartitionName(@NonNull String projectName) {
     return PARTITION_NAME + "=" + projectName;
   }
 
+  public static String getProjectName(@NonNull String partitionName) {
+    return partitionName.substring(PARTITION_NAME.length() + 1);
+  }
+
+  /**
+   * @param sizeMb split/combine size in MBytes
+   * @return split/combine size in bytes
+   */
+  public static long getSplitSize(int sizeMb) {
+    return sizeMb * 1024L * 1024L;
+  }
+
+  /**
+   * Estimates the number of input splits of a file of {@code fileLength} without reading it, the same way
+   * {@code FileInputFormat.getSplits} does. Files which can't be split (e.g. non-splittable gzip) and empty files
+   * produce a single split.
+   */
+  public static int getSplitsCount(long fileLength, long splitSize, boolean splittable) {
+    if (!splittable || fileLength <= splitSize) {
+      return 1;
+    }
+
+    int splits = 0;
+    long remaining = fileLength;
+    while ((double) remaining / splitSize > SPLIT_SLOP) {
+      splits++;
+      remaining -= splitSize;
+    }
+
+    return remaining > 0 ? splits + 1 : splits;
+  }
+
   /**
    * This method is usually called for performance improvements, where the {@code primaryRdd} is joined to the
    * {@code secondaryRdd} with the {@code leftOuterJoin}. Usually the {@code primaryRdd} is bigger than the
@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.release.core.job;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.icgc.dcc.release.core.job.DatasetCache.DatasetKey.datasetKey;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import lombok.val;
+
+import org.apache.spark.api.java.JavaRDD;
+import org.apache.spark.storage.StorageLevel;
+import org.junit.Test;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+public class DatasetCacheTest {
+
+  DatasetCache cache = new DatasetCache();
+
+  @Test
+  public void testAcquireRelease() {
+    val key = datasetKey(FileType.OBSERVATION_FI);
+    val project = Optional.of("PROJ-1");
+    val rdd = createRDD();
+    val loads = new AtomicInteger();
+    cache.register(key, 2);
+
+    val consumer1 = new Object();
+    val consumer2 = new Object();
+    assertThat(cache.acquire(consumer1, key, project, () -> load(rdd, loads))).isSameAs(rdd);
+    assertThat(cache.acquire(consumer2, key, project, () -> load(rdd, loads))).isSameAs(rdd);
+    assertThat(loads.get()).isEqualTo(1);
+
+    cache.release(consumer1);
+    verify(rdd, never()).unpersist(false);
+
+    cache.release(consumer2);
+    verify(rdd).unpersist(false);
+  }
+
+  @Test
+  public void testAcquireUnregistered() {
+    val rdd = createRDD();
+    val loads = new AtomicInteger();
+    val key = datasetKey(FileType.DONOR_SUMMARY);
+
+    cache.acquire(this, key, Optional.empty(), () -> load(rdd, loads));
+    cache.acquire(this, key, Optional.empty(), () -> load(rdd, loads));
+
+    assertThat(loads.get()).isEqualTo(2);
+    verify(rdd, never()).persist(any(StorageLevel.class));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testDeserializedStorageLevel() {
+    new DatasetCache(StorageLevel.MEMORY_ONLY());
+  }
+
+  @SuppressWarnings("unchecked")
+  private static JavaRDD<ObjectNode> createRDD() {
+    JavaRDD<ObjectNode> rdd = mock(JavaRDD.class);
+    when(rdd.persist(any(StorageLevel.class))).thenReturn(rdd);
+
+    return rdd;
+  }
+
+  private static JavaRDD<ObjectNode> load(JavaRDD<ObjectNode> rdd, AtomicInteger loads) {
+    loads.incrementAndGet();
+
+    return rdd;
+  }
+
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2015 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.release.core.submission;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.icgc.dcc.release.core.submission.SubmissionFileMatcher.getLiteralPrefix;
+import lombok.val;
+
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+
+public class SubmissionFileMatcherTest {
+
+  @Test
+  public void testMatch() throws Exception {
+    val matcher = new SubmissionFileMatcher(ImmutableList.of(
+        schema("ssm_m", "^ssm_m(\\.[a-zA-Z0-9]+)?\\.txt(?:\\.gz|\\.bz2)?$"),
+        schema("ssm_p", "^ssm_p(\\.[a-zA-Z0-9]+)?\\.txt(?:\\.gz|\\.bz2)?$"),
+        schema("any", "(?i)^.*\\.TXT$")));
+
+    assertThat(matcher.match("ssm_p.txt.gz")).containsOnly("ssm_p");
+    assertThat(matcher.match("ssm_m.20150101.txt")).containsOnly("ssm_m", "any");
+    assertThat(matcher.match("ssm_x.txt.gz")).isEmpty();
+    assertThat(matcher.match("")).isEmpty();
+  }
+
+  @Test
+  public void testGetLiteralPrefix() throws Exception {
+    assertThat(getLiteralPrefix("^ssm_p(\\.[a-z]+)?\\.txt$")).isEqualTo("ssm_p");
+    assertThat(getLiteralPrefix("donor\\.txt")).isEqualTo("donor");
+    assertThat(getLiteralPrefix("^ssm_ps?\\.txt$")).isEqualTo("ssm_p");
+    assertThat(getLiteralPrefix("^ssm_p\\.txt|^sgv_p\\.txt")).isEmpty();
+    assertThat(getLiteralPrefix("(?i)^ssm_p\\.txt$")).isEmpty();
+  }
+
+  private static SubmissionFileSchema schema(String name, String pattern) {
+    return new SubmissionFileSchema(name, pattern, ImmutableList.of());
+  }
+
+}
@@ -25,6 +25,7 @@ import lombok.val;
 
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.spark.api.java.JavaSparkContext;
+import org.icgc.dcc.release.core.job.DatasetCache;
 import org.icgc.dcc.release.core.job.DefaultJobContext;
 import org.icgc.dcc.release.core.job.JobType;
 import org.junit.Test;
@@ -48,7 +49,7 @@ public class TaskExecutorTest {
   @Test
   public void testExecute() {
     val jobContext = new DefaultJobContext(
-        JobType.STAGE, "", ImmutableList.<String> of(), "", "", null,
+        JobType.STAGE, "", ImmutableList.<String> of(), "", "", null, new DatasetCache(),
         new TaskExecutor(executorService, sparkContext, fileSystem), false);
 
     jobContext.execute(
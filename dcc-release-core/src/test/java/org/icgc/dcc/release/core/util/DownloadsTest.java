@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2015 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.release.core.util;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+import static org.icgc.dcc.release.core.util.Downloads.download;
+
+import java.io.File;
+
+import lombok.val;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.google.common.hash.Hashing;
+import com.google.common.io.Files;
+
+public class DownloadsTest {
+
+  @Rule
+  public TemporaryFolder tmp = new TemporaryFolder();
+
+  @Test
+  public void testDownload() throws Exception {
+    val source = createSource("resource");
+    Files.write(Files.hash(source, Hashing.sha1()).toString() + "  source.bin", checksumFile(source), US_ASCII);
+
+    val target = new File(tmp.newFolder("target"), "target.bin");
+    download(source.toURI().toURL(), target);
+
+    assertThat(Files.toString(target, UTF_8)).isEqualTo("resource");
+    assertThat(target.getParentFile().list()).containsOnly("target.bin");
+  }
+
+  @Test
+  public void testDownload_noChecksum() throws Exception {
+    val source = createSource("resource");
+
+    val target = new File(tmp.newFolder("target"), "target.bin");
+    download(source.toURI().toURL(), target);
+
+    assertThat(Files.toString(target, UTF_8)).isEqualTo("resource");
+  }
+
+  @Test
+  public void testDownload_badChecksum() throws Exception {
+    val source = createSource("resource");
+    Files.write(Hashing.sha1().hashString("other", UTF_8).toString(), checksumFile(source), US_ASCII);
+
+    val target = new File(tmp.newFolder("target"), "target.bin");
+    try {
+      download(source.toURI().toURL(), target);
+      fail("Expected checksum mismatch");
+    } catch (IllegalStateException e) {
+      // Expected
+    }
+
+    assertThat(target.getParentFile().list()).isEmpty();
+  }
+
+  private File createSource(String contents) throws Exception {
+    val source = tmp.newFile("source.bin");
+    Files.write(contents, source, UTF_8);
+
+    return source;
+  }
+
+  private static File checksumFile(File source) {
+    return new File(source.getParentFile(), source.getName() + ".sha1");
+  }
+
+}
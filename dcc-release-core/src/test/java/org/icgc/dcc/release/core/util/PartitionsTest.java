@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2015 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.release.core.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.icgc.dcc.release.core.util.Partitions.getSplitSize;
+import static org.icgc.dcc.release.core.util.Partitions.getSplitsCount;
+import lombok.val;
+
+import org.junit.Test;
+
+public class PartitionsTest {
+
+  @Test
+  public void testGetSplitSize() throws Exception {
+    assertThat(getSplitSize(128)).isEqualTo(128L * 1024L * 1024L);
+  }
+
+  @Test
+  public void testGetSplitsCount() throws Exception {
+    val splitSize = getSplitSize(64);
+    assertThat(getSplitsCount(0L, splitSize, true)).isEqualTo(1);
+    assertThat(getSplitsCount(splitSize, splitSize, true)).isEqualTo(1);
+    assertThat(getSplitsCount(splitSize + 1, splitSize, true)).isEqualTo(1);
+    assertThat(getSplitsCount(splitSize + splitSize / 10, splitSize, true)).isEqualTo(1);
+    assertThat(getSplitsCount(splitSize + splitSize / 10 + 1, splitSize, true)).isEqualTo(2);
+    assertThat(getSplitsCount(10 * splitSize, splitSize, true)).isEqualTo(10);
+  }
+
+  @Test
+  public void testGetSplitsCount_unsplittable() throws Exception {
+    val splitSize = getSplitSize(64);
+    assertThat(getSplitsCount(10 * splitSize, splitSize, false)).isEqualTo(1);
+  }
+
+}
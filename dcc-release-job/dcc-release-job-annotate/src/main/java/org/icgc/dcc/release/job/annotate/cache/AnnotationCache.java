@@ -0,0 +1,205 @@
+/*
+ * Copyright (c) 2015 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.release.job.annotate.cache;
+
+import static org.icgc.dcc.release.core.util.Tuples.tuple;
+import static org.icgc.dcc.release.job.annotate.cache.AnnotationCacheFormat.PARTITIONER;
+
+import java.util.List;
+
+import lombok.NonNull;
+import lombok.SneakyThrows;
+import lombok.val;
+import lombok.extern.slf4j.Slf4j;
+
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.BytesWritable;
+import org.apache.hadoop.io.Text;
+import org.apache.hadoop.mapred.MapFileOutputFormat;
+import org.apache.spark.api.java.JavaPairRDD;
+import org.apache.spark.api.java.JavaRDD;
+import org.apache.spark.api.java.JavaSparkContext;
+import org.icgc.dcc.release.core.config.SnpEffProperties;
+import org.icgc.dcc.release.core.util.Configurations;
+import org.icgc.dcc.release.core.util.JavaRDDs;
+import org.icgc.dcc.release.core.util.Partitions;
+import org.icgc.dcc.release.job.annotate.model.AnnotatedFileType;
+import org.icgc.dcc.release.job.annotate.model.SecondaryEntity;
+import org.icgc.dcc.release.job.annotate.model.Variant;
+
+import com.google.common.base.Joiner;
+import com.google.common.base.Optional;
+
+/**
+ * Persistent variant annotations reused across releases.
+ * <p>
+ * Annotations only depend on the variant and on the SnpEff database, reference genome and gene build, so the cache is
+ * partitioned by these versions and by the {@link AnnotationCacheFormat} version. Layout:
+ * {@code <cacheDir>/format-<format>/<versions>/<type>/v<timestamp>/part-NNNNN}, one map file per bucket. Annotation
+ * tasks look their variants up bucket by bucket, so the cache itself is never shuffled, and add the variants they had
+ * to annotate to {@code <cacheDir>/format-<format>/<versions>/<type>/_delta/project_name=<project>}. These are merged
+ * into a new generation once all projects are annotated.
+ */
+@Slf4j
+public class AnnotationCache {
+
+  /**
+   * Constants.
+   */
+  private static final String FORMAT_DIR_PREFIX = "format-";
+  private static final String GENERATION_PREFIX = "v";
+  private static final String DELTA_DIR_NAME = "_delta";
+
+  /**
+   * Configuration.
+   */
+  private final Path versionDir;
+
+  public AnnotationCache(@NonNull String cacheDir, @NonNull SnpEffProperties properties) {
+    val versions = Joiner.on('_').join(
+        properties.getDatabaseVersion(),
+        properties.getReferenceGenomeVersion(),
+        properties.getGeneBuildVersion());
+
+    this.versionDir = new Path(new Path(cacheDir, FORMAT_DIR_PREFIX + AnnotationCacheFormat.VERSION), versions);
+  }
+
+  /**
+   * @return every distinct variant of {@code variants} with its cached annotations, if any
+   */
+  public JavaPairRDD<Variant, Optional<List<SecondaryEntity>>> lookup(@NonNull FileSystem fileSystem,
+      @NonNull AnnotatedFileType type, @NonNull JavaRDD<Variant> variants) {
+    val keyed = variants.mapToPair(variant -> tuple(AnnotationCacheFormat.getKey(variant), variant));
+    val generationDir = getGenerationDir(fileSystem, type);
+    if (!generationDir.isPresent()) {
+      return keyed
+          .reduceByKey((first, second) -> first)
+          .values()
+          .mapToPair(variant -> tuple(variant, Optional.<List<SecondaryEntity>> absent()));
+    }
+
+    log.info("Using {} annotation cache generation '{}'", type, generationDir.get());
+    val lookups = keyed
+        .repartitionAndSortWithinPartitions(PARTITIONER)
+        .mapPartitionsWithIndex(new LookupAnnotations(generationDir.get().toString()), false);
+
+    return JavaPairRDD.fromJavaRDD(lookups);
+  }
+
+  @SneakyThrows
+  public void writeDelta(@NonNull FileSystem fileSystem, @NonNull AnnotatedFileType type, @NonNull String projectName,
+      @NonNull JavaPairRDD<Variant, List<SecondaryEntity>> annotations) {
+    val deltaDir = new Path(getDeltaDir(type), Partitions.getPartitionName(projectName));
+    fileSystem.delete(deltaDir, true);
+
+    log.info("Writing {} annotation cache delta '{}'...", type, deltaDir);
+    val entries = annotations.mapToPair(annotation -> tuple(
+        new Text(AnnotationCacheFormat.getKey(annotation._1)),
+        new BytesWritable(AnnotationCacheFormat.writeValue(annotation._2))));
+
+    JavaRDDs.saveAsSequenceFile(entries, Text.class, BytesWritable.class, deltaDir.toString());
+  }
+
+  /**
+   * Writes a new generation holding the previously cached annotations and all deltas, then removes the deltas and the
+   * generations older than the previous one. The previous generation is kept, since other runs may still be looking
+   * variants up in it. Values are copied as they are, without being decoded.
+   */
+  @SneakyThrows
+  public void update(@NonNull JavaSparkContext sparkContext, @NonNull FileSystem fileSystem,
+      @NonNull AnnotatedFileType type) {
+    val deltaDir = getDeltaDir(type);
+    if (!fileSystem.exists(deltaDir)) {
+      log.info("No new {} annotations to cache", type);
+      return;
+    }
+
+    JavaPairRDD<String, byte[]> entries = readEntries(sparkContext, new Path(deltaDir, "*"));
+    val previousGenerationDir = getGenerationDir(fileSystem, type);
+    if (previousGenerationDir.isPresent()) {
+      // Map file directories are read through their data files
+      entries = readEntries(sparkContext, previousGenerationDir.get()).union(entries);
+    }
+
+    val generation = entries
+        .reduceByKey((first, second) -> first)
+        .repartitionAndSortWithinPartitions(PARTITIONER)
+        .mapToPair(entry -> tuple(new Text(entry._1), new BytesWritable(entry._2)));
+
+    val generationName = GENERATION_PREFIX + String.format("%013d", System.currentTimeMillis());
+    val generationDir = new Path(getTypeDir(type), generationName);
+    log.info("Writing {} annotation cache generation '{}'...", type, generationDir);
+    val conf = Configurations.createJobConf(generation);
+    JavaRDDs.setSequenceFileCompression(conf);
+    generation.saveAsHadoopFile(generationDir.toString(), Text.class, BytesWritable.class, MapFileOutputFormat.class,
+        conf);
+
+    log.info("Deleting {} annotation cache delta '{}'", type, deltaDir);
+    fileSystem.delete(deltaDir, true);
+    if (!previousGenerationDir.isPresent()) {
+      return;
+    }
+
+    val previousGenerationName = previousGenerationDir.get().getName();
+    for (val generationStatus : fileSystem.listStatus(getTypeDir(type), this::isGeneration)) {
+      val path = generationStatus.getPath();
+      if (path.getName().compareTo(previousGenerationName) < 0) {
+        log.info("Deleting {} annotation cache generation '{}'", type, path);
+        fileSystem.delete(path, true);
+      }
+    }
+  }
+
+  private static JavaPairRDD<String, byte[]> readEntries(JavaSparkContext sparkContext, Path path) {
+    return JavaRDDs.sequenceFile(sparkContext, path.toString(), Text.class, BytesWritable.class)
+        .mapToPair(entry -> tuple(entry._1.toString(), entry._2.copyBytes()));
+  }
+
+  @SneakyThrows
+  private Optional<Path> getGenerationDir(FileSystem fileSystem, AnnotatedFileType type) {
+    val typeDir = getTypeDir(type);
+    if (!fileSystem.exists(typeDir)) {
+      return Optional.absent();
+    }
+
+    Path latest = null;
+    for (val generation : fileSystem.listStatus(typeDir, this::isGeneration)) {
+      val path = generation.getPath();
+      if (latest == null || path.getName().compareTo(latest.getName()) > 0) {
+        latest = path;
+      }
+    }
+
+    // Qualified, since executors open the map files themselves
+    return latest == null ? Optional.absent() : Optional.of(fileSystem.makeQualified(latest));
+  }
+
+  private boolean isGeneration(Path path) {
+    return path.getName().startsWith(GENERATION_PREFIX);
+  }
+
+  private Path getTypeDir(AnnotatedFileType type) {
+    return new Path(versionDir, type.getId());
+  }
+
+  private Path getDeltaDir(AnnotatedFileType type) {
+    return new Path(getTypeDir(type), DELTA_DIR_NAME);
+  }
+
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2015 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.release.job.annotate.cache;
+
+import static lombok.AccessLevel.PRIVATE;
+import static org.icgc.dcc.release.core.util.JacksonFactory.SMILE_MAPPER;
+
+import java.util.List;
+
+import lombok.NoArgsConstructor;
+import lombok.NonNull;
+import lombok.SneakyThrows;
+import lombok.val;
+
+import org.apache.spark.HashPartitioner;
+import org.apache.spark.Partitioner;
+import org.icgc.dcc.release.job.annotate.model.SecondaryEntity;
+import org.icgc.dcc.release.job.annotate.model.Variant;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.google.common.base.Joiner;
+import com.google.common.collect.ImmutableList;
+
+/**
+ * On-disk format of the {@link AnnotationCache}, independent of the Java classes that hold the annotations.
+ * <p>
+ * Entries are keyed by {@link #getKey(Variant)} and bucketed by {@link #PARTITIONER}. Values are Smile arrays of
+ * objects with one named field per {@link SecondaryEntity} property. Any change to the key, the bucketing or the value
+ * fields must bump {@link #VERSION}, which makes the cache start over in a new directory.
+ */
+@NoArgsConstructor(access = PRIVATE)
+public final class AnnotationCacheFormat {
+
+  /**
+   * Constants.
+   */
+  public static final int VERSION = 1;
+  public static final int BUCKET_COUNT = 64;
+
+  /**
+   * Partitions on the hash of the {@code String} key, which unlike the hash of a {@link Variant} (whose mutation type
+   * is an enum) is the same in every JVM.
+   */
+  public static final Partitioner PARTITIONER = new HashPartitioner(BUCKET_COUNT);
+
+  private static final Joiner KEY_JOINER = Joiner.on('\t');
+
+  private static final String CONSEQUENCE_TYPE = "consequenceType";
+  private static final String AA_MUTATION = "aaMutation";
+  private static final String CDS_MUTATION = "cdsMutation";
+  private static final String PROTEIN_DOMAIN_AFFECTED = "proteinDomainAffected";
+  private static final String GENE_AFFECTED = "geneAffected";
+  private static final String TRANSCRIPT_AFFECTED = "transcriptAffected";
+  private static final String GENE_BUILD_VERSION = "geneBuildVersion";
+  private static final String NOTE = "note";
+
+  /**
+   * @return the cache key of {@code variant}. Keys are ASCII, so their {@code String} order is the byte order of their
+   * {@code Text} in the map files.
+   */
+  public static String getKey(@NonNull Variant variant) {
+    return KEY_JOINER.join(variant.getChromosome(), variant.getStart(), variant.getEnd(), variant.getType().name(),
+        variant.getReference(), variant.getMutation());
+  }
+
+  public static int getBucket(@NonNull String key) {
+    return PARTITIONER.getPartition(key);
+  }
+
+  @SneakyThrows
+  public static byte[] writeValue(@NonNull List<SecondaryEntity> entities) {
+    val array = SMILE_MAPPER.createArrayNode();
+    for (val entity : entities) {
+      array.addObject()
+          .put(CONSEQUENCE_TYPE, entity.getConsequenceType())
+          .put(AA_MUTATION, entity.getAaMutation())
+          .put(CDS_MUTATION, entity.getCdsMutation())
+          .put(PROTEIN_DOMAIN_AFFECTED, entity.getProteinDomainAffected())
+          .put(GENE_AFFECTED, entity.getGeneAffected())
+          .put(TRANSCRIPT_AFFECTED, entity.getTranscriptAffected())
+          .put(GENE_BUILD_VERSION, entity.getGeneBuildVersion())
+          .put(NOTE, entity.getNote());
+    }
+
+    return SMILE_MAPPER.writeValueAsBytes(array);
+  }
+
+  @SneakyThrows
+  public static List<SecondaryEntity> readValue(@NonNull byte[] value) {
+    val array = (ArrayNode) SMILE_MAPPER.readTree(value);
+    val entities = ImmutableList.<SecondaryEntity> builder();
+    for (val object : array) {
+      entities.add(SecondaryEntity.builder()
+          .consequenceType(getText(object, CONSEQUENCE_TYPE))
+          .aaMutation(getText(object, AA_MUTATION))
+          .cdsMutation(getText(object, CDS_MUTATION))
+          .proteinDomainAffected(getText(object, PROTEIN_DOMAIN_AFFECTED))
+          .geneAffected(getText(object, GENE_AFFECTED))
+          .transcriptAffected(getText(object, TRANSCRIPT_AFFECTED))
+          .geneBuildVersion(getText(object, GENE_BUILD_VERSION))
+          .note(getText(object, NOTE))
+          .build());
+    }
+
+    return entities.build();
+  }
+
+  private static String getText(JsonNode object, String fieldName) {
+    val value = object.get(fieldName);
+
+    return value == null || value.isNull() ? null : value.textValue();
+  }
+
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2015 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.release.job.annotate.cache;
+
+import static com.google.common.base.Preconditions.checkState;
+import static org.icgc.dcc.release.core.util.Tuples.tuple;
+
+import java.util.Iterator;
+import java.util.List;
+
+import lombok.Cleanup;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.val;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.BytesWritable;
+import org.apache.hadoop.io.MapFile;
+import org.apache.hadoop.io.Text;
+import org.apache.spark.api.java.function.Function2;
+import org.icgc.dcc.release.job.annotate.model.SecondaryEntity;
+import org.icgc.dcc.release.job.annotate.model.Variant;
+
+import scala.Tuple2;
+
+import com.google.common.base.Optional;
+import com.google.common.collect.Lists;
+
+/**
+ * Looks up the variants of one bucket in the map file of the same bucket of an {@link AnnotationCache} generation.
+ * Expects the variants to be keyed by {@link AnnotationCacheFormat#getKey(Variant)}, partitioned by
+ * {@link AnnotationCacheFormat#PARTITIONER} and sorted, so the reader only moves forward. Duplicates are adjacent and
+ * looked up once.
+ */
+@RequiredArgsConstructor
+public class LookupAnnotations implements
+    Function2<Integer, Iterator<Tuple2<String, Variant>>, Iterator<Tuple2<Variant, Optional<List<SecondaryEntity>>>>> {
+
+  /**
+   * Configuration.
+   */
+  @NonNull
+  private final String generationDir;
+
+  @Override
+  public Iterator<Tuple2<Variant, Optional<List<SecondaryEntity>>>> call(Integer bucket,
+      Iterator<Tuple2<String, Variant>> variants) throws Exception {
+    checkState(bucket < AnnotationCacheFormat.BUCKET_COUNT, "Unexpected bucket %s", bucket);
+    val partDir = new Path(generationDir, String.format("part-%05d", bucket));
+
+    @Cleanup
+    val reader = new MapFile.Reader(partDir, new Configuration());
+    val key = new Text();
+    val value = new BytesWritable();
+    val results = Lists.<Tuple2<Variant, Optional<List<SecondaryEntity>>>> newArrayList();
+    String previousKey = null;
+    while (variants.hasNext()) {
+      val variant = variants.next();
+      if (variant._1.equals(previousKey)) {
+        continue;
+      }
+
+      previousKey = variant._1;
+      key.set(variant._1);
+      val entities = reader.get(key, value) == null ?
+          Optional.<List<SecondaryEntity>> absent() :
+          Optional.of(AnnotationCacheFormat.readValue(value.copyBytes()));
+
+      results.add(tuple(variant._2, entities));
+    }
+
+    return results.iterator();
+  }
+
+}
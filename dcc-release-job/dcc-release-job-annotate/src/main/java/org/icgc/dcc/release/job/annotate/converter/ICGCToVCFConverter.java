@@ -19,7 +19,6 @@ package org.icgc.dcc.release.job.annotate.converter;
 
 import static com.google.common.base.Preconditions.checkState;
 import static com.google.common.collect.Lists.newArrayList;
-import static java.nio.charset.StandardCharsets.UTF_8;
 
 import java.util.List;
 
@@ -31,12 +30,12 @@ import lombok.NoArgsConstructor;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.val;
-import net.sf.picard.reference.IndexedFastaSequenceFile;
 
 import org.broadinstitute.variant.variantcontext.Allele;
 import org.broadinstitute.variant.variantcontext.GenotypeBuilder;
 import org.broadinstitute.variant.variantcontext.GenotypesContext;
 import org.icgc.dcc.release.job.annotate.converter.SnpEffVCFToICGCConverter.SampleType;
+import org.icgc.dcc.release.job.annotate.util.ReferenceGenome;
 
 import com.google.common.collect.Lists;
 
@@ -56,10 +55,10 @@ public class ICGCToVCFConverter {
    */
   private static final String MUTATION_PART_SEPARATOR = ">";
 
-  private final IndexedFastaSequenceFile sequenceFile;
+  private final ReferenceGenome referenceGenome;
 
-  public ICGCToVCFConverter(IndexedFastaSequenceFile sequenceFile) {
-    this.sequenceFile = sequenceFile;
+  public ICGCToVCFConverter(@NonNull ReferenceGenome referenceGenome) {
+    this.referenceGenome = referenceGenome;
   }
 
   public VCFMutation convert(String chromosome, long start, long end, String mutation, MutationType type,
@@ -172,10 +171,7 @@ public class ICGCToVCFConverter {
   }
 
   private String getReference(String chromosome, long start, long end) {
-    val sequence = sequenceFile.getSubsequenceAt(chromosome, start, end);
-    val text = new String(sequence.getBases(), UTF_8);
-
-    return text;
+    return referenceGenome.getSubsequenceAt(chromosome, start, end);
   }
 
   @Data
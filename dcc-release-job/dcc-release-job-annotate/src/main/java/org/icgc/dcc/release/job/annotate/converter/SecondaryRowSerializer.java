@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2015 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.release.job.annotate.converter;
+
+import java.io.IOException;
+
+import lombok.val;
+
+import org.icgc.dcc.common.core.model.FieldNames;
+import org.icgc.dcc.release.job.annotate.model.AnnotatedFileType;
+import org.icgc.dcc.release.job.annotate.model.SecondaryRow;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+
+/**
+ * Streams a {@link SecondaryRow} straight to the output generator, without building an intermediate
+ * {@code ObjectNode}.
+ * <p>
+ * Fields are written in the same order and with the same explicit {@code null}s as the former {@code ObjectNode}
+ * rows, so the output is unchanged.
+ */
+public class SecondaryRowSerializer extends JsonSerializer<SecondaryRow> {
+
+  @Override
+  public void serialize(SecondaryRow row, JsonGenerator generator, SerializerProvider provider) throws IOException {
+    val secondaryEntity = row.getSecondaryEntity();
+
+    generator.writeStartObject();
+    if (row.getFileType() == AnnotatedFileType.SSM) {
+      writeField(generator, FieldNames.CONSEQUENCE_AA_MUTATION, secondaryEntity.getAaMutation());
+      writeField(generator, FieldNames.AnnotatorFieldNames.ANNOTATOR_CDS_MUTATION, secondaryEntity.getCdsMutation());
+    } else {
+      writeField(generator, FieldNames.AnnotatorFieldNames.ANNOTATOR_AMINO_ACID_CHANGE,
+          secondaryEntity.getAaMutation());
+      writeField(generator, FieldNames.AnnotatorFieldNames.ANNOTATOR_CDS_CHANGE, secondaryEntity.getCdsMutation());
+    }
+
+    writeField(generator, FieldNames.MUTATION_CONSEQUENCE_TYPES, secondaryEntity.getConsequenceType());
+    writeField(generator, FieldNames.AnnotatorFieldNames.ANNOTATOR_PROTEIN_DOMAIN_AFFECTED,
+        secondaryEntity.getProteinDomainAffected());
+    writeField(generator, FieldNames.SubmissionFieldNames.SUBMISSION_GENE_AFFECTED,
+        secondaryEntity.getGeneAffected());
+    writeField(generator, FieldNames.SubmissionFieldNames.SUBMISSION_TRANSCRIPT_AFFECTED,
+        secondaryEntity.getTranscriptAffected());
+    writeField(generator, FieldNames.AnnotatorFieldNames.ANNOTATOR_GENE_BUILD_VERSION,
+        secondaryEntity.getGeneBuildVersion());
+    writeField(generator, FieldNames.AnnotatorFieldNames.ANNOTATOR_NOTE, secondaryEntity.getNote());
+    writeField(generator, FieldNames.NormalizerFieldNames.NORMALIZER_OBSERVATION_ID, row.getObservationId());
+    generator.writeEndObject();
+  }
+
+  private static void writeField(JsonGenerator generator, String fieldName, String value) throws IOException {
+    if (value == null) {
+      generator.writeNullField(fieldName);
+    } else {
+      generator.writeStringField(fieldName, value);
+    }
+  }
+
+}
@@ -22,7 +22,6 @@ import static lombok.AccessLevel.PRIVATE;
 import static org.icgc.dcc.common.core.model.SpecialValue.NO_VALUE;
 import static org.icgc.dcc.release.job.annotate.model.ParseNotification.WARNING_REF_DOES_NOT_MATCH_GENOME;
 
-import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
@@ -34,9 +33,6 @@ import lombok.RequiredArgsConstructor;
 import lombok.val;
 import lombok.extern.slf4j.Slf4j;
 
-import org.broadinstitute.variant.variantcontext.Genotype;
-import org.broadinstitute.variant.variantcontext.VariantContext;
-import org.icgc.dcc.release.job.annotate.model.AnnotatedFileType;
 import org.icgc.dcc.release.job.annotate.model.SecondaryEntity;
 import org.icgc.dcc.release.job.annotate.model.SnpEffect;
 import org.icgc.dcc.release.job.annotate.parser.SnpEffectParser;
@@ -57,9 +53,6 @@ import com.google.common.collect.Multimaps;
 @RequiredArgsConstructor
 public class SnpEffVCFToICGCConverter {
 
-  public static final String INFO_EFF_FIELD = "EFF";
-  private static final String INFO_PRIM_FIELD = "PRIM";
-
   /**
    * proteinDomainAffected does not have data to be populated. See SsmSecondaryRecord class for more details
    */
@@ -70,39 +63,32 @@ public class SnpEffVCFToICGCConverter {
   @NonNull
   private final String geneBuildVersion;
 
-  public List<SecondaryEntity> convert(VariantContext variant, AnnotatedFileType fileType) {
-    if (!variant.hasAttribute(INFO_PRIM_FIELD)) {
-      log.warn("The unique identificator is missing in variant {}", variant);
-
-      return Collections.emptyList();
-    }
-
-    val effects = retrieveUniqueCancerEffects(variant);
+  /**
+   * Converts the effects of an annotated variant.
+   * 
+   * @param variant - the annotated variant, used for logging
+   * @param effectAnnotations - the values of the {@code EFF} INFO field
+   * @param controlGenotype - the allele index of the control sample genotype. E.g. {@code 0} for {@code 0/0}
+   * @param tumourGenotype - the allele index of the tumour sample genotype
+   */
+  public List<SecondaryEntity> convert(@NonNull String variant, @NonNull List<String> effectAnnotations,
+      @NonNull String controlGenotype, @NonNull String tumourGenotype) {
+    val effects = retrieveUniqueCancerEffects(variant, effectAnnotations, controlGenotype, tumourGenotype);
 
-    return createSecondaryEntities(effects, geneBuildVersion, variant);
+    return createSecondaryEntities(effects, geneBuildVersion);
   }
 
-  private static List<SecondaryEntity> createSecondaryEntities(Collection<SnpEffect> effects, String geneBuildVersion,
-      VariantContext variant) {
+  private static List<SecondaryEntity> createSecondaryEntities(Collection<SnpEffect> effects, String geneBuildVersion) {
     val result = new ImmutableList.Builder<SecondaryEntity>();
 
     for (val effect : effects) {
-      result.add(createSecondaryEntity(effect, geneBuildVersion,
-          getObservationId(variant.getAttribute(INFO_PRIM_FIELD))));
+      result.add(createSecondaryEntity(effect, geneBuildVersion));
     }
 
     return result.build();
   }
 
-  private static String getObservationId(Object observationId) {
-    @SuppressWarnings("unchecked")
-    val observationIdList =
-        (observationId instanceof List) ? (List<String>) observationId : Arrays.asList((String) observationId);
-
-    return observationIdList.get(0);
-  }
-
-  private static SecondaryEntity createSecondaryEntity(SnpEffect effect, String genBuildVersion, String id) {
+  private static SecondaryEntity createSecondaryEntity(SnpEffect effect, String genBuildVersion) {
     return SecondaryEntity.builder()
         .consequenceType(getValue(effect.getConsequenceType().getConsequenceName()))
         .aaMutation(getValue(effect.getAminoAcidChange()))
@@ -112,7 +98,6 @@ public class SnpEffVCFToICGCConverter {
         .transcriptAffected(getValue(effect.getTranscriptID()))
         .geneBuildVersion(genBuildVersion)
         .note(SSM_NOTE)
-        .observationId(id)
         .build();
   }
 
@@ -124,22 +109,22 @@ public class SnpEffVCFToICGCConverter {
    * Parses {@code variant} and returns a collections of unique effects sorted by priority and limited by the most
    * important.
    */
-  private static Collection<SnpEffect> retrieveUniqueCancerEffects(VariantContext variant) {
+  private static Collection<SnpEffect> retrieveUniqueCancerEffects(String variant, List<String> effectAnnotations,
+      String controlGenotype, String tumourGenotype) {
     log.debug("Processing variant: {}", variant);
-    if (!variant.hasAttribute(INFO_EFF_FIELD)) {
+    if (effectAnnotations.isEmpty()) {
       log.warn("No snpEff annotation found in variant. Skipping. Variant: {}", variant);
 
       return Collections.emptyList();
     }
 
-    val effects = extractEffects(variant);
     val result = new ImmutableList.Builder<SnpEffect>();
 
-    for (val effectAnnotation : effects) {
-      result.addAll(filterMalformedEffects(SnpEffectParser.parse(effectAnnotation), variant));
+    for (val effectAnnotation : effectAnnotations) {
+      result.addAll(filterMalformedEffects(SnpEffectParser.parse(effectAnnotation)));
     }
 
-    return filterEffects(variant, result.build());
+    return filterEffects(variant, result.build(), controlGenotype, tumourGenotype);
   }
 
   /**
@@ -147,11 +132,11 @@ public class SnpEffVCFToICGCConverter {
    * 
    * @return a list of valid effects
    */
-  private static List<SnpEffect> filterMalformedEffects(List<SnpEffect> effects, VariantContext variant) {
+  private static List<SnpEffect> filterMalformedEffects(List<SnpEffect> effects) {
     val result = new ImmutableList.Builder<SnpEffect>();
 
     for (val effect : effects) {
-      if (isValidEffect(effect, variant)) {
+      if (isValidEffect(effect)) {
         result.add(effect);
       }
     }
@@ -159,7 +144,7 @@ public class SnpEffVCFToICGCConverter {
     return result.build();
   }
 
-  private static boolean isValidEffect(SnpEffect effect, VariantContext variant) {
+  private static boolean isValidEffect(SnpEffect effect) {
     if (effect.hasError()) {
       // FIXME: [DCC-2578] Confirm with Junjun when a malformed effect can be still added to a ssm_s.txt.
       if (effect.containsAnyError(WARNING_REF_DOES_NOT_MATCH_GENOME)) {
@@ -174,32 +159,21 @@ public class SnpEffVCFToICGCConverter {
     return true;
   }
 
-  /**
-   * Retrieves all annotated variants from the INFO field. Returns as a list of individual annotations. Each list entity
-   * is an unparsed (not broken down to fields) snpEff annotation.
-   */
-  @SuppressWarnings("unchecked")
-  private static List<String> extractEffects(VariantContext variant) {
-    val allEffects = variant.getAttribute(INFO_EFF_FIELD);
-
-    return (allEffects instanceof List) ? (List<String>) allEffects : Arrays.asList((String) allEffects);
-  }
-
   /**
    * Groups annotated effects at the transcript or gene level if the transcript one is not available. Selects one effect
    * from the group based on the {@link ConsequenceType}<br>
    * <br>
    * Skips variations which are not not mutations. E.g. controlSample equal to tumourSample (same nucleotide mutated
    * into the same nucleotide).
-   * @param variant - annotated variant
-   * @param individualEffects - effects retrieved from the {@code vc}
+   * @param variant - annotated variant, used for logging
+   * @param individualEffects - effects retrieved from the {@code variant}
+   * @param controlGenotype - allele index of the control sample genotype
+   * @param tumourGenotype - allele index of the tumour sample genotype
    * @return effects sorted by priority and limited by the most important
    * @see <a href="https://wiki.oicr.on.ca/x/sg6RAw">Effect selection criterias</a>
    */
-  private static Collection<SnpEffect> filterEffects(VariantContext variant, List<SnpEffect> individualEffects) {
-    val controlGenotype = parseGenotype(variant, SampleType.CONTROL_SAMPLE.getName());
-    val tumourGenotype = parseGenotype(variant, SampleType.DONOR_SAMPLE.getName());
-
+  private static Collection<SnpEffect> filterEffects(String variant, List<SnpEffect> individualEffects,
+      String controlGenotype, String tumourGenotype) {
     if (!isMutation(controlGenotype, tumourGenotype)) {
       log.warn("No mutations found based on the genotype info. Variant: {}", variant);
 
@@ -229,41 +203,6 @@ public class SnpEffVCFToICGCConverter {
     return !mutationFrom.equals(mutationTo);
   }
 
-  /**
-   * Gets genotype (control or sample) from {@code variant} by {@code genotypeName}. Transforms its name to numeric
-   * format which is generated by snpEff. The genotype number corresponds to the allele position in REF or ALT fields in
-   * the VCF file. The method returns a single position number of this genotype.
-   * 
-   * We know that left and right sides of a genotype are always equal, because this is enforced by the submission
-   * validator and it looks like "0/0  1/1". So, the method will return either "0" or "1" depending on the
-   * {@code genotypeName}
-   */
-  private static String parseGenotype(VariantContext variant, String genotypeName) {
-    val genotype = variant.getGenotype(genotypeName);
-    checkPhasing(genotype);
-
-    return transformGenotypeNotion(variant, genotype).get(0);
-  }
-
-  /**
-   * Converts {@code genotype}, which looks like [T/T] to VCF format. E.g. 1/1
-   */
-  private static List<String> transformGenotypeNotion(VariantContext variant, Genotype genotype) {
-    val result = new ImmutableList.Builder<String>();
-    val leftAlleleIndex = 0;
-    val rightAlleleIndex = 1;
-    result.add(String.valueOf(variant.getAlleleIndex(genotype.getAllele(leftAlleleIndex))));
-    result.add(String.valueOf(variant.getAlleleIndex(genotype.getAllele(rightAlleleIndex))));
-
-    return result.build();
-  }
-
-  private static void checkPhasing(Genotype genotype) {
-    if (genotype.isPhased()) {
-      throw new UnsupportedOperationException("Phased genotype is not currently supported. Genotype: " + genotype);
-    }
-  }
-
   /**
    * Returns a set of effects sorted by priority and limited by 1
    */
@@ -17,19 +17,31 @@
  */
 package org.icgc.dcc.release.job.annotate.core;
 
+import java.util.List;
+
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
+import lombok.val;
+import lombok.extern.slf4j.Slf4j;
 
 import org.icgc.dcc.release.core.config.SnpEffProperties;
 import org.icgc.dcc.release.core.job.FileType;
 import org.icgc.dcc.release.core.job.GenericJob;
 import org.icgc.dcc.release.core.job.JobContext;
 import org.icgc.dcc.release.core.job.JobType;
+import org.icgc.dcc.release.core.task.TaskSpec;
+import org.icgc.dcc.release.job.annotate.cache.AnnotationCache;
+import org.icgc.dcc.release.job.annotate.model.AnnotatedFileType;
+import org.icgc.dcc.release.job.annotate.snpeff.SnpEffPredictorPool;
 import org.icgc.dcc.release.job.annotate.task.AnnotationTask;
+import org.icgc.dcc.release.job.annotate.task.UpdateAnnotationCacheTask;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import com.google.common.collect.ImmutableList;
+
+@Slf4j
 @Component
 @RequiredArgsConstructor(onConstructor = @__({ @Autowired }))
 public class AnnotateJob extends GenericJob {
@@ -54,18 +66,48 @@ public class AnnotateJob extends GenericJob {
   @Override
   @SneakyThrows
   public void execute(@NonNull JobContext jobContext) {
+    if (properties.isEmbedded() && !SnpEffPredictorPool.isEmbedded(properties)) {
+      log.warn("Embedded SnpEff requires version 4.1 or 4.2 but version '{}' is configured. Forking SnpEff processes "
+          + "instead", properties.getVersion());
+    }
+
     clean(jobContext);
     annotate(jobContext);
+
+    if (AnnotationTask.isCacheEnabled(properties)) {
+      updateCache(jobContext);
+    }
   }
 
   private void clean(JobContext jobContext) {
     delete(jobContext, FileType.SSM_S, FileType.SGV_S);
   }
 
+  @Override
+  public List<TaskSpec> getTaskSpecs() {
+    val specs = ImmutableList.<TaskSpec> builder();
+    for (val task : createAnnotationTasks()) {
+      specs.add(task.getSpec());
+    }
+
+    return specs.build();
+  }
+
   private void annotate(JobContext jobContext) {
-    jobContext.execute(
+    jobContext.execute(createAnnotationTasks());
+  }
+
+  private List<AnnotationTask> createAnnotationTasks() {
+    return ImmutableList.of(
         new AnnotationTask(properties, SSM_INPUT_TYPE, FileType.SSM_S),
         new AnnotationTask(properties, SGV_INPUT_TYPE, FileType.SGV_S));
   }
 
+  private void updateCache(JobContext jobContext) {
+    val cache = new AnnotationCache(properties.getAnnotationCacheDir(), properties);
+    jobContext.execute(
+        new UpdateAnnotationCacheTask(cache, AnnotatedFileType.SSM),
+        new UpdateAnnotationCacheTask(cache, AnnotatedFileType.SGV));
+  }
+
 }
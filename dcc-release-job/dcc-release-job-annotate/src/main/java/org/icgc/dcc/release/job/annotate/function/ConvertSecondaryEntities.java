@@ -15,38 +15,42 @@
  * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
  * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
  */
-package org.icgc.dcc.release.core.function;
+package org.icgc.dcc.release.job.annotate.function;
 
-import static org.icgc.dcc.common.core.model.SpecialValue.NO_VALUE;
-import static org.icgc.dcc.common.core.model.SpecialValue.isDeprecatedValue;
-import static org.icgc.dcc.common.core.model.SpecialValue.isFullMissingCode;
+import java.util.List;
+
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
 import lombok.val;
 
-import org.apache.spark.api.java.function.Function;
+import org.apache.spark.api.java.function.FlatMapFunction;
+import org.icgc.dcc.release.job.annotate.model.AnnotatedFileType;
+import org.icgc.dcc.release.job.annotate.model.SecondaryEntity;
+import org.icgc.dcc.release.job.annotate.model.SecondaryRow;
+
+import scala.Tuple2;
+
+import com.google.common.collect.Lists;
 
-import com.fasterxml.jackson.databind.node.ObjectNode;
+/**
+ * Creates the secondary rows of an observation from the annotation of its variant.
+ */
+@RequiredArgsConstructor
+public class ConvertSecondaryEntities implements FlatMapFunction<Tuple2<String, List<SecondaryEntity>>, SecondaryRow> {
 
-// TODO: Move to stage module
-public class TranslateMissingCode implements Function<ObjectNode, ObjectNode> {
+  @NonNull
+  private final AnnotatedFileType fileType;
 
   @Override
-  public ObjectNode call(ObjectNode row) {
-    val iterator = row.fieldNames();
-    while (iterator.hasNext()) {
-      val fieldName = iterator.next();
-      val value = row.get(fieldName).textValue();
-      if (isMissingCode(value)) {
-        // Replace any empty value, missing code or former missing code with null
-        val replaced = (String) NO_VALUE;
-        row.put(fieldName, replaced);
-      }
+  public Iterable<SecondaryRow> call(Tuple2<String, List<SecondaryEntity>> tuple) throws Exception {
+    val observationId = tuple._1;
+    val secondaryEntities = tuple._2;
+    val rows = Lists.<SecondaryRow> newArrayListWithCapacity(secondaryEntities.size());
+    for (val secondaryEntity : secondaryEntities) {
+      rows.add(new SecondaryRow(fileType, observationId, secondaryEntity));
     }
 
-    return row;
-  }
-
-  private static boolean isMissingCode(String value) {
-    return value.isEmpty() || isFullMissingCode(value) || isDeprecatedValue(value);
+    return rows;
   }
 
-}
\ No newline at end of file
+}
@@ -17,42 +17,40 @@
  */
 package org.icgc.dcc.release.job.annotate.function;
 
-import static org.icgc.dcc.common.core.model.FieldNames.SubmissionFieldNames.SUBMISSION_MUTATION;
-import static org.icgc.dcc.common.core.model.FieldNames.SubmissionFieldNames.SUBMISSION_OBSERVATION_VARIANT_ALLELE;
-import static org.icgc.dcc.release.core.util.Mutations.createMutation;
-import static org.icgc.dcc.release.job.annotate.model.AnnotatedFileType.SSM;
-
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.Iterator;
 import java.util.List;
 
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
-import lombok.SneakyThrows;
 import lombok.val;
-import lombok.extern.slf4j.Slf4j;
 
+import org.apache.spark.TaskContext;
 import org.apache.spark.api.java.function.FlatMapFunction;
-import org.icgc.dcc.common.core.json.Jackson;
+import org.apache.spark.util.TaskCompletionListener;
 import org.icgc.dcc.release.core.config.SnpEffProperties;
-import org.icgc.dcc.release.job.annotate.converter.ICGCToVCFConverter.MutationType;
-import org.icgc.dcc.release.job.annotate.converter.SecondaryObjectNodeConverter;
 import org.icgc.dcc.release.job.annotate.model.AnnotatedFileType;
 import org.icgc.dcc.release.job.annotate.model.SecondaryEntity;
-import org.icgc.dcc.release.job.annotate.snpeff.SnpEffPredictor;
+import org.icgc.dcc.release.job.annotate.model.Variant;
+import org.icgc.dcc.release.job.annotate.snpeff.SnpEffPredictorPool;
+import org.icgc.dcc.release.job.annotate.snpeff.VariantPredictor;
+
+import scala.Tuple2;
 
-import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.google.common.collect.Lists;
 
-@Slf4j
+/**
+ * Annotates variants, pairing each with its (possibly empty) list of secondary entities.
+ */
 @RequiredArgsConstructor
-public class SnpEffAnnotate implements FlatMapFunction<Iterator<ObjectNode>, ObjectNode> {
+public class SnpEffAnnotate implements FlatMapFunction<Iterator<Variant>, Tuple2<Variant, List<SecondaryEntity>>> {
 
   /**
-   * Returned instead of empty result produced by the Annotator.
+   * Number of variants handed to the predictor at once. Larger than the prediction window so the pipeline rarely
+   * drains.
    */
-  public static final ObjectNode SENTINEL_VALUE = Jackson.DEFAULT.createObjectNode();
-
-  private static final String MISSING_ALLELE = "-";
+  public static final int BATCH_SIZE = 10000;
 
   /**
    * Configuration.
@@ -62,68 +60,58 @@ public class SnpEffAnnotate implements FlatMapFunction<Iterator<ObjectNode>, Obj
   private final AnnotatedFileType fileType;
 
   @Override
-  public Iterable<ObjectNode> call(final Iterator<ObjectNode> partition) {
-    val predictor = new SnpEffPredictor(properties, fileType);
+  public Iterable<Tuple2<Variant, List<SecondaryEntity>>> call(Iterator<Variant> partition) {
+    val pool = SnpEffPredictorPool.getPool(properties, fileType);
+    val iterator = new SnpEffAnnotateIterator(partition, pool, pool.borrow());
 
-    log.info("Asynchronously forking SnpEff process...");
-    predictor.start();
-    log.info("Successfully asynchronously forked SnpEff process");
+    // Give the predictor back even if the partition is not fully consumed, e.g. when the task is killed
+    TaskContext.get().addTaskCompletionListener((TaskCompletionListener) context -> iterator.close(false));
 
-    return new SnpEffAnnotateIterator(partition, fileType, predictor);
+    return iterator;
   }
 
   @RequiredArgsConstructor
-  private static class SnpEffAnnotateIterator implements Iterable<ObjectNode>, Iterator<ObjectNode> {
+  private static class SnpEffAnnotateIterator implements Iterable<Tuple2<Variant, List<SecondaryEntity>>>,
+      Iterator<Tuple2<Variant, List<SecondaryEntity>>> {
 
     /**
      * Dependencies.
      */
-    private final Iterator<ObjectNode> delegate;
+    private final Iterator<Variant> delegate;
+    private final SnpEffPredictorPool pool;
+    private final VariantPredictor predictor;
 
     /**
      * State
      */
-    @NonNull
-    private final AnnotatedFileType fileType;
-    private final SnpEffPredictor predictor;
-    private final List<ObjectNode> results = Lists.newArrayList();
+    private final Deque<Tuple2<Variant, List<SecondaryEntity>>> results = new ArrayDeque<>();
+    private boolean closed;
 
     @Override
-    public Iterator<ObjectNode> iterator() {
+    public Iterator<Tuple2<Variant, List<SecondaryEntity>>> iterator() {
       return this;
-    };
+    }
 
     @Override
-    @SneakyThrows
     public boolean hasNext() {
       try {
-        if (results.isEmpty() && !delegate.hasNext()) {
-          close();
-
-          return false;
-        } else {
-          if (results.isEmpty()) {
-            predict(delegate.next());
-          }
-
-          return !results.isEmpty();
+        if (results.isEmpty() && delegate.hasNext()) {
+          predictBatch();
         }
-      } catch (Exception e) {
-        close();
+        if (results.isEmpty()) {
+          close(true);
+        }
+
+        return !results.isEmpty();
+      } catch (RuntimeException e) {
+        close(false);
         throw e;
       }
     }
 
-    private void close() throws InterruptedException {
-      // Clean up
-      log.info("Shutdown the forked SnpEff process...");
-      predictor.stop();
-      log.info("Successfully shutdown the forked SnpEff process");
-    }
-
     @Override
-    public ObjectNode next() {
-      return results.remove(0);
+    public Tuple2<Variant, List<SecondaryEntity>> next() {
+      return results.remove();
     }
 
     @Override
@@ -131,46 +119,36 @@ public class SnpEffAnnotate implements FlatMapFunction<Iterator<ObjectNode>, Obj
       throw new UnsupportedOperationException("Cannot remove a " + getClass().getName() + " iterator");
     }
 
-    public void predict(ObjectNode row) {
-      // Determine the prediction
-      val predictions = predict(row, predictor);
-      postprocessEmptyResults(predictions);
-      for (val prediction : predictions) {
-        results.add(SecondaryObjectNodeConverter.convert(prediction, fileType));
+    private void predictBatch() {
+      val variants = Lists.<Variant> newArrayListWithCapacity(BATCH_SIZE);
+      while (delegate.hasNext() && variants.size() < BATCH_SIZE) {
+        variants.add(delegate.next());
       }
-    }
 
-    private void postprocessEmptyResults(List<SecondaryEntity> predictions) {
-      if (predictions.isEmpty()) {
-        results.add(SENTINEL_VALUE);
+      val predictions = predictor.predict(variants);
+      for (int i = 0; i < predictions.size(); i++) {
+        // Kryo cannot deserialize immutable lists
+        val secondaryEntities = Lists.newArrayList(predictions.get(i));
+        results.add(new Tuple2<>(variants.get(i), secondaryEntities));
       }
     }
 
-    private List<SecondaryEntity> predict(ObjectNode row, SnpEffPredictor predictor) {
-      // Extract row values
-      val chromosome = row.get(fileType.getChromosomeFieldName()).textValue();
-      val start = row.get(fileType.getChromosomeStartFieldName()).asLong();
-      val end = row.get(fileType.getChromosomeEndFieldName()).asLong();
-      val mutation = getMutation(row, fileType);
-      val type = MutationType.fromId(row.get(fileType.getMutationTypeFieldName()).textValue());
-      val ref = row.get(fileType.getReferenceAlleleFieldName()).textValue();
-      val reference = (ref.equals(MISSING_ALLELE)) ? "" : ref;
-      val id = row.get(fileType.getObservationIdFieldName()).textValue();
-
-      return predictor.predict(chromosome, start, end, mutation, type, reference, id);
-    }
-
-    private static String getMutation(ObjectNode row, AnnotatedFileType fileType) {
-      if (fileType == SSM) {
-        return row.get(SUBMISSION_MUTATION).textValue();
+    /**
+     * Returns the predictor to the pool, destroying it if it may still have predictions in flight.
+     */
+    private void close(boolean completed) {
+      if (closed) {
+        return;
       }
 
-      val mutatedFrom = row.get(fileType.getReferenceAlleleFieldName()).textValue();
-      val mutatedTo = row.get(SUBMISSION_OBSERVATION_VARIANT_ALLELE).textValue();
-
-      return createMutation(mutatedFrom, mutatedTo);
+      closed = true;
+      if (completed) {
+        pool.release(predictor);
+      } else {
+        pool.invalidate(predictor);
+      }
     }
 
   }
 
-}
\ No newline at end of file
+}
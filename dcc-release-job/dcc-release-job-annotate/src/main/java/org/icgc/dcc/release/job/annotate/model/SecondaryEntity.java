@@ -17,17 +17,20 @@
  */
 package org.icgc.dcc.release.job.annotate.model;
 
+import java.io.Serializable;
+
 import lombok.Value;
 import lombok.Builder;
 
 /**
  * Represents a record in the ssm_s.txt or sgv_s.txt file.<br>
  * <b>Note:</b> in the sgv_s.txt file some fields have different names. I.e. {@code aa_mutation} -> {@code aa_change},
- * {@code cds_mutation} -> {@code cds_change}.
+ * {@code cds_mutation} -> {@code cds_change}. The observation ID is added when the record is written, since the same
+ * annotation applies to every observation of a variant.
  */
 @Value
 @Builder
-public class SecondaryEntity {
+public class SecondaryEntity implements Serializable {
 
   String consequenceType;
   String aaMutation;
@@ -40,6 +43,5 @@ public class SecondaryEntity {
   String transcriptAffected;
   String geneBuildVersion;
   String note;
-  String observationId;
 
 }
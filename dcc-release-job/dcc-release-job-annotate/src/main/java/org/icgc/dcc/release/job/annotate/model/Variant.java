@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2015 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.release.job.annotate.model;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+import lombok.NonNull;
+import lombok.Value;
+import lombok.val;
+
+import org.icgc.dcc.release.job.annotate.converter.ICGCToVCFConverter.MutationType;
+
+/**
+ * A variant to be annotated. Its annotation only depends on these fields, not on the observation(s) it comes from.
+ * <p>
+ * Variants are shuffled by hash, so {@link #hashCode()} uses the name of the mutation type: the hash of an enum is its
+ * identity and differs between executors.
+ */
+@Value
+public class Variant implements Serializable {
+
+  @NonNull
+  String chromosome;
+  long start;
+  long end;
+  @NonNull
+  String mutation;
+  @NonNull
+  MutationType type;
+  @NonNull
+  String reference;
+
+  @Override
+  public boolean equals(Object object) {
+    if (object == this) {
+      return true;
+    }
+    if (!(object instanceof Variant)) {
+      return false;
+    }
+
+    val other = (Variant) object;
+    return start == other.start && end == other.end && chromosome.equals(other.chromosome)
+        && mutation.equals(other.mutation) && type == other.type && reference.equals(other.reference);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(chromosome, start, end, mutation, type.name(), reference);
+  }
+
+}
@@ -19,7 +19,6 @@ package org.icgc.dcc.release.job.annotate.parser;
 
 import static com.google.common.base.Preconditions.checkState;
 import static com.google.common.base.Strings.isNullOrEmpty;
-import static java.util.regex.Pattern.quote;
 import static lombok.AccessLevel.PRIVATE;
 import static org.icgc.dcc.release.job.annotate.model.ConsequenceType.FRAMESHIFT_VARIANT;
 import static org.icgc.dcc.release.job.annotate.model.ConsequenceType.UNKNOWN_CONSEQUENCE;
@@ -56,6 +55,8 @@ import org.icgc.dcc.release.job.annotate.model.ParseState;
 import org.icgc.dcc.release.job.annotate.model.SnpEffect;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
 
 /**
  * This class orchestrates the set of parsers that parse individual snpEff annotated fields.
@@ -80,11 +81,11 @@ public final class SnpEffectParser {
   public static final int WARNING_AND_ERROR_MEDATA_FIELDS_COUNT = 13;
   public static final SnpEffect MALFORMED_SNP_EFFECT = SnpEffect.builder().consequenceType(UNKNOWN_CONSEQUENCE).build();
 
-  private static final String METADATA_DELIMITER = "[()]";
-  private static final String METADATA_SUBFIELD_DELIMITER = "|";
-  private static final int EFFECT_NAME_INDEX = 0;
-  private static final int EFFECT_METADATA_INDEX = 1;
+  private static final char METADATA_START = '(';
+  private static final char METADATA_END = ')';
+  private static final char METADATA_SUBFIELD_DELIMITER = '|';
   private static final String EMPTY_VALUE = "";
+  private static final Interner<String> FIELD_INTERNER = Interners.newWeakInterner();
 
   // If there is either a warning OR an error, it will be in the last field. If there is both a warning AND an error,
   // the warning will be in the second-to-last field, and the error will be in the last field.
@@ -114,15 +115,20 @@ public final class SnpEffectParser {
       return ImmutableList.of(MALFORMED_SNP_EFFECT);
     }
 
-    val effectNameAndMetadata = effectAnnotation.split(METADATA_DELIMITER);
-    val fieldsCount = 2;
-    if (effectNameAndMetadata.length != fieldsCount) {
+    // Scanned rather than split with regular expressions as every annotated variant has many effects
+    val metadataStart = effectAnnotation.indexOf(METADATA_START);
+    val closing = effectAnnotation.indexOf(METADATA_END);
+    val metadataEnd = closing == -1 ? effectAnnotation.length() : closing;
+    val malformed = metadataStart <= 0 || metadataEnd < metadataStart
+        || metadataEnd < effectAnnotation.length() - 1
+        || effectAnnotation.indexOf(METADATA_START, metadataStart + 1) != -1;
+    if (malformed) {
       log.warn("Malformed SnpEff effect: {}", effectAnnotation);
 
       return ImmutableList.of(MALFORMED_SNP_EFFECT);
     }
 
-    val effectMetadata = effectNameAndMetadata[EFFECT_METADATA_INDEX].split(quote(METADATA_SUBFIELD_DELIMITER), -1);
+    val effectMetadata = splitMetadata(effectAnnotation, metadataStart + 1, metadataEnd);
     try {
       checkMetadataFormat(effectMetadata);
     } catch (IllegalStateException e) {
@@ -131,7 +137,7 @@ public final class SnpEffectParser {
       return ImmutableList.of(MALFORMED_SNP_EFFECT);
     }
 
-    val effectName = effectNameAndMetadata[EFFECT_NAME_INDEX];
+    val effectName = effectAnnotation.substring(0, metadataStart);
     val result = new ImmutableList.Builder<SnpEffect>();
     for (val consequenceType : ConsequenceTypeParser.parse(effectName)) {
       result.add(parseIndividualEffect(consequenceType, effectMetadata));
@@ -140,6 +146,33 @@ public final class SnpEffectParser {
     return result.build();
   }
 
+  /**
+   * Splits the {@code |} delimited metadata between {@code start} and {@code end}, keeping empty fields. Fields are
+   * interned as the same genes, transcripts and biotypes are repeated across most effects.
+   */
+  private static String[] splitMetadata(String effectAnnotation, int start, int end) {
+    int count = 1;
+    for (int i = start; i < end; i++) {
+      if (effectAnnotation.charAt(i) == METADATA_SUBFIELD_DELIMITER) {
+        count++;
+      }
+    }
+
+    val metadata = new String[count];
+    int fieldStart = start;
+    for (int i = 0; i < count; i++) {
+      int fieldEnd = effectAnnotation.indexOf(METADATA_SUBFIELD_DELIMITER, fieldStart);
+      if (fieldEnd == -1 || fieldEnd > end) {
+        fieldEnd = end;
+      }
+
+      metadata[i] = FIELD_INTERNER.intern(effectAnnotation.substring(fieldStart, fieldEnd));
+      fieldStart = fieldEnd + 1;
+    }
+
+    return metadata;
+  }
+
   private static SnpEffect parseIndividualEffect(String effectName, String[] effectMetadata) {
     val result = SnpEffect.builder();
     val parseState = new ParseState();
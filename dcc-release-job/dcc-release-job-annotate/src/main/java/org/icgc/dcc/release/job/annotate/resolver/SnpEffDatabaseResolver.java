@@ -18,17 +18,12 @@
 package org.icgc.dcc.release.job.annotate.resolver;
 
 import static com.google.common.base.Preconditions.checkState;
-import static java.lang.Long.MAX_VALUE;
+import static org.icgc.dcc.release.core.util.Downloads.download;
 
 import java.io.File;
-import java.io.FileNotFoundException;
-import java.io.FileOutputStream;
-import java.io.IOException;
 import java.net.MalformedURLException;
 import java.net.URL;
-import java.nio.channels.Channels;
 
-import lombok.Cleanup;
 import lombok.NonNull;
 import lombok.SneakyThrows;
 import lombok.val;
@@ -64,7 +59,7 @@ public class SnpEffDatabaseResolver extends DirectoryResourceResolver<File> {
       return dataDir;
     }
 
-    checkState(versionDir.mkdirs(), "Could not make data version directory '%s'", versionDir);
+    checkState(versionDir.exists() || versionDir.mkdirs(), "Could not make data version directory '%s'", versionDir);
 
     log.info("Resolving SnpEff database version '{}' from '{}' to '{}'...",
         new Object[] { version, url, databaseFile });
@@ -74,14 +69,6 @@ public class SnpEffDatabaseResolver extends DirectoryResourceResolver<File> {
     return dataDir;
   }
 
-  private void download(URL url, File databaseFile) throws IOException, FileNotFoundException {
-    @Cleanup
-    val output = new FileOutputStream(databaseFile);
-
-    val channel = Channels.newChannel(url.openStream());
-    output.getChannel().transferFrom(channel, 0, MAX_VALUE);
-  }
-
   private URL getUrl(String artifactId, String version) throws MalformedURLException {
     val url = new URL(resourceUrl + "/" + artifactId + "/" + version + "/" + artifactId + "-" + version + ".bin");
 
@@ -18,17 +18,12 @@
 package org.icgc.dcc.release.job.annotate.resolver;
 
 import static com.google.common.base.Preconditions.checkState;
-import static java.lang.Long.MAX_VALUE;
+import static org.icgc.dcc.release.core.util.Downloads.download;
 
 import java.io.File;
-import java.io.FileNotFoundException;
-import java.io.FileOutputStream;
-import java.io.IOException;
 import java.net.MalformedURLException;
 import java.net.URL;
-import java.nio.channels.Channels;
 
-import lombok.Cleanup;
 import lombok.NonNull;
 import lombok.SneakyThrows;
 import lombok.val;
@@ -42,17 +37,18 @@ public class SnpEffJarResolver extends DirectoryResourceResolver<File> {
   /**
    * Configuration.
    */
+  private final String resourceUrl;
   private final String version;
 
-  public SnpEffJarResolver(@NonNull File resourceDir, @NonNull String version) {
+  public SnpEffJarResolver(@NonNull File resourceDir, @NonNull String resourceUrl, @NonNull String version) {
     super(resourceDir);
+    this.resourceUrl = resourceUrl;
     this.version = version;
   }
 
   @Override
   @SneakyThrows
   protected File get() {
-    // TODO: Externalize
     val artifactId = "snpeff";
     val url = getUrl(artifactId, version);
 
@@ -63,7 +59,7 @@ public class SnpEffJarResolver extends DirectoryResourceResolver<File> {
       return jarFile;
     }
 
-    checkState(versionDir.mkdirs(), "Could not make data version directory '%s'", versionDir);
+    checkState(versionDir.exists() || versionDir.mkdirs(), "Could not make data version directory '%s'", versionDir);
 
     log.info("Resolving SnpEff jar version '{}' from '{}' to '{}'...", new Object[] { version, url, jarFile });
     download(url, jarFile);
@@ -72,16 +68,7 @@ public class SnpEffJarResolver extends DirectoryResourceResolver<File> {
     return jarFile;
   }
 
-  private void download(URL url, File jarFile) throws IOException, FileNotFoundException {
-    @Cleanup
-    val output = new FileOutputStream(jarFile);
-
-    val channel = Channels.newChannel(url.openStream());
-    output.getChannel().transferFrom(channel, 0, MAX_VALUE);
-  }
-
   private URL getUrl(String artifactId, String version) throws MalformedURLException {
-    val resourceUrl = "https://artifacts.oicr.on.ca/artifactory/simple/dcc-dependencies";
     val groupPath = "ca/mcgill/mcb/pcingola/snpeff";
     val url = new URL(resourceUrl + "/" + groupPath + "/" + version + "/" + artifactId + "-" + version + ".jar");
 
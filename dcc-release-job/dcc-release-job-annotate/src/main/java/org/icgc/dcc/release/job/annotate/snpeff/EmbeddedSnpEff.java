@@ -0,0 +1,316 @@
+/*
+ * Copyright (c) 2015 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.release.job.annotate.snpeff;
+
+import static com.google.common.base.Preconditions.checkState;
+import static org.icgc.dcc.release.job.annotate.snpeff.SnpEffResources.createConfigFile;
+import static org.icgc.dcc.release.job.annotate.snpeff.SnpEffResources.resolveDataDir;
+import static org.icgc.dcc.release.job.annotate.snpeff.SnpEffResources.resolveJar;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.StringReader;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import lombok.NonNull;
+import lombok.SneakyThrows;
+import lombok.val;
+import lombok.extern.slf4j.Slf4j;
+
+import org.icgc.dcc.release.core.config.SnpEffProperties;
+
+import com.google.common.base.Joiner;
+
+/**
+ * SnpEff loaded from its resolved jar into the current JVM. The database is loaded once per JVM and shared by the
+ * {@link Annotator}s of all {@link EmbeddedSnpEffPredictor}s.
+ * <p>
+ * SnpEff is not a compile time dependency, so its {@code VcfAnnotator} API ({@code annotateInit} and
+ * {@code annotate}) is called through reflection. This API exists as of SnpEff 4.1 and under the
+ * {@code ca.mcgill.mcb.pcingola} package until 4.2, which {@link #checkVersion(String)} enforces.
+ * <p>
+ * The command keeps per run state and is not thread safe, so each annotator has its own command. The commands share
+ * the {@code Config} of the first one, holding the database (about 4 GB), which {@code annotateInit} then does not
+ * load again. Once built, the database is only read. The database is released with the last annotator, e.g. when the
+ * {@link SnpEffPredictorPool} evicts its idle predictors.
+ */
+@Slf4j
+class EmbeddedSnpEff {
+
+  /**
+   * Constants.
+   */
+  private static final String PACKAGE_NAME = "ca.mcgill.mcb.pcingola";
+  private static final String COMMAND_CLASS_NAME = PACKAGE_NAME + ".snpEffect.commandLine.SnpEffCmdEff";
+  private static final String CONFIG_CLASS_NAME = PACKAGE_NAME + ".snpEffect.Config";
+  private static final String MARKER_CLASS_NAME = PACKAGE_NAME + ".interval.Marker";
+  private static final String VCF_FILE_CLASS_NAME = PACKAGE_NAME + ".fileIterator.VcfFileIterator";
+  private static final String VCF_ENTRY_CLASS_NAME = PACKAGE_NAME + ".vcf.VcfEntry";
+  private static final String EFF_KEY = "EFF";
+  private static final String GENOTYPE_FORMAT = "GT";
+  private static final String MISSING_VALUE = ".";
+  private static final Joiner ALLELE_JOINER = Joiner.on(',');
+  private static final Pattern VERSION_PATTERN = Pattern.compile("^(\\d+)\\.(\\d+)");
+
+  /**
+   * Shared instance.
+   */
+  private static EmbeddedSnpEff instance;
+
+  /**
+   * Configuration.
+   */
+  private final File configFile;
+  private final String databaseVersion;
+  private final String header;
+
+  /**
+   * Dependencies.
+   */
+  private final URLClassLoader classLoader;
+  private final Class<?> commandClass;
+  private final Class<?> vcfFileClass;
+  private final Method setConfig;
+  private final Method annotateInit;
+  private final Method annotate;
+  private final Method getGenome;
+  private final Method getOrCreateChromosome;
+  private final Method addGenotype;
+  private final Method getInfo;
+  private final Constructor<?> vcfEntryConstructor;
+
+  /**
+   * State.
+   */
+  private Object config;
+  private int annotators;
+
+  /**
+   * Creates an annotator over the database shared by the JVM, loading it first if needed.
+   */
+  static synchronized Annotator getAnnotator(@NonNull SnpEffProperties properties, @NonNull String header) {
+    if (instance == null) {
+      checkVersion(properties.getVersion());
+      instance = new EmbeddedSnpEff(resolveJar(properties), createConfigFile(resolveDataDir(properties)),
+          properties.getDatabaseVersion(), header);
+    }
+
+    return instance.createAnnotator();
+  }
+
+  /**
+   * @return {@code true} if SnpEff {@code version} provides the API used here
+   */
+  static boolean isSupported(@NonNull String version) {
+    val matcher = VERSION_PATTERN.matcher(version);
+    if (!matcher.find()) {
+      return false;
+    }
+
+    val major = Integer.parseInt(matcher.group(1));
+    val minor = Integer.parseInt(matcher.group(2));
+
+    return major == 4 && (minor == 1 || minor == 2);
+  }
+
+  /**
+   * Fails unless SnpEff {@code version} provides the API used here.
+   */
+  static void checkVersion(@NonNull String version) {
+    checkState(isSupported(version),
+        "Embedded SnpEff requires version 4.1 or 4.2 but version '%s' is configured. Set snpeff.embedded to false to "
+            + "fork SnpEff processes instead", version);
+  }
+
+  @SneakyThrows
+  EmbeddedSnpEff(File jar, File configFile, String databaseVersion, String header) {
+    this.configFile = configFile;
+    this.databaseVersion = databaseVersion;
+    this.header = header;
+
+    // Isolate the libraries bundled in the SnpEff jar from the ones of the application
+    this.classLoader = new URLClassLoader(new URL[] { jar.toURI().toURL() }, ClassLoader.getSystemClassLoader()
+        .getParent());
+    this.commandClass = classLoader.loadClass(COMMAND_CLASS_NAME);
+    this.vcfFileClass = classLoader.loadClass(VCF_FILE_CLASS_NAME);
+    val configClass = classLoader.loadClass(CONFIG_CLASS_NAME);
+    val markerClass = classLoader.loadClass(MARKER_CLASS_NAME);
+    val vcfEntryClass = classLoader.loadClass(VCF_ENTRY_CLASS_NAME);
+
+    this.setConfig = commandClass.getMethod("setConfig", configClass);
+    this.annotateInit = commandClass.getMethod("annotateInit", vcfFileClass);
+    this.annotate = commandClass.getMethod("annotate", vcfEntryClass);
+    this.getGenome = configClass.getMethod("getGenome");
+    this.getOrCreateChromosome = getGenome.getReturnType().getMethod("getOrCreateChromosome", String.class);
+    this.addGenotype = vcfEntryClass.getMethod("addGenotype", String.class);
+    this.getInfo = vcfEntryClass.getMethod("getInfo", String.class);
+    this.vcfEntryConstructor = vcfEntryClass.getConstructor(vcfFileClass, markerClass, String.class, int.class,
+        String.class, String.class, String.class, double.class, String.class, String.class, String.class);
+
+    log.info("Loading SnpEff database '{}' from '{}'...", databaseVersion, jar);
+    val command = createCommand(createVcfFile());
+    this.config = commandClass.getMethod("getConfig").invoke(command);
+    log.info("Finished loading SnpEff database '{}'", databaseVersion);
+  }
+
+  /**
+   * Creates an annotator with its own command over the shared database.
+   */
+  Annotator createAnnotator() {
+    synchronized (EmbeddedSnpEff.class) {
+      checkState(config != null, "Embedded SnpEff was released");
+      val vcfFile = createVcfFile();
+      val annotator = new Annotator(createCommand(vcfFile), vcfFile);
+      annotators++;
+
+      return annotator;
+    }
+  }
+
+  private void release() {
+    synchronized (EmbeddedSnpEff.class) {
+      if (--annotators > 0) {
+        return;
+      }
+
+      log.info("Releasing SnpEff database '{}'...", databaseVersion);
+      if (instance == this) {
+        instance = null;
+      }
+
+      config = null;
+      try {
+        classLoader.close();
+      } catch (Exception e) {
+        log.warn("Failed to close SnpEff class loader: {}", e.getMessage());
+      }
+    }
+  }
+
+  @SneakyThrows
+  private Object createVcfFile() {
+    // The cancer samples pedigree is read from the header
+    val vcfFile = vcfFileClass.getConstructor(BufferedReader.class)
+        .newInstance(new BufferedReader(new StringReader(header)));
+    vcfFileClass.getMethod("readHeader").invoke(vcfFile);
+
+    return vcfFile;
+  }
+
+  @SneakyThrows
+  private Object createCommand(Object vcfFile) {
+    val command = commandClass.newInstance();
+    commandClass.getMethod("parseArgs", String[].class).invoke(command, (Object) createArgs(configFile,
+        databaseVersion));
+    if (config != null) {
+      setConfig.invoke(command, config);
+    }
+
+    val initialized = (Boolean) annotateInit.invoke(command, vcfFile);
+    checkState(initialized, "Could not initialize SnpEff database '%s'", databaseVersion);
+
+    return command;
+  }
+
+  private static String[] createArgs(File configFile, String databaseVersion) {
+    // Same as the forked SnpEffProcess. EFF is requested explicitly since newer versions default to ANN
+    return new String[] {
+        "-cancer",
+        "-geneId",
+        "-sequenceOntology",
+        "-formatEff",
+        "-noStats",
+        "-noLog",
+        "-c",
+        configFile.getAbsolutePath(),
+        databaseVersion };
+  }
+
+  /**
+   * Annotates the variants of one {@link EmbeddedSnpEffPredictor}, one at a time.
+   */
+  class Annotator {
+
+    /**
+     * Dependencies.
+     */
+    private final Object command;
+    private final Object vcfFile;
+    private final Object genome;
+
+    /**
+     * State.
+     */
+    private boolean closed;
+
+    @SneakyThrows
+    private Annotator(Object command, Object vcfFile) {
+      this.command = command;
+      this.vcfFile = vcfFile;
+      this.genome = getGenome.invoke(config);
+    }
+
+    /**
+     * Annotates a variant, building the SnpEff entry from its fields rather than from a VCF line.
+     * 
+     * @param position the 1-based VCF position
+     * @param genotypes the {@code GT} value of each sample, e.g. {@code 0/0}
+     * @return the {@code EFF} value SnpEff computed or {@code null} if there are no effects
+     */
+    @SneakyThrows
+    String annotate(@NonNull String chromosome, int position, @NonNull String reference,
+        @NonNull List<String> alternates, @NonNull List<String> genotypes) {
+      checkState(!closed, "SnpEff annotator is closed");
+      val alternatesValue = alternates.isEmpty() ? MISSING_VALUE : ALLELE_JOINER.join(alternates);
+
+      // Unknown chromosomes are added to the shared genome
+      Object parent;
+      synchronized (genome) {
+        parent = getOrCreateChromosome.invoke(genome, chromosome);
+      }
+
+      // SnpEff markers are 0-based
+      val vcfEntry = vcfEntryConstructor.newInstance(vcfFile, parent, chromosome, position - 1, MISSING_VALUE,
+          reference, alternatesValue, 0.0, MISSING_VALUE, MISSING_VALUE, GENOTYPE_FORMAT);
+      for (val genotype : genotypes) {
+        addGenotype.invoke(vcfEntry, genotype);
+      }
+
+      annotate.invoke(command, vcfEntry);
+
+      return (String) getInfo.invoke(vcfEntry, EFF_KEY);
+    }
+
+    /**
+     * Releases the shared database if this was the last annotator.
+     */
+    void close() {
+      if (!closed) {
+        closed = true;
+        release();
+      }
+    }
+
+  }
+
+}
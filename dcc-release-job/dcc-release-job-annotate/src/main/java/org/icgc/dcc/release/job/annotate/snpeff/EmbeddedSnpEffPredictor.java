@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2015 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.release.job.annotate.snpeff;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.icgc.dcc.release.job.annotate.converter.SnpEffVCFToICGCConverter.SampleType.CONTROL_SAMPLE;
+import static org.icgc.dcc.release.job.annotate.converter.SnpEffVCFToICGCConverter.SampleType.DONOR_SAMPLE;
+import static org.icgc.dcc.release.job.annotate.snpeff.SnpEffResources.resolveReferenceGenome;
+
+import java.io.ByteArrayOutputStream;
+import java.util.List;
+
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
+import lombok.val;
+import lombok.extern.slf4j.Slf4j;
+
+import org.broadinstitute.variant.variantcontext.Allele;
+import org.broadinstitute.variant.variantcontext.VariantContext;
+import org.icgc.dcc.release.core.config.SnpEffProperties;
+import org.icgc.dcc.release.job.annotate.converter.SnpEffVCFToICGCConverter.SampleType;
+import org.icgc.dcc.release.job.annotate.model.SecondaryEntity;
+import org.icgc.dcc.release.job.annotate.model.Variant;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+
+/**
+ * Annotates variants with SnpEff running in the current JVM, avoiding the process fork, its heap and the pipe I/O of
+ * {@link SnpEffPredictor}. Variants are handed to SnpEff as entries built from their fields and only the effects are
+ * read back, so no VCF line is encoded or parsed.
+ * <p>
+ * Each predictor annotates with its own SnpEff command, so the predictors of a {@link SnpEffPredictorPool} annotate
+ * concurrently over the single database of the executor.
+ * 
+ * @see EmbeddedSnpEff
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class EmbeddedSnpEffPredictor implements VariantPredictor {
+
+  /**
+   * Constants.
+   */
+  private static final String NO_CALL_ALLELE_INDEX = ".";
+
+  /**
+   * Configuration.
+   */
+  @NonNull
+  private final SnpEffProperties properties;
+
+  /**
+   * Dependencies.
+   */
+  private EmbeddedSnpEff.Annotator annotator;
+  private SnpEffVariantEncoder encoder;
+  private SnpEffResultParser parser;
+
+  /**
+   * @return {@code true} if the configured SnpEff version can be embedded, e.g. not the forked only 3.6c
+   */
+  public static boolean isSupported(@NonNull SnpEffProperties properties) {
+    return EmbeddedSnpEff.isSupported(properties.getVersion());
+  }
+
+  @Override
+  @SneakyThrows
+  public void start() {
+    this.encoder = new SnpEffVariantEncoder(resolveReferenceGenome(properties));
+    this.parser = new SnpEffResultParser(properties.getGeneBuildVersion());
+
+    val header = new ByteArrayOutputStream();
+    encoder.writeHeader(header);
+    this.annotator = EmbeddedSnpEff.getAnnotator(properties, header.toString(UTF_8.name()));
+  }
+
+  @Override
+  public List<List<SecondaryEntity>> predict(@NonNull List<Variant> variants) {
+    val results = Lists.<List<SecondaryEntity>> newArrayListWithCapacity(variants.size());
+    for (val variant : variants) {
+      val context = encoder.convert(variant);
+      val controlGenotype = getAlleleIndex(context, CONTROL_SAMPLE);
+      val tumourGenotype = getAlleleIndex(context, DONOR_SAMPLE);
+
+      val effects = annotator.annotate(context.getChr(), context.getStart(), context.getReference().getBaseString(),
+          getBaseStrings(context.getAlternateAlleles()),
+          ImmutableList.of(getGenotype(controlGenotype), getGenotype(tumourGenotype)));
+      results.add(parser.parse(context.toString(), effects, controlGenotype, tumourGenotype));
+    }
+
+    return results;
+  }
+
+  @Override
+  public boolean isHealthy() {
+    if (annotator == null) {
+      return false;
+    }
+
+    try {
+      predict(ImmutableList.of(PROBE_VARIANT));
+
+      return true;
+    } catch (Exception e) {
+      log.warn("Embedded SnpEff failed its health check: {}", e.getMessage());
+      return false;
+    }
+  }
+
+  @Override
+  public void stop() {
+    if (annotator != null) {
+      // Releases the database shared by the JVM with the last predictor
+      annotator.close();
+      annotator = null;
+    }
+  }
+
+  @Override
+  public void destroy() {
+    stop();
+  }
+
+  /**
+   * Returns the allele index of the homozygous genotype of {@code sample}, e.g. {@code 1} for {@code 1/1}.
+   */
+  private static String getAlleleIndex(VariantContext context, SampleType sample) {
+    val allele = context.getGenotype(sample.getName()).getAllele(0);
+    val index = context.getAlleles().indexOf(allele);
+
+    return index == -1 ? NO_CALL_ALLELE_INDEX : Integer.toString(index);
+  }
+
+  private static String getGenotype(String alleleIndex) {
+    return alleleIndex + "/" + alleleIndex;
+  }
+
+  private static List<String> getBaseStrings(List<Allele> alleles) {
+    val baseStrings = Lists.<String> newArrayListWithCapacity(alleles.size());
+    for (val allele : alleles) {
+      baseStrings.add(allele.getBaseString());
+    }
+
+    return baseStrings;
+  }
+
+}
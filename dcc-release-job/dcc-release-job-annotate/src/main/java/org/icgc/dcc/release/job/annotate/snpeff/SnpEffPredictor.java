@@ -20,67 +20,60 @@ package org.icgc.dcc.release.job.annotate.snpeff;
 import static com.google.common.base.Preconditions.checkState;
 import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.concurrent.TimeUnit.MINUTES;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.icgc.dcc.release.job.annotate.snpeff.SnpEffResources.resolveDataDir;
+import static org.icgc.dcc.release.job.annotate.snpeff.SnpEffResources.resolveJar;
+import static org.icgc.dcc.release.job.annotate.snpeff.SnpEffResources.resolveJava;
+import static org.icgc.dcc.release.job.annotate.snpeff.SnpEffResources.resolveReferenceGenome;
 
-import java.io.File;
 import java.io.PrintStream;
 import java.util.List;
-import java.util.Map;
-import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
 
-import org.broadinstitute.variant.variantcontext.VariantContext;
-import org.broadinstitute.variant.variantcontext.VariantContextBuilder;
-import org.broadinstitute.variant.variantcontext.writer.VariantContextWriterFactory;
-import org.broadinstitute.variant.vcf.VCFEncoder;
-import org.broadinstitute.variant.vcf.VCFFormatHeaderLine;
-import org.broadinstitute.variant.vcf.VCFHeader;
-import org.broadinstitute.variant.vcf.VCFHeaderLine;
-import org.broadinstitute.variant.vcf.VCFHeaderVersion;
 import org.icgc.dcc.release.core.config.SnpEffProperties;
-import org.icgc.dcc.release.core.resolver.ReferenceGenomeResolver;
-import org.icgc.dcc.release.job.annotate.converter.ICGCToVCFConverter;
-import org.icgc.dcc.release.job.annotate.converter.ICGCToVCFConverter.MutationType;
-import org.icgc.dcc.release.job.annotate.model.AnnotatedFileType;
 import org.icgc.dcc.release.job.annotate.model.SecondaryEntity;
-import org.icgc.dcc.release.job.annotate.resolver.JavaResolver;
-import org.icgc.dcc.release.job.annotate.resolver.SnpEffDatabaseResolver;
-import org.icgc.dcc.release.job.annotate.resolver.SnpEffJarResolver;
-import org.icgc.dcc.release.job.annotate.util.Alleles;
+import org.icgc.dcc.release.job.annotate.model.Variant;
 
-import com.google.common.collect.ImmutableList;
-import com.google.common.collect.ImmutableSet;
-import com.google.common.collect.Maps;
+import com.google.common.collect.Lists;
 
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
 import lombok.val;
 import lombok.extern.slf4j.Slf4j;
-import net.sf.picard.reference.IndexedFastaSequenceFile;
 
+/**
+ * Annotates variants through a forked SnpEff process.
+ * <p>
+ * Requests are pipelined: up to {@link SnpEffProperties#getPredictionWindowSize()} variants are kept in flight so that
+ * SnpEff never waits for the next line. Results are correlated to requests through the {@code PRIM} ID which SnpEff
+ * copies over to its output.
+ */
 @Slf4j
 @RequiredArgsConstructor
-public class SnpEffPredictor {
+public class SnpEffPredictor implements VariantPredictor {
 
   /**
    * Constants
    */
   private static final int PREDICTION_TIMEOUT_MINUTES = 5;
+  private static final int HEALTH_CHECK_TIMEOUT_SECONDS = 30;
 
   /**
    * Configuration.
    */
   @NonNull
   private final SnpEffProperties properties;
-  @NonNull
-  private final AnnotatedFileType fileType;
 
   /**
    * State.
    */
-  private BlockingQueue<List<SecondaryEntity>> queue = new ArrayBlockingQueue<List<SecondaryEntity>>(100);
+  private final BlockingQueue<SnpEffPrediction> queue = new LinkedBlockingQueue<SnpEffPrediction>();
+  private long requestCount;
 
   /**
    * Dependencies.
@@ -88,140 +81,113 @@ public class SnpEffPredictor {
   private SnpEffProcess process;
   private ExecutorService executor = Executors.newFixedThreadPool(2);
   private PrintStream stream;
-  private VCFEncoder encoder;
-  private ICGCToVCFConverter converter;
+  private SnpEffVariantEncoder encoder;
 
+  @Override
   @SneakyThrows
   public void start() {
-    this.process = new SnpEffProcess(resolveJar(), resolveJava(), resolveDataDir(), properties.getDatabaseVersion());
+    this.process = new SnpEffProcess(resolveJar(properties), resolveJava(), resolveDataDir(properties),
+        properties.getDatabaseVersion(), properties.getProcessMemoryMb());
     this.stream = new PrintStream(process.getOutputStream(), false, UTF_8.name());
-    this.encoder = new VCFEncoder(createVCFHeader(), true);
-    this.converter = new ICGCToVCFConverter(new IndexedFastaSequenceFile(resolveReferenceGenome()));
+    this.encoder = new SnpEffVariantEncoder(resolveReferenceGenome(properties));
 
     // Start handler threads
-    executor.execute(new SnpEffResultHandler(process.getInputStream(), queue, fileType, properties
-        .getGeneBuildVersion()));
+    executor.execute(new SnpEffResultHandler(process.getInputStream(), queue, properties.getGeneBuildVersion()));
     executor.execute(new SnpEffLogHandler(process.getErrorStream()));
     initializeSnpEff();
   }
 
-  @SneakyThrows
-  public List<SecondaryEntity> predict(String chromosome, long start, long end, String mutation, MutationType type,
-      String reference, String id) {
-
-    val variant = createVariant(chromosome, start, end, mutation, type, reference, id);
-    val line = encoder.encode(variant);
-    stream.println(line);
-    stream.flush();
-
-    // Temporary fix for DCC-4663 to allow the calling task to fail if the timeout is exceeded
-    val predictions = queue.poll(PREDICTION_TIMEOUT_MINUTES, MINUTES);
-    val timeout = predictions == null; // Will always be non-null under normal circumstances
-    if (timeout) {
-      checkState(false,
-          "Timeout after waiting %s min for next prediction from SnpEff process. Exit code = %s",
-          PREDICTION_TIMEOUT_MINUTES,
-          process.isAlive() ? process.exitValue() : "<still running!>");
+  @Override
+  public List<List<SecondaryEntity>> predict(@NonNull List<Variant> variants) {
+    val windowSize = properties.getPredictionWindowSize();
+    val refillSize = Math.max(1, windowSize / 2);
+    val firstRequestId = requestCount;
+    val results = Lists.<List<SecondaryEntity>> newArrayListWithCapacity(variants.size());
+
+    int sent = 0;
+    while (results.size() < variants.size()) {
+      // Top up the window once half of it has drained to amortize flushes
+      if (sent < variants.size() && sent - results.size() <= windowSize - refillSize) {
+        while (sent < variants.size() && sent - results.size() < windowSize) {
+          send(variants.get(sent++));
+        }
+
+        stream.flush();
+      }
+
+      results.add(receive(firstRequestId + results.size(), PREDICTION_TIMEOUT_MINUTES, MINUTES));
     }
 
-    return predictions;
+    return results;
   }
 
-  public void stop() throws InterruptedException {
-    stream.close();
-    log.info("Exit code: {}", process.waitFor());
-
-    executor.shutdownNow();
-    executor.awaitTermination(1, MINUTES);
+  private void send(Variant variant) {
+    val id = Long.toString(requestCount++);
+    val line = encoder.encode(variant, id);
+    stream.println(line);
   }
 
   @SneakyThrows
-  private void initializeSnpEff() {
-    log.warn("Initializing SnpEff...");
-
-    // VariantContextWriterFactory requires a non-null FILE. Create any and delete it on exit
-    val prefix = SnpEffPredictor.class.getName();
-    val file = File.createTempFile(prefix, null);
-    file.deleteOnExit();
-
-    val writer = VariantContextWriterFactory.create(file, stream, null);
-    writer.writeHeader(createAnnotatedVCFHeader());
-    stream.flush();
-
-    deleteTempFile(file);
-  }
-
-  private void deleteTempFile(File orifinalFile) {
-    val tmpFile = new File(orifinalFile.getAbsolutePath() + ".idx");
-    tmpFile.deleteOnExit();
-  }
+  private List<SecondaryEntity> receive(long requestId, long timeout, TimeUnit unit) {
+    // Temporary fix for DCC-4663 to allow the calling task to fail if the timeout is exceeded
+    val prediction = queue.poll(timeout, unit);
+    val timedOut = prediction == null; // Will always be non-null under normal circumstances
+    if (timedOut) {
+      checkState(false,
+          "Timeout after waiting %s %s for next prediction from SnpEff process. Exit code = %s",
+          timeout, unit,
+          process.isAlive() ? "<still running!>" : process.exitValue());
+    }
 
-  private File resolveJava() {
-    val resolver = new JavaResolver();
+    val expectedId = Long.toString(requestId);
+    checkState(expectedId.equals(prediction.getId()),
+        "Expected prediction for request %s but SnpEff returned one for %s", expectedId, prediction.getId());
 
-    return resolver.resolve();
+    return prediction.getSecondaryEntities();
   }
 
-  private File resolveJar() {
-    val resolver = new SnpEffJarResolver(
-        properties.getResourceDir(),
-        properties.getVersion());
-
-    return resolver.resolve();
-  }
+  @Override
+  public boolean isHealthy() {
+    if (process == null || !process.isAlive()) {
+      return false;
+    }
 
-  private File resolveDataDir() {
-    // TODO: Pass in common directory or create it based on referenceGenomeVersion
-    val resolver = new SnpEffDatabaseResolver(
-        properties.getResourceDir(),
-        properties.getResourceUrl(),
-        properties.getDatabaseVersion());
+    try {
+      val requestId = requestCount;
+      send(PROBE_VARIANT);
+      stream.flush();
+      receive(requestId, HEALTH_CHECK_TIMEOUT_SECONDS, SECONDS);
 
-    return resolver.resolve();
+      return true;
+    } catch (Exception e) {
+      log.warn("SnpEff process failed its health check: {}", e.getMessage());
+      return false;
+    }
   }
 
-  private File resolveReferenceGenome() {
-    val resolver = new ReferenceGenomeResolver(
-        properties.getResourceDir(),
-        properties.getResourceUrl(),
-        properties.getReferenceGenomeVersion());
-
-    return resolver.resolve();
-  }
+  @Override
+  public void stop() throws InterruptedException {
+    stream.close();
+    log.info("Exit code: {}", process.waitFor());
 
-  private VariantContext createVariant(String chromosome, long start, long end, String mutation, MutationType type,
-      String reference, String id) {
-    val converted = converter.convert(chromosome, start, end, mutation, type, reference);
-
-    return new VariantContextBuilder()
-        .chr(chromosome)
-        .start(converted.pos)
-        .stop(converted.pos + converted.ref.length() - 1)
-        .attributes(createAttribute("PRIM", id))
-        .alleles(Alleles.createAlleles(converted.ref, converted.alt))
-        .genotypes(converted.genotype)
-        .make();
+    executor.shutdownNow();
+    executor.awaitTermination(1, MINUTES);
   }
 
-  private static VCFHeader createVCFHeader() {
-    return new VCFHeader(
-        ImmutableSet.of(
-            new VCFFormatHeaderLine("<ID=GT,Number=1,Type=String,Description=\"Genotype\">", VCFHeaderVersion.VCF4_1)),
-        ImmutableList.of("Patient_01_Germline", "Patient_01_Somatic"));
-  }
+  @Override
+  public void destroy() throws InterruptedException {
+    if (process != null) {
+      process.destroyForcibly();
+      log.info("Exit code: {}", process.waitFor());
+    }
 
-  private static VCFHeader createAnnotatedVCFHeader() {
-    return new VCFHeader(
-        ImmutableSet.of(new VCFHeaderLine("PEDIGREE", "<Derived=Patient_01_Somatic,Original=Patient_01_Germline>")),
-        ImmutableList.of("Patient_01_Germline", "Patient_01_Somatic"));
+    executor.shutdownNow();
+    executor.awaitTermination(1, MINUTES);
   }
 
-  private static Map<String, Object> createAttribute(String key, Object value) {
-    // VariantContextBuilder requires it to be mutable
-    val attributes = Maps.<String, Object> newHashMap();
-    attributes.put(key, value);
-
-    return attributes;
+  private void initializeSnpEff() {
+    log.warn("Initializing SnpEff...");
+    encoder.writeHeader(stream);
   }
 
 }
@@ -0,0 +1,231 @@
+/*
+ * Copyright (c) 2015 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.release.job.annotate.snpeff;
+
+import static com.google.common.base.Preconditions.checkState;
+import static java.util.concurrent.TimeUnit.MINUTES;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static lombok.AccessLevel.PRIVATE;
+
+import java.util.Map;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
+import lombok.val;
+import lombok.extern.slf4j.Slf4j;
+
+import org.icgc.dcc.release.core.config.SnpEffProperties;
+import org.icgc.dcc.release.job.annotate.model.AnnotatedFileType;
+
+import com.google.common.collect.Maps;
+
+/**
+ * Per JVM pool of started {@link VariantPredictor}s that partitions borrow and return, so that the SnpEff process and
+ * its database are loaded once per executor rather than once per partition.
+ * <p>
+ * At most {@link SnpEffProperties#getPredictorPoolSize()} predictors exist per file type. Idle predictors are health
+ * checked before being reused and stopped once idle for {@link SnpEffProperties#getPredictorIdleTimeoutMinutes()}, so
+ * that executors don't keep SnpEff processes around for the jobs following the annotate job. Predictors returned after
+ * a failure are destroyed.
+ */
+@Slf4j
+@RequiredArgsConstructor(access = PRIVATE)
+public class SnpEffPredictorPool {
+
+  /**
+   * Constants.
+   */
+  private static final long EVICTION_INTERVAL_SECONDS = 30;
+
+  /**
+   * Pools by file type.
+   */
+  private static final Map<AnnotatedFileType, SnpEffPredictorPool> POOLS = Maps.newEnumMap(AnnotatedFileType.class);
+
+  /**
+   * Stops idle predictors.
+   */
+  private static final ScheduledExecutorService EVICTOR = Executors.newSingleThreadScheduledExecutor(runnable -> {
+    Thread thread = new Thread(runnable, "snpeff-predictor-evictor");
+    thread.setDaemon(true);
+
+    return thread;
+  });
+
+  static {
+    Runtime.getRuntime().addShutdownHook(new Thread(SnpEffPredictorPool::shutdown));
+  }
+
+  /**
+   * Configuration.
+   */
+  @NonNull
+  private final SnpEffProperties properties;
+  @NonNull
+  private final AnnotatedFileType fileType;
+
+  /**
+   * State.
+   */
+  private final BlockingDeque<IdlePredictor> idle = new LinkedBlockingDeque<>();
+  @NonNull
+  private final Semaphore permits;
+
+  public static synchronized SnpEffPredictorPool getPool(@NonNull SnpEffProperties properties,
+      @NonNull AnnotatedFileType fileType) {
+    return POOLS.computeIfAbsent(fileType, type -> {
+      SnpEffPredictorPool pool =
+          new SnpEffPredictorPool(properties, type, new Semaphore(properties.getPredictorPoolSize(), true));
+      EVICTOR.scheduleWithFixedDelay(pool::evictIdle, EVICTION_INTERVAL_SECONDS, EVICTION_INTERVAL_SECONDS, SECONDS);
+
+      return pool;
+    });
+  }
+
+  /**
+   * @return {@code true} if the predictors run SnpEff in the executor JVM. Falls back to forked processes when the
+   * configured SnpEff version can't be embedded
+   */
+  public static boolean isEmbedded(@NonNull SnpEffProperties properties) {
+    return properties.isEmbedded() && EmbeddedSnpEffPredictor.isSupported(properties);
+  }
+
+  /**
+   * Borrows a started predictor, waiting for one to be returned if the pool is exhausted.
+   */
+  @SneakyThrows
+  public VariantPredictor borrow() {
+    val timeout = properties.getPredictorBorrowTimeoutMinutes();
+    checkState(permits.tryAcquire(timeout, MINUTES),
+        "Timeout after waiting %s min for one of the %s %s SnpEff predictors to be returned",
+        timeout, properties.getPredictorPoolSize(), fileType);
+
+    try {
+      IdlePredictor entry;
+      while ((entry = idle.pollFirst()) != null) {
+        val predictor = entry.getPredictor();
+        if (predictor.isHealthy()) {
+          return predictor;
+        }
+
+        log.warn("Discarding unhealthy {} SnpEff predictor...", fileType);
+        predictor.destroy();
+      }
+
+      log.info("Starting {} SnpEff predictor...", fileType);
+      val predictor = createPredictor();
+      predictor.start();
+      log.info("Successfully started {} SnpEff predictor", fileType);
+
+      return predictor;
+    } catch (Throwable t) {
+      permits.release();
+      throw t;
+    }
+  }
+
+  /**
+   * Returns a predictor that completed all of its predictions.
+   */
+  public void release(@NonNull VariantPredictor predictor) {
+    idle.offerFirst(new IdlePredictor(predictor, System.currentTimeMillis()));
+    permits.release();
+  }
+
+  /**
+   * Destroys a predictor which may have pending predictions or a hung process.
+   */
+  @SneakyThrows
+  public void invalidate(@NonNull VariantPredictor predictor) {
+    try {
+      log.warn("Destroying {} SnpEff predictor...", fileType);
+      predictor.destroy();
+    } finally {
+      permits.release();
+    }
+  }
+
+  private VariantPredictor createPredictor() {
+    if (isEmbedded(properties)) {
+      return new EmbeddedSnpEffPredictor(properties);
+    }
+
+    return new SnpEffPredictor(properties);
+  }
+
+  /**
+   * Destroys the predictors idle for longer than the timeout. Recently returned predictors are borrowed first, so the
+   * longest idle ones are at the end of the deque.
+   */
+  private void evictIdle() {
+    val idleSince = System.currentTimeMillis() - MINUTES.toMillis(properties.getPredictorIdleTimeoutMinutes());
+
+    IdlePredictor entry;
+    while ((entry = idle.peekLast()) != null && entry.getIdleSince() < idleSince) {
+      // May have been borrowed in the meantime
+      if (idle.removeLastOccurrence(entry)) {
+        log.info("Stopping {} SnpEff predictor idle for more than {} min...", fileType,
+            properties.getPredictorIdleTimeoutMinutes());
+        try {
+          // Nothing is pending on an idle predictor
+          entry.getPredictor().destroy();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          return;
+        } catch (Exception e) {
+          log.warn("Failed to stop idle {} SnpEff predictor: {}", fileType, e.getMessage());
+        }
+      }
+    }
+  }
+
+  private static synchronized void shutdown() {
+    EVICTOR.shutdownNow();
+    for (val pool : POOLS.values()) {
+      IdlePredictor entry;
+      while ((entry = pool.idle.pollFirst()) != null) {
+        try {
+          entry.getPredictor().stop();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          return;
+        }
+      }
+    }
+  }
+
+  /**
+   * A returned predictor and when it was returned. Compared by identity.
+   */
+  @Getter
+  @RequiredArgsConstructor
+  private static class IdlePredictor {
+
+    private final VariantPredictor predictor;
+    private final long idleSince;
+
+  }
+
+}
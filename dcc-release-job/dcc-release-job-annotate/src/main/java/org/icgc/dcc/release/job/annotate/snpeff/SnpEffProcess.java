@@ -17,14 +17,8 @@
  */
 package org.icgc.dcc.release.job.annotate.snpeff;
 
-import static com.google.common.io.Resources.getResource;
-import static java.nio.charset.StandardCharsets.UTF_8;
-
 import java.io.File;
 
-import com.google.common.io.Files;
-import com.google.common.io.Resources;
-
 import lombok.NonNull;
 import lombok.SneakyThrows;
 import lombok.val;
@@ -44,6 +38,7 @@ public class SnpEffProcess extends Process {
   private final File java;
   private final File dataDir;
   private final String databaseVersion;
+  private final int memoryMb;
 
   /**
    * State.
@@ -51,11 +46,13 @@ public class SnpEffProcess extends Process {
   @Delegate
   private final Process delegate;
 
-  public SnpEffProcess(@NonNull File jar, @NonNull File java, @NonNull File dataDir, @NonNull String databaseVersion) {
+  public SnpEffProcess(@NonNull File jar, @NonNull File java, @NonNull File dataDir, @NonNull String databaseVersion,
+      int memoryMb) {
     this.jar = jar;
     this.java = java;
     this.dataDir = dataDir;
     this.databaseVersion = databaseVersion;
+    this.memoryMb = memoryMb;
     this.delegate = createProcess();
   }
 
@@ -63,7 +60,7 @@ public class SnpEffProcess extends Process {
   private Process createProcess() {
     val builder = new ProcessBuilder(
         getJavaPath(),
-        "-Xmx4g",
+        "-Xmx" + memoryMb + "m",
         "-cp",
         getClassPath(),
         getMainClass(),
@@ -82,18 +79,8 @@ public class SnpEffProcess extends Process {
     return builder.start();
   }
 
-  @SneakyThrows
   private String getConfigFile() {
-    // Template
-    val contents = Resources.toString(getResource("snpEff.config"), UTF_8)
-        .replace("${dataDir}", dataDir.getAbsolutePath());
-
-    val configFile = File.createTempFile("snpEff", ".config");
-
-    log.info("Creating temporary configuration file at '{}'...", configFile);
-    Files.write(contents, configFile, UTF_8);
-
-    return configFile.getAbsolutePath();
+    return SnpEffResources.createConfigFile(dataDir).getAbsolutePath();
   }
 
   private String getJavaPath() {
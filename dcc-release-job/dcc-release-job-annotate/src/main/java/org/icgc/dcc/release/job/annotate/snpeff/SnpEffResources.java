@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2015 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.release.job.annotate.snpeff;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static lombok.AccessLevel.PRIVATE;
+
+import java.io.File;
+
+import lombok.NoArgsConstructor;
+import lombok.NonNull;
+import lombok.SneakyThrows;
+import lombok.val;
+import lombok.extern.slf4j.Slf4j;
+
+import org.icgc.dcc.release.core.config.SnpEffProperties;
+import org.icgc.dcc.release.core.resolver.ReferenceGenomeResolver;
+import org.icgc.dcc.release.job.annotate.resolver.JavaResolver;
+import org.icgc.dcc.release.job.annotate.resolver.SnpEffDatabaseResolver;
+import org.icgc.dcc.release.job.annotate.resolver.SnpEffJarResolver;
+
+import com.google.common.io.Files;
+import com.google.common.io.Resources;
+
+/**
+ * Resolves the resources shared by the {@link VariantPredictor} implementations.
+ */
+@Slf4j
+@NoArgsConstructor(access = PRIVATE)
+public final class SnpEffResources {
+
+  public static File resolveJava() {
+    val resolver = new JavaResolver();
+
+    return resolver.resolve();
+  }
+
+  public static File resolveJar(@NonNull SnpEffProperties properties) {
+    val resolver = new SnpEffJarResolver(
+        properties.getResourceDir(),
+        properties.getJarResourceUrl(),
+        properties.getVersion());
+
+    return resolver.resolve();
+  }
+
+  public static File resolveDataDir(@NonNull SnpEffProperties properties) {
+    // TODO: Pass in common directory or create it based on referenceGenomeVersion
+    val resolver = new SnpEffDatabaseResolver(
+        properties.getResourceDir(),
+        properties.getResourceUrl(),
+        properties.getDatabaseVersion());
+
+    return resolver.resolve();
+  }
+
+  public static File resolveReferenceGenome(@NonNull SnpEffProperties properties) {
+    val resolver = new ReferenceGenomeResolver(
+        properties.getResourceDir(),
+        properties.getResourceUrl(),
+        properties.getReferenceGenomeVersion());
+
+    return resolver.resolve();
+  }
+
+  /**
+   * Creates the SnpEff configuration pointing at {@code dataDir}.
+   */
+  @SneakyThrows
+  public static File createConfigFile(@NonNull File dataDir) {
+    // Template
+    val contents = Resources.toString(Resources.getResource("snpEff.config"), UTF_8)
+        .replace("${dataDir}", dataDir.getAbsolutePath());
+
+    val configFile = File.createTempFile("snpEff", ".config");
+
+    log.info("Creating temporary configuration file at '{}'...", configFile);
+    Files.write(contents, configFile, UTF_8);
+
+    return configFile;
+  }
+
+}
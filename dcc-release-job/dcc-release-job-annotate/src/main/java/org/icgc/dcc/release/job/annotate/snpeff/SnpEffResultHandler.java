@@ -18,27 +18,11 @@
 package org.icgc.dcc.release.job.annotate.snpeff;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
-import static java.util.regex.Pattern.compile;
 
 import java.io.BufferedReader;
 import java.io.InputStream;
 import java.io.InputStreamReader;
-import java.io.PrintWriter;
-import java.util.List;
 import java.util.concurrent.BlockingQueue;
-import java.util.regex.Pattern;
-
-import org.broadinstitute.variant.vcf.VCFCodec;
-import org.broadinstitute.variant.vcf.VCFFormatHeaderLine;
-import org.broadinstitute.variant.vcf.VCFHeader;
-import org.broadinstitute.variant.vcf.VCFHeaderVersion;
-import org.broadinstitute.variant.vcf.VCFInfoHeaderLine;
-import org.icgc.dcc.release.job.annotate.converter.SnpEffVCFToICGCConverter;
-import org.icgc.dcc.release.job.annotate.model.AnnotatedFileType;
-import org.icgc.dcc.release.job.annotate.model.SecondaryEntity;
-
-import com.google.common.collect.ImmutableList;
-import com.google.common.collect.ImmutableSet;
 
 import lombok.NonNull;
 import lombok.SneakyThrows;
@@ -46,30 +30,24 @@ import lombok.val;
 
 public class SnpEffResultHandler implements Runnable {
 
-  private static final Pattern SKIP_ANNOTATION_PATTERN = compile("^#|Reading cancer samples pedigree from VCF header");
-
   /**
    * Dependencies.
    */
   @NonNull
   private final InputStream input;
-  private final VCFCodec decoder = createDecoder();
+  private final SnpEffResultParser parser;
 
   /**
    * State.
    */
   @NonNull
-  private final BlockingQueue<List<SecondaryEntity>> queue;
-  @NonNull
-  private final AnnotatedFileType fileType;
-  private final SnpEffVCFToICGCConverter converter;
+  private final BlockingQueue<SnpEffPrediction> queue;
 
-  public SnpEffResultHandler(@NonNull InputStream input, @NonNull BlockingQueue<List<SecondaryEntity>> queue,
-      @NonNull AnnotatedFileType fileType, @NonNull String geneBuildVersion) {
+  public SnpEffResultHandler(@NonNull InputStream input, @NonNull BlockingQueue<SnpEffPrediction> queue,
+      @NonNull String geneBuildVersion) {
     this.input = input;
     this.queue = queue;
-    this.fileType = fileType;
-    this.converter = new SnpEffVCFToICGCConverter(geneBuildVersion);
+    this.parser = new SnpEffResultParser(geneBuildVersion);
   }
 
   @Override
@@ -78,46 +56,12 @@ public class SnpEffResultHandler implements Runnable {
     val reader = new BufferedReader(new InputStreamReader(input, UTF_8));
     String line = null;
     while ((line = reader.readLine()) != null) {
-      if (isSkipLine(line)) {
+      if (SnpEffResultParser.isSkipLine(line)) {
         continue;
       }
 
-      val variant = decoder.decode(line);
-      val secondaryEntities = converter.convert(variant, fileType);
-      queue.put(secondaryEntities);
+      queue.put(parser.parse(line));
     }
   }
 
-  private static boolean isSkipLine(String line) {
-    val matcher = SKIP_ANNOTATION_PATTERN.matcher(line);
-
-    return matcher.find();
-  }
-
-  private VCFCodec createDecoder() {
-    val decoder = new VCFCodec();
-    val vcfHeader = createVCFHeader();
-    decoder.setVCFHeader(vcfHeader, VCFHeaderVersion.VCF4_1);
-
-    return decoder;
-  }
-
-  private static VCFHeader createVCFHeader() {
-    return new VCFHeader(
-        ImmutableSet.of(
-            new VCFInfoHeaderLine(
-                "<ID=EFF,Number=.,Type=String,Description=\"Predicted effects for this variant.Format: 'Effect ( Effect_Impact | Functional_Class | Codon_Change | Amino_Acid_Change| Amino_Acid_length | Gene_Name | Transcript_BioType | Gene_Coding | Transcript_ID | Exon_Rank  | Genotype_Number [ | ERRORS | WARNINGS ] )' \">",
-                VCFHeaderVersion.VCF4_1),
-            new VCFFormatHeaderLine(
-                "<ID=GT,Number=1,Type=String,Description=\"Genotype\">",
-                VCFHeaderVersion.VCF4_1)),
-        ImmutableList.of(
-            "Patient_01_Germline", "Patient_01_Somatic"));
-  }
-
-  @SneakyThrows
-  private PrintWriter openOutFile(String fileName) {
-    return new PrintWriter(fileName, UTF_8.toString());
-  }
-
-}
\ No newline at end of file
+}
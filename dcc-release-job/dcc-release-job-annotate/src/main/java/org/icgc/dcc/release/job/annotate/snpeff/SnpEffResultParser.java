@@ -0,0 +1,205 @@
+/*
+ * Copyright (c) 2015 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.release.job.annotate.snpeff;
+
+import static java.util.regex.Pattern.compile;
+
+import java.util.List;
+import java.util.regex.Pattern;
+
+import lombok.NonNull;
+import lombok.val;
+import lombok.extern.slf4j.Slf4j;
+
+import org.icgc.dcc.release.job.annotate.converter.SnpEffVCFToICGCConverter;
+import org.icgc.dcc.release.job.annotate.model.SecondaryEntity;
+
+import com.google.common.collect.ImmutableList;
+
+/**
+ * Parses the VCF lines SnpEff outputs into {@link SnpEffPrediction}s.
+ * <p>
+ * Only the {@code PRIM} and {@code EFF} INFO fields and the sample genotypes are needed. They are extracted by scanning
+ * the line in place instead of decoding it into a {@code VariantContext}.
+ */
+@Slf4j
+public class SnpEffResultParser {
+
+  /**
+   * Constants.
+   */
+  private static final Pattern SKIP_ANNOTATION_PATTERN = compile("^#|Reading cancer samples pedigree from VCF header");
+  private static final char FIELD_SEPARATOR = '\t';
+  private static final char INFO_SEPARATOR = ';';
+  private static final char VALUE_SEPARATOR = ',';
+  private static final char FORMAT_SEPARATOR = ':';
+  private static final char UNPHASED_SEPARATOR = '/';
+  private static final char PHASED_SEPARATOR = '|';
+  private static final String PRIM_KEY = "PRIM=";
+  private static final String EFF_KEY = "EFF=";
+  private static final String NO_CALL_ALLELE = ".";
+  private static final String NO_CALL_ALLELE_INDEX = "-1";
+
+  /**
+   * VCF column indices.
+   */
+  private static final int INFO_INDEX = 7;
+  private static final int CONTROL_SAMPLE_INDEX = 9;
+  private static final int DONOR_SAMPLE_INDEX = 10;
+
+  /**
+   * Dependencies.
+   */
+  private final SnpEffVCFToICGCConverter converter;
+
+  /**
+   * State.
+   */
+  private final int[] fieldStarts = new int[DONOR_SAMPLE_INDEX + 2];
+
+  public SnpEffResultParser(@NonNull String geneBuildVersion) {
+    this.converter = new SnpEffVCFToICGCConverter(geneBuildVersion);
+  }
+
+  /**
+   * @return {@code true} if {@code line} is a header or log line rather than an annotated variant
+   */
+  public static boolean isSkipLine(@NonNull String line) {
+    val matcher = SKIP_ANNOTATION_PATTERN.matcher(line);
+
+    return matcher.find();
+  }
+
+  public SnpEffPrediction parse(@NonNull String line) {
+    indexFields(line);
+
+    String id = null;
+    List<String> effects = ImmutableList.of();
+    val infoEnd = getFieldEnd(INFO_INDEX);
+    int entryStart = fieldStarts[INFO_INDEX];
+    while (entryStart < infoEnd) {
+      int entryEnd = line.indexOf(INFO_SEPARATOR, entryStart);
+      if (entryEnd == -1 || entryEnd > infoEnd) {
+        entryEnd = infoEnd;
+      }
+
+      if (line.startsWith(PRIM_KEY, entryStart)) {
+        id = line.substring(entryStart + PRIM_KEY.length(), entryEnd);
+      } else if (line.startsWith(EFF_KEY, entryStart)) {
+        effects = splitValues(line, entryStart + EFF_KEY.length(), entryEnd);
+      }
+
+      entryStart = entryEnd + 1;
+    }
+
+    if (id == null) {
+      log.warn("The unique identificator is missing in variant {}", line);
+    }
+
+    return new SnpEffPrediction(id, convert(line, effects));
+  }
+
+  /**
+   * Parses the {@code EFF} value SnpEff computed for a variant it was given as an in-memory entry rather than as a VCF
+   * line.
+   * 
+   * @param variant - the annotated variant, used for logging
+   * @param controlGenotype - the allele index of the control sample genotype, e.g. {@code 0} for {@code 0/0}
+   * @param tumourGenotype - the allele index of the tumour sample genotype
+   */
+  public List<SecondaryEntity> parse(@NonNull String variant, String effects, @NonNull String controlGenotype,
+      @NonNull String tumourGenotype) {
+    val effectAnnotations = effects == null ? ImmutableList.<String> of() : splitValues(effects, 0, effects.length());
+
+    return converter.convert(variant, effectAnnotations, controlGenotype, tumourGenotype);
+  }
+
+  private List<SecondaryEntity> convert(String line, List<String> effects) {
+    val controlGenotype = getGenotype(line, CONTROL_SAMPLE_INDEX);
+    val tumourGenotype = getGenotype(line, DONOR_SAMPLE_INDEX);
+
+    return converter.convert(line, effects, controlGenotype, tumourGenotype);
+  }
+
+  private void indexFields(String line) {
+    fieldStarts[0] = 0;
+    int field = 1;
+    for (int i = 0; i < line.length() && field < fieldStarts.length; i++) {
+      if (line.charAt(i) == FIELD_SEPARATOR) {
+        fieldStarts[field++] = i + 1;
+      }
+    }
+
+    if (field == DONOR_SAMPLE_INDEX + 1) {
+      // The last sample is terminated by the end of the line
+      fieldStarts[field++] = line.length() + 1;
+    }
+
+    if (field != fieldStarts.length) {
+      throw new IllegalStateException("Expected " + (DONOR_SAMPLE_INDEX + 1) + " fields in SnpEff output: " + line);
+    }
+  }
+
+  private int getFieldEnd(int field) {
+    return fieldStarts[field + 1] - 1;
+  }
+
+  /**
+   * Returns the allele index of the left side of the sample genotype which is always the same as the right one. E.g.
+   * {@code 1} for {@code 1/1}.
+   */
+  private String getGenotype(String line, int sample) {
+    val start = fieldStarts[sample];
+    val end = getFieldEnd(sample);
+
+    // GT is always the first FORMAT key
+    for (int i = start; i < end; i++) {
+      val c = line.charAt(i);
+      if (c == PHASED_SEPARATOR) {
+        throw new UnsupportedOperationException("Phased genotype is not currently supported. Genotype: "
+            + line.substring(start, end));
+      }
+      if (c == UNPHASED_SEPARATOR || c == FORMAT_SEPARATOR) {
+        return getAlleleIndex(line.substring(start, i));
+      }
+    }
+
+    return getAlleleIndex(line.substring(start, end));
+  }
+
+  private static String getAlleleIndex(String allele) {
+    return NO_CALL_ALLELE.equals(allele) ? NO_CALL_ALLELE_INDEX : allele;
+  }
+
+  private static List<String> splitValues(String line, int start, int end) {
+    val values = ImmutableList.<String> builder();
+    int valueStart = start;
+    while (valueStart <= end) {
+      int valueEnd = line.indexOf(VALUE_SEPARATOR, valueStart);
+      if (valueEnd == -1 || valueEnd > end) {
+        valueEnd = end;
+      }
+
+      values.add(line.substring(valueStart, valueEnd));
+      valueStart = valueEnd + 1;
+    }
+
+    return values.build();
+  }
+
+}
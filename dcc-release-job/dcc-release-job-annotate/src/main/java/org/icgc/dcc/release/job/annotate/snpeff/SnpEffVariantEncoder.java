@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2015 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.release.job.annotate.snpeff;
+
+import java.io.File;
+import java.io.OutputStream;
+import java.util.Map;
+
+import org.broadinstitute.variant.variantcontext.VariantContext;
+import org.broadinstitute.variant.variantcontext.VariantContextBuilder;
+import org.broadinstitute.variant.variantcontext.writer.VariantContextWriterFactory;
+import org.broadinstitute.variant.vcf.VCFEncoder;
+import org.broadinstitute.variant.vcf.VCFFormatHeaderLine;
+import org.broadinstitute.variant.vcf.VCFHeader;
+import org.broadinstitute.variant.vcf.VCFHeaderLine;
+import org.broadinstitute.variant.vcf.VCFHeaderVersion;
+import org.icgc.dcc.release.job.annotate.converter.ICGCToVCFConverter;
+import org.icgc.dcc.release.job.annotate.model.Variant;
+import org.icgc.dcc.release.job.annotate.util.Alleles;
+import org.icgc.dcc.release.job.annotate.util.ReferenceGenome;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Maps;
+
+import lombok.NonNull;
+import lombok.SneakyThrows;
+import lombok.val;
+
+/**
+ * Encodes variants as the VCF lines SnpEff annotates. The request ID is passed in the {@code PRIM} attribute which
+ * SnpEff copies over to its output.
+ */
+public class SnpEffVariantEncoder {
+
+  /**
+   * Dependencies.
+   */
+  private final VCFEncoder encoder = new VCFEncoder(createVCFHeader(), true);
+  private final ICGCToVCFConverter converter;
+
+  public SnpEffVariantEncoder(@NonNull File referenceGenome) {
+    this.converter = new ICGCToVCFConverter(ReferenceGenome.getInstance(referenceGenome));
+  }
+
+  public String encode(@NonNull Variant variant, @NonNull String id) {
+    return encoder.encode(createVariant(variant).attributes(createAttribute("PRIM", id)).make());
+  }
+
+  /**
+   * Converts {@code variant} to the VCF alleles and genotypes SnpEff annotates, without encoding it as a line.
+   */
+  public VariantContext convert(@NonNull Variant variant) {
+    return createVariant(variant).make();
+  }
+
+  /**
+   * Writes the VCF header SnpEff expects before the first variant.
+   */
+  @SneakyThrows
+  public void writeHeader(@NonNull OutputStream stream) {
+    // VariantContextWriterFactory requires a non-null FILE. Create any and delete it on exit
+    val prefix = SnpEffVariantEncoder.class.getName();
+    val file = File.createTempFile(prefix, null);
+    file.deleteOnExit();
+
+    val writer = VariantContextWriterFactory.create(file, stream, null);
+    writer.writeHeader(createAnnotatedVCFHeader());
+    stream.flush();
+
+    deleteTempFile(file);
+  }
+
+  private void deleteTempFile(File orifinalFile) {
+    val tmpFile = new File(orifinalFile.getAbsolutePath() + ".idx");
+    tmpFile.deleteOnExit();
+  }
+
+  private VariantContextBuilder createVariant(Variant variant) {
+    val converted = converter.convert(variant.getChromosome(), variant.getStart(), variant.getEnd(),
+        variant.getMutation(), variant.getType(), variant.getReference());
+
+    return new VariantContextBuilder()
+        .chr(variant.getChromosome())
+        .start(converted.pos)
+        .stop(converted.pos + converted.ref.length() - 1)
+        .alleles(Alleles.createAlleles(converted.ref, converted.alt))
+        .genotypes(converted.genotype);
+  }
+
+  private static VCFHeader createVCFHeader() {
+    return new VCFHeader(
+        ImmutableSet.of(
+            new VCFFormatHeaderLine("<ID=GT,Number=1,Type=String,Description=\"Genotype\">", VCFHeaderVersion.VCF4_1)),
+        ImmutableList.of("Patient_01_Germline", "Patient_01_Somatic"));
+  }
+
+  private static VCFHeader createAnnotatedVCFHeader() {
+    return new VCFHeader(
+        ImmutableSet.of(new VCFHeaderLine("PEDIGREE", "<Derived=Patient_01_Somatic,Original=Patient_01_Germline>")),
+        ImmutableList.of("Patient_01_Germline", "Patient_01_Somatic"));
+  }
+
+  private static Map<String, Object> createAttribute(String key, Object value) {
+    // VariantContextBuilder requires it to be mutable
+    val attributes = Maps.<String, Object> newHashMap();
+    attributes.put(key, value);
+
+    return attributes;
+  }
+
+}
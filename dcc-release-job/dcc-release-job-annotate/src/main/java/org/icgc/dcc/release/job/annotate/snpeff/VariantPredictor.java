@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2015 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.release.job.annotate.snpeff;
+
+import static org.icgc.dcc.release.job.annotate.converter.ICGCToVCFConverter.MutationType.SINGLE_BASE_SUBSTITUTION;
+
+import java.util.List;
+
+import org.icgc.dcc.release.job.annotate.model.SecondaryEntity;
+import org.icgc.dcc.release.job.annotate.model.Variant;
+
+/**
+ * Annotates variants with their SnpEff predicted effects.
+ * 
+ * @see SnpEffPredictor
+ * @see EmbeddedSnpEffPredictor
+ */
+public interface VariantPredictor {
+
+  /**
+   * Substitution in a well known gene (OR4F5) used for health checks.
+   */
+  Variant PROBE_VARIANT = new Variant("1", 69511L, 69511L, "A>G", SINGLE_BASE_SUBSTITUTION, "A");
+
+  void start();
+
+  /**
+   * Annotates {@code variants}.
+   * 
+   * @return the secondary entities of each variant in the order of {@code variants}
+   */
+  List<List<SecondaryEntity>> predict(List<Variant> variants);
+
+  /**
+   * Checks that the predictor still answers by annotating {@link #PROBE_VARIANT}, e.g. before a pooled predictor which
+   * sat idle is reused.
+   * 
+   * @return {@code false} if the predictor can no longer be used
+   */
+  boolean isHealthy();
+
+  /**
+   * Releases the resources of the predictor once all predictions completed.
+   */
+  void stop() throws InterruptedException;
+
+  /**
+   * Releases the resources of the predictor without waiting for pending predictions, e.g. after a failure left it in an
+   * unknown state.
+   */
+  void destroy() throws InterruptedException;
+
+}
@@ -17,41 +17,171 @@
  */
 package org.icgc.dcc.release.job.annotate.task;
 
+import static com.google.common.base.Strings.isNullOrEmpty;
+import static org.icgc.dcc.release.core.util.Tasks.hasInput;
+import static org.icgc.dcc.release.core.util.Tuples.tuple;
 import static org.icgc.dcc.release.job.annotate.core.AnnotateJob.SSM_INPUT_TYPE;
 
+import java.util.List;
+
+import lombok.NonNull;
+import lombok.val;
+import lombok.extern.slf4j.Slf4j;
+
+import org.apache.spark.api.java.JavaPairRDD;
 import org.apache.spark.api.java.JavaRDD;
+import org.apache.spark.api.java.function.PairFunction;
+import org.apache.spark.storage.StorageLevel;
 import org.icgc.dcc.release.core.config.SnpEffProperties;
 import org.icgc.dcc.release.core.job.FileType;
-import org.icgc.dcc.release.core.task.GenericProcessTask;
+import org.icgc.dcc.release.core.task.GenericTask;
 import org.icgc.dcc.release.core.task.TaskContext;
+import org.icgc.dcc.release.core.task.TaskSpec;
+import org.icgc.dcc.release.job.annotate.cache.AnnotationCache;
+import org.icgc.dcc.release.job.annotate.function.ConvertSecondaryEntities;
 import org.icgc.dcc.release.job.annotate.function.SnpEffAnnotate;
 import org.icgc.dcc.release.job.annotate.model.AnnotatedFileType;
+import org.icgc.dcc.release.job.annotate.model.SecondaryEntity;
+import org.icgc.dcc.release.job.annotate.model.SecondaryRow;
+import org.icgc.dcc.release.job.annotate.model.Variant;
+import org.icgc.dcc.release.job.annotate.util.VariantCosts;
+import org.icgc.dcc.release.job.annotate.util.Variants;
+
+import scala.Tuple2;
 
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.collect.ImmutableList;
 
-public class AnnotationTask extends GenericProcessTask {
+@Slf4j
+public class AnnotationTask extends GenericTask {
 
+  /**
+   * Configuration.
+   */
   private final SnpEffProperties properties;
+  private final FileType inputFileType;
+  private final FileType outputFileType;
 
-  public AnnotationTask(SnpEffProperties properties, FileType inputFileType, FileType outputFileType) {
-    super(inputFileType, outputFileType);
+  public AnnotationTask(@NonNull SnpEffProperties properties, @NonNull FileType inputFileType,
+      @NonNull FileType outputFileType) {
+    super(outputFileType.getDirName());
     this.properties = properties;
+    this.inputFileType = inputFileType;
+    this.outputFileType = outputFileType;
   }
 
   @Override
-  protected JavaRDD<ObjectNode> readInput(TaskContext taskContext) {
-    return readInput(taskContext, createJobConf(taskContext), inputFileType, properties.getMaxFileSizeMb());
+  public void execute(TaskContext taskContext) {
+    if (!hasInput(taskContext, inputFileType)) {
+      log.info("[{}] No input for '{}' and output '{}'. Skipping...", getName(), inputFileType, outputFileType);
+      return;
+    }
+
+    val input = readInput(taskContext, createJobConf(taskContext), inputFileType, properties.getMaxFileSizeMb());
+    if (isCacheEnabled(properties)) {
+      executeCached(taskContext, input);
+      return;
+    }
+
+    // Read twice: once to size the annotation partitions and once to join the annotations back
+    val observations = input
+        .mapToPair(keyByVariant())
+        .persist(StorageLevel.MEMORY_AND_DISK_SER());
+    val annotations = annotate(observations.keys(), input.getNumPartitions());
+
+    writeOutput(taskContext, observations.join(annotations).values());
+
+    observations.unpersist(false);
   }
 
-  @Override
-  protected JavaRDD<ObjectNode> process(JavaRDD<ObjectNode> input) {
-    return input
-        .mapPartitions(new SnpEffAnnotate(properties, getAnnotatedFileType()))
-        .filter(row -> !row.equals(SnpEffAnnotate.SENTINEL_VALUE));
+  /**
+   * @return the input and output of the task, read with a combine input format of {@code snpeff.maxFileSizeMb}
+   */
+  public TaskSpec getSpec() {
+    return TaskSpec.combined(getName(), ImmutableList.of(inputFileType), ImmutableList.of(outputFileType));
+  }
+
+  public static boolean isCacheEnabled(SnpEffProperties properties) {
+    return !isNullOrEmpty(properties.getAnnotationCacheDir());
+  }
+
+  /**
+   * Looks the variants of the observations up in the annotation cache so that only variants missing from it are sent
+   * to SnpEff. These are added to the cache afterwards.
+   */
+  private void executeCached(TaskContext taskContext, JavaRDD<ObjectNode> input) {
+    val fileType = getAnnotatedFileType();
+    val cache = new AnnotationCache(properties.getAnnotationCacheDir(), properties);
+
+    val observations = input
+        .mapToPair(keyByVariant())
+        .persist(StorageLevel.MEMORY_AND_DISK_SER());
+    val lookups = cache.lookup(taskContext.getFileSystem(), fileType, observations.keys())
+        .persist(StorageLevel.MEMORY_AND_DISK_SER());
+
+    val hits = lookups
+        .filter(lookup -> lookup._2.isPresent())
+        .mapValues(entities -> entities.get());
+    val misses = lookups
+        .filter(lookup -> !lookup._2.isPresent())
+        .keys();
+
+    // Annotating is expensive and must not be repeated when writing the cache delta
+    val annotations = annotate(misses, input.getNumPartitions())
+        .persist(StorageLevel.MEMORY_AND_DISK_SER());
+
+    writeOutput(taskContext, observations.join(hits.union(annotations)).values());
+    cache.writeDelta(taskContext.getFileSystem(), fileType, taskContext.getProjectName().get(), annotations);
+
+    observations.unpersist(false);
+    lookups.unpersist(false);
+    annotations.unpersist(false);
+  }
+
+  /**
+   * Annotates each distinct variant once, however many observations share it (e.g. recurrent hotspot mutations or
+   * controlled observations and their masked copies).
+   */
+  private JavaPairRDD<Variant, List<SecondaryEntity>> annotate(JavaRDD<Variant> variants, int inputPartitionCount) {
+    return JavaPairRDD.fromJavaRDD(variants
+        .distinct(getPartitionCount(variants, inputPartitionCount))
+        .mapPartitions(new SnpEffAnnotate(properties, getAnnotatedFileType())));
+  }
+
+  /**
+   * Sizes the annotation partitions by the cost of their variants rather than by the compressed bytes of the input, so
+   * that partitions dense in indels don't dominate the tail. Variants are hash partitioned, hence each partition gets
+   * about the same mix of mutation types.
+   * <p>
+   * The cost is counted before removing duplicates, which overestimates it for recurrent variants but saves a shuffle.
+   */
+  private int getPartitionCount(JavaRDD<Variant> variants, int inputPartitionCount) {
+    long cost = variants.aggregate(0L, (total, variant) -> total + VariantCosts.getCost(variant), Long::sum);
+    long maxPartitionCost = properties.getMaxPartitionCost();
+    val partitionCount = (int) Math.max(inputPartitionCount, (cost + maxPartitionCost - 1) / maxPartitionCost);
+    log.info("[{}] Annotating variants of cost {} in {} partitions ({} input partitions)", getName(), cost,
+        partitionCount, inputPartitionCount);
+
+    return partitionCount;
+  }
+
+  /**
+   * Writes the secondary entities of each observation, serialized directly rather than through {@code ObjectNode}s.
+   */
+  private void writeOutput(TaskContext taskContext, JavaRDD<Tuple2<String, List<SecondaryEntity>>> annotated) {
+    val output = annotated.flatMap(new ConvertSecondaryEntities(getAnnotatedFileType()));
+
+    writeOutput(taskContext, output, outputFileType, SecondaryRow.class);
+  }
+
+  private PairFunction<ObjectNode, Variant, String> keyByVariant() {
+    val fileType = getAnnotatedFileType();
+
+    return row -> tuple(Variants.getVariant(row, fileType), Variants.getObservationId(row, fileType));
   }
 
   private AnnotatedFileType getAnnotatedFileType() {
     return inputFileType == SSM_INPUT_TYPE ? AnnotatedFileType.SSM : AnnotatedFileType.SGV;
   }
 
-}
\ No newline at end of file
+}
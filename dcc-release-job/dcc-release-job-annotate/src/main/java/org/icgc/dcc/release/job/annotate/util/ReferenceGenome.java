@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2015 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.release.job.annotate.util;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkState;
+import static java.nio.channels.FileChannel.MapMode.READ_ONLY;
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static java.nio.file.StandardOpenOption.READ;
+
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
+
+import lombok.NonNull;
+import lombok.SneakyThrows;
+import lombok.Value;
+import lombok.val;
+import lombok.extern.slf4j.Slf4j;
+
+import com.google.common.base.Splitter;
+import com.google.common.collect.Maps;
+
+/**
+ * Read-only access to an indexed FASTA reference genome that is memory-mapped once per JVM and shared by all threads.
+ * <p>
+ * Requires the {@code .fai} index next to the FASTA file, as does {@code IndexedFastaSequenceFile}.
+ */
+@Slf4j
+public class ReferenceGenome {
+
+  /**
+   * Constants.
+   */
+  private static final int CHUNK_BITS = 30;
+  private static final long CHUNK_SIZE = 1L << CHUNK_BITS;
+  private static final long CHUNK_MASK = CHUNK_SIZE - 1;
+  private static final Splitter INDEX_SPLITTER = Splitter.on('\t');
+
+  /**
+   * Shared instances by FASTA file.
+   */
+  private static final ConcurrentMap<File, ReferenceGenome> INSTANCES = Maps.newConcurrentMap();
+
+  /**
+   * State.
+   */
+  private final Map<String, Contig> contigs;
+  private final ByteBuffer[] chunks;
+
+  public static ReferenceGenome getInstance(@NonNull File fastaFile) {
+    return INSTANCES.computeIfAbsent(fastaFile.getAbsoluteFile(), ReferenceGenome::new);
+  }
+
+  @SneakyThrows
+  private ReferenceGenome(File fastaFile) {
+    log.info("Memory mapping reference genome '{}'...", fastaFile);
+    this.contigs = readIndex(new File(fastaFile.getPath() + ".fai"));
+
+    // A single buffer cannot map more than 2 GB
+    try (val channel = FileChannel.open(fastaFile.toPath(), READ)) {
+      val size = channel.size();
+      this.chunks = new ByteBuffer[(int) ((size + CHUNK_SIZE - 1) >>> CHUNK_BITS)];
+      for (int i = 0; i < chunks.length; i++) {
+        val offset = i * CHUNK_SIZE;
+        chunks[i] = channel.map(READ_ONLY, offset, Math.min(CHUNK_SIZE, size - offset));
+      }
+    }
+
+    log.info("Finished memory mapping reference genome '{}' with {} contigs", fastaFile, contigs.size());
+  }
+
+  /**
+   * @param start 1-based inclusive position
+   * @param end 1-based inclusive position
+   * @return the bases of {@code contig} between {@code start} and {@code end}
+   */
+  public String getSubsequenceAt(@NonNull String contig, long start, long end) {
+    val index = contigs.get(contig);
+    checkArgument(index != null, "Unknown contig '%s'", contig);
+    checkArgument(start >= 1 && start <= end + 1 && end <= index.getLength(),
+        "Invalid range %s-%s of contig '%s' with length %s", start, end, contig, index.getLength());
+
+    val bases = new char[(int) (end - start + 1)];
+    for (int i = 0; i < bases.length; i++) {
+      bases[i] = (char) getByte(index.getFileOffset(start + i));
+    }
+
+    return new String(bases);
+  }
+
+  private byte getByte(long offset) {
+    return chunks[(int) (offset >>> CHUNK_BITS)].get((int) (offset & CHUNK_MASK));
+  }
+
+  @SneakyThrows
+  private static Map<String, Contig> readIndex(File indexFile) {
+    checkState(indexFile.exists(), "Reference genome index '%s' does not exist", indexFile);
+
+    val contigs = Maps.<String, Contig> newHashMap();
+    for (val line : Files.readAllLines(indexFile.toPath(), US_ASCII)) {
+      if (line.isEmpty()) {
+        continue;
+      }
+
+      // name, length, offset, bases per line, bytes per line
+      val fields = INDEX_SPLITTER.splitToList(line);
+      contigs.put(fields.get(0), new Contig(
+          Long.parseLong(fields.get(1)),
+          Long.parseLong(fields.get(2)),
+          Integer.parseInt(fields.get(3)),
+          Integer.parseInt(fields.get(4))));
+    }
+
+    return contigs;
+  }
+
+  @Value
+  private static class Contig {
+
+    long length;
+    long offset;
+    int lineBases;
+    int lineBytes;
+
+    /**
+     * @return the file offset of the 1-based {@code position}
+     */
+    long getFileOffset(long position) {
+      val base = position - 1;
+
+      return offset + base / lineBases * lineBytes + base % lineBases;
+    }
+
+  }
+
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2015 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.release.job.annotate.util;
+
+import static lombok.AccessLevel.PRIVATE;
+
+import lombok.NoArgsConstructor;
+import lombok.NonNull;
+import lombok.val;
+
+import org.icgc.dcc.release.job.annotate.converter.ICGCToVCFConverter.MutationType;
+import org.icgc.dcc.release.job.annotate.model.Variant;
+
+/**
+ * Relative cost of annotating {@link Variant}s, in single base substitution equivalents.
+ * <p>
+ * Indels take SnpEff noticeably longer than substitutions since they shift reading frames and usually overlap more
+ * transcripts, so partitions are sized by cost rather than by bytes or variant counts alone.
+ */
+@NoArgsConstructor(access = PRIVATE)
+public final class VariantCosts {
+
+  public static int getCost(@NonNull Variant variant) {
+    return getCost(variant.getType());
+  }
+
+  public static int getCost(@NonNull MutationType type) {
+    switch (type) {
+    case SINGLE_BASE_SUBSTITUTION:
+      return 1;
+    case MUTLTIPLE_BASE_SUBSTITUTION:
+      return 2;
+    case INSERTION:
+    case DELETION:
+      return 4;
+    default:
+      throw new IllegalArgumentException("Unexpected mutation type " + type);
+    }
+  }
+
+  /**
+   * @return the cost of the most expensive {@link MutationType}, an upper bound for variants of unknown type
+   */
+  public static int getMaxCost() {
+    int result = 0;
+    for (val type : MutationType.values()) {
+      result = Math.max(result, getCost(type));
+    }
+
+    return result;
+  }
+
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2015 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.release.job.annotate.util;
+
+import static lombok.AccessLevel.PRIVATE;
+import static org.icgc.dcc.common.core.model.FieldNames.SubmissionFieldNames.SUBMISSION_MUTATION;
+import static org.icgc.dcc.common.core.model.FieldNames.SubmissionFieldNames.SUBMISSION_OBSERVATION_VARIANT_ALLELE;
+import static org.icgc.dcc.release.core.util.Mutations.createMutation;
+import static org.icgc.dcc.release.job.annotate.model.AnnotatedFileType.SSM;
+import lombok.NoArgsConstructor;
+import lombok.NonNull;
+import lombok.val;
+
+import org.icgc.dcc.release.job.annotate.converter.ICGCToVCFConverter.MutationType;
+import org.icgc.dcc.release.job.annotate.model.AnnotatedFileType;
+import org.icgc.dcc.release.job.annotate.model.Variant;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Utilities for working with {@link Variant}s.
+ */
+@NoArgsConstructor(access = PRIVATE)
+public final class Variants {
+
+  /**
+   * Constants.
+   */
+  private static final String MISSING_ALLELE = "-";
+
+  public static Variant getVariant(@NonNull ObjectNode row, @NonNull AnnotatedFileType fileType) {
+    val chromosome = row.get(fileType.getChromosomeFieldName()).textValue();
+    val start = row.get(fileType.getChromosomeStartFieldName()).asLong();
+    val end = row.get(fileType.getChromosomeEndFieldName()).asLong();
+    val mutation = getMutation(row, fileType);
+    val type = MutationType.fromId(row.get(fileType.getMutationTypeFieldName()).textValue());
+    val ref = row.get(fileType.getReferenceAlleleFieldName()).textValue();
+    val reference = (ref.equals(MISSING_ALLELE)) ? "" : ref;
+
+    return new Variant(chromosome, start, end, mutation, type, reference);
+  }
+
+  public static String getObservationId(@NonNull ObjectNode row, @NonNull AnnotatedFileType fileType) {
+    return row.get(fileType.getObservationIdFieldName()).textValue();
+  }
+
+  private static String getMutation(ObjectNode row, AnnotatedFileType fileType) {
+    if (fileType == SSM) {
+      return row.get(SUBMISSION_MUTATION).textValue();
+    }
+
+    val mutatedFrom = row.get(fileType.getReferenceAlleleFieldName()).textValue();
+    val mutatedTo = row.get(SUBMISSION_OBSERVATION_VARIANT_ALLELE).textValue();
+
+    return createMutation(mutatedFrom, mutatedTo);
+  }
+
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2015 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package ca.mcgill.mcb.pcingola.snpEffect.commandLine;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import ca.mcgill.mcb.pcingola.fileIterator.VcfFileIterator;
+import ca.mcgill.mcb.pcingola.snpEffect.Config;
+import ca.mcgill.mcb.pcingola.vcf.VcfEntry;
+
+/**
+ * Stub of the SnpEff 4.1 command used by {@code EmbeddedSnpEffTest}. Fails if it is called concurrently.
+ */
+public class SnpEffCmdEff {
+
+  private final AtomicInteger active = new AtomicInteger();
+  private Config config;
+  private boolean initialized;
+
+  public void parseArgs(String[] args) {
+    // No-op
+  }
+
+  public Config getConfig() {
+    return config;
+  }
+
+  public void setConfig(Config config) {
+    this.config = config;
+  }
+
+  public boolean annotateInit(VcfFileIterator vcfFile) {
+    if (config == null) {
+      config = new Config();
+    }
+
+    initialized = vcfFile.isHeaderRead();
+
+    return initialized;
+  }
+
+  public boolean annotate(VcfEntry vcfEntry) throws InterruptedException {
+    if (!initialized || active.incrementAndGet() > 1) {
+      throw new IllegalStateException("Not initialized or called concurrently");
+    }
+
+    try {
+      // Widen the window for concurrent calls
+      Thread.sleep(1);
+      vcfEntry.addInfo("EFF", "STUB(" + (vcfEntry.getStart() + 1) + "," + vcfEntry.getGenotypes().get(1) + ")");
+
+      return true;
+    } finally {
+      active.decrementAndGet();
+    }
+  }
+
+}
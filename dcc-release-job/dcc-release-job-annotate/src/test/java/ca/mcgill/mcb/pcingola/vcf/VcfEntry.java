@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2015 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package ca.mcgill.mcb.pcingola.vcf;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import ca.mcgill.mcb.pcingola.fileIterator.VcfFileIterator;
+import ca.mcgill.mcb.pcingola.interval.Marker;
+
+/**
+ * Stub of the SnpEff 4.1 VCF entry used by {@code EmbeddedSnpEffTest}.
+ */
+public class VcfEntry {
+
+  private final int start;
+  private final List<String> genotypes = new ArrayList<>();
+  private final Map<String, String> info = new HashMap<>();
+
+  public VcfEntry(VcfFileIterator vcfFileIterator, Marker parent, String chromosomeName, int start, String id,
+      String ref, String altsStr, double quality, String filterPass, String infoStr, String format) {
+    this.start = start;
+  }
+
+  public int getStart() {
+    return start;
+  }
+
+  public void addGenotype(String vcfGenotypeStr) {
+    genotypes.add(vcfGenotypeStr);
+  }
+
+  public List<String> getGenotypes() {
+    return genotypes;
+  }
+
+  public void addInfo(String key, String value) {
+    info.put(key, value);
+  }
+
+  public String getInfo(String key) {
+    return info.get(key);
+  }
+
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2015 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.release.job.annotate.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.icgc.dcc.release.job.annotate.converter.ICGCToVCFConverter.MutationType.SINGLE_BASE_SUBSTITUTION;
+import lombok.val;
+
+import org.icgc.dcc.release.job.annotate.model.SecondaryEntity;
+import org.icgc.dcc.release.job.annotate.model.Variant;
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+
+public class AnnotationCacheFormatTest {
+
+  private static final Variant VARIANT = new Variant("1", 69511L, 69511L, "A>G", SINGLE_BASE_SUBSTITUTION, "A");
+
+  @Test
+  public void testGetKey() {
+    val key = AnnotationCacheFormat.getKey(VARIANT);
+
+    assertThat(key).isEqualTo("1\t69511\t69511\tSINGLE_BASE_SUBSTITUTION\tA\tA>G");
+  }
+
+  @Test
+  public void testGetBucket() {
+    // Pinned: buckets must not depend on the JVM, or lookups miss every cached annotation
+    val bucket = AnnotationCacheFormat.getBucket(AnnotationCacheFormat.getKey(VARIANT));
+
+    assertThat(bucket).isEqualTo(19);
+  }
+
+  @Test
+  public void testValue() {
+    val entity = SecondaryEntity.builder()
+        .consequenceType("missense_variant")
+        .aaMutation("T141A")
+        .geneAffected("ENSG00000186092")
+        .transcriptAffected("ENST00000335137")
+        .geneBuildVersion("75")
+        .build();
+    val entities = ImmutableList.of(entity, SecondaryEntity.builder().consequenceType("intergenic_region").build());
+
+    val value = AnnotationCacheFormat.readValue(AnnotationCacheFormat.writeValue(entities));
+
+    assertThat(value).isEqualTo(entities);
+  }
+
+}
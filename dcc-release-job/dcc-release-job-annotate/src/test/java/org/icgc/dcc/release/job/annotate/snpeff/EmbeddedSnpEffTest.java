@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2015 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.release.job.annotate.snpeff;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import lombok.Cleanup;
+import lombok.val;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import com.google.common.io.Resources;
+
+public class EmbeddedSnpEffTest {
+
+  /**
+   * Stubs of the SnpEff classes called through reflection. See the {@code ca.mcgill.mcb.pcingola} test sources.
+   */
+  private static final String[] STUB_CLASS_FILES = {
+      "ca/mcgill/mcb/pcingola/snpEffect/commandLine/SnpEffCmdEff.class",
+      "ca/mcgill/mcb/pcingola/snpEffect/Config.class",
+      "ca/mcgill/mcb/pcingola/interval/Genome.class",
+      "ca/mcgill/mcb/pcingola/interval/Chromosome.class",
+      "ca/mcgill/mcb/pcingola/interval/Marker.class",
+      "ca/mcgill/mcb/pcingola/fileIterator/VcfFileIterator.class",
+      "ca/mcgill/mcb/pcingola/vcf/VcfEntry.class" };
+  private static final List<String> GENOTYPES = ImmutableList.of("0/0", "1/1");
+
+  @Rule
+  public TemporaryFolder tmp = new TemporaryFolder();
+
+  @Test
+  public void testCheckVersion() {
+    EmbeddedSnpEff.checkVersion("4.1l");
+    EmbeddedSnpEff.checkVersion("4.2");
+    assertThat(EmbeddedSnpEff.isSupported("3.6c")).isFalse();
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testCheckVersionTooOld() {
+    EmbeddedSnpEff.checkVersion("3.6c");
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testCheckVersionRenamedPackage() {
+    EmbeddedSnpEff.checkVersion("4.3t");
+  }
+
+  @Test
+  public void testAnnotate() throws Exception {
+    val annotator = createSnpEff().createAnnotator();
+
+    assertThat(annotator.annotate("12", 25398284, "C", ImmutableList.of("T"), GENOTYPES))
+        .isEqualTo("STUB(25398284,1/1)");
+  }
+
+  @Test
+  public void testAnnotateConcurrently() throws Exception {
+    // The stub fails when a command is called concurrently or the database is loaded twice
+    val snpEff = createSnpEff();
+    val threadCount = 8;
+    val annotators = Lists.<EmbeddedSnpEff.Annotator> newArrayList();
+    for (int i = 0; i < threadCount; i++) {
+      annotators.add(snpEff.createAnnotator());
+    }
+
+    val calls = Lists.<Callable<List<String>>> newArrayList();
+    for (val annotator : annotators) {
+      calls.add(() -> {
+        val results = Lists.<String> newArrayList();
+        for (int position = 1; position <= 25; position++) {
+          results.add(annotator.annotate("1", position, "C", ImmutableList.of("T"), GENOTYPES));
+        }
+
+        return results;
+      });
+    }
+
+    val executor = Executors.newFixedThreadPool(threadCount);
+    try {
+      for (val result : executor.invokeAll(calls)) {
+        val effects = result.get();
+        for (int i = 0; i < effects.size(); i++) {
+          assertThat(effects.get(i)).isEqualTo("STUB(" + (i + 1) + ",1/1)");
+        }
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testRelease() throws Exception {
+    val snpEff = createSnpEff();
+    val first = snpEff.createAnnotator();
+    val second = snpEff.createAnnotator();
+
+    first.close();
+    first.close();
+    assertThat(second.annotate("12", 25398284, "C", ImmutableList.of("T"), GENOTYPES)).isNotNull();
+
+    // The database is released with the last annotator
+    second.close();
+    snpEff.createAnnotator();
+  }
+
+  private EmbeddedSnpEff createSnpEff() throws Exception {
+    return new EmbeddedSnpEff(createStubJar(STUB_CLASS_FILES), tmp.newFile("snpEff.config"), "GRCh37.75",
+        "##fileformat=VCFv4.1\n");
+  }
+
+  private File createStubJar(String... classFiles) throws Exception {
+    val jar = tmp.newFile("snpeff.jar");
+
+    @Cleanup
+    val output = new JarOutputStream(new FileOutputStream(jar));
+    for (val classFile : classFiles) {
+      output.putNextEntry(new JarEntry(classFile));
+      Resources.copy(Resources.getResource(classFile), output);
+      output.closeEntry();
+    }
+
+    return jar;
+  }
+
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2015 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.release.job.annotate.snpeff;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import lombok.val;
+
+import org.junit.Test;
+
+public class SnpEffResultParserTest {
+
+  private static final String EFFECT =
+      "missense_variant(MODERATE|MISSENSE|gGt/gAt|G12D|189|KRAS|protein_coding|CODING|ENST00000256078|2|1)";
+
+  SnpEffResultParser parser = new SnpEffResultParser("75");
+
+  @Test
+  public void testParse() {
+    val line = "12\t25398284\t.\tC\tT\t.\t.\tPRIM=42;EFF=" + EFFECT + "\tGT\t0/0\t1/1";
+
+    val prediction = parser.parse(line);
+
+    assertThat(prediction.getId()).isEqualTo("42");
+    assertThat(prediction.getSecondaryEntities()).hasSize(1);
+    val secondaryEntity = prediction.getSecondaryEntities().get(0);
+    assertThat(secondaryEntity.getConsequenceType()).isEqualTo("missense_variant");
+    assertThat(secondaryEntity.getGeneAffected()).isEqualTo("KRAS");
+    assertThat(secondaryEntity.getTranscriptAffected()).isEqualTo("ENST00000256078");
+  }
+
+  @Test
+  public void testParseOtherGenotype() {
+    // The effect applies to genotype 1 only
+    val line = "12\t25398284\t.\tC\tT,G\t.\t.\tEFF=" + EFFECT + ";PRIM=43\tGT\t0/0\t2/2";
+
+    val prediction = parser.parse(line);
+
+    assertThat(prediction.getId()).isEqualTo("43");
+    assertThat(prediction.getSecondaryEntities()).isEmpty();
+  }
+
+  @Test
+  public void testParseEffects() {
+    val variant = "12:25398284 C>T";
+
+    val secondaryEntities = parser.parse(variant, EFFECT, "0", "1");
+
+    assertThat(secondaryEntities).hasSize(1);
+    assertThat(secondaryEntities.get(0).getGeneAffected()).isEqualTo("KRAS");
+    assertThat(parser.parse(variant, EFFECT, "0", "2")).isEmpty();
+    assertThat(parser.parse(variant, null, "0", "1")).isEmpty();
+  }
+
+  @Test
+  public void testIsSkipLine() {
+    assertThat(SnpEffResultParser.isSkipLine("#CHROM\tPOS")).isTrue();
+    assertThat(SnpEffResultParser.isSkipLine("12\t25398284")).isFalse();
+  }
+
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2015 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.release.job.annotate.util;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static org.assertj.core.api.Assertions.assertThat;
+import lombok.val;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.google.common.io.Files;
+
+public class ReferenceGenomeTest {
+
+  @Rule
+  public TemporaryFolder tmp = new TemporaryFolder();
+
+  @Test
+  public void testGetSubsequenceAt() throws Exception {
+    val fastaFile = tmp.newFile("genome.fasta");
+    Files.write(">1\nACGTA\nCGT\n>2\nGGCC\n", fastaFile, US_ASCII);
+    Files.write("1\t8\t3\t5\t6\n2\t4\t16\t4\t5\n", tmp.newFile("genome.fasta.fai"), US_ASCII);
+
+    val referenceGenome = ReferenceGenome.getInstance(fastaFile);
+
+    assertThat(referenceGenome.getSubsequenceAt("1", 1, 1)).isEqualTo("A");
+    assertThat(referenceGenome.getSubsequenceAt("1", 4, 7)).isEqualTo("TACG");
+    assertThat(referenceGenome.getSubsequenceAt("1", 8, 8)).isEqualTo("T");
+    assertThat(referenceGenome.getSubsequenceAt("2", 2, 4)).isEqualTo("GCC");
+    assertThat(ReferenceGenome.getInstance(fastaFile)).isSameAs(referenceGenome);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testGetSubsequenceAtOutOfRange() throws Exception {
+    val fastaFile = tmp.newFile("genome.fasta");
+    Files.write(">1\nACGT\n", fastaFile, US_ASCII);
+    Files.write("1\t4\t3\t4\t5\n", tmp.newFile("genome.fasta.fai"), US_ASCII);
+
+    ReferenceGenome.getInstance(fastaFile).getSubsequenceAt("1", 3, 5);
+  }
+
+}
@@ -19,11 +19,24 @@ package org.icgc.dcc.release.job.document.core;
 
 import static java.lang.String.format;
 import static org.icgc.dcc.common.core.util.stream.Collectors.toImmutableSet;
+import static org.icgc.dcc.release.core.document.DocumentType.DONOR_CENTRIC_TYPE;
+import static org.icgc.dcc.release.core.document.DocumentType.DONOR_TEXT_TYPE;
+import static org.icgc.dcc.release.core.document.DocumentType.DONOR_TYPE;
+import static org.icgc.dcc.release.core.document.DocumentType.GENE_CENTRIC_TYPE;
+import static org.icgc.dcc.release.core.document.DocumentType.GENE_TEXT_TYPE;
+import static org.icgc.dcc.release.core.document.DocumentType.GENE_TYPE;
+import static org.icgc.dcc.release.core.document.DocumentType.MUTATION_CENTRIC_TYPE;
+import static org.icgc.dcc.release.core.document.DocumentType.MUTATION_TEXT_TYPE;
+import static org.icgc.dcc.release.core.document.DocumentType.OBSERVATION_CENTRIC_TYPE;
+import static org.icgc.dcc.release.core.job.DatasetCache.DatasetKey.datasetKey;
 import static org.icgc.dcc.release.job.document.util.DocumentTypes.getBroadcastDependencies;
 import static org.icgc.dcc.release.job.document.util.DocumentTypes.getDocumentClassName;
+import static org.icgc.dcc.release.job.document.util.DocumentTypes.getInputFileTypes;
 
 import java.lang.reflect.Constructor;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
@@ -39,6 +52,7 @@ import org.icgc.dcc.release.core.job.GenericJob;
 import org.icgc.dcc.release.core.job.JobContext;
 import org.icgc.dcc.release.core.job.JobType;
 import org.icgc.dcc.release.core.task.Task;
+import org.icgc.dcc.release.core.task.TaskSpec;
 import org.icgc.dcc.release.job.document.config.DocumentProperties;
 import org.icgc.dcc.release.job.document.core.DocumentJobContext.DocumentJobContextBuilder;
 import org.icgc.dcc.release.job.document.model.BroadcastType;
@@ -49,6 +63,7 @@ import org.icgc.dcc.release.job.document.task.ResolveProjectsTask;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Lists;
@@ -57,6 +72,23 @@ import com.google.common.collect.Lists;
 @RequiredArgsConstructor(onConstructor = @__({ @Autowired }))
 public class DocumentJob extends GenericJob {
 
+  /**
+   * Inputs read by more than one document type, keyed to the document types whose tasks read them.
+   */
+  private static final Map<FileType, Set<DocumentType>> SHARED_INPUTS = ImmutableMap.of(
+      FileType.OBSERVATION_FI,
+      ImmutableSet.of(DONOR_CENTRIC_TYPE, GENE_CENTRIC_TYPE, OBSERVATION_CENTRIC_TYPE, MUTATION_CENTRIC_TYPE,
+          MUTATION_TEXT_TYPE),
+      FileType.DONOR_SUMMARY, ImmutableSet.of(DONOR_TYPE, DONOR_TEXT_TYPE, DONOR_CENTRIC_TYPE),
+      FileType.GENE_SUMMARY, ImmutableSet.of(GENE_TYPE, GENE_TEXT_TYPE, GENE_CENTRIC_TYPE));
+
+  /**
+   * Broadcasts resolved from the {@link #SHARED_INPUTS}.
+   */
+  private static final Map<FileType, BroadcastType> SHARED_INPUT_BROADCASTS = ImmutableMap.of(
+      FileType.DONOR_SUMMARY, BroadcastType.DONOR,
+      FileType.GENE_SUMMARY, BroadcastType.GENE);
+
   /**
    * Dependencies.
    */
@@ -78,6 +110,31 @@ public class DocumentJob extends GenericJob {
     write(jobContext);
   }
 
+  /**
+   * Each document type is written by a single task. The inputs of its broadcast dependencies are collected to the
+   * driver first.
+   */
+  @Override
+  public List<TaskSpec> getTaskSpecs() {
+    val specs = ImmutableList.<TaskSpec> builder();
+    for (val documentType : getDocumentTypes()) {
+      val broadcasts = ImmutableList.<FileType> builder();
+      for (val broadcastType : getBroadcastDependencies(documentType)) {
+        broadcasts.addAll(broadcastType.getInputFileTypes());
+      }
+
+      val outputFileType = documentType.getOutputFileType();
+      specs.add(TaskSpec.of(outputFileType.getId(), ImmutableList.copyOf(getInputFileTypes(documentType)),
+          ImmutableList.of(outputFileType), broadcasts.build()));
+    }
+
+    if (properties.isExportVCF()) {
+      specs.add(new CreateVCFFileTask(snpEffProperties).getSpec());
+    }
+
+    return specs.build();
+  }
+
   private void clean(JobContext jobContext) {
     delete(jobContext, resolveOutputFileTypes());
   }
@@ -92,7 +149,10 @@ public class DocumentJob extends GenericJob {
   }
 
   private void write(JobContext jobContext) {
-    for (val documentType : getDocumentTypes()) {
+    val documentTypes = getDocumentTypes();
+    registerSharedInputs(jobContext, documentTypes);
+
+    for (val documentType : documentTypes) {
       val documentJobContext = createDocumentJobContext(jobContext, documentType);
       jobContext.execute(createStreamingTask(jobContext, documentType, documentJobContext));
       destroyBroadcasts(documentJobContext);
@@ -104,6 +164,27 @@ public class DocumentJob extends GenericJob {
     }
   }
 
+  private static void registerSharedInputs(JobContext jobContext, Iterable<DocumentType> documentTypes) {
+    for (val entry : SHARED_INPUTS.entrySet()) {
+      val fileType = entry.getKey();
+      val broadcastType = SHARED_INPUT_BROADCASTS.get(fileType);
+
+      int consumers = 0;
+      for (val documentType : documentTypes) {
+        if (entry.getValue().contains(documentType)) {
+          consumers++;
+        }
+        if (broadcastType != null && getBroadcastDependencies(documentType).contains(broadcastType)) {
+          consumers++;
+        }
+      }
+
+      if (consumers > 1) {
+        jobContext.getDatasetCache().register(datasetKey(fileType), consumers);
+      }
+    }
+  }
+
   private Iterable<DocumentType> getDocumentTypes() {
     val includeTypes = properties.getIncludeTypes();
 
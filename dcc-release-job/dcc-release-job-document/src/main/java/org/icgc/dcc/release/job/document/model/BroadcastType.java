@@ -17,27 +17,39 @@
  */
 package org.icgc.dcc.release.job.document.model;
 
+import java.util.List;
+
 import lombok.Getter;
 
+import org.icgc.dcc.release.core.job.FileType;
 import org.icgc.dcc.release.core.task.Task;
 import org.icgc.dcc.release.job.document.task.ResolveDonorsTask;
 import org.icgc.dcc.release.job.document.task.ResolveGenesTask;
 import org.icgc.dcc.release.job.document.task.ResolveProjectsTask;
 
+import com.google.common.collect.ImmutableList;
+
 /**
  * Type of broadcast a particular document task depends on.
  */
 public enum BroadcastType {
 
-  PROJECT(ResolveProjectsTask.class),
-  DONOR(ResolveDonorsTask.class),
-  GENE(ResolveGenesTask.class);
+  PROJECT(ResolveProjectsTask.class, ImmutableList.of(FileType.PROJECT_SUMMARY)),
+  DONOR(ResolveDonorsTask.class, ImmutableList.of(FileType.DONOR_SUMMARY)),
+  GENE(ResolveGenesTask.class, ImmutableList.of(FileType.GENE_SUMMARY, FileType.GENE_SET_SUMMARY));
 
   @Getter
   Class<? extends Task> dependencyClass;
 
-  private BroadcastType(Class<? extends Task> dependencyClass) {
+  /**
+   * Inputs the dependency task collects into the broadcast.
+   */
+  @Getter
+  List<FileType> inputFileTypes;
+
+  private BroadcastType(Class<? extends Task> dependencyClass, List<FileType> inputFileTypes) {
     this.dependencyClass = dependencyClass;
+    this.inputFileTypes = inputFileTypes;
   }
 
 }
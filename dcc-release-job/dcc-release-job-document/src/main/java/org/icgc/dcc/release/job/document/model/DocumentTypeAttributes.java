@@ -37,6 +37,7 @@ import org.icgc.dcc.release.core.job.FileType;
 @NoArgsConstructor
 public class DocumentTypeAttributes {
 
+  private static final Collection<FileType> DEFAULT_INPUTS = Collections.emptyList();
   private static final Collection<BroadcastType> DEFAULT_BROADCASTS = Collections.emptyList();
   private final static int DEFAULT_BATCH_SIZE = 1;
   private final static int DEFAULT_STATUS_INTERVAL = 1000;
@@ -52,6 +53,8 @@ public class DocumentTypeAttributes {
   @NonNull
   FileType outputFileType;
   @NonNull
+  Collection<FileType> inputFileTypes = DEFAULT_INPUTS;
+  @NonNull
   Collection<BroadcastType> broadcastDependencies = DEFAULT_BROADCASTS;
   @NonNull
   DocumentFields fields = DEFAULT_DOCUMENT_FIELDS;
@@ -68,12 +68,12 @@ public abstract class AbstractDocumentTask extends GenericTask {
 
   protected JavaRDD<ObjectNode> readDonors(TaskContext taskContext) {
     val fields = getFields(type).getDonorFields();
-    return filterFields(readInput(taskContext, FileType.DONOR_SUMMARY), fields);
+    return filterFields(readCachedInput(taskContext, FileType.DONOR_SUMMARY), fields);
   }
 
   protected JavaRDD<ObjectNode> readGenesPivoted(TaskContext taskContext) {
     val fields = getFields(type).getGeneFields();
-    val genes = filterFields(readInput(taskContext, FileType.GENE_SUMMARY), fields);
+    val genes = filterFields(readCachedInput(taskContext, FileType.GENE_SUMMARY), fields);
     val geneSets = readInput(taskContext, GENE_SET_INPUT_TYPE);
 
     return pivotGenes(genes, geneSets);
@@ -81,7 +81,7 @@ public abstract class AbstractDocumentTask extends GenericTask {
 
   protected JavaRDD<ObjectNode> readGenes(TaskContext taskContext) {
     val fields = getFields(type).getGeneFields();
-    return filterFields(readInput(taskContext, FileType.GENE_SUMMARY), fields);
+    return filterFields(readCachedInput(taskContext, FileType.GENE_SUMMARY), fields);
   }
 
   protected JavaRDD<ObjectNode> readGeneSets(TaskContext taskContext) {
@@ -91,7 +91,7 @@ public abstract class AbstractDocumentTask extends GenericTask {
 
   protected JavaRDD<ObjectNode> readObservations(TaskContext taskContext) {
     val fields = getFields(type).getObservationFields();
-    return filterFields(readInput(taskContext, FileType.OBSERVATION_FI), fields);
+    return filterFields(readCachedInput(taskContext, FileType.OBSERVATION_FI), fields);
   }
 
   protected JavaRDD<ObjectNode> readMutations(TaskContext taskContext) {
@@ -35,6 +35,7 @@ import org.icgc.dcc.release.core.job.FileType;
 import org.icgc.dcc.release.core.resolver.ReferenceGenomeResolver;
 import org.icgc.dcc.release.core.task.GenericTask;
 import org.icgc.dcc.release.core.task.TaskContext;
+import org.icgc.dcc.release.core.task.TaskSpec;
 import org.icgc.dcc.release.core.task.TaskType;
 import org.icgc.dcc.release.core.util.Configurations;
 import org.icgc.dcc.release.job.document.function.MutationVCFConverter;
@@ -43,6 +44,7 @@ import org.icgc.dcc.release.job.document.vcf.MutationVCFWriter;
 import org.springframework.beans.factory.annotation.Autowired;
 
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.collect.ImmutableList;
 
 import lombok.Cleanup;
 import lombok.NonNull;
@@ -53,6 +55,12 @@ import lombok.val;
 @RequiredArgsConstructor(onConstructor = @__({ @Autowired }))
 public class CreateVCFFileTask extends GenericTask {
 
+  /**
+   * Constants.
+   */
+  private static final FileType MUTATION_FILE_TYPE = FileType.MUTATION_CENTRIC_DOCUMENT;
+  private static final FileType PROJECT_FILE_TYPE = FileType.PROJECT_SUMMARY;
+
   @NonNull
   private final SnpEffProperties properties;
 
@@ -70,7 +78,7 @@ public class CreateVCFFileTask extends GenericTask {
 
     val header = getVCFHeaderRDD(testedDonorCount, releaseName, fastaFile, taskContext);
 
-    val input = readDocInput(taskContext, FileType.MUTATION_CENTRIC_DOCUMENT);
+    val input = readDocInput(taskContext, MUTATION_FILE_TYPE);
     val partitionsCount = getPartitionsCount(input);
     val records = input.mapPartitions(new MutationVCFConverter(testedDonorCount, releaseName, properties))
         .sortBy(key -> key, true, partitionsCount);
@@ -79,6 +87,13 @@ public class CreateVCFFileTask extends GenericTask {
     save(output, taskContext);
   }
 
+  /**
+   * @return the inputs of the task. The VCF file is saved outside of the working dir file types
+   */
+  public TaskSpec getSpec() {
+    return TaskSpec.of(getName(), ImmutableList.of(MUTATION_FILE_TYPE, PROJECT_FILE_TYPE), ImmutableList.of());
+  }
+
   private void save(JavaRDD<String> output, TaskContext taskContext) {
     val workingDir = taskContext.getJobContext().getWorkingDir();
     val fileSystemSettings = Configurations.getSettings(taskContext.getFileSystem().getConf());
@@ -99,7 +114,7 @@ public class CreateVCFFileTask extends GenericTask {
   }
 
   private JavaRDD<ObjectNode> readProjects(TaskContext taskContext) {
-    return readInput(taskContext, FileType.PROJECT_SUMMARY);
+    return readInput(taskContext, PROJECT_FILE_TYPE);
   }
 
   private File resolveFastaFile() {
@@ -29,6 +29,7 @@ import lombok.NonNull;
 import lombok.val;
 
 import org.icgc.dcc.release.core.document.DocumentType;
+import org.icgc.dcc.release.core.job.FileType;
 import org.icgc.dcc.release.job.document.model.BroadcastType;
 import org.icgc.dcc.release.job.document.model.CollectionFields;
 import org.icgc.dcc.release.job.document.model.DocumentFields;
@@ -67,6 +68,10 @@ public final class DocumentTypes {
     return DOCUMENT_TYPES.get(documentType).broadcastDependencies();
   }
 
+  public static Collection<FileType> getInputFileTypes(@NonNull DocumentType documentType) {
+    return DOCUMENT_TYPES.get(documentType).inputFileTypes();
+  }
+
   public static DocumentFields getFields(@NonNull DocumentType documentType) {
     return DOCUMENT_TYPES.get(documentType).fields();
   }
@@ -98,20 +103,27 @@ public final class DocumentTypes {
   }
 
   private static DocumentTypeAttributes defineDiagramType() {
-    return attributes().documentClassName(DiagramDocumentTask.class.getName());
+    return attributes()
+        .documentClassName(DiagramDocumentTask.class.getName())
+        .inputFileTypes(of(FileType.DIAGRAM));
   }
 
   private static DocumentTypeAttributes defineDrugCentricType() {
-    return attributes().documentClassName(DrugCentricDocumentTask.class.getName());
+    return attributes()
+        .documentClassName(DrugCentricDocumentTask.class.getName())
+        .inputFileTypes(of(FileType.DRUG));
   }
 
   private static DocumentTypeAttributes defineReleaseType() {
-    return attributes().documentClassName(ReleaseDocumentTask.class.getName());
+    return attributes()
+        .documentClassName(ReleaseDocumentTask.class.getName())
+        .inputFileTypes(of(FileType.RELEASE_SUMMARY));
   }
 
   private static DocumentTypeAttributes defineDrugTextType() {
     return attributes()
         .documentClassName(DrugTextDocumentTask.class.getName())
+        .inputFileTypes(of(FileType.DRUG))
         .fields(fields()
             .drugFields(
                 drugFields()
@@ -129,6 +141,7 @@ public final class DocumentTypes {
   private static DocumentTypeAttributes defineGeneSetType() {
     return attributes()
         .documentClassName(GeneSetDocumentTask.class.getName())
+        .inputFileTypes(of(FileType.GENE_SET_SUMMARY))
         .fields(fields()
             .geneFields(
                 geneFields()
@@ -159,6 +172,7 @@ public final class DocumentTypes {
   private static DocumentTypeAttributes defineGeneSetTextType() {
     return attributes()
         .documentClassName(GeneSetTextDocumentTask.class.getName())
+        .inputFileTypes(of(FileType.GENE_SET_SUMMARY))
         .fields(fields()
             .geneSetFields(
                 geneSetFields()
@@ -173,12 +187,15 @@ public final class DocumentTypes {
   }
 
   private static DocumentTypeAttributes defineProjectType() {
-    return attributes().documentClassName(ProjectDocumentTask.class.getName());
+    return attributes()
+        .documentClassName(ProjectDocumentTask.class.getName())
+        .inputFileTypes(of(FileType.PROJECT_SUMMARY));
   }
 
   private static DocumentTypeAttributes defineProjectTextType() {
     return attributes()
         .documentClassName(ProjectTextDocumentTask.class.getName())
+        .inputFileTypes(of(FileType.PROJECT_SUMMARY))
         .fields(fields()
             .projectFields(
                 projectFields()
@@ -196,6 +213,7 @@ public final class DocumentTypes {
   private static DocumentTypeAttributes defineDonorType() {
     return attributes()
         .documentClassName(DonorDocumentTask.class.getName())
+        .inputFileTypes(of(FileType.DONOR_SUMMARY))
         .broadcastDependencies(ImmutableList.of(BroadcastType.PROJECT))
         .fields(fields()
             .donorFields(
@@ -210,6 +228,7 @@ public final class DocumentTypes {
   private static DocumentTypeAttributes defineDonorTextType() {
     return attributes()
         .documentClassName(DonorTextDocumentTask.class.getName())
+        .inputFileTypes(of(FileType.DONOR_SUMMARY))
         .fields(fields()
             .donorFields(
                 donorFields()
@@ -229,6 +248,7 @@ public final class DocumentTypes {
   private static DocumentTypeAttributes defineDonorCentricType() {
     return attributes()
         .documentClassName(DonorCentricDocumentTask.class.getName())
+        .inputFileTypes(of(FileType.DONOR_SUMMARY, FileType.OBSERVATION_FI))
         .broadcastDependencies(ImmutableList.of(BroadcastType.GENE, BroadcastType.PROJECT))
         .fields(fields()
             .projectFields(
@@ -306,6 +326,7 @@ public final class DocumentTypes {
   private static DocumentTypeAttributes defineGeneType() {
     return attributes()
         .documentClassName(GeneDocumentTask.class.getName())
+        .inputFileTypes(of(FileType.GENE_SUMMARY))
         .fields(fields()
             .geneFields(geneFields()
                 .excludedFields("donor")
@@ -324,6 +345,7 @@ public final class DocumentTypes {
   private static DocumentTypeAttributes defineGeneTextType() {
     return attributes()
         .documentClassName(GeneTextDocumentTask.class.getName())
+        .inputFileTypes(of(FileType.GENE_SUMMARY, FileType.GENE_SET_SUMMARY))
         .fields(fields()
             .geneFields(
                 geneFields()
@@ -340,6 +362,7 @@ public final class DocumentTypes {
   private static DocumentTypeAttributes defineGeneCentricType() {
     return attributes()
         .documentClassName(GeneCentricDocumentTask.class.getName())
+        .inputFileTypes(of(FileType.GENE_SUMMARY, FileType.GENE_SET_SUMMARY, FileType.OBSERVATION_FI))
         .broadcastDependencies(ImmutableList.of(BroadcastType.DONOR, BroadcastType.PROJECT))
         .fields(
             fields()
@@ -426,6 +449,7 @@ public final class DocumentTypes {
   private static DocumentTypeAttributes defineObservationCentricType() {
     return attributes()
         .documentClassName(ObservationCentricDocumentTask.class.getName())
+        .inputFileTypes(of(FileType.OBSERVATION_FI))
         .broadcastDependencies(of(BroadcastType.DONOR, BroadcastType.PROJECT, BroadcastType.GENE))
         .fields(
             fields()
@@ -501,6 +525,7 @@ public final class DocumentTypes {
   private static DocumentTypeAttributes defineMutationTextType() {
     return attributes()
         .documentClassName(MutationTextDocumentTask.class.getName())
+        .inputFileTypes(of(FileType.MUTATION, FileType.OBSERVATION_FI))
         .broadcastDependencies(ImmutableList.of(BroadcastType.GENE))
         .fields(fields()
             .mutationFields(
@@ -532,6 +557,7 @@ public final class DocumentTypes {
   private static DocumentTypeAttributes defineMutationCentricType() {
     return attributes()
         .documentClassName(MutationCentricDocumentTask.class.getName())
+        .inputFileTypes(of(FileType.MUTATION, FileType.OBSERVATION_FI))
         .broadcastDependencies(of(BroadcastType.DONOR, BroadcastType.PROJECT, BroadcastType.GENE))
         .fields(
             fields()
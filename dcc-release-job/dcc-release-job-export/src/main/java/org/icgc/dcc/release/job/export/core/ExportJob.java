@@ -19,6 +19,7 @@ package org.icgc.dcc.release.job.export.core;
 
 import static java.util.Collections.singleton;
 import static org.icgc.dcc.common.core.model.DownloadDataType.SGV_CONTROLLED;
+import static org.icgc.dcc.common.core.util.stream.Collectors.toImmutableList;
 import static org.icgc.dcc.common.core.util.stream.Collectors.toImmutableMap;
 import static org.icgc.dcc.common.core.util.stream.Collectors.toImmutableSet;
 import static org.icgc.dcc.common.core.util.stream.Streams.stream;
@@ -44,6 +45,7 @@ import org.icgc.dcc.release.core.job.GenericJob;
 import org.icgc.dcc.release.core.job.JobContext;
 import org.icgc.dcc.release.core.job.JobType;
 import org.icgc.dcc.release.core.task.Task;
+import org.icgc.dcc.release.core.task.TaskSpec;
 import org.icgc.dcc.release.job.export.config.ExportProperties;
 import org.icgc.dcc.release.job.export.function.gzip.ClinicalRecordConverter;
 import org.icgc.dcc.release.job.export.function.gzip.DefaultRecordConverter;
@@ -60,6 +62,7 @@ import org.icgc.dcc.release.job.export.util.SchemaGenerator;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 
 import lombok.NonNull;
@@ -96,6 +99,25 @@ public class ExportJob extends GenericJob {
     export(jobContext);
   }
 
+  /**
+   * The rows are written to the export dir rather than to a file type of the working dir.
+   */
+  @Override
+  public List<TaskSpec> getTaskSpecs() {
+    val dataTypes = ImmutableList.<DownloadDataType> builder().addAll(getExportDataTypes());
+    if (isExportSgv()) {
+      dataTypes.add(SGV_CONTROLLED);
+    }
+
+    val specs = ImmutableList.<TaskSpec> builder();
+    for (val dataType : dataTypes.build()) {
+      specs.add(TaskSpec.of(dataType.getCanonicalName(), ImmutableList.of(resolveFileType(dataType)),
+          ImmutableList.of()));
+    }
+
+    return specs.build();
+  }
+
   private void clean(JobContext jobContext) {
     val outputDir = getOutputDir(jobContext);
 
@@ -137,12 +159,17 @@ public class ExportJob extends GenericJob {
   }
 
   private Iterable<Task> createTasks() {
+    return getExportDataTypes().stream()
+        .map(createTask())
+        .collect(toImmutableSet());
+  }
+
+  private List<DownloadDataType> getExportDataTypes() {
     val runExportTypes = exportProperties.getExportTypes();
 
     return stream(DownloadDataType.values())
         .filter(filterExportDataTypes(runExportTypes))
-        .map(createTask())
-        .collect(toImmutableSet());
+        .collect(toImmutableList());
   }
 
   private Function<DownloadDataType, ? extends Task> createTask() {
@@ -17,6 +17,8 @@
  */
 package org.icgc.dcc.release.job.fathmm.core;
 
+import java.util.List;
+
 import lombok.Cleanup;
 import lombok.NonNull;
 import lombok.SneakyThrows;
@@ -27,12 +29,15 @@ import org.icgc.dcc.release.core.job.FileType;
 import org.icgc.dcc.release.core.job.GenericJob;
 import org.icgc.dcc.release.core.job.JobContext;
 import org.icgc.dcc.release.core.job.JobType;
+import org.icgc.dcc.release.core.task.TaskSpec;
 import org.icgc.dcc.release.job.fathmm.task.PredictFathmmTask;
 import org.icgc.dcc.release.job.fathmm.task.ReadTranscriptsTask;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import com.google.common.collect.BiMap;
+import com.google.common.collect.ImmutableBiMap;
+import com.google.common.collect.ImmutableList;
 
 /**
  * Please see http://fathmm.biocompute.org.uk/
@@ -56,6 +61,14 @@ public class FathmmJob extends GenericJob {
     predict(jobContext, transcripts);
   }
 
+  @Override
+  public List<TaskSpec> getTaskSpecs() {
+    // The transcripts are collected to the driver and shipped with the task
+    val spec = new PredictFathmmTask(jdbcUrl, ImmutableBiMap.of()).getSpec();
+
+    return ImmutableList.of(spec.withBroadcasts(ImmutableList.of(FathmmTranscriptReader.INPUT_FILE_TYPE)));
+  }
+
   private void clean(JobContext jobContext) {
     delete(jobContext, FileType.OBSERVATION_FATHMM);
   }
@@ -52,6 +52,7 @@ public class FathmmTranscriptReader extends GenericTask {
   /**
    * Constants.
    */
+  public static final FileType INPUT_FILE_TYPE = FileType.GENE;
   private static final String GENE_TRANSCRIPTS = "transcripts";
   private static final String GENE_TRANSCRIPT_ID = "id";
   private static final String GENE_TRANSCRIPT_TRANSLATION_ID = "translation_id";
@@ -62,7 +63,7 @@ public class FathmmTranscriptReader extends GenericTask {
   public BiMap<String, String> readTranscripts() {
     val watch = createStarted();
     log.info("Reading transcripts...");
-    val input = readInput(taskContext, FileType.GENE);
+    val input = readInput(taskContext, INPUT_FILE_TYPE);
     val transcripts = transform(input).collect();
     log.info("Finished reading {} transcripts in {}", formatCount(transcripts), watch);
 
@@ -25,6 +25,7 @@ import lombok.NonNull;
 import org.apache.spark.api.java.JavaRDD;
 import org.icgc.dcc.release.core.job.FileType;
 import org.icgc.dcc.release.core.task.GenericProcessTask;
+import org.icgc.dcc.release.core.task.TaskContext;
 import org.icgc.dcc.release.job.fathmm.function.PredictFathmm;
 
 import com.fasterxml.jackson.databind.node.ObjectNode;
@@ -43,7 +44,7 @@ public class PredictFathmmTask extends GenericProcessTask implements Closeable {
   }
 
   @Override
-  protected JavaRDD<ObjectNode> process(JavaRDD<ObjectNode> input) {
+  protected JavaRDD<ObjectNode> process(TaskContext taskContext, JavaRDD<ObjectNode> input) {
     return input.map(fathmmPredictor());
   }
 
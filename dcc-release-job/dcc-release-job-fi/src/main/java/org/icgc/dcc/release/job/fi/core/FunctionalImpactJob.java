@@ -17,15 +17,20 @@
  */
 package org.icgc.dcc.release.job.fi.core;
 
+import java.util.List;
+
 import lombok.NonNull;
 
 import org.icgc.dcc.release.core.job.FileType;
 import org.icgc.dcc.release.core.job.GenericJob;
 import org.icgc.dcc.release.core.job.JobContext;
 import org.icgc.dcc.release.core.job.JobType;
+import org.icgc.dcc.release.core.task.TaskSpec;
 import org.icgc.dcc.release.job.fi.task.CalculateImpactTask;
 import org.springframework.stereotype.Component;
 
+import com.google.common.collect.ImmutableList;
+
 @Component
 public class FunctionalImpactJob extends GenericJob {
 
@@ -44,6 +49,11 @@ public class FunctionalImpactJob extends GenericJob {
     delete(jobContext, FileType.OBSERVATION_FI);
   }
 
+  @Override
+  public List<TaskSpec> getTaskSpecs() {
+    return ImmutableList.of(new CalculateImpactTask().getSpec());
+  }
+
   private void impact(JobContext jobContext) {
     jobContext.execute(new CalculateImpactTask());
   }
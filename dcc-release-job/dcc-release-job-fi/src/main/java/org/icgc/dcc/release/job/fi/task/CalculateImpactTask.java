@@ -20,6 +20,7 @@ package org.icgc.dcc.release.job.fi.task;
 import org.apache.spark.api.java.JavaRDD;
 import org.icgc.dcc.release.core.job.FileType;
 import org.icgc.dcc.release.core.task.GenericProcessTask;
+import org.icgc.dcc.release.core.task.TaskContext;
 import org.icgc.dcc.release.job.fi.function.CalculateImpact;
 
 import com.fasterxml.jackson.databind.node.ObjectNode;
@@ -31,7 +32,7 @@ public class CalculateImpactTask extends GenericProcessTask {
   }
 
   @Override
-  protected JavaRDD<ObjectNode> process(JavaRDD<ObjectNode> input) {
+  protected JavaRDD<ObjectNode> process(TaskContext taskContext, JavaRDD<ObjectNode> input) {
     return input.map(new CalculateImpact());
   }
 
@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) 2015 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.release.job.id.cache;
+
+import static com.google.common.base.Preconditions.checkState;
+import static lombok.AccessLevel.PRIVATE;
+
+import java.io.Serializable;
+import java.util.Map;
+import java.util.Optional;
+
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
+import lombok.val;
+import lombok.extern.slf4j.Slf4j;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.icgc.dcc.release.job.id.model.IdType;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Maps;
+
+/**
+ * Persistent surrogate IDs assigned by previous releases, consulted before the ID service.
+ * <p>
+ * Layout: {@code <cacheDir>/<type>/v<timestamp>/part-NNNNN} where each type keeps its latest two generations. The
+ * generations are resolved once on the driver, so executors never see a generation that is being written.
+ */
+@Slf4j
+@RequiredArgsConstructor(access = PRIVATE)
+public class IdCache implements Serializable {
+
+  /**
+   * Constants.
+   */
+  private static final String GENERATION_PREFIX = "v";
+
+  /**
+   * Stores opened in this JVM, shared by all tasks. Keyed by type directory, holding the latest generation seen only.
+   */
+  private static final Map<String, OpenStore> STORES = Maps.newHashMap();
+
+  /**
+   * Configuration.
+   */
+  private final String cacheDir;
+  @NonNull
+  private final Map<IdType, String> generationDirs;
+
+  public static IdCache disabled() {
+    return new IdCache(null, ImmutableMap.of());
+  }
+
+  @SneakyThrows
+  public static IdCache open(@NonNull FileSystem fileSystem, @NonNull String cacheDir) {
+    val generationDirs = ImmutableMap.<IdType, String> builder();
+    for (val type : IdType.values()) {
+      val typeDir = new Path(cacheDir, type.getDirName());
+      if (!fileSystem.exists(typeDir)) {
+        continue;
+      }
+
+      val generations = fileSystem.listStatus(typeDir, path -> path.getName().startsWith(GENERATION_PREFIX));
+      String latest = null;
+      for (val generation : generations) {
+        val generationDir = fileSystem.makeQualified(generation.getPath()).toString();
+        if (latest == null || generationDir.compareTo(latest) > 0) {
+          latest = generationDir;
+        }
+      }
+
+      if (latest != null) {
+        log.info("Using {} ID cache generation '{}'", type, latest);
+        generationDirs.put(type, latest);
+      }
+    }
+
+    return new IdCache(fileSystem.makeQualified(new Path(cacheDir)).toString(), generationDirs.build());
+  }
+
+  public boolean isEnabled() {
+    return cacheDir != null;
+  }
+
+  public Optional<String> getGenerationDir(@NonNull IdType type) {
+    return Optional.ofNullable(generationDirs.get(type));
+  }
+
+  public Path getTypeDir(@NonNull IdType type) {
+    checkState(isEnabled(), "ID cache is disabled");
+
+    return new Path(cacheDir, type.getDirName());
+  }
+
+  /**
+   * @return a new generation directory of {@code type}, to be written by the next update
+   */
+  public Path createGenerationDir(@NonNull IdType type) {
+    return new Path(getTypeDir(type), GENERATION_PREFIX + String.format("%013d", System.currentTimeMillis()));
+  }
+
+  /**
+   * @return the cached ID of {@code key} or {@code null} if there is none
+   */
+  public String get(@NonNull IdType type, @NonNull String key) {
+    val generationDir = generationDirs.get(type);
+    if (generationDir == null) {
+      return null;
+    }
+
+    while (true) {
+      val store = getStore(generationDir);
+      try {
+        return store.get(key);
+      } catch (IllegalStateException e) {
+        if (!store.isClosed()) {
+          throw e;
+        }
+
+        // Superseded by a newer generation while looking up, which holds all IDs of the closed one
+      }
+    }
+  }
+
+  /**
+   * @return the store of the latest generation of the type of {@code generationDir} opened in this JVM. A newer
+   * generation supersedes and closes the open one, so long-lived executors keep one generation per type open.
+   * Generations only ever add IDs, so lookups of an older generation are served by the newer one.
+   */
+  @SneakyThrows
+  private static IdStore getStore(String generationDir) {
+    val path = new Path(generationDir);
+    val typeDir = path.getParent().toString();
+
+    synchronized (STORES) {
+      val open = STORES.get(typeDir);
+      if (open != null && open.generationName.compareTo(path.getName()) >= 0) {
+        return open.store;
+      }
+
+      val store = IdStore.open(path, new Configuration());
+      STORES.put(typeDir, new OpenStore(path.getName(), store));
+      if (open != null) {
+        log.info("Closing superseded ID store '{}/{}'", typeDir, open.generationName);
+        open.store.close();
+      }
+
+      return store;
+    }
+  }
+
+  @RequiredArgsConstructor
+  private static class OpenStore {
+
+    private final String generationName;
+    private final IdStore store;
+
+  }
+
+}
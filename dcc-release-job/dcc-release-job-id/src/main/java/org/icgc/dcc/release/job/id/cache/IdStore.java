@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2015 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.release.job.id.cache;
+
+import static com.google.common.base.Preconditions.checkState;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+import lombok.NonNull;
+import lombok.SneakyThrows;
+import lombok.val;
+import lombok.extern.slf4j.Slf4j;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.MapFile;
+import org.apache.hadoop.io.Text;
+
+import com.google.common.collect.Lists;
+
+/**
+ * Read access to one generation of an {@link IdCache} type. A generation is a directory of {@link MapFile}s written by
+ * a sort, so every part covers a contiguous key range. Lookups pick the part by its last key and seek in its index.
+ */
+@Slf4j
+public class IdStore implements Closeable {
+
+  /**
+   * State.
+   */
+  private final MapFile.Reader[] readers;
+  private final Text[] finalKeys;
+  private volatile boolean closed;
+
+  @SneakyThrows
+  public static IdStore open(@NonNull Path generationDir, @NonNull Configuration conf) {
+    val fileSystem = generationDir.getFileSystem(conf);
+    val partDirs = fileSystem.listStatus(generationDir, path -> path.getName().startsWith("part-"));
+    Arrays.sort(partDirs);
+
+    val readers = Lists.<MapFile.Reader> newArrayList();
+    val finalKeys = Lists.<Text> newArrayList();
+    for (val partDir : partDirs) {
+      val reader = new MapFile.Reader(partDir.getPath(), conf);
+      val finalKey = new Text();
+      reader.finalKey(finalKey);
+
+      if (finalKey.getLength() == 0) {
+        // Empty range
+        reader.close();
+        continue;
+      }
+
+      readers.add(reader);
+      finalKeys.add(finalKey);
+    }
+
+    log.info("Opened ID store '{}' with {} non-empty parts", generationDir, readers.size());
+    return new IdStore(readers, finalKeys);
+  }
+
+  private IdStore(List<MapFile.Reader> readers, List<Text> finalKeys) {
+    this.readers = readers.toArray(new MapFile.Reader[readers.size()]);
+    this.finalKeys = finalKeys.toArray(new Text[finalKeys.size()]);
+  }
+
+  /**
+   * @return the ID of {@code key} or {@code null} if it is not in the store
+   * @throws IllegalStateException if the store is closed
+   */
+  @SneakyThrows
+  public String get(@NonNull String key) {
+    val text = new Text(key);
+    val index = findPart(text);
+    if (index < 0) {
+      return null;
+    }
+
+    val reader = readers[index];
+    val value = new Text();
+    synchronized (reader) {
+      checkState(!closed, "ID store is closed");
+      return reader.get(text, value) == null ? null : value.toString();
+    }
+  }
+
+  public boolean isClosed() {
+    return closed;
+  }
+
+  /**
+   * Closes the readers once running lookups are finished. Later lookups fail.
+   */
+  @Override
+  public void close() throws IOException {
+    closed = true;
+    for (val reader : readers) {
+      synchronized (reader) {
+        reader.close();
+      }
+    }
+  }
+
+  /**
+   * @return the first part whose last key is not less than {@code key}
+   */
+  private int findPart(Text key) {
+    int low = 0;
+    int high = finalKeys.length - 1;
+    while (low <= high) {
+      val middle = (low + high) >>> 1;
+      if (finalKeys[middle].compareTo(key) < 0) {
+        low = middle + 1;
+      } else {
+        high = middle - 1;
+      }
+    }
+
+    return low < finalKeys.length ? low : -1;
+  }
+
+}
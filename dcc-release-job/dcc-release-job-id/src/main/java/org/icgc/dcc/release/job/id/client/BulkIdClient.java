@@ -0,0 +1,45 @@
+/*
+ * Copyright (c) 2015 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.release.job.id.client;
+
+import java.io.Closeable;
+import java.util.Map;
+import java.util.Set;
+
+import org.icgc.dcc.release.job.id.model.IdType;
+import org.icgc.dcc.release.job.id.model.MutationKey;
+import org.icgc.dcc.release.job.id.model.SubmittedKey;
+
+/**
+ * Resolves (and creates when missing) surrogate IDs for many keys at once. Closing it closes the underlying
+ * {@code IdClient}.
+ */
+public interface BulkIdClient extends Closeable {
+
+  /**
+   * @param type one of the clinical types
+   * @return donor, specimen or sample IDs of all {@code keys}
+   */
+  Map<SubmittedKey, String> createSubmittedIds(IdType type, Set<SubmittedKey> keys);
+
+  /**
+   * @return mutation IDs of all {@code keys}
+   */
+  Map<MutationKey, String> createMutationIds(Set<MutationKey> keys);
+
+}
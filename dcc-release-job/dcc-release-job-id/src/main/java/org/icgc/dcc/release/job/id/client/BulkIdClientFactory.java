@@ -15,35 +15,34 @@
  * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
  * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
  */
-package org.icgc.dcc.release.job.stage.function;
+package org.icgc.dcc.release.job.id.client;
 
-import static org.icgc.dcc.release.core.util.ObjectNodes.textValue;
-import lombok.val;
-
-import org.apache.spark.api.java.function.Function;
+import java.io.Serializable;
 
-import com.fasterxml.jackson.databind.node.ObjectNode;
-
-public class TrimValues implements Function<ObjectNode, ObjectNode> {
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.val;
 
-  @Override
-  public ObjectNode call(ObjectNode row) throws Exception {
-    trim(row);
+import org.icgc.dcc.release.job.id.cache.IdCache;
 
-    return row;
-  }
+/**
+ * Serializable factory of {@link BulkIdClient}s, instantiated on the executors.
+ */
+@RequiredArgsConstructor
+public class BulkIdClientFactory implements Serializable {
 
-  private void trim(ObjectNode row) {
-    row.fieldNames().forEachRemaining(fieldName -> trimField(row, fieldName));
-  }
+  /**
+   * Configuration.
+   */
+  @NonNull
+  private final IdClientProvider idClientProvider;
+  @NonNull
+  private final IdCache cache;
 
-  private void trimField(ObjectNode row, String fieldName) {
-    val fieldValue = textValue(row, fieldName);
+  public BulkIdClient create() {
+    val client = new DefaultBulkIdClient(idClientProvider.create());
 
-    if (fieldValue != null) {
-      val trimmed = fieldValue.trim();
-      row.put(fieldName, trimmed);
-    }
+    return cache.isEnabled() ? new CachingBulkIdClient(cache, client) : client;
   }
 
-}
\ No newline at end of file
+}
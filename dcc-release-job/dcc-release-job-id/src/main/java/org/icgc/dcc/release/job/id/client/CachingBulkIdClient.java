@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2015 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.release.job.id.client;
+
+import static org.icgc.dcc.release.job.id.util.IdKeys.formatMutationKey;
+import static org.icgc.dcc.release.job.id.util.IdKeys.formatSubmittedKey;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.val;
+
+import org.icgc.dcc.release.job.id.cache.IdCache;
+import org.icgc.dcc.release.job.id.model.IdType;
+import org.icgc.dcc.release.job.id.model.MutationKey;
+import org.icgc.dcc.release.job.id.model.SubmittedKey;
+
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+
+/**
+ * {@link BulkIdClient} answering from the {@link IdCache} first and delegating the remaining keys.
+ */
+@RequiredArgsConstructor
+public class CachingBulkIdClient implements BulkIdClient {
+
+  /**
+   * Dependencies.
+   */
+  @NonNull
+  private final IdCache cache;
+  @NonNull
+  private final BulkIdClient delegate;
+
+  @Override
+  public Map<SubmittedKey, String> createSubmittedIds(@NonNull IdType type, @NonNull Set<SubmittedKey> keys) {
+    val submittedIds = Maps.<SubmittedKey, String> newHashMapWithExpectedSize(keys.size());
+    val missing = Sets.<SubmittedKey> newLinkedHashSet();
+    for (val key : keys) {
+      val submittedId = cache.get(type, formatSubmittedKey(key));
+      if (submittedId == null) {
+        missing.add(key);
+      } else {
+        submittedIds.put(key, submittedId);
+      }
+    }
+
+    if (!missing.isEmpty()) {
+      submittedIds.putAll(delegate.createSubmittedIds(type, missing));
+    }
+
+    return submittedIds;
+  }
+
+  @Override
+  public Map<MutationKey, String> createMutationIds(@NonNull Set<MutationKey> keys) {
+    val mutationIds = Maps.<MutationKey, String> newHashMapWithExpectedSize(keys.size());
+    val missing = Sets.<MutationKey> newLinkedHashSet();
+    for (val key : keys) {
+      val mutationId = cache.get(IdType.MUTATION, formatMutationKey(key));
+      if (mutationId == null) {
+        missing.add(key);
+      } else {
+        mutationIds.put(key, mutationId);
+      }
+    }
+
+    if (!missing.isEmpty()) {
+      mutationIds.putAll(delegate.createMutationIds(missing));
+    }
+
+    return mutationIds;
+  }
+
+  @Override
+  public void close() throws IOException {
+    delegate.close();
+  }
+
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2015 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.release.job.id.client;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.val;
+
+import org.icgc.dcc.id.client.core.IdClient;
+import org.icgc.dcc.release.job.id.model.IdType;
+import org.icgc.dcc.release.job.id.model.MutationKey;
+import org.icgc.dcc.release.job.id.model.SubmittedKey;
+
+import com.google.common.collect.ImmutableMap;
+
+/**
+ * {@link BulkIdClient} on top of an {@link IdClient} without bulk operations. Every distinct key is resolved once.
+ */
+@RequiredArgsConstructor
+public class DefaultBulkIdClient implements BulkIdClient {
+
+  /**
+   * Dependencies.
+   */
+  @NonNull
+  private final IdClient client;
+
+  @Override
+  public Map<SubmittedKey, String> createSubmittedIds(@NonNull IdType type, @NonNull Set<SubmittedKey> keys) {
+    val submittedIds = ImmutableMap.<SubmittedKey, String> builder();
+    for (val key : keys) {
+      submittedIds.put(key, createSubmittedId(type, key.getSubmittedId(), key.getSubmittedProjectId()));
+    }
+
+    return submittedIds.build();
+  }
+
+  @Override
+  public Map<MutationKey, String> createMutationIds(@NonNull Set<MutationKey> keys) {
+    val mutationIds = ImmutableMap.<MutationKey, String> builder();
+    for (val key : keys) {
+      val mutationId = client.createMutationId(
+          key.getChromosome(),
+          key.getChromosomeStart(),
+          key.getChromosomeEnd(),
+          key.getMutation(),
+          key.getMutationType(),
+          key.getAssemblyVersion());
+
+      mutationIds.put(key, mutationId);
+    }
+
+    return mutationIds.build();
+  }
+
+  @Override
+  public void close() throws IOException {
+    client.close();
+  }
+
+  private String createSubmittedId(IdType type, String submittedId, String submittedProjectId) {
+    switch (type) {
+    case DONOR:
+      return client.createDonorId(submittedId, submittedProjectId);
+    case SPECIMEN:
+      return client.createSpecimenId(submittedId, submittedProjectId);
+    case SAMPLE:
+      return client.createSampleId(submittedId, submittedProjectId);
+    default:
+      throw new IllegalArgumentException("Not a clinical ID type: " + type);
+    }
+  }
+
+}
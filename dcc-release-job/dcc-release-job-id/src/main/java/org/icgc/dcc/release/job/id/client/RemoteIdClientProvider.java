@@ -15,38 +15,29 @@
  * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
  * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
  */
-package org.icgc.dcc.release.job.id.function;
+package org.icgc.dcc.release.job.id.client;
 
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 
-import org.apache.spark.api.java.function.Function;
-import org.icgc.dcc.common.core.model.FieldNames;
 import org.icgc.dcc.id.client.core.IdClient;
 import org.icgc.dcc.id.client.core.IdClientFactory;
 
-import com.fasterxml.jackson.databind.node.ObjectNode;
-
+/**
+ * Provides clients of the remote ID service.
+ */
 @RequiredArgsConstructor
-public abstract class AddSurrogateId implements Function<ObjectNode, ObjectNode> {
+public class RemoteIdClientProvider implements IdClientProvider {
 
   /**
    * Configuration.
    */
   @NonNull
   private final IdClientFactory idClientFactory;
-  private transient IdClient idClient;
-
-  protected IdClient client() {
-    if (idClient == null) {
-      idClient = idClientFactory.create();
-    }
-
-    return idClient;
-  }
 
-  protected String getSubmittedProjectId(ObjectNode row) {
-    return row.get(FieldNames.PROJECT_ID).textValue();
+  @Override
+  public IdClient create() {
+    return idClientFactory.create();
   }
 
-}
\ No newline at end of file
+}
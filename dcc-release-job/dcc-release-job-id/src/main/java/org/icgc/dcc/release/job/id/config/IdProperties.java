@@ -37,4 +37,14 @@ public class IdProperties implements Serializable {
   boolean requestLoggingEnabled;
   boolean strictSSLCertificates;
 
+  /**
+   * Directory of the persistent ID cache reused across releases. Disabled when not set.
+   */
+  String cacheDir;
+
+  /**
+   * Directory of an embedded ID registry used instead of the ID service (e.g. for offline and load test runs).
+   */
+  String embeddedDir;
+
 }
@@ -20,6 +20,9 @@ package org.icgc.dcc.release.job.id.core;
 import static com.google.common.base.Preconditions.checkState;
 import static com.google.common.base.Strings.isNullOrEmpty;
 
+import java.util.List;
+
+import org.apache.hadoop.fs.FileSystem;
 import org.icgc.dcc.id.client.core.IdClientFactory;
 import org.icgc.dcc.id.client.http.HttpIdClient;
 import org.icgc.dcc.id.client.http.webclient.WebClientConfig;
@@ -27,17 +30,29 @@ import org.icgc.dcc.release.core.job.FileType;
 import org.icgc.dcc.release.core.job.GenericJob;
 import org.icgc.dcc.release.core.job.JobContext;
 import org.icgc.dcc.release.core.job.JobType;
+import org.icgc.dcc.release.core.task.Task;
+import org.icgc.dcc.release.core.task.TaskSpec;
+import org.icgc.dcc.release.job.id.cache.IdCache;
+import org.icgc.dcc.release.job.id.client.EmbeddedIdClientProvider;
+import org.icgc.dcc.release.job.id.client.IdClientProvider;
+import org.icgc.dcc.release.job.id.client.RemoteIdClientProvider;
 import org.icgc.dcc.release.job.id.config.IdProperties;
+import org.icgc.dcc.release.job.id.model.IdType;
 import org.icgc.dcc.release.job.id.task.AddSurrogateDonorIdTask;
 import org.icgc.dcc.release.job.id.task.AddSurrogateMutationIdTask;
 import org.icgc.dcc.release.job.id.task.AddSurrogateSampleIdTask;
 import org.icgc.dcc.release.job.id.task.AddSurrogateSpecimenIdTask;
+import org.icgc.dcc.release.job.id.task.UpdateIdCacheTask;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import com.google.common.collect.ImmutableList;
+
 import lombok.NonNull;
 import lombok.val;
+import lombok.extern.slf4j.Slf4j;
 
+@Slf4j
 @Component
 public class IdJob extends GenericJob {
 
@@ -51,6 +66,8 @@ public class IdJob extends GenericJob {
    */
   @Autowired
   IdProperties identifierProperties;
+  @Autowired
+  FileSystem fileSystem;
 
   @Override
   public JobType getType() {
@@ -63,6 +80,18 @@ public class IdJob extends GenericJob {
     id(jobContext);
   }
 
+  @Override
+  public List<TaskSpec> getTaskSpecs() {
+    val specs = ImmutableList.<TaskSpec> builder();
+    for (val type : IdType.values()) {
+      val outputFileType = type.getFileType();
+      specs.add(TaskSpec.of(outputFileType.getDirName(), ImmutableList.of(type.getInputFileType()),
+          ImmutableList.of(outputFileType)));
+    }
+
+    return specs.build();
+  }
+
   private void clean(JobContext jobContext) {
     delete(jobContext,
         FileType.DONOR_SURROGATE_KEY,
@@ -73,13 +102,33 @@ public class IdJob extends GenericJob {
 
   private void id(JobContext jobContext) {
     val releaseName = resolveReleaseName(jobContext.getReleaseName());
-    val idClientFactory = createIdClientFactory(releaseName);
+    val idClientProvider = createIdClientProvider(releaseName);
+    val idCache = createIdCache();
 
     jobContext.execute(
-        new AddSurrogateDonorIdTask(idClientFactory),
-        new AddSurrogateSpecimenIdTask(idClientFactory),
-        new AddSurrogateSampleIdTask(idClientFactory),
-        new AddSurrogateMutationIdTask(idClientFactory));
+        new AddSurrogateDonorIdTask(idClientProvider, idCache),
+        new AddSurrogateSpecimenIdTask(idClientProvider, idCache),
+        new AddSurrogateSampleIdTask(idClientProvider, idCache),
+        new AddSurrogateMutationIdTask(idClientProvider, idCache));
+
+    if (idCache.isEnabled()) {
+      updateIdCache(jobContext, idCache);
+    }
+  }
+
+  private static void updateIdCache(JobContext jobContext, IdCache idCache) {
+    val tasks = ImmutableList.<Task> builder();
+    for (val type : IdType.values()) {
+      tasks.add(new UpdateIdCacheTask(type, idCache));
+    }
+
+    jobContext.execute(tasks.build());
+  }
+
+  private IdCache createIdCache() {
+    val cacheDir = identifierProperties.getCacheDir();
+
+    return isNullOrEmpty(cacheDir) ? IdCache.disabled() : IdCache.open(fileSystem, cacheDir);
   }
 
   private static String resolveReleaseName(String releaseName) {
@@ -90,6 +139,16 @@ public class IdJob extends GenericJob {
     return idReleaseName;
   }
 
+  private IdClientProvider createIdClientProvider(String release) {
+    val embeddedDir = identifierProperties.getEmbeddedDir();
+    if (!isNullOrEmpty(embeddedDir)) {
+      log.info("Using embedded ID registry '{}'", embeddedDir);
+      return new EmbeddedIdClientProvider(embeddedDir);
+    }
+
+    return new RemoteIdClientProvider(createIdClientFactory(release));
+  }
+
   private IdClientFactory createIdClientFactory(String release) {
     return new IdClientFactory(resolveIdentifierClassName(), createConfig(release, identifierProperties));
   }
@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) 2015 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.release.job.id.embedded;
+
+import static org.icgc.dcc.common.core.util.Joiners.TAB;
+import static org.icgc.dcc.release.job.id.util.IdKeys.formatMutationKey;
+import static org.icgc.dcc.release.job.id.util.IdKeys.formatSubmittedKey;
+
+import java.util.Optional;
+
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.val;
+
+import org.icgc.dcc.id.client.core.IdClient;
+import org.icgc.dcc.release.job.id.model.IdType;
+import org.icgc.dcc.release.job.id.model.MutationKey;
+
+import com.google.common.base.Splitter;
+
+/**
+ * {@link IdClient} backed by an {@link EmbeddedIdRegistry}, written against the {@code dcc-id-client} version pinned by
+ * the build. Implements the {@code create*Id} and {@code get*Id} contracts of donors, specimens, samples and
+ * mutations.
+ * <p>
+ * The {@code getAll*Ids} exports have one tab separated line per ID with the columns of the ID service exports: the
+ * numeric ID, then {@code submitted_id} and {@code project_id} of donors, specimens and samples, or
+ * {@code chromosome}, {@code chromosome_start}, {@code chromosome_end}, {@code mutation_type}, {@code mutation} and
+ * {@code assembly_version} of mutations.
+ */
+@RequiredArgsConstructor
+public class EmbeddedIdClient implements IdClient {
+
+  /**
+   * Constants.
+   */
+  private static final Splitter KEY_SPLITTER = Splitter.on('\t');
+
+  /**
+   * Dependencies.
+   */
+  @NonNull
+  private final EmbeddedIdRegistry registry;
+
+  @Override
+  public Optional<String> getDonorId(@NonNull String submittedDonorId, @NonNull String submittedProjectId) {
+    return getSubmittedId(IdType.DONOR, submittedDonorId, submittedProjectId);
+  }
+
+  @Override
+  public Optional<String> getSpecimenId(@NonNull String submittedSpecimenId, @NonNull String submittedProjectId) {
+    return getSubmittedId(IdType.SPECIMEN, submittedSpecimenId, submittedProjectId);
+  }
+
+  @Override
+  public Optional<String> getSampleId(@NonNull String submittedSampleId, @NonNull String submittedProjectId) {
+    return getSubmittedId(IdType.SAMPLE, submittedSampleId, submittedProjectId);
+  }
+
+  @Override
+  public Optional<String> getMutationId(@NonNull String chromosome, String chromosomeStart,
+      String chromosomeEnd, @NonNull String mutation, @NonNull String mutationType,
+      @NonNull String assemblyVersion) {
+    val key = new MutationKey(chromosome, chromosomeStart, chromosomeEnd, mutation, mutationType, assemblyVersion);
+
+    return Optional.ofNullable(registry.getId(IdType.MUTATION, formatMutationKey(key)));
+  }
+
+  @Override
+  public String createDonorId(@NonNull String submittedDonorId, @NonNull String submittedProjectId) {
+    return createSubmittedId(IdType.DONOR, submittedDonorId, submittedProjectId);
+  }
+
+  @Override
+  public String createSpecimenId(@NonNull String submittedSpecimenId, @NonNull String submittedProjectId) {
+    return createSubmittedId(IdType.SPECIMEN, submittedSpecimenId, submittedProjectId);
+  }
+
+  @Override
+  public String createSampleId(@NonNull String submittedSampleId, @NonNull String submittedProjectId) {
+    return createSubmittedId(IdType.SAMPLE, submittedSampleId, submittedProjectId);
+  }
+
+  @Override
+  public String createMutationId(@NonNull String chromosome, String chromosomeStart,
+      String chromosomeEnd, @NonNull String mutation, @NonNull String mutationType,
+      @NonNull String assemblyVersion) {
+    val key = new MutationKey(chromosome, chromosomeStart, chromosomeEnd, mutation, mutationType, assemblyVersion);
+
+    return registry.createId(IdType.MUTATION, formatMutationKey(key));
+  }
+
+  @Override
+  public Optional<String> getAllDonorIds() {
+    return exportSubmittedIds(IdType.DONOR);
+  }
+
+  @Override
+  public Optional<String> getAllSpecimenIds() {
+    return exportSubmittedIds(IdType.SPECIMEN);
+  }
+
+  @Override
+  public Optional<String> getAllSampleIds() {
+    return exportSubmittedIds(IdType.SAMPLE);
+  }
+
+  @Override
+  public Optional<String> getAllMutationIds() {
+    val export = new StringBuilder();
+    for (val entry : registry.getIds(IdType.MUTATION)) {
+      // chromosome, start, end, mutation, mutation type, assembly version
+      val key = KEY_SPLITTER.splitToList(entry.getValue());
+      appendLine(export, entry.getKey(), key.get(0), key.get(1), key.get(2), key.get(4), key.get(3), key.get(5));
+    }
+
+    return Optional.of(export.toString());
+  }
+
+  @Override
+  public void close() {
+    // Registry is shared by the JVM
+  }
+
+  private Optional<String> getSubmittedId(IdType type, String submittedId, String submittedProjectId) {
+    return Optional.ofNullable(registry.getId(type, formatSubmittedKey(submittedId, submittedProjectId)));
+  }
+
+  private String createSubmittedId(IdType type, String submittedId, String submittedProjectId) {
+    return registry.createId(type, formatSubmittedKey(submittedId, submittedProjectId));
+  }
+
+  private Optional<String> exportSubmittedIds(IdType type) {
+    val export = new StringBuilder();
+    for (val entry : registry.getIds(type)) {
+      // project ID, submitted ID
+      val key = KEY_SPLITTER.splitToList(entry.getValue());
+      appendLine(export, entry.getKey(), key.get(1), key.get(0));
+    }
+
+    return Optional.of(export.toString());
+  }
+
+  private static void appendLine(StringBuilder export, Object... values) {
+    TAB.appendTo(export, values).append('\n');
+  }
+
+}
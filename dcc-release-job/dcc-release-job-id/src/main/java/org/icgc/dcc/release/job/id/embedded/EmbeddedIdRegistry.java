@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2015 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.release.job.id.embedded;
+
+import static com.google.common.base.Preconditions.checkState;
+import static java.lang.String.format;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentMap;
+
+import lombok.NonNull;
+import lombok.val;
+import lombok.extern.slf4j.Slf4j;
+
+import org.h2.jdbcx.JdbcConnectionPool;
+import org.icgc.dcc.release.job.id.model.IdType;
+import org.skife.jdbi.v2.DBI;
+import org.skife.jdbi.v2.exceptions.UnableToExecuteStatementException;
+
+import com.google.common.collect.Maps;
+
+/**
+ * In-process ID registry stored in an embedded H2 database. Assigns the same kind of IDs as the ID service (e.g.
+ * {@code DO1}, {@code MU42}) and never changes an assigned ID.
+ * <p>
+ * The database is opened with {@code AUTO_SERVER=TRUE}, so executor JVMs of the same machine may share it.
+ */
+@Slf4j
+public class EmbeddedIdRegistry {
+
+  /**
+   * Registries opened in this JVM by database URL.
+   */
+  private static final ConcurrentMap<String, EmbeddedIdRegistry> REGISTRIES = Maps.newConcurrentMap();
+
+  /**
+   * SQL state of H2 unique constraint violations.
+   */
+  private static final String DUPLICATE_KEY_SQL_STATE = "23505";
+
+  /**
+   * Dependencies.
+   */
+  private final DBI dbi;
+
+  public static EmbeddedIdRegistry get(@NonNull String dir) {
+    return REGISTRIES.computeIfAbsent(dir, EmbeddedIdRegistry::new);
+  }
+
+  private EmbeddedIdRegistry(String dir) {
+    log.info("Opening embedded ID registry '{}'...", dir);
+    this.dbi = new DBI(JdbcConnectionPool.create(getUrl(dir), "sa", ""));
+
+    dbi.withHandle(handle -> {
+      for (IdType type : IdType.values()) {
+        handle.execute(format("CREATE TABLE IF NOT EXISTS %s ("
+            + "id BIGINT AUTO_INCREMENT PRIMARY KEY, "
+            + "natural_key VARCHAR NOT NULL UNIQUE)", getTableName(type)));
+      }
+
+      return null;
+    });
+  }
+
+  /**
+   * @return the ID of {@code key} or {@code null} if none is assigned
+   */
+  public String getId(@NonNull IdType type, @NonNull String key) {
+    Long id = dbi.withHandle(handle -> handle
+        .createQuery(format("SELECT id FROM %s WHERE natural_key = :key", getTableName(type)))
+        .bind("key", key)
+        .mapTo(Long.class)
+        .first());
+
+    return id == null ? null : type.getIdPrefix() + id;
+  }
+
+  /**
+   * @return the ID of {@code key}, assigning a new one if none is assigned yet
+   */
+  public String createId(@NonNull IdType type, @NonNull String key) {
+    String id = getId(type, key);
+    if (id != null) {
+      return id;
+    }
+
+    try {
+      dbi.withHandle(handle -> handle
+          .createStatement(format("INSERT INTO %s (natural_key) VALUES (:key)", getTableName(type)))
+          .bind("key", key)
+          .execute());
+    } catch (UnableToExecuteStatementException e) {
+      if (!isDuplicateKey(e)) {
+        throw e;
+      }
+
+      // Assigned concurrently by another thread or executor
+      log.debug("Concurrent assignment of {} key '{}'", type, key);
+    }
+
+    id = getId(type, key);
+    checkState(id != null, "No %s ID assigned to key '%s'", type, key);
+
+    return id;
+  }
+
+  /**
+   * @return the numeric IDs of {@code type} with their keys, in the order they were assigned
+   */
+  public List<Entry<Long, String>> getIds(@NonNull IdType type) {
+    List<Entry<Long, String>> ids = dbi.withHandle(handle -> handle
+        .createQuery(format("SELECT id, natural_key FROM %s ORDER BY id", getTableName(type)))
+        .map((index, result, context) -> Maps.immutableEntry(result.getLong("id"), result.getString("natural_key")))
+        .list());
+
+    return ids;
+  }
+
+  private static boolean isDuplicateKey(UnableToExecuteStatementException e) {
+    val cause = e.getCause();
+
+    return cause instanceof SQLException && DUPLICATE_KEY_SQL_STATE.equals(((SQLException) cause).getSQLState());
+  }
+
+  private static String getUrl(String dir) {
+    return "jdbc:h2:" + dir + "/ids;AUTO_SERVER=TRUE";
+  }
+
+  private static String getTableName(IdType type) {
+    return type.name() + "_ID";
+  }
+
+}
@@ -15,7 +15,10 @@
  * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
  * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
  */
-package org.icgc.dcc.release.job.stage.function;
+package org.icgc.dcc.release.job.id.function;
+
+import static com.google.common.base.Preconditions.checkState;
+import static org.icgc.dcc.release.job.id.util.IdKeys.getSubmittedKey;
 
 import java.util.Map;
 
@@ -24,40 +27,39 @@ import lombok.RequiredArgsConstructor;
 import lombok.val;
 
 import org.apache.spark.api.java.function.Function;
-import org.icgc.dcc.release.core.submission.SubmissionFileSchema;
+import org.apache.spark.broadcast.Broadcast;
+import org.icgc.dcc.release.job.id.model.IdType;
+import org.icgc.dcc.release.job.id.model.SubmittedKey;
 
 import com.fasterxml.jackson.databind.node.ObjectNode;
-import com.google.common.collect.Maps;
 
+/**
+ * Adds donor, specimen or sample IDs resolved up front for all rows of a project.
+ */
 @RequiredArgsConstructor
-public class TranslateCodeListTerm implements Function<ObjectNode, ObjectNode> {
+public class AddSurrogateClinicalId implements Function<ObjectNode, ObjectNode> {
 
+  /**
+   * Configuration.
+   */
   @NonNull
-  private final Map<String, Map<String, String>> fieldTerms = Maps.newHashMap();
-
-  public TranslateCodeListTerm(@NonNull SubmissionFileSchema schema) {
-    for (val field : schema.getFields()) {
-      if (field.getTerms() != null) {
-        fieldTerms.put(field.getName(), field.getTerms());
-      }
-    }
-  }
+  private final IdType type;
+
+  /**
+   * Data.
+   */
+  @NonNull
+  private final Broadcast<Map<SubmittedKey, String>> ids;
 
   @Override
   public ObjectNode call(ObjectNode row) throws Exception {
-    for (val entry : fieldTerms.entrySet()) {
-      val fieldName = entry.getKey();
-      val terms = entry.getValue();
-
-      val originalValue = row.get(fieldName).textValue();
-      // Translate term code to value
-      if (originalValue != null && terms.containsKey(originalValue)) {
-        val translated = terms.get(originalValue);
-        row.put(fieldName, translated);
-      }
-    }
+    val key = getSubmittedKey(row, type.getSubmittedIdFieldName());
+    val id = ids.value().get(key);
+    checkState(id != null, "No %s ID resolved for %s", type, key);
+
+    row.put(type.getIdFieldName(), id);
 
     return row;
   }
 
-}
\ No newline at end of file
+}
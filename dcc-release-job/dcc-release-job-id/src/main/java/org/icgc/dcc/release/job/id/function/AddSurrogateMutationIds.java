@@ -0,0 +1,183 @@
+/*
+ * Copyright (c) 2015 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.release.job.id.function;
+
+import static org.icgc.dcc.release.job.id.util.IdKeys.getMutationKey;
+
+import java.io.Closeable;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
+import lombok.val;
+
+import org.apache.spark.TaskContext;
+import org.apache.spark.api.java.function.FlatMapFunction;
+import org.apache.spark.util.TaskCompletionListener;
+import org.icgc.dcc.common.core.model.FieldNames.IdentifierFieldNames;
+import org.icgc.dcc.release.job.id.client.BulkIdClient;
+import org.icgc.dcc.release.job.id.client.BulkIdClientFactory;
+import org.icgc.dcc.release.job.id.model.MutationKey;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+
+/**
+ * Adds surrogate mutation IDs to a partition of rows. Rows are processed in batches whose distinct mutations are
+ * resolved with a single bulk request. Mutations recur across donors and across the open / masked copies of a row,
+ * so recently resolved IDs are kept for the rest of the partition. The ID client is closed with the partition.
+ */
+@RequiredArgsConstructor
+public class AddSurrogateMutationIds implements FlatMapFunction<Iterator<ObjectNode>, ObjectNode> {
+
+  /**
+   * Constants.
+   */
+  private static final int BATCH_SIZE = 10_000;
+  private static final int MAX_RESOLVED_SIZE = 100_000;
+
+  /**
+   * Configuration.
+   */
+  @NonNull
+  private final BulkIdClientFactory idClientFactory;
+
+  @Override
+  public Iterable<ObjectNode> call(Iterator<ObjectNode> partition) throws Exception {
+    val iterator = new AddSurrogateMutationIdsIterator(partition, idClientFactory.create(), BATCH_SIZE,
+        MAX_RESOLVED_SIZE);
+
+    // Close the client even if the partition is not fully consumed, e.g. when the task is killed
+    TaskContext.get().addTaskCompletionListener((TaskCompletionListener) context -> iterator.close());
+
+    return iterator;
+  }
+
+  static class AddSurrogateMutationIdsIterator implements Iterable<ObjectNode>, Iterator<ObjectNode>, Closeable {
+
+    /**
+     * Dependencies.
+     */
+    private final Iterator<ObjectNode> delegate;
+    private final BulkIdClient client;
+
+    /**
+     * Configuration.
+     */
+    private final int batchSize;
+
+    /**
+     * State.
+     */
+    private final List<ObjectNode> batch;
+    private final Map<MutationKey, String> resolved;
+    private int batchIndex;
+    private boolean closed;
+
+    AddSurrogateMutationIdsIterator(Iterator<ObjectNode> delegate, BulkIdClient client, int batchSize,
+        int maxResolvedSize) {
+      this.delegate = delegate;
+      this.client = client;
+      this.batchSize = batchSize;
+      this.batch = Lists.newArrayListWithCapacity(batchSize);
+      this.resolved = new LinkedHashMap<MutationKey, String>(16, 0.75f, true) {
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<MutationKey, String> eldest) {
+          return size() > maxResolvedSize;
+        }
+
+      };
+    }
+
+    @Override
+    public Iterator<ObjectNode> iterator() {
+      return this;
+    }
+
+    @Override
+    public boolean hasNext() {
+      if (batchIndex < batch.size()) {
+        return true;
+      }
+
+      nextBatch();
+      if (batch.isEmpty()) {
+        close();
+      }
+
+      return !batch.isEmpty();
+    }
+
+    @Override
+    public ObjectNode next() {
+      return batch.get(batchIndex++);
+    }
+
+    @Override
+    public void remove() {
+      throw new UnsupportedOperationException("Cannot remove a " + getClass().getName() + " iterator");
+    }
+
+    @Override
+    @SneakyThrows
+    public void close() {
+      if (closed) {
+        return;
+      }
+
+      closed = true;
+      client.close();
+    }
+
+    private void nextBatch() {
+      batch.clear();
+      batchIndex = 0;
+      while (batch.size() < batchSize && delegate.hasNext()) {
+        batch.add(delegate.next());
+      }
+
+      val keys = Lists.<MutationKey> newArrayListWithCapacity(batch.size());
+      val unresolved = Sets.<MutationKey> newLinkedHashSet();
+      for (val row : batch) {
+        val key = getMutationKey(row);
+        keys.add(key);
+        // Refreshes the access order so that keys of the batch are not evicted below
+        if (resolved.get(key) == null) {
+          unresolved.add(key);
+        }
+      }
+
+      if (!unresolved.isEmpty()) {
+        resolved.putAll(client.createMutationIds(unresolved));
+      }
+
+      for (int i = 0; i < batch.size(); i++) {
+        val mutationId = resolved.get(keys.get(i));
+        batch.get(i).put(IdentifierFieldNames.SURROGATE_MUTATION_ID, mutationId);
+      }
+    }
+
+  }
+
+}
@@ -15,54 +15,56 @@
  * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
  * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
  */
-package org.icgc.dcc.release.job.stage.function;
+package org.icgc.dcc.release.job.id.function;
 
-import static org.icgc.dcc.common.core.util.stream.Collectors.toImmutableList;
+import static org.icgc.dcc.release.core.util.Tuples.tuple;
 
-import java.util.Collections;
-import java.util.List;
+import java.util.Iterator;
 
+import lombok.Cleanup;
 import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.val;
 
-import org.apache.spark.api.java.function.Function;
-import org.icgc.dcc.release.core.job.FileType;
-import org.icgc.dcc.release.core.submission.SubmissionFileSchema;
+import org.apache.spark.api.java.function.PairFlatMapFunction;
+import org.icgc.dcc.release.job.id.client.BulkIdClientFactory;
+import org.icgc.dcc.release.job.id.model.IdType;
+import org.icgc.dcc.release.job.id.model.SubmittedKey;
+
+import scala.Tuple2;
 
-import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
 
-public final class CleanSensitiveFields implements Function<ObjectNode, ObjectNode> {
+/**
+ * Resolves the donor, specimen or sample IDs of a partition of distinct keys with one client per partition.
+ */
+@RequiredArgsConstructor
+public class ResolveSubmittedIds implements PairFlatMapFunction<Iterator<SubmittedKey>, SubmittedKey, String> {
 
   /**
-   * Don't clean SSM_P and SGV_P as their controlled fields required to run annotation.
+   * Configuration.
    */
-  private static final List<String> SKIP_FILE_TYPES = ImmutableList.of(FileType.SSM_P.getId(), FileType.SGV_P.getId(),
-      FileType.SGV_M.getId());
-
-  private final boolean skipCleanup;
-  private final List<String> controlledFields;
-
-  public CleanSensitiveFields(@NonNull SubmissionFileSchema schema) {
-    skipCleanup = SKIP_FILE_TYPES.contains(schema.getName());
+  @NonNull
+  private final IdType type;
+  @NonNull
+  private final BulkIdClientFactory idClientFactory;
 
-    if (skipCleanup) {
-      controlledFields = Collections.emptyList();
-    } else {
-      controlledFields = schema.getFields().stream()
-          .filter(f -> f.isControlled())
-          .map(f -> f.getName())
-          .collect(toImmutableList());
+  @Override
+  public Iterable<Tuple2<SubmittedKey, String>> call(Iterator<SubmittedKey> partition) throws Exception {
+    val keys = ImmutableSet.copyOf(partition);
+    if (keys.isEmpty()) {
+      return ImmutableList.of();
     }
-  }
 
-  @Override
-  public ObjectNode call(ObjectNode row) throws Exception {
-    if (!skipCleanup) {
-      controlledFields.stream()
-          .forEach(fieldName -> row.remove(fieldName));
+    @Cleanup
+    val client = idClientFactory.create();
+    val ids = ImmutableList.<Tuple2<SubmittedKey, String>> builder();
+    for (val entry : client.createSubmittedIds(type, keys).entrySet()) {
+      ids.add(tuple(entry.getKey(), entry.getValue()));
     }
 
-    return row;
+    return ids.build();
   }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2015 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.release.job.id.model;
+
+import static org.icgc.dcc.common.core.model.FieldNames.IdentifierFieldNames.SURROGATE_DONOR_ID;
+import static org.icgc.dcc.common.core.model.FieldNames.IdentifierFieldNames.SURROGATE_MUTATION_ID;
+import static org.icgc.dcc.common.core.model.FieldNames.IdentifierFieldNames.SURROGATE_SAMPLE_ID;
+import static org.icgc.dcc.common.core.model.FieldNames.IdentifierFieldNames.SURROGATE_SPECIMEN_ID;
+import static org.icgc.dcc.common.core.model.FieldNames.SubmissionFieldNames.SUBMISSION_ANALYZED_SAMPLE_ID;
+import static org.icgc.dcc.common.core.model.FieldNames.SubmissionFieldNames.SUBMISSION_DONOR_ID;
+import static org.icgc.dcc.common.core.model.FieldNames.SubmissionFieldNames.SUBMISSION_SPECIMEN_ID;
+import static org.icgc.dcc.release.job.id.util.IdKeys.formatMutationKey;
+import static org.icgc.dcc.release.job.id.util.IdKeys.formatSubmittedKey;
+import static org.icgc.dcc.release.job.id.util.IdKeys.getMutationKey;
+import static org.icgc.dcc.release.job.id.util.IdKeys.getSubmittedKey;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+
+import org.icgc.dcc.release.core.job.FileType;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Kinds of surrogate IDs assigned by the {@code IdJob}, along with the input they are assigned to and the output they
+ * are collected from. Also the types of the {@code IdCache}.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum IdType {
+
+  DONOR(FileType.DONOR, FileType.DONOR_SURROGATE_KEY, SUBMISSION_DONOR_ID, SURROGATE_DONOR_ID, "DO"),
+  SPECIMEN(FileType.SPECIMEN, FileType.SPECIMEN_SURROGATE_KEY, SUBMISSION_SPECIMEN_ID, SURROGATE_SPECIMEN_ID, "SP"),
+  SAMPLE(FileType.SAMPLE, FileType.SAMPLE_SURROGATE_KEY, SUBMISSION_ANALYZED_SAMPLE_ID, SURROGATE_SAMPLE_ID, "SA"),
+  MUTATION(FileType.SSM_P_MASKED, FileType.SSM_P_MASKED_SURROGATE_KEY, null, SURROGATE_MUTATION_ID, "MU");
+
+  /**
+   * Input of the {@code IdJob} the IDs are assigned to.
+   */
+  @NonNull
+  private final FileType inputFileType;
+
+  /**
+   * Output of the {@code IdJob} holding assigned IDs.
+   */
+  @NonNull
+  private final FileType fileType;
+
+  /**
+   * Submitted ID field of clinical types.
+   */
+  private final String submittedIdFieldName;
+
+  @NonNull
+  private final String idFieldName;
+
+  /**
+   * Prefix of assigned IDs.
+   */
+  @NonNull
+  private final String idPrefix;
+
+  public String getDirName() {
+    return name().toLowerCase();
+  }
+
+  public String getKey(@NonNull ObjectNode row) {
+    if (this == MUTATION) {
+      return formatMutationKey(getMutationKey(row));
+    }
+
+    return formatSubmittedKey(getSubmittedKey(row, submittedIdFieldName));
+  }
+
+  public String getId(@NonNull ObjectNode row) {
+    return row.get(idFieldName).textValue();
+  }
+
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2015 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.release.job.id.task;
+
+import static org.icgc.dcc.release.job.id.util.IdKeys.getSubmittedKey;
+
+import java.util.Map;
+
+import lombok.NonNull;
+import lombok.val;
+import lombok.extern.slf4j.Slf4j;
+
+import org.apache.spark.api.java.JavaRDD;
+import org.apache.spark.api.java.JavaSparkContext;
+import org.apache.spark.broadcast.Broadcast;
+import org.icgc.dcc.release.core.task.GenericTask;
+import org.icgc.dcc.release.core.task.TaskContext;
+import org.icgc.dcc.release.job.id.cache.IdCache;
+import org.icgc.dcc.release.job.id.client.BulkIdClientFactory;
+import org.icgc.dcc.release.job.id.client.IdClientProvider;
+import org.icgc.dcc.release.job.id.function.AddSurrogateClinicalId;
+import org.icgc.dcc.release.job.id.function.ResolveSubmittedIds;
+import org.icgc.dcc.release.job.id.model.IdType;
+import org.icgc.dcc.release.job.id.model.SubmittedKey;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.collect.Maps;
+
+/**
+ * Resolves the IDs of all distinct donors, specimens or samples of a project up front and broadcasts them to the rows.
+ * The distinct keys are spread over the executors, each resolving its share with one client, so the ID requests of a
+ * project run in parallel rather than one after the other on the driver.
+ * <p>
+ * The broadcast is destroyed once the rows are written, so the task runs the whole read, resolve and write sequence
+ * itself rather than being a {@code GenericProcessTask}.
+ */
+@Slf4j
+public abstract class AddSurrogateClinicalIdTask extends GenericTask {
+
+  /**
+   * Configuration.
+   */
+  private final IdType type;
+  private final IdClientProvider idClientProvider;
+  private final IdCache idCache;
+
+  public AddSurrogateClinicalIdTask(@NonNull IdType type, @NonNull IdClientProvider idClientProvider,
+      @NonNull IdCache idCache) {
+    super(type.getFileType().getDirName());
+    this.type = type;
+    this.idClientProvider = idClientProvider;
+    this.idCache = idCache;
+  }
+
+  @Override
+  public void execute(TaskContext taskContext) {
+    val inputFileType = type.getInputFileType();
+    val outputFileType = type.getFileType();
+    if (!taskContext.exists(inputFileType)) {
+      log.info("[{}] No input for '{}' and output '{}'. Skipping...", getName(), inputFileType, outputFileType);
+      return;
+    }
+
+    val input = readInput(taskContext, inputFileType);
+    val ids = resolveIds(taskContext.getSparkContext(), input);
+
+    writeOutput(taskContext, input.map(new AddSurrogateClinicalId(type, ids)), outputFileType);
+
+    ids.destroy();
+  }
+
+  private Broadcast<Map<SubmittedKey, String>> resolveIds(JavaSparkContext sparkContext, JavaRDD<ObjectNode> input) {
+    val submittedIdFieldName = type.getSubmittedIdFieldName();
+    val ids = input
+        .map(row -> getSubmittedKey(row, submittedIdFieldName))
+        .distinct(sparkContext.defaultParallelism())
+        .mapPartitionsToPair(new ResolveSubmittedIds(type, new BulkIdClientFactory(idClientProvider, idCache)))
+        .collectAsMap();
+
+    log.info("[{}] Resolved {} {} IDs", getName(), ids.size(), type);
+
+    return sparkContext.broadcast(Maps.newHashMap(ids));
+  }
+
+}
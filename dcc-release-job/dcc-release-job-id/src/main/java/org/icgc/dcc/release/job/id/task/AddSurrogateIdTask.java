@@ -17,9 +17,10 @@
  */
 package org.icgc.dcc.release.job.id.task;
 
-import org.icgc.dcc.id.client.core.IdClientFactory;
 import org.icgc.dcc.release.core.job.FileType;
 import org.icgc.dcc.release.core.task.GenericProcessTask;
+import org.icgc.dcc.release.job.id.cache.IdCache;
+import org.icgc.dcc.release.job.id.client.IdClientProvider;
 
 public abstract class AddSurrogateIdTask extends GenericProcessTask {
 
@@ -32,11 +33,14 @@ public abstract class AddSurrogateIdTask extends GenericProcessTask {
   /**
    * Configuration.
    */
-  protected final IdClientFactory idClientFactory;
+  protected final IdClientProvider idClientProvider;
+  protected final IdCache idCache;
 
-  public AddSurrogateIdTask(FileType inputFileType, FileType outputFileType, IdClientFactory idClientFactory) {
+  public AddSurrogateIdTask(FileType inputFileType, FileType outputFileType, IdClientProvider idClientProvider,
+      IdCache idCache) {
     super(inputFileType, outputFileType);
-    this.idClientFactory = idClientFactory;
+    this.idClientProvider = idClientProvider;
+    this.idCache = idCache;
   }
 
   // TODO: Implement combine/split sequence file and uncomment
@@ -20,22 +20,25 @@ package org.icgc.dcc.release.job.id.task;
 import lombok.NonNull;
 
 import org.apache.spark.api.java.JavaRDD;
-import org.icgc.dcc.id.client.core.IdClientFactory;
-import org.icgc.dcc.release.core.job.FileType;
-import org.icgc.dcc.release.job.id.function.AddSurrogateMutationId;
+import org.icgc.dcc.release.core.task.TaskContext;
+import org.icgc.dcc.release.job.id.cache.IdCache;
+import org.icgc.dcc.release.job.id.client.BulkIdClientFactory;
+import org.icgc.dcc.release.job.id.client.IdClientProvider;
+import org.icgc.dcc.release.job.id.function.AddSurrogateMutationIds;
+import org.icgc.dcc.release.job.id.model.IdType;
 
 import com.fasterxml.jackson.databind.node.ObjectNode;
 
 public class AddSurrogateMutationIdTask extends AddSurrogateIdTask {
 
-  public AddSurrogateMutationIdTask(@NonNull IdClientFactory idClientFactory) {
-    super(FileType.SSM_P_MASKED, FileType.SSM_P_MASKED_SURROGATE_KEY, idClientFactory);
+  public AddSurrogateMutationIdTask(@NonNull IdClientProvider idClientProvider, @NonNull IdCache idCache) {
+    super(IdType.MUTATION.getInputFileType(), IdType.MUTATION.getFileType(), idClientProvider, idCache);
   }
 
   @Override
-  protected JavaRDD<ObjectNode> process(JavaRDD<ObjectNode> input) {
+  protected JavaRDD<ObjectNode> process(TaskContext taskContext, JavaRDD<ObjectNode> input) {
     return input
-        .map(new AddSurrogateMutationId(idClientFactory));
+        .mapPartitions(new AddSurrogateMutationIds(new BulkIdClientFactory(idClientProvider, idCache)));
   }
 
 }
\ No newline at end of file
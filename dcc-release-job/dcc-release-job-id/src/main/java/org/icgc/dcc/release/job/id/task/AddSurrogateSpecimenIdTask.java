@@ -19,23 +19,14 @@ package org.icgc.dcc.release.job.id.task;
 
 import lombok.NonNull;
 
-import org.apache.spark.api.java.JavaRDD;
-import org.icgc.dcc.id.client.core.IdClientFactory;
-import org.icgc.dcc.release.core.job.FileType;
-import org.icgc.dcc.release.job.id.function.AddSurrogateSpecimenId;
+import org.icgc.dcc.release.job.id.cache.IdCache;
+import org.icgc.dcc.release.job.id.client.IdClientProvider;
+import org.icgc.dcc.release.job.id.model.IdType;
 
-import com.fasterxml.jackson.databind.node.ObjectNode;
+public class AddSurrogateSpecimenIdTask extends AddSurrogateClinicalIdTask {
 
-public class AddSurrogateSpecimenIdTask extends AddSurrogateIdTask {
-
-  public AddSurrogateSpecimenIdTask(@NonNull IdClientFactory idClientFactory) {
-    super(FileType.SPECIMEN, FileType.SPECIMEN_SURROGATE_KEY, idClientFactory);
-  }
-
-  @Override
-  protected JavaRDD<ObjectNode> process(JavaRDD<ObjectNode> input) {
-    return input
-        .map(new AddSurrogateSpecimenId(idClientFactory));
+  public AddSurrogateSpecimenIdTask(@NonNull IdClientProvider idClientProvider, @NonNull IdCache idCache) {
+    super(IdType.SPECIMEN, idClientProvider, idCache);
   }
 
-}
\ No newline at end of file
+}
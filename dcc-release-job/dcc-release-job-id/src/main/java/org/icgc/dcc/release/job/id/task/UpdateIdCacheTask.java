@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2015 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.release.job.id.task;
+
+import lombok.NonNull;
+import lombok.SneakyThrows;
+import lombok.val;
+import lombok.extern.slf4j.Slf4j;
+
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.Text;
+import org.apache.hadoop.mapred.MapFileOutputFormat;
+import org.apache.spark.api.java.JavaPairRDD;
+import org.icgc.dcc.release.core.task.GenericTask;
+import org.icgc.dcc.release.core.task.TaskContext;
+import org.icgc.dcc.release.core.task.TaskType;
+import org.icgc.dcc.release.core.util.JavaRDDs;
+import org.icgc.dcc.release.core.util.Tuples;
+import org.icgc.dcc.release.job.id.cache.IdCache;
+import org.icgc.dcc.release.job.id.model.IdType;
+import org.icgc.dcc.release.job.id.util.IdKeyComparator;
+
+/**
+ * Writes a new {@link IdCache} generation of a type holding the previously cached IDs and the IDs assigned by this
+ * run, then removes the generations older than the previous one. The previous generation is kept, since other runs may
+ * still be reading it.
+ */
+@Slf4j
+public class UpdateIdCacheTask extends GenericTask {
+
+  /**
+   * Configuration.
+   */
+  private final IdType type;
+  private final IdCache idCache;
+
+  public UpdateIdCacheTask(@NonNull IdType type, @NonNull IdCache idCache) {
+    super(type.getDirName());
+    this.type = type;
+    this.idCache = idCache;
+  }
+
+  @Override
+  public TaskType getType() {
+    return TaskType.FILE_TYPE;
+  }
+
+  @Override
+  public void execute(TaskContext taskContext) {
+    if (!taskContext.exists(type.getFileType())) {
+      log.info("[{}] No input for '{}'. Skipping...", getName(), type.getFileType());
+      return;
+    }
+
+    val cacheType = type;
+    val assigned = readInput(taskContext, type.getFileType())
+        .mapToPair(row -> Tuples.tuple(cacheType.getKey(row), cacheType.getId(row)));
+
+    val entries = readCached(taskContext)
+        .union(assigned)
+        .reduceByKey((first, second) -> first)
+        .sortByKey(new IdKeyComparator())
+        .mapToPair(entry -> Tuples.tuple(new Text(entry._1), new Text(entry._2)));
+
+    val generationDir = idCache.createGenerationDir(type);
+    log.info("Writing {} ID cache generation '{}'...", type, generationDir);
+    entries.saveAsHadoopFile(generationDir.toString(), Text.class, Text.class, MapFileOutputFormat.class,
+        createJobConf(taskContext));
+
+    deleteOlderGenerations(taskContext);
+  }
+
+  private JavaPairRDD<String, String> readCached(TaskContext taskContext) {
+    val sparkContext = taskContext.getSparkContext();
+    val generationDir = idCache.getGenerationDir(type);
+    if (!generationDir.isPresent()) {
+      return JavaPairRDD.fromJavaRDD(sparkContext.emptyRDD());
+    }
+
+    // Map file directories are read through their data files
+    return JavaRDDs.sequenceFile(sparkContext, generationDir.get(), Text.class, Text.class)
+        .mapToPair(entry -> Tuples.tuple(entry._1.toString(), entry._2.toString()));
+  }
+
+  @SneakyThrows
+  private void deleteOlderGenerations(TaskContext taskContext) {
+    val previousGenerationDir = idCache.getGenerationDir(type);
+    if (!previousGenerationDir.isPresent()) {
+      return;
+    }
+
+    val previousGenerationName = new Path(previousGenerationDir.get()).getName();
+    val fileSystem = taskContext.getFileSystem();
+    for (val generation : fileSystem.listStatus(idCache.getTypeDir(type))) {
+      if (generation.getPath().getName().compareTo(previousGenerationName) < 0) {
+        log.info("Deleting {} ID cache generation '{}'", type, generation.getPath());
+        fileSystem.delete(generation.getPath(), true);
+      }
+    }
+  }
+
+}
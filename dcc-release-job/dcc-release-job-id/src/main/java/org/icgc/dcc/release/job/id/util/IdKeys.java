@@ -15,31 +15,48 @@
  * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
  * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
  */
-package org.icgc.dcc.release.job.id.function;
+package org.icgc.dcc.release.job.id.util;
 
+import static lombok.AccessLevel.PRIVATE;
 import static org.icgc.dcc.common.core.model.FieldNames.NormalizerFieldNames.NORMALIZER_MUTATION;
 import static org.icgc.dcc.common.core.model.FieldNames.SubmissionFieldNames.SUBMISSION_OBSERVATION_CHROMOSOME;
 import static org.icgc.dcc.common.core.model.FieldNames.SubmissionFieldNames.SUBMISSION_OBSERVATION_CHROMOSOME_END;
 import static org.icgc.dcc.common.core.model.FieldNames.SubmissionFieldNames.SUBMISSION_OBSERVATION_CHROMOSOME_START;
 import static org.icgc.dcc.common.core.model.FieldNames.SubmissionFieldNames.SUBMISSION_OBSERVATION_MUTATION_TYPE;
+import static org.icgc.dcc.common.core.util.Joiners.TAB;
 import static org.icgc.dcc.release.core.util.ObjectNodes.textValue;
+import lombok.NoArgsConstructor;
+import lombok.NonNull;
 import lombok.val;
 
-import org.icgc.dcc.common.core.model.FieldNames.IdentifierFieldNames;
-import org.icgc.dcc.id.client.core.IdClientFactory;
+import org.icgc.dcc.common.core.model.FieldNames;
+import org.icgc.dcc.release.job.id.model.MutationKey;
+import org.icgc.dcc.release.job.id.model.SubmittedKey;
 
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.base.Joiner;
 
-public class AddSurrogateMutationId extends AddSurrogateId {
+/**
+ * Natural keys of the entities surrogate IDs are assigned to.
+ */
+@NoArgsConstructor(access = PRIVATE)
+public final class IdKeys {
 
+  /**
+   * Constants.
+   */
   private static final String ASSEMBLY_VERSION = "GRCh37";
+  private static final Joiner MUTATION_KEY_JOINER = TAB.useForNull("");
+
+  public static String getSubmittedProjectId(@NonNull ObjectNode row) {
+    return row.get(FieldNames.PROJECT_ID).textValue();
+  }
 
-  public AddSurrogateMutationId(IdClientFactory idClientFactory) {
-    super(idClientFactory);
+  public static SubmittedKey getSubmittedKey(@NonNull ObjectNode row, @NonNull String submittedIdFieldName) {
+    return new SubmittedKey(row.get(submittedIdFieldName).textValue(), getSubmittedProjectId(row));
   }
 
-  @Override
-  public ObjectNode call(ObjectNode row) throws Exception {
+  public static MutationKey getMutationKey(@NonNull ObjectNode row) {
     val chromosome = row.get(SUBMISSION_OBSERVATION_CHROMOSOME).textValue();
     val chromosomeStart = textValue(row, SUBMISSION_OBSERVATION_CHROMOSOME_START);
     val chromosomeEnd = textValue(row, SUBMISSION_OBSERVATION_CHROMOSOME_END);
@@ -50,11 +67,28 @@ public class AddSurrogateMutationId extends AddSurrogateId {
     // TODO: get from meta file
     String assemblyVersion = ASSEMBLY_VERSION;
 
-    val mutationId = client()
-        .createMutationId(chromosome, chromosomeStart, chromosomeEnd, mutation, mutationType, assemblyVersion);
+    return new MutationKey(chromosome, chromosomeStart, chromosomeEnd, mutation, mutationType, assemblyVersion);
+  }
+
+  /**
+   * Key of donors, specimens and samples, which are unique per project.
+   */
+  public static String formatSubmittedKey(@NonNull String submittedId, @NonNull String submittedProjectId) {
+    return TAB.join(submittedProjectId, submittedId);
+  }
 
-    row.put(IdentifierFieldNames.SURROGATE_MUTATION_ID, mutationId);
+  public static String formatSubmittedKey(@NonNull SubmittedKey key) {
+    return formatSubmittedKey(key.getSubmittedId(), key.getSubmittedProjectId());
+  }
 
-    return row;
+  public static String formatMutationKey(@NonNull MutationKey key) {
+    return MUTATION_KEY_JOINER.join(
+        key.getChromosome(),
+        key.getChromosomeStart(),
+        key.getChromosomeEnd(),
+        key.getMutation(),
+        key.getMutationType(),
+        key.getAssemblyVersion());
   }
-}
\ No newline at end of file
+
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2015 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.release.job.id.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+
+import lombok.Cleanup;
+import lombok.SneakyThrows;
+import lombok.val;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.MapFile;
+import org.apache.hadoop.io.Text;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class IdStoreTest {
+
+  @Rule
+  public TemporaryFolder tmp = new TemporaryFolder();
+
+  Configuration conf = new Configuration();
+
+  @Test
+  public void testGet() throws Exception {
+    val generationDir = tmp.newFolder("v0000000000001");
+    writePart(generationDir, "part-00000", "A", "B");
+    writePart(generationDir, "part-00001");
+    writePart(generationDir, "part-00002", "C", "E");
+    writePart(generationDir, "part-00003", "F");
+
+    @Cleanup
+    val store = IdStore.open(new Path(generationDir.getAbsolutePath()), conf);
+
+    assertThat(store.get("A")).isEqualTo("id-A");
+    assertThat(store.get("B")).isEqualTo("id-B");
+    assertThat(store.get("C")).isEqualTo("id-C");
+    assertThat(store.get("E")).isEqualTo("id-E");
+    assertThat(store.get("F")).isEqualTo("id-F");
+    assertThat(store.get("D")).isNull();
+    assertThat(store.get("0")).isNull();
+    assertThat(store.get("G")).isNull();
+  }
+
+  @Test
+  public void testGetEmpty() throws Exception {
+    val generationDir = tmp.newFolder("v0000000000001");
+    writePart(generationDir, "part-00000");
+
+    @Cleanup
+    val store = IdStore.open(new Path(generationDir.getAbsolutePath()), conf);
+
+    assertThat(store.get("A")).isNull();
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testGetClosed() throws Exception {
+    val generationDir = tmp.newFolder("v0000000000001");
+    writePart(generationDir, "part-00000", "A");
+
+    val store = IdStore.open(new Path(generationDir.getAbsolutePath()), conf);
+    store.close();
+    assertThat(store.isClosed()).isTrue();
+
+    store.get("A");
+  }
+
+  @SneakyThrows
+  private void writePart(File generationDir, String partName, String... keys) {
+    val fileSystem = FileSystem.getLocal(conf);
+    val partDir = new File(generationDir, partName).getAbsolutePath();
+
+    @Cleanup
+    val writer = new MapFile.Writer(conf, fileSystem, partDir, Text.class, Text.class);
+    for (val key : keys) {
+      writer.append(new Text(key), new Text("id-" + key));
+    }
+  }
+
+}
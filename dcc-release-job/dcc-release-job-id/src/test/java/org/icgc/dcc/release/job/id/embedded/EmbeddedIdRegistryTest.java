@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2015 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.release.job.id.embedded;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import lombok.val;
+
+import org.icgc.dcc.release.job.id.model.IdType;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class EmbeddedIdRegistryTest {
+
+  @Rule
+  public TemporaryFolder tmp = new TemporaryFolder();
+
+  @Test
+  public void testCreateId() throws Exception {
+    val registry = EmbeddedIdRegistry.get(tmp.newFolder().getAbsolutePath());
+
+    val donorId = registry.createId(IdType.DONOR, "PROJ-01\tD1");
+    assertThat(donorId).startsWith("DO");
+    assertThat(registry.createId(IdType.DONOR, "PROJ-01\tD1")).isEqualTo(donorId);
+    assertThat(registry.createId(IdType.DONOR, "PROJ-02\tD1")).isNotEqualTo(donorId);
+    assertThat(registry.getId(IdType.DONOR, "PROJ-01\tD1")).isEqualTo(donorId);
+    assertThat(registry.getId(IdType.SAMPLE, "PROJ-01\tD1")).isNull();
+  }
+
+  @Test
+  public void testClient() throws Exception {
+    val client = new EmbeddedIdClient(EmbeddedIdRegistry.get(tmp.newFolder().getAbsolutePath()));
+
+    val mutationId = client.createMutationId("1", "100", "100", "A>T", "single base substitution", "GRCh37");
+    assertThat(mutationId).startsWith("MU");
+    assertThat(client.createMutationId("1", "100", "100", "A>T", "single base substitution", "GRCh37"))
+        .isEqualTo(mutationId);
+    assertThat(client.createSpecimenId("SP1", "PROJ-01")).startsWith("SP");
+
+    assertThat(client.getDonorId("D1", "PROJ-01").isPresent()).isFalse();
+    val donorId = client.createDonorId("D1", "PROJ-01");
+    assertThat(client.getDonorId("D1", "PROJ-01").get()).isEqualTo(donorId);
+  }
+
+  @Test
+  public void testClientExport() throws Exception {
+    val client = new EmbeddedIdClient(EmbeddedIdRegistry.get(tmp.newFolder().getAbsolutePath()));
+    client.createDonorId("D1", "PROJ-01");
+    client.createDonorId("D2", "PROJ-02");
+    client.createMutationId("1", null, "100", "A>T", "single base substitution", "GRCh37");
+
+    assertThat(client.getAllDonorIds().get()).isEqualTo("1\tD1\tPROJ-01\n2\tD2\tPROJ-02\n");
+    assertThat(client.getAllSampleIds().get()).isEmpty();
+    assertThat(client.getAllMutationIds().get()).isEqualTo("1\t1\t\t100\tsingle base substitution\tA>T\tGRCh37\n");
+  }
+
+}
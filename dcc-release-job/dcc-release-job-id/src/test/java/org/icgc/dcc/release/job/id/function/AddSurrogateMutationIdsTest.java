@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2015 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.release.job.id.function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.icgc.dcc.common.core.model.FieldNames.NormalizerFieldNames.NORMALIZER_MUTATION;
+import static org.icgc.dcc.common.core.model.FieldNames.SubmissionFieldNames.SUBMISSION_OBSERVATION_CHROMOSOME;
+import static org.icgc.dcc.common.core.model.FieldNames.SubmissionFieldNames.SUBMISSION_OBSERVATION_CHROMOSOME_END;
+import static org.icgc.dcc.common.core.model.FieldNames.SubmissionFieldNames.SUBMISSION_OBSERVATION_CHROMOSOME_START;
+import static org.icgc.dcc.common.core.model.FieldNames.SubmissionFieldNames.SUBMISSION_OBSERVATION_MUTATION_TYPE;
+import static org.icgc.dcc.release.core.util.ObjectNodes.MAPPER;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import lombok.val;
+
+import org.icgc.dcc.common.core.model.FieldNames.IdentifierFieldNames;
+import org.icgc.dcc.release.job.id.client.BulkIdClient;
+import org.icgc.dcc.release.job.id.function.AddSurrogateMutationIds.AddSurrogateMutationIdsIterator;
+import org.icgc.dcc.release.job.id.model.IdType;
+import org.icgc.dcc.release.job.id.model.MutationKey;
+import org.icgc.dcc.release.job.id.model.SubmittedKey;
+import org.junit.Test;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+
+public class AddSurrogateMutationIdsTest {
+
+  RecordingBulkIdClient client = new RecordingBulkIdClient();
+
+  @Test
+  public void testBatching() {
+    val rows = ImmutableList.of(row("100"), row("100"), row("200"), row("300"), row("100"));
+
+    val result = process(rows, 2, 10);
+
+    assertThat(Lists.transform(result, AddSurrogateMutationIdsTest::getMutationId))
+        .containsExactly("MU100", "MU100", "MU200", "MU300", "MU100");
+    // Distinct keys per batch, and resolved keys are not requested again
+    assertThat(client.requests).containsExactly(
+        ImmutableSet.of("100"),
+        ImmutableSet.of("200", "300"));
+    assertThat(client.closed).isTrue();
+  }
+
+  @Test
+  public void testEviction() {
+    val rows = ImmutableList.of(row("100"), row("200"), row("300"), row("100"), row("300"));
+
+    process(rows, 1, 2);
+
+    // 100 is evicted by 200 and 300, while 300 is still resolved
+    assertThat(client.requests).containsExactly(
+        ImmutableSet.of("100"),
+        ImmutableSet.of("200"),
+        ImmutableSet.of("300"),
+        ImmutableSet.of("100"));
+  }
+
+  @Test
+  public void testNullStart() {
+    val row = row("100");
+    row.putNull(SUBMISSION_OBSERVATION_CHROMOSOME_START);
+
+    val result = process(ImmutableList.of(row), 1, 1);
+
+    assertThat(getMutationId(result.get(0))).isEqualTo("MUnull");
+  }
+
+  private List<ObjectNode> process(List<ObjectNode> rows, int batchSize, int maxResolvedSize) {
+    val iterator = new AddSurrogateMutationIdsIterator(rows.iterator(), client, batchSize, maxResolvedSize);
+
+    return Lists.newArrayList((Iterator<ObjectNode>) iterator);
+  }
+
+  private static String getMutationId(ObjectNode row) {
+    return row.get(IdentifierFieldNames.SURROGATE_MUTATION_ID).textValue();
+  }
+
+  private static ObjectNode row(String start) {
+    return MAPPER.createObjectNode()
+        .put(SUBMISSION_OBSERVATION_CHROMOSOME, "1")
+        .put(SUBMISSION_OBSERVATION_CHROMOSOME_START, start)
+        .put(SUBMISSION_OBSERVATION_CHROMOSOME_END, start)
+        .put(NORMALIZER_MUTATION, "A>T")
+        .put(SUBMISSION_OBSERVATION_MUTATION_TYPE, "single base substitution");
+  }
+
+  private static class RecordingBulkIdClient implements BulkIdClient {
+
+    final List<Set<String>> requests = Lists.newArrayList();
+    boolean closed;
+
+    @Override
+    public Map<SubmittedKey, String> createSubmittedIds(IdType type, Set<SubmittedKey> keys) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Map<MutationKey, String> createMutationIds(Set<MutationKey> keys) {
+      val request = ImmutableSet.<String> builder();
+      val mutationIds = Maps.<MutationKey, String> newHashMap();
+      for (val key : keys) {
+        request.add(String.valueOf(key.getChromosomeStart()));
+        mutationIds.put(key, "MU" + key.getChromosomeStart());
+      }
+
+      requests.add(request.build());
+      return mutationIds;
+    }
+
+    @Override
+    public void close() {
+      closed = true;
+    }
+
+  }
+
+}
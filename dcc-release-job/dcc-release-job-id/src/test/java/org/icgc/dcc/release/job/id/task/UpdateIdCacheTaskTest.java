@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2015 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.release.job.id.task;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.icgc.dcc.release.core.util.ObjectNodes.MAPPER;
+
+import java.io.File;
+
+import lombok.SneakyThrows;
+import lombok.val;
+
+import org.apache.hadoop.fs.Path;
+import org.icgc.dcc.common.core.model.FieldNames;
+import org.icgc.dcc.release.core.job.FileType;
+import org.icgc.dcc.release.core.job.JobType;
+import org.icgc.dcc.release.job.id.cache.IdCache;
+import org.icgc.dcc.release.job.id.model.IdType;
+import org.icgc.dcc.release.test.job.AbstractJobTest;
+import org.junit.Test;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.collect.ImmutableList;
+
+public class UpdateIdCacheTaskTest extends AbstractJobTest {
+
+  private static final String PROJECT_ID = "PROJ-UK";
+
+  @Test
+  public void testExecute() {
+    val donor1 = donor("D1", "DO1");
+    val donor2 = donor("D2", "DO2");
+    given(inputFile()
+        .fileType(FileType.DONOR_SURROGATE_KEY)
+        .rows(ImmutableList.of(donor1, donor2)));
+
+    val cacheDir = getCacheDir();
+    update(cacheDir);
+
+    val idCache = IdCache.open(fileSystem, cacheDir);
+    assertThat(idCache.get(IdType.DONOR, IdType.DONOR.getKey(donor1))).isEqualTo("DO1");
+    assertThat(idCache.get(IdType.DONOR, IdType.DONOR.getKey(donor2))).isEqualTo("DO2");
+    assertThat(idCache.get(IdType.DONOR, IdType.DONOR.getKey(donor("D3", "DO3")))).isNull();
+  }
+
+  @Test
+  public void testExecuteKeepsPreviousGeneration() {
+    val donor = donor("D1", "DO1");
+    given(inputFile()
+        .fileType(FileType.DONOR_SURROGATE_KEY)
+        .rows(ImmutableList.of(donor)));
+
+    val cacheDir = getCacheDir();
+    update(cacheDir);
+    update(cacheDir);
+    val second = getGenerationDir(cacheDir);
+    update(cacheDir);
+    val third = getGenerationDir(cacheDir);
+
+    // The first generation is deleted, the previous one is kept for runs still reading it
+    val generations = new File(cacheDir, IdType.DONOR.getDirName()).list();
+    assertThat(generations).containsOnly(getName(second), getName(third));
+
+    val idCache = IdCache.open(fileSystem, cacheDir);
+    assertThat(idCache.get(IdType.DONOR, IdType.DONOR.getKey(donor))).isEqualTo("DO1");
+  }
+
+  @SneakyThrows
+  private String getCacheDir() {
+    return tmp.newFolder("cache").getAbsolutePath();
+  }
+
+  private void update(String cacheDir) {
+    val task = new UpdateIdCacheTask(IdType.DONOR, IdCache.open(fileSystem, cacheDir));
+    task.execute(createTaskContext(JobType.ID));
+  }
+
+  private String getGenerationDir(String cacheDir) {
+    return IdCache.open(fileSystem, cacheDir).getGenerationDir(IdType.DONOR).get();
+  }
+
+  private static String getName(String generationDir) {
+    return new Path(generationDir).getName();
+  }
+
+  private static ObjectNode donor(String donorId, String surrogateDonorId) {
+    val donor = MAPPER.createObjectNode();
+    donor.put(FieldNames.PROJECT_ID, PROJECT_ID);
+    donor.put(FieldNames.SubmissionFieldNames.SUBMISSION_DONOR_ID, donorId);
+    donor.put(FieldNames.IdentifierFieldNames.SURROGATE_DONOR_ID, surrogateDonorId);
+
+    return donor;
+  }
+
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2015 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.release.job.id.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import lombok.val;
+
+import org.apache.hadoop.io.Text;
+import org.junit.Test;
+
+public class IdKeyComparatorTest {
+
+  IdKeyComparator comparator = new IdKeyComparator();
+
+  @Test
+  public void testCompare() {
+    assertOrder("DO1", "DO1");
+    assertOrder("DO1", "DO2");
+    assertOrder("DO1", "DO10");
+    assertOrder("PROJ\tDO1", "PROJ-A\tDO1");
+    assertOrder("", "DO1");
+  }
+
+  @Test
+  public void testCompareSupplementary() {
+    // UTF-16 code units order U+1F600 before U+FFFD, UTF-8 bytes order it after
+    val supplementary = new String(Character.toChars(0x1F600));
+    val replacement = "\uFFFD";
+
+    assertThat(supplementary.compareTo(replacement)).isNegative();
+    assertOrder(supplementary, replacement);
+    assertOrder("D" + supplementary, "D" + replacement + "1");
+  }
+
+  private void assertOrder(String first, String second) {
+    val expected = Integer.signum(new Text(first).compareTo(new Text(second)));
+
+    assertThat(Integer.signum(comparator.compare(first, second))).isEqualTo(expected);
+    assertThat(Integer.signum(comparator.compare(second, first))).isEqualTo(-expected);
+  }
+
+}
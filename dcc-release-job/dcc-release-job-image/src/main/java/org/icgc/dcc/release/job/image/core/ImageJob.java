@@ -17,22 +17,47 @@
  */
 package org.icgc.dcc.release.job.image.core;
 
+import static com.google.common.base.Preconditions.checkState;
+import static com.google.common.base.Strings.isNullOrEmpty;
+import static java.util.concurrent.TimeUnit.HOURS;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
 import java.util.Map;
 
 import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
 import lombok.val;
+import lombok.extern.slf4j.Slf4j;
 
 import org.icgc.dcc.release.core.job.FileType;
 import org.icgc.dcc.release.core.job.GenericJob;
 import org.icgc.dcc.release.core.job.JobContext;
 import org.icgc.dcc.release.core.job.JobType;
+import org.icgc.dcc.release.core.task.TaskSpec;
+import org.icgc.dcc.release.job.image.config.ImageProperties;
 import org.icgc.dcc.release.job.image.task.AddSpecimenImageTask;
 import org.icgc.dcc.release.job.image.util.SpecimenImageResolver;
+import org.icgc.dcc.release.job.image.util.SpecimenImageSnapshot;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+
+@Slf4j
 @Component
+@RequiredArgsConstructor(onConstructor = @__({ @Autowired }))
 public class ImageJob extends GenericJob {
 
+  /**
+   * Dependencies.
+   */
+  @NonNull
+  private final ImageProperties properties;
+
   @Override
   public JobType getType() {
     return JobType.IMAGE;
@@ -46,6 +71,11 @@ public class ImageJob extends GenericJob {
     addSpecimenImage(jobContext, specimenImageUrls);
   }
 
+  @Override
+  public List<TaskSpec> getTaskSpecs() {
+    return ImmutableList.of(creatTask(ImmutableMap.of()).getSpec());
+  }
+
   private void clean(JobContext jobContext) {
     delete(jobContext, FileType.SPECIMEN_SURROGATE_KEY_IMAGE);
   }
@@ -56,7 +86,47 @@ public class ImageJob extends GenericJob {
     jobContext.execute(task);
   }
 
-  private static Map<String, String> getSpecimenImageUrls() {
+  private Map<String, String> getSpecimenImageUrls() {
+    val snapshotFile = properties.getSnapshotFile();
+    if (isNullOrEmpty(snapshotFile)) {
+      checkState(!properties.isOffline(), "A snapshot file is required to resolve specimen images offline");
+
+      return resolveSpecimenImageUrls();
+    }
+
+    return getSpecimenImageUrls(Paths.get(snapshotFile));
+  }
+
+  private Map<String, String> getSpecimenImageUrls(Path snapshotFile) {
+    val snapshot = Files.exists(snapshotFile) ? SpecimenImageSnapshot.read(snapshotFile) : null;
+    if (properties.isOffline()) {
+      checkState(snapshot != null, "Snapshot '%s' is required to resolve specimen images offline", snapshotFile);
+
+      return snapshot.getUrls();
+    }
+
+    val maxAgeMillis = HOURS.toMillis(properties.getSnapshotMaxAgeHours());
+    if (snapshot != null && !snapshot.isOlderThan(maxAgeMillis)) {
+      return snapshot.getUrls();
+    }
+
+    try {
+      val urls = resolveSpecimenImageUrls();
+      new SpecimenImageSnapshot(System.currentTimeMillis(), urls).write(snapshotFile);
+
+      return urls;
+    } catch (Exception e) {
+      if (snapshot == null) {
+        throw e;
+      }
+
+      // The slide archive is not always available. Prefer stale URLs to no URLs
+      log.warn("Could not refresh snapshot '{}'. Using stale snapshot: {}", snapshotFile, e.getMessage());
+      return snapshot.getUrls();
+    }
+  }
+
+  private static Map<String, String> resolveSpecimenImageUrls() {
     return new SpecimenImageResolver(true).resolveUrls();
   }
 
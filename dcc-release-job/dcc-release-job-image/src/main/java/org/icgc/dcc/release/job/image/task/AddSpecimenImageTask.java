@@ -29,8 +29,11 @@ import lombok.extern.slf4j.Slf4j;
 import org.icgc.dcc.release.core.job.FileType;
 import org.icgc.dcc.release.core.task.GenericTask;
 import org.icgc.dcc.release.core.task.TaskContext;
+import org.icgc.dcc.release.core.task.TaskSpec;
 import org.icgc.dcc.release.job.image.function.AddSpecimenImage;
 
+import com.google.common.collect.ImmutableList;
+
 @Slf4j
 @RequiredArgsConstructor
 public class AddSpecimenImageTask extends GenericTask {
@@ -50,4 +53,11 @@ public class AddSpecimenImageTask extends GenericTask {
     writeOutput(taskContext, processed, SPECIMEN_SURROGATE_KEY_IMAGE);
   }
 
+  /**
+   * @return the input and output of the task
+   */
+  public TaskSpec getSpec() {
+    return TaskSpec.of(getName(), ImmutableList.of(INPUT_FILE_TYPE), ImmutableList.of(SPECIMEN_SURROGATE_KEY_IMAGE));
+  }
+
 }
\ No newline at end of file
@@ -29,12 +29,14 @@ import static org.icgc.dcc.common.core.util.Formats.formatCount;
 import java.io.IOException;
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.net.URLConnection;
 import java.net.UnknownHostException;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.Callable;
 
+import lombok.Cleanup;
 import lombok.Getter;
 import lombok.NonNull;
 import lombok.SneakyThrows;
@@ -75,6 +77,7 @@ public class SpecimenImageResolver {
    * Constants.
    */
   private static final int URL_TIMEOUT_VALUE = 10 * 1000; // Milliseconds;
+  private static final int MAX_CONNECT_ATTEMPTS = 3;
 
   /**
    * Values.
@@ -227,21 +230,30 @@ public class SpecimenImageResolver {
   private static Document readDocument(URL url) throws JDOMException, IOException {
     // There's an issue when this method throws UnknownHostException which is difficult to reproduce. Will just retry to
     // re-connect.
-    connectWithRetry(url, 3);
-    return new SAXBuilder().build(url);
+    val connection = connectWithRetry(url);
+
+    // Parse from the established connection so the document is only fetched once and within the timeouts
+    @Cleanup
+    val inputStream = connection.getInputStream();
+    return new SAXBuilder().build(inputStream, url.toString());
   }
 
-  private static void connectWithRetry(URL url, int retriesLeft) throws IOException {
+  private static URLConnection connectWithRetry(URL url) throws IOException {
     log.debug("Reading document '{}'", url);
-    while (retriesLeft-- > 0) {
+    for (int attempt = 1;; attempt++) {
       try {
         val connection = url.openConnection();
         connection.setConnectTimeout(URL_TIMEOUT_VALUE);
         connection.setReadTimeout(URL_TIMEOUT_VALUE);
         connection.connect();
+
+        return connection;
       } catch (UnknownHostException e) {
-        log.warn("Got UnknownHostException. Re-connecting. {} retries left", retriesLeft);
-        connectWithRetry(url, retriesLeft - 1);
+        if (attempt == MAX_CONNECT_ATTEMPTS) {
+          throw e;
+        }
+
+        log.warn("Got UnknownHostException. Re-connecting. {} retries left", MAX_CONNECT_ATTEMPTS - attempt);
       }
     }
   }
@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2015 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.release.job.image.util;
+
+import static com.google.common.base.Preconditions.checkState;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static org.icgc.dcc.common.core.util.Formats.formatCount;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+import lombok.Cleanup;
+import lombok.NonNull;
+import lombok.SneakyThrows;
+import lombok.Value;
+import lombok.val;
+import lombok.extern.slf4j.Slf4j;
+
+import com.google.common.base.Splitter;
+import com.google.common.collect.ImmutableMap;
+
+/**
+ * Versioned snapshot of resolved specimen image URLs persisted across runs.
+ * <p>
+ * The file starts with a header line {@code #<version>\t<timestamp>} followed by one {@code <specimenId>\t<url>} line
+ * per specimen.
+ */
+@Slf4j
+@Value
+public class SpecimenImageSnapshot {
+
+  /**
+   * Constants.
+   */
+  private static final int VERSION = 1;
+  private static final String HEADER_PREFIX = "#";
+  private static final String SEPARATOR = "\t";
+  private static final Splitter SPLITTER = Splitter.on(SEPARATOR);
+
+  /**
+   * Time of the resolution in milliseconds since the epoch.
+   */
+  long timestamp;
+  @NonNull
+  Map<String, String> urls;
+
+  public boolean isOlderThan(long maxAgeMillis) {
+    return System.currentTimeMillis() - timestamp > maxAgeMillis;
+  }
+
+  @SneakyThrows
+  public static SpecimenImageSnapshot read(@NonNull Path file) {
+    @Cleanup
+    val reader = Files.newBufferedReader(file, UTF_8);
+    val header = reader.readLine();
+    checkState(header != null && header.startsWith(HEADER_PREFIX), "Missing header in snapshot '%s'", file);
+
+    val fields = SPLITTER.splitToList(header.substring(HEADER_PREFIX.length()));
+    val version = Integer.parseInt(fields.get(0));
+    checkState(version == VERSION, "Unsupported version %s of snapshot '%s'. Expected %s", version, file, VERSION);
+    val timestamp = Long.parseLong(fields.get(1));
+
+    val urls = ImmutableMap.<String, String> builder();
+    String line;
+    while ((line = reader.readLine()) != null) {
+      val values = SPLITTER.splitToList(line);
+      urls.put(values.get(0), values.get(1));
+    }
+
+    val snapshot = new SpecimenImageSnapshot(timestamp, urls.build());
+    log.info("Read {} specimen image urls from snapshot '{}'", formatCount(snapshot.getUrls().size()), file);
+
+    return snapshot;
+  }
+
+  /**
+   * Replaces {@code file} atomically so concurrent readers never see a partial snapshot.
+   */
+  @SneakyThrows
+  public void write(@NonNull Path file) {
+    val tempFile = file.resolveSibling(file.getFileName() + ".tmp");
+    if (file.getParent() != null) {
+      Files.createDirectories(file.getParent());
+    }
+
+    {
+      @Cleanup
+      val writer = Files.newBufferedWriter(tempFile, UTF_8);
+      writer.write(HEADER_PREFIX + VERSION + SEPARATOR + timestamp);
+      writer.newLine();
+      for (val entry : urls.entrySet()) {
+        writer.write(entry.getKey() + SEPARATOR + entry.getValue());
+        writer.newLine();
+      }
+    }
+
+    Files.move(tempFile, file, REPLACE_EXISTING, ATOMIC_MOVE);
+    log.info("Wrote {} specimen image urls to snapshot '{}'", formatCount(urls.size()), file);
+  }
+
+}
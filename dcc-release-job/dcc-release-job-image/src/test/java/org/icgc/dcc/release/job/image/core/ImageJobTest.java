@@ -24,6 +24,7 @@ import java.io.File;
 import lombok.val;
 
 import org.icgc.dcc.release.core.job.FileType;
+import org.icgc.dcc.release.job.image.config.ImageProperties;
 import org.icgc.dcc.release.test.job.AbstractJobTest;
 import org.junit.Before;
 import org.junit.Test;
@@ -42,7 +43,7 @@ public class ImageJobTest extends AbstractJobTest {
   @Before
   public void setUp() {
     super.setUp();
-    this.job = new ImageJob();
+    this.job = new ImageJob(new ImageProperties());
   }
 
   @Test
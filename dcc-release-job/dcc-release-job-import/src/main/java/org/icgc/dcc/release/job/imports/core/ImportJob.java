@@ -27,17 +27,24 @@ import static org.icgc.dcc.release.core.job.FileType.DRUG;
 import static org.icgc.dcc.release.core.job.FileType.GENE;
 import static org.icgc.dcc.release.core.job.FileType.GENE_SET;
 import static org.icgc.dcc.release.core.job.FileType.PROJECT;
+
+import java.util.List;
+
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
+import lombok.val;
 
 import org.icgc.dcc.release.core.job.GenericJob;
 import org.icgc.dcc.release.core.job.JobContext;
 import org.icgc.dcc.release.core.job.JobType;
+import org.icgc.dcc.release.core.task.TaskSpec;
 import org.icgc.dcc.release.job.imports.config.MongoProperties;
 import org.icgc.dcc.release.job.imports.task.MongoImportTask;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import com.google.common.collect.ImmutableList;
+
 @Component
 @RequiredArgsConstructor(onConstructor = @__({ @Autowired }))
 public class ImportJob extends GenericJob {
@@ -64,12 +71,26 @@ public class ImportJob extends GenericJob {
     imports(jobContext);
   }
 
+  @Override
+  public List<TaskSpec> getTaskSpecs() {
+    val specs = ImmutableList.<TaskSpec> builder();
+    for (val task : createTasks()) {
+      specs.add(task.getSpec());
+    }
+
+    return specs.build();
+  }
+
   private void clean(JobContext jobContext) {
     delete(jobContext, PROJECT, GENE, GENE_SET, DIAGRAM, DRUG);
   }
 
   private void imports(JobContext jobContext) {
-    jobContext.execute(
+    jobContext.execute(createTasks());
+  }
+
+  private List<MongoImportTask> createTasks() {
+    return ImmutableList.of(
         new MongoImportTask(properties, MONGO_REFERENCE_DB, PROJECT_COLLECTION.getId(), PROJECT),
         new MongoImportTask(properties, MONGO_REFERENCE_DB, GENE_COLLECTION.getId(), GENE),
         new MongoImportTask(properties, MONGO_REFERENCE_DB, GENE_SET_COLLECTION.getId(), GENE_SET),
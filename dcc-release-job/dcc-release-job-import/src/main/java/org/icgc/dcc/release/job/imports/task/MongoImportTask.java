@@ -35,12 +35,14 @@ import org.icgc.dcc.release.core.job.FileType;
 import org.icgc.dcc.release.core.task.GenericTask;
 import org.icgc.dcc.release.core.task.Task;
 import org.icgc.dcc.release.core.task.TaskContext;
+import org.icgc.dcc.release.core.task.TaskSpec;
 import org.icgc.dcc.release.core.task.TaskType;
 import org.icgc.dcc.release.core.util.ObjectNodes;
 import org.icgc.dcc.release.job.imports.config.MongoProperties;
 import org.icgc.dcc.release.job.imports.util.MongoClientURIBuilder;
 
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.collect.ImmutableList;
 import com.mongodb.hadoop.MongoConfig;
 
 @RequiredArgsConstructor
@@ -76,6 +78,13 @@ public class MongoImportTask extends GenericTask {
     writeOutput(taskContext, input);
   }
 
+  /**
+   * @return the output of the task, imported from outside of the working dir
+   */
+  public TaskSpec getSpec() {
+    return TaskSpec.of(getName(), ImmutableList.of(), ImmutableList.of(outputFileType));
+  }
+
   private static Function<ObjectNode, Boolean> filterProjects(List<String> projects) {
 
     return o -> {
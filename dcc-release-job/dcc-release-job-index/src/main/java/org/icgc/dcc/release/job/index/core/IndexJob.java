@@ -30,6 +30,7 @@ import static org.icgc.dcc.release.job.index.utils.IndexTasks.getIndexName;
 
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
 import java.util.Set;
 
 import lombok.Cleanup;
@@ -45,10 +46,12 @@ import org.icgc.dcc.release.core.job.JobContext;
 import org.icgc.dcc.release.core.job.JobType;
 import org.icgc.dcc.release.core.task.DeleteFileTask;
 import org.icgc.dcc.release.core.task.Task;
+import org.icgc.dcc.release.core.task.TaskSpec;
 import org.icgc.dcc.release.job.index.config.IndexProperties;
 import org.icgc.dcc.release.job.index.service.IndexService;
 import org.icgc.dcc.release.job.index.service.IndexVerificationService;
 import org.icgc.dcc.release.job.index.task.EsExportTask;
+import org.icgc.dcc.release.job.index.task.GenericIndexTask;
 import org.icgc.dcc.release.job.index.task.IndexBigFilesTask;
 import org.icgc.dcc.release.job.index.task.IndexTask;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -133,6 +136,23 @@ public class IndexJob extends GenericJob {
     verificationService.verify();
   }
 
+  /**
+   * Indexing and exporting read the same documents, hence a single spec per index type.
+   */
+  @Override
+  public List<TaskSpec> getTaskSpecs() {
+    if (!properties.isIndexDocuments() && !properties.isExportEsIndex()) {
+      return ImmutableList.of();
+    }
+
+    val specs = ImmutableList.<TaskSpec> builder();
+    for (val indexType : getIndexTypes()) {
+      specs.add(GenericIndexTask.getSpec(indexType));
+    }
+
+    return specs.build();
+  }
+
   Collection<Task> createTasks(String indexName, Set<DocumentType> indexTypes) {
     val tasks = ImmutableList.<Task> builder();
     if (properties.isIndexDocuments()) {
@@ -22,19 +22,32 @@ import static org.icgc.dcc.common.core.util.Formats.formatBytes;
 import static org.icgc.dcc.common.hadoop.fs.HadoopUtils.checkExistence;
 import static org.icgc.dcc.release.core.document.DocumentType.byFileType;
 import static org.icgc.dcc.release.core.util.DocumentRDDs.combineDocumentSequenceFile;
+import lombok.NonNull;
 import lombok.val;
 import lombok.extern.slf4j.Slf4j;
 
 import org.apache.hadoop.mapred.JobConf;
 import org.apache.spark.api.java.JavaRDD;
 import org.icgc.dcc.release.core.document.Document;
+import org.icgc.dcc.release.core.document.DocumentType;
 import org.icgc.dcc.release.core.job.FileType;
 import org.icgc.dcc.release.core.task.GenericTask;
 import org.icgc.dcc.release.core.task.TaskContext;
+import org.icgc.dcc.release.core.task.TaskSpec;
+
+import com.google.common.collect.ImmutableList;
 
 @Slf4j
 public abstract class GenericIndexTask extends GenericTask {
 
+  /**
+   * @return the documents of {@code documentType} read by the index tasks, which write to Elasticsearch or its
+   * archives rather than to the working dir
+   */
+  public static TaskSpec getSpec(@NonNull DocumentType documentType) {
+    return TaskSpec.of(documentType.getName(), ImmutableList.of(documentType.getOutputFileType()), ImmutableList.of());
+  }
+
   /**
    * @param size split/combine size in MBytes
    */
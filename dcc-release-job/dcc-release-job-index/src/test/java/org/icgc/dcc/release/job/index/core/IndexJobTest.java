@@ -35,10 +35,12 @@ import org.elasticsearch.index.query.QueryBuilder;
 import org.elasticsearch.index.query.QueryBuilders;
 import org.icgc.dcc.common.core.model.FieldNames;
 import org.icgc.dcc.release.core.document.DocumentType;
+import org.icgc.dcc.release.core.job.DatasetCache;
 import org.icgc.dcc.release.core.job.DefaultJobContext;
 import org.icgc.dcc.release.core.job.Job;
 import org.icgc.dcc.release.core.job.JobContext;
 import org.icgc.dcc.release.core.job.JobType;
+import org.icgc.dcc.release.core.submission.SubmissionFileManifest;
 import org.icgc.dcc.release.job.index.config.IndexProperties;
 import org.icgc.dcc.release.job.index.utils.IndexTasks;
 import org.icgc.dcc.release.test.job.AbstractJobTest;
@@ -47,7 +49,6 @@ import org.junit.Before;
 import org.junit.Test;
 
 import com.google.common.collect.ImmutableList;
-import com.google.common.collect.Table;
 
 public class IndexJobTest extends AbstractJobTest {
 
@@ -212,10 +213,10 @@ public class IndexJobTest extends AbstractJobTest {
     }
   }
 
-  @SuppressWarnings("unchecked")
   private JobContext createIndexJobContext(JobType type, List<String> projectNames) {
     return new DefaultJobContext(type, RELEASE_VERSION, projectNames, "/dev/null",
-        new File(INPUT_TEST_FIXTURES_DIR).getAbsolutePath(), mock(Table.class), taskExecutor, true);
+        new File(INPUT_TEST_FIXTURES_DIR).getAbsolutePath(), mock(SubmissionFileManifest.class), new DatasetCache(),
+        taskExecutor, true);
   }
 
 }
@@ -49,6 +49,7 @@ import org.icgc.dcc.release.core.job.JobType;
 import org.icgc.dcc.release.core.submission.SubmissionFileField;
 import org.icgc.dcc.release.core.submission.SubmissionFileSchemas;
 import org.icgc.dcc.release.core.task.Task;
+import org.icgc.dcc.release.core.task.TaskSpec;
 import org.icgc.dcc.release.core.util.Loggers;
 import org.icgc.dcc.release.job.join.model.DonorSample;
 import org.icgc.dcc.release.job.join.task.ClinicalJoinTask;
@@ -146,6 +147,17 @@ public class JoinJob extends GenericJob {
     join(jobContext);
   }
 
+  @Override
+  public List<TaskSpec> getTaskSpecs() {
+    val specs = ImmutableList.<TaskSpec> builder();
+    specs.add(ClinicalJoinTask.getSpec());
+    for (val executeFileType : resolveExecuteFileTypes()) {
+      specs.add(isPrimaryTask(executeFileType) ? getPrimarySpec(executeFileType) : getSecondarySpec(executeFileType));
+    }
+
+    return specs.build();
+  }
+
   private void clean(JobContext jobContext) {
     if (isClean()) {
       delete(jobContext, getDeleteFileTypes());
@@ -264,6 +276,38 @@ public class JoinJob extends GenericJob {
     return new PrimaryMetaJoinTask(donorSamples, executeFileType);
   }
 
+  /**
+   * Same tasks as {@link #createPrimaryTask(FileType, Broadcast)} which get the donor samples resolved on the driver.
+   */
+  private static TaskSpec getPrimarySpec(FileType executeFileType) {
+    val spec = executeFileType == FileType.METH_ARRAY_P ?
+        MethArrayJoinTask.getSpec() :
+        PrimaryMetaJoinTask.getPrimaryMetaSpec(executeFileType);
+
+    return spec.withBroadcasts(ImmutableList.of(ResolveDonorSamplesTask.INPUT_FILE_TYPE));
+  }
+
+  /**
+   * Same tasks as {@link #createSecondaryTask(FileType, Broadcast, Broadcast)} which get the donor samples and sample
+   * surrogate keys resolved on the driver.
+   */
+  private static TaskSpec getSecondarySpec(FileType executeFileType) {
+    TaskSpec spec;
+    switch (executeFileType) {
+    case SSM_P:
+      spec = ObservationJoinTask.getSpec();
+      break;
+    case SGV_P:
+      spec = SgvJoinTask.getSpec();
+      break;
+    default:
+      spec = SecondaryJoinTask.getSecondarySpec(executeFileType);
+    }
+
+    return spec.withBroadcasts(ImmutableList.of(ResolveDonorSamplesTask.INPUT_FILE_TYPE,
+        ResolveSampleSurrogateSampleIds.INPUT_FILE_TYPE));
+  }
+
   private static boolean isPrimaryTask(FileType executeFileType) {
     val taskType = FILE_TYPE_TASK_TYPE.get(executeFileType);
 
@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2015 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.release.job.join.function;
+
+import static com.google.common.base.Preconditions.checkState;
+import static java.lang.invoke.MethodType.methodType;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.util.List;
+
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
+import lombok.val;
+
+import org.apache.spark.api.java.function.Function;
+import org.icgc.dcc.common.core.util.Separators;
+
+/**
+ * Unsets the controlled fields of open access rows.
+ * <p>
+ * The setters are resolved once per task into method handles rather than looked up reflectively for every row.
+ */
+@RequiredArgsConstructor
+public final class RemoveControlledFields<T> implements Function<T, T> {
+
+  /**
+   * Constants.
+   */
+  private static final MethodHandles.Lookup LOOKUP = MethodHandles.publicLookup();
+
+  /**
+   * Configuration.
+   */
+  @NonNull
+  private final Class<T> type;
+  @NonNull
+  private final List<String> controlledFields;
+
+  /**
+   * State.
+   */
+  private transient MethodHandle[] setters;
+
+  @Override
+  @SneakyThrows
+  public T call(T row) throws Exception {
+    if (setters == null) {
+      setters = resolveSetters();
+    }
+
+    for (val setter : setters) {
+      setter.invokeExact((Object) row, (Object) null);
+    }
+
+    return row;
+  }
+
+  private MethodHandle[] resolveSetters() {
+    val setters = new MethodHandle[controlledFields.size()];
+    for (int i = 0; i < setters.length; i++) {
+      setters[i] = resolveSetter(controlledFields.get(i));
+    }
+
+    return setters;
+  }
+
+  @SneakyThrows
+  private MethodHandle resolveSetter(String field) {
+    val getter = type.getMethod(resolveMethodName(field, "get"));
+    val fieldType = getter.getReturnType();
+    checkState(!fieldType.isPrimitive(), "Cannot unset primitive field '%s' of %s", field, type.getName());
+
+    val setter = type.getMethod(resolveMethodName(field, "set"), fieldType);
+
+    return LOOKUP.unreflect(setter).asType(methodType(void.class, Object.class, Object.class));
+  }
+
+  private static String resolveMethodName(String field, String prefix) {
+    val methodName = field.startsWith(Separators.UNDERSCORE) ? field : capitalizeFirstLetter(field);
+
+    return prefix + methodName;
+  }
+
+  private static String capitalizeFirstLetter(String original) {
+    if (original == null || original.length() == 0) {
+      return original;
+    }
+
+    return original.substring(0, 1).toUpperCase() + original.substring(1);
+  }
+
+}
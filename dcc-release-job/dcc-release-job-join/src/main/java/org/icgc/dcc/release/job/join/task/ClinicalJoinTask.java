@@ -40,6 +40,7 @@ import org.apache.spark.broadcast.Broadcast;
 import org.icgc.dcc.release.core.job.FileType;
 import org.icgc.dcc.release.core.task.GenericTask;
 import org.icgc.dcc.release.core.task.TaskContext;
+import org.icgc.dcc.release.core.task.TaskSpec;
 import org.icgc.dcc.release.job.join.function.CombineClinical;
 import org.icgc.dcc.release.job.join.function.CombineDonor;
 import org.icgc.dcc.release.job.join.function.CombineSampleFunctions;
@@ -53,16 +54,22 @@ import scala.Tuple2;
 
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableList;
 
 @RequiredArgsConstructor
 public class ClinicalJoinTask extends GenericTask {
 
+  /**
+   * Constants.
+   */
+  private static final FileType OUTPUT_FILE_TYPE = FileType.CLINICAL;
+
   @NonNull
   private final Broadcast<Map<String, JavaRDD<ObjectNode>>> rawSequenceDataBroadcast;
 
   @Override
   public void execute(TaskContext taskContext) {
-    val outputFileType = FileType.CLINICAL;
+    val outputFileType = OUTPUT_FILE_TYPE;
 
     val joinedSpecimen = joinSpecimen(taskContext);
     val joined = joinClinical(taskContext, joinedSpecimen);
@@ -71,6 +78,20 @@ public class ClinicalJoinTask extends GenericTask {
     writeOutput(taskContext, output, outputFileType);
   }
 
+  /**
+   * @return the inputs and output of the task, including the meta file types of the raw sequence data joined to the
+   * samples
+   */
+  public static TaskSpec getSpec() {
+    val inputs = ImmutableList.<FileType> builder()
+        .add(DONOR_SURROGATE_KEY, SPECIMEN_SURROGATE_KEY_IMAGE, SAMPLE_SURROGATE_KEY)
+        .add(THERAPY, FAMILY, EXPOSURE, BIOMARKER, SURGERY)
+        .addAll(ResolveRawSequenceDataTask.getInputFileTypes())
+        .build();
+
+    return TaskSpec.of(OUTPUT_FILE_TYPE.getId(), inputs, ImmutableList.of(OUTPUT_FILE_TYPE));
+  }
+
   private JavaRDD<ObjectNode> joinSpecimen(TaskContext taskContext) {
     val specimen = readInput(taskContext, SPECIMEN_SURROGATE_KEY_IMAGE);
     val sample = readInput(taskContext, SAMPLE_SURROGATE_KEY);
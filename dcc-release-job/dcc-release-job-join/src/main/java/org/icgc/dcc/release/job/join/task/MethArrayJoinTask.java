@@ -31,20 +31,30 @@ import org.apache.spark.broadcast.Broadcast;
 import org.icgc.dcc.release.core.function.KeyFields;
 import org.icgc.dcc.release.core.job.FileType;
 import org.icgc.dcc.release.core.task.TaskContext;
+import org.icgc.dcc.release.core.task.TaskSpec;
 import org.icgc.dcc.release.core.util.SparkWorkaroundUtils;
 import org.icgc.dcc.release.job.join.model.DonorSample;
 
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.collect.ImmutableList;
 
 public class MethArrayJoinTask extends PrimaryMetaJoinTask {
 
   private static final FileType PRIMARY_FILE_TYPE = FileType.METH_ARRAY_P;
+  private static final FileType PROBES_FILE_TYPE = FileType.METH_ARRAY_PROBES;
   private static final String[] PROBE_JOIN_KEYS = { ARRAY_PLATFORM, PROBE_ID };
 
   public MethArrayJoinTask(Broadcast<Map<String, Map<String, DonorSample>>> donorSamplesByProject) {
     super(donorSamplesByProject, PRIMARY_FILE_TYPE);
   }
 
+  /**
+   * @return the inputs and output of the task. The probes are broadcast to the executors
+   */
+  public static TaskSpec getSpec() {
+    return getPrimaryMetaSpec(PRIMARY_FILE_TYPE).withBroadcasts(ImmutableList.of(PROBES_FILE_TYPE));
+  }
+
   @Override
   public void execute(TaskContext taskContext) {
     val primaryMeta = joinPrimaryMeta(taskContext);
@@ -55,7 +65,7 @@ public class MethArrayJoinTask extends PrimaryMetaJoinTask {
   }
 
   private Broadcast<Map<String, ObjectNode>> resolveProbes(TaskContext taskContext) {
-    val probes = readInput(taskContext, FileType.METH_ARRAY_PROBES)
+    val probes = readInput(taskContext, PROBES_FILE_TYPE)
         .mapToPair(new KeyFields(PROBE_JOIN_KEYS))
         .collectAsMap();
     val sparkContext = taskContext.getSparkContext();
@@ -23,14 +23,12 @@ import static org.icgc.dcc.release.core.util.Tuples.tuple;
 import static org.icgc.dcc.release.job.join.utils.Tasks.getSampleSurrogateSampleIds;
 import static org.icgc.dcc.release.job.join.utils.Tasks.resolveDonorSamples;
 
-import java.lang.reflect.Method;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
-import lombok.SneakyThrows;
 import lombok.val;
 
 import org.apache.spark.api.java.JavaPairRDD;
@@ -41,10 +39,10 @@ import org.apache.spark.api.java.function.PairFunction;
 import org.apache.spark.broadcast.Broadcast;
 import org.apache.spark.storage.StorageLevel;
 import org.icgc.dcc.common.core.model.Marking;
-import org.icgc.dcc.common.core.util.Separators;
 import org.icgc.dcc.release.core.job.FileType;
 import org.icgc.dcc.release.core.task.GenericTask;
 import org.icgc.dcc.release.core.task.TaskContext;
+import org.icgc.dcc.release.core.task.TaskSpec;
 import org.icgc.dcc.release.core.util.CombineFunctions;
 import org.icgc.dcc.release.core.util.JacksonFactory;
 import org.icgc.dcc.release.core.util.Keys;
@@ -53,6 +51,7 @@ import org.icgc.dcc.release.job.join.function.AggregateObservationConsequences;
 import org.icgc.dcc.release.job.join.function.AggregateOccurrences;
 import org.icgc.dcc.release.job.join.function.CreateOccurrence;
 import org.icgc.dcc.release.job.join.function.KeyDonorMutataionId;
+import org.icgc.dcc.release.job.join.function.RemoveControlledFields;
 import org.icgc.dcc.release.job.join.model.DonorSample;
 import org.icgc.dcc.release.job.join.model.SsmMetaFeatureType;
 import org.icgc.dcc.release.job.join.model.SsmOccurrence;
@@ -62,11 +61,21 @@ import org.icgc.dcc.release.job.join.model.SsmPrimaryFeatureType;
 import scala.Tuple2;
 
 import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Sets;
 
 @RequiredArgsConstructor
 public class ObservationJoinTask extends GenericTask {
 
+  /**
+   * Constants.
+   */
+  private static final FileType PRIMARY_FILE_TYPE = FileType.SSM_P_MASKED_SURROGATE_KEY;
+  private static final FileType META_FILE_TYPE = FileType.SSM_M;
+  private static final FileType SECONDARY_FILE_TYPE = FileType.SSM_S;
+  private static final FileType SSM_FILE_TYPE = FileType.SSM;
+  private static final FileType OBSERVATION_FILE_TYPE = FileType.OBSERVATION;
+
   @NonNull
   private final Broadcast<Map<String, Map<String, DonorSample>>> donorSamplesBroadcast;
   @NonNull
@@ -107,12 +116,20 @@ public class ObservationJoinTask extends GenericTask {
     consequences.unpersist(false);
   }
 
+  /**
+   * @return the inputs and outputs of the task. The meta file type is broadcast to the executors
+   */
+  public static TaskSpec getSpec() {
+    return TaskSpec.of(SSM_FILE_TYPE.getId(), ImmutableList.of(PRIMARY_FILE_TYPE, SECONDARY_FILE_TYPE),
+        ImmutableList.of(SSM_FILE_TYPE, OBSERVATION_FILE_TYPE), ImmutableList.of(META_FILE_TYPE));
+  }
+
   private static JavaPairRDD<String, SsmPrimaryFeatureType> filterControlledData(
       JavaPairRDD<String, SsmPrimaryFeatureType> primary,
       List<String> controlledFields) {
     return primary
         .filter(filterControlledRecords())
-        .mapValues(removeControlledFields(controlledFields));
+        .mapValues(new RemoveControlledFields<>(SsmPrimaryFeatureType.class, controlledFields));
   }
 
   private static Function<Tuple2<String, SsmPrimaryFeatureType>, Boolean> filterControlledRecords() {
@@ -180,53 +197,6 @@ public class ObservationJoinTask extends GenericTask {
     };
   }
 
-  private static Function<SsmPrimaryFeatureType, SsmPrimaryFeatureType> removeControlledFields(
-      List<String> controlledFields) {
-    return row -> {
-      for (String field : controlledFields) {
-        Class<?> clazz = getParamType(row, field);
-        unsetField(row, field, clazz);
-      }
-
-      return row;
-    };
-  }
-
-  @SneakyThrows
-  private static void unsetField(SsmPrimaryFeatureType primary, String field, Class<?> clazz) {
-    val setter = getMethod(primary, field, "set", clazz);
-    setter.invoke(primary, new Object[] { null });
-  }
-
-  @SneakyThrows
-  private static Class<?> getParamType(SsmPrimaryFeatureType primary, String field) {
-    val getter = getMethod(primary, field, "get");
-
-    return getter.getReturnType();
-  }
-
-  private static Method getMethod(SsmPrimaryFeatureType primary, String field, String prefix, Class<?>... params)
-      throws NoSuchMethodException {
-    val methodName = resolveMethodName(field, prefix);
-    val method = primary.getClass().getMethod(methodName, params);
-
-    return method;
-  }
-
-  private static String resolveMethodName(String field, String prefix) {
-    val methodName = field.startsWith(Separators.UNDERSCORE) ? field : capitalizeFirstLetter(field);
-
-    return prefix + methodName;
-  }
-
-  private static String capitalizeFirstLetter(String original) {
-    if (original == null || original.length() == 0) {
-      return original;
-    }
-
-    return original.substring(0, 1).toUpperCase() + original.substring(1);
-  }
-
   private static PairFunction<SsmMetaFeatureType, String, SsmMetaFeatureType> keyMeta() {
     return meta -> {
       String key = Keys.getKey(meta.getAnalysis_id(), meta.getAnalyzed_sample_id());
@@ -236,27 +206,27 @@ public class ObservationJoinTask extends GenericTask {
   }
 
   private void writeSsm(TaskContext taskContext, JavaRDD<SsmOccurrence> output) {
-    val outputFileType = FileType.SSM;
+    val outputFileType = SSM_FILE_TYPE;
     writeOutput(taskContext, output, outputFileType, SsmOccurrence.class);
   }
 
   private void writeObservation(TaskContext taskContext, JavaRDD<SsmOccurrence> output) {
-    val outputFileType = FileType.OBSERVATION;
+    val outputFileType = OBSERVATION_FILE_TYPE;
     writeOutput(taskContext, output, outputFileType, SsmOccurrence.class);
   }
 
   private JavaRDD<SsmMetaFeatureType> parseSsmM(TaskContext taskContext) {
-    return readInput(taskContext, FileType.SSM_M)
+    return readInput(taskContext, META_FILE_TYPE)
         .map(row -> JacksonFactory.MAPPER.treeToValue(row, SsmMetaFeatureType.class));
   }
 
   private JavaRDD<SsmPrimaryFeatureType> parseSsmP(TaskContext taskContext) {
-    return readInput(taskContext, FileType.SSM_P_MASKED_SURROGATE_KEY)
+    return readInput(taskContext, PRIMARY_FILE_TYPE)
         .map(row -> JacksonFactory.MAPPER.treeToValue(row, SsmPrimaryFeatureType.class));
   }
 
   private JavaRDD<Consequence> parseSsmS(TaskContext taskContext) {
-    return readInput(taskContext, FileType.SSM_S)
+    return readInput(taskContext, SECONDARY_FILE_TYPE)
         .map(row -> JacksonFactory.MAPPER.treeToValue(row, Consequence.class));
   }
 
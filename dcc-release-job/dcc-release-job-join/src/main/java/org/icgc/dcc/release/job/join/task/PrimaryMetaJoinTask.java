@@ -35,12 +35,14 @@ import org.apache.spark.broadcast.Broadcast;
 import org.icgc.dcc.release.core.job.FileType;
 import org.icgc.dcc.release.core.task.GenericTask;
 import org.icgc.dcc.release.core.task.TaskContext;
+import org.icgc.dcc.release.core.task.TaskSpec;
 import org.icgc.dcc.release.core.util.SparkWorkaroundUtils;
 import org.icgc.dcc.release.job.join.function.EnrichPrimaryMeta;
 import org.icgc.dcc.release.job.join.function.KeyAnalysisIdAnalyzedSampleIdField;
 import org.icgc.dcc.release.job.join.model.DonorSample;
 
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.collect.ImmutableList;
 
 @RequiredArgsConstructor
 public class PrimaryMetaJoinTask extends GenericTask {
@@ -61,6 +63,16 @@ public class PrimaryMetaJoinTask extends GenericTask {
     writeOutput(taskContext, output, resolveOutputFileType(primaryFileType));
   }
 
+  /**
+   * @return the inputs and output of joining {@code primaryFileType}. Its meta file type is broadcast to the executors
+   */
+  public static TaskSpec getPrimaryMetaSpec(@NonNull FileType primaryFileType) {
+    val outputFileType = resolveOutputFileType(primaryFileType);
+
+    return TaskSpec.of(outputFileType.getId(), ImmutableList.of(primaryFileType), ImmutableList.of(outputFileType),
+        ImmutableList.of(resolveMetaFileType(primaryFileType)));
+  }
+
   @Override
   public String getName() {
     return format("%s(%s)", super.getName(), resolveOutputFileType(primaryFileType).getId());
@@ -117,7 +129,7 @@ public class PrimaryMetaJoinTask extends GenericTask {
     return resolveFileType(primaryFileType, OUTPUT_FILE_TYPE_SUFFIX);
   }
 
-  private static FileType resolveMetaFileType(FileType primaryFileType) {
+  protected static FileType resolveMetaFileType(FileType primaryFileType) {
     return resolveFileType(primaryFileType, META_FILE_TYPE_SUFFIX);
   }
 
@@ -46,6 +46,8 @@ import com.google.common.collect.Maps;
  */
 public class ResolveDonorSamplesTask extends GenericTask {
 
+  public static final FileType INPUT_FILE_TYPE = FileType.CLINICAL;
+
   @Getter
   private final Map<String, Map<String, DonorSample>> projectDonorSamples = Maps.newConcurrentMap();
 
@@ -79,7 +81,7 @@ public class ResolveDonorSamplesTask extends GenericTask {
   }
 
   private JavaRDD<ObjectNode> parseClinical(TaskContext taskContext) {
-    return readInput(taskContext, FileType.CLINICAL);
+    return readInput(taskContext, INPUT_FILE_TYPE);
   }
 
 }
@@ -63,6 +63,13 @@ public class ResolveRawSequenceDataTask extends GenericTask {
   @Getter
   private final Map<String, JavaRDD<ObjectNode>> projectRawSequenceData = Maps.newConcurrentMap();
 
+  /**
+   * @return the meta file types the raw sequence data is resolved from
+   */
+  public static List<FileType> getInputFileTypes() {
+    return filterMetaTypes();
+  }
+
   @Override
   public void execute(TaskContext taskContext) {
     val rawSequenceData = resolveRawSequenceData(taskContext);
@@ -41,6 +41,8 @@ import com.google.common.collect.Maps;
  */
 public class ResolveSampleSurrogateSampleIds extends GenericTask {
 
+  public static final FileType INPUT_FILE_TYPE = FileType.SAMPLE_SURROGATE_KEY;
+
   @Getter
   private Map<String, Map<String, String>> sampleSurrogateSampleId = Maps.newConcurrentMap();
 
@@ -52,7 +54,7 @@ public class ResolveSampleSurrogateSampleIds extends GenericTask {
   }
 
   private JavaRDD<ObjectNode> parseSample(TaskContext taskContext) {
-    return readInput(taskContext, FileType.SAMPLE_SURROGATE_KEY);
+    return readInput(taskContext, INPUT_FILE_TYPE);
   }
 
   private Map<String, String> resolveSampleIds(TaskContext taskContext) {
@@ -38,6 +38,7 @@ import static org.icgc.dcc.release.job.join.utils.Tasks.getSampleSurrogateSample
 import java.util.Collection;
 import java.util.Map;
 
+import lombok.NonNull;
 import lombok.val;
 
 import org.apache.spark.api.java.JavaRDD;
@@ -47,6 +48,7 @@ import org.icgc.dcc.common.core.json.Jackson;
 import org.icgc.dcc.release.core.function.KeyFields;
 import org.icgc.dcc.release.core.job.FileType;
 import org.icgc.dcc.release.core.task.TaskContext;
+import org.icgc.dcc.release.core.task.TaskSpec;
 import org.icgc.dcc.release.core.util.CombineFunctions;
 import org.icgc.dcc.release.job.join.function.AggregateConsequences;
 import org.icgc.dcc.release.job.join.model.DonorSample;
@@ -92,6 +94,16 @@ public class SecondaryJoinTask extends PrimaryMetaJoinTask {
     writeOutput(taskContext, output, resolveOutputFileType(primaryFileType));
   }
 
+  /**
+   * @return the inputs and output of joining {@code primaryFileType} with its meta and secondary file types
+   */
+  public static TaskSpec getSecondarySpec(@NonNull FileType primaryFileType) {
+    val outputFileType = resolveOutputFileType(primaryFileType);
+
+    return TaskSpec.of(outputFileType.getId(), of(primaryFileType, resolveSecondaryFileType(primaryFileType)),
+        of(outputFileType), of(resolveMetaFileType(primaryFileType)));
+  }
+
   public static Function<ObjectNode, ObjectNode> addSurrogateMatchingId(Map<String, String> sampleSurrogageSampleIds) {
     return occurrence -> {
       String matchedSampleId = textValue(occurrence, SUBMISSION_MATCHED_SAMPLE_ID);
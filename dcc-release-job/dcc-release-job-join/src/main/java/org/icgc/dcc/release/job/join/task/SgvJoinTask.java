@@ -30,6 +30,7 @@ import org.apache.spark.broadcast.Broadcast;
 import org.icgc.dcc.release.core.function.KeyFields;
 import org.icgc.dcc.release.core.job.FileType;
 import org.icgc.dcc.release.core.task.TaskContext;
+import org.icgc.dcc.release.core.task.TaskSpec;
 import org.icgc.dcc.release.core.util.AggregateFunctions;
 import org.icgc.dcc.release.core.util.CombineFunctions;
 import org.icgc.dcc.release.core.util.Tuples;
@@ -49,6 +50,10 @@ public class SgvJoinTask extends SecondaryJoinTask {
     super(donorSamplesbyProject, sampleSurrogateSampleIdsByProject, PRIMARY_FILE_TYPE);
   }
 
+  public static TaskSpec getSpec() {
+    return getSecondarySpec(PRIMARY_FILE_TYPE);
+  }
+
   @Override
   public void execute(TaskContext taskContext) {
     val primaryMeta = joinPrimaryMeta(taskContext);
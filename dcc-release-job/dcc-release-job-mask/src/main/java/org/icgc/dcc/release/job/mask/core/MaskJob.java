@@ -17,16 +17,23 @@
  */
 package org.icgc.dcc.release.job.mask.core;
 
+import java.util.List;
+
 import lombok.NonNull;
+import lombok.val;
 
 import org.icgc.dcc.release.core.job.FileType;
 import org.icgc.dcc.release.core.job.GenericJob;
 import org.icgc.dcc.release.core.job.JobContext;
 import org.icgc.dcc.release.core.job.JobType;
+import org.icgc.dcc.release.core.task.GenericProcessTask;
+import org.icgc.dcc.release.core.task.TaskSpec;
 import org.icgc.dcc.release.job.mask.task.SgvPMaskingTask;
 import org.icgc.dcc.release.job.mask.task.SsmPMaskingTask;
 import org.springframework.stereotype.Component;
 
+import com.google.common.collect.ImmutableList;
+
 @Component
 public class MaskJob extends GenericJob {
 
@@ -45,8 +52,22 @@ public class MaskJob extends GenericJob {
     delete(jobContext, FileType.SSM_P_MASKED, FileType.SGV_P_MASKED);
   }
 
+  @Override
+  public List<TaskSpec> getTaskSpecs() {
+    val specs = ImmutableList.<TaskSpec> builder();
+    for (val task : createTasks()) {
+      specs.add(task.getSpec());
+    }
+
+    return specs.build();
+  }
+
   private void mask(JobContext jobContext) {
-    jobContext.execute(
+    jobContext.execute(createTasks());
+  }
+
+  private static List<GenericProcessTask> createTasks() {
+    return ImmutableList.of(
         new SsmPMaskingTask(),
         new SgvPMaskingTask());
   }
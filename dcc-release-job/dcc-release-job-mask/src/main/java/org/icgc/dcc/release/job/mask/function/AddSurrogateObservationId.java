@@ -18,28 +18,36 @@
 package org.icgc.dcc.release.job.mask.function;
 
 import static org.icgc.dcc.common.core.model.FieldNames.NormalizerFieldNames.NORMALIZER_OBSERVATION_ID;
-
-import java.util.UUID;
-
+import static org.icgc.dcc.release.job.mask.util.ObservationIdGenerator.SGV_TYPE;
+import lombok.NonNull;
 import lombok.val;
 
 import org.apache.spark.api.java.function.Function;
+import org.icgc.dcc.release.job.mask.util.ObservationIdGenerator;
 
-import com.fasterxml.jackson.databind.node.ObjectNode;
+import scala.Tuple2;
 
-public class AddSurrogateObservationId implements Function<ObjectNode, ObjectNode> {
+import com.fasterxml.jackson.databind.node.ObjectNode;
 
-  @Override
-  public ObjectNode call(ObjectNode row) throws Exception {
-    val id = generateId();
+/**
+ * Adds the surrogate observation ID of an SGV row, given the row and its position in the project input.
+ */
+public class AddSurrogateObservationId implements Function<Tuple2<ObjectNode, Long>, ObjectNode> {
 
-    row.put(NORMALIZER_OBSERVATION_ID, id);
+  /**
+   * Dependencies.
+   */
+  private final ObservationIdGenerator idGenerator;
 
-    return row;
+  public AddSurrogateObservationId(@NonNull String projectName) {
+    this.idGenerator = new ObservationIdGenerator(projectName, SGV_TYPE);
   }
 
-  private String generateId() {
-    return UUID.randomUUID().toString();
+  @Override
+  public ObjectNode call(Tuple2<ObjectNode, Long> indexedRow) throws Exception {
+    val row = indexedRow._1;
+
+    return row.put(NORMALIZER_OBSERVATION_ID, idGenerator.getId(indexedRow._2));
   }
 
-}
\ No newline at end of file
+}
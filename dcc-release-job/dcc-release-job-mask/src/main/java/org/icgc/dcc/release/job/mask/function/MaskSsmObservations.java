@@ -0,0 +1,232 @@
+/*
+ * Copyright (c) 2015 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.release.job.mask.function;
+
+import static com.google.common.base.Preconditions.checkState;
+import static org.icgc.dcc.common.core.model.FieldNames.NormalizerFieldNames.NORMALIZER_MARKING;
+import static org.icgc.dcc.common.core.model.FieldNames.NormalizerFieldNames.NORMALIZER_MUTATION;
+import static org.icgc.dcc.common.core.model.FieldNames.NormalizerFieldNames.NORMALIZER_OBSERVATION_ID;
+import static org.icgc.dcc.common.core.model.FieldNames.SubmissionFieldNames.SUBMISSION_OBSERVATION_CONTROL_GENOTYPE;
+import static org.icgc.dcc.common.core.model.FieldNames.SubmissionFieldNames.SUBMISSION_OBSERVATION_MUTATED_FROM_ALLELE;
+import static org.icgc.dcc.common.core.model.FieldNames.SubmissionFieldNames.SUBMISSION_OBSERVATION_MUTATED_TO_ALLELE;
+import static org.icgc.dcc.common.core.model.FieldNames.SubmissionFieldNames.SUBMISSION_OBSERVATION_REFERENCE_GENOME_ALLELE;
+import static org.icgc.dcc.common.core.model.FieldNames.SubmissionFieldNames.SUBMISSION_OBSERVATION_TUMOUR_GENOTYPE;
+import static org.icgc.dcc.release.job.mask.util.ObservationIdGenerator.MASKED_SSM_TYPE;
+import static org.icgc.dcc.release.job.mask.util.ObservationIdGenerator.SSM_TYPE;
+
+import java.util.Iterator;
+
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.val;
+import lombok.extern.slf4j.Slf4j;
+
+import org.apache.spark.api.java.function.FlatMapFunction;
+import org.icgc.dcc.common.core.model.Marking;
+import org.icgc.dcc.common.core.model.SpecialValue;
+import org.icgc.dcc.release.job.mask.util.ObservationIdGenerator;
+
+import scala.Tuple2;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Masks SSM observations in a single pass. For every row:
+ * <ol>
+ * <li>adds a deterministic surrogate observation ID derived from the position of the row in the project input</li>
+ * <li>marks it {@code CONTROLLED} when its genotypes reveal alleles other than the reference and mutated to alleles,
+ * {@code OPEN} otherwise</li>
+ * <li>emits a {@code MASKED} counterpart with a masked SSM ID of the same position right after each controlled row (see
+ * https://wiki.oicr.on.ca/display/DCCSOFT/Data+Normalizer+Component?focusedCommentId=53182773#comment-53182773)</li>
+ * <li>rebuilds the mutation from the (possibly masked) mutated from and to alleles</li>
+ * </ol>
+ * Genotypes are scanned in place, so open-access rows, the vast majority, allocate no collections.
+ */
+@Slf4j
+public class MaskSsmObservations implements FlatMapFunction<Iterator<Tuple2<ObjectNode, Long>>, ObjectNode> {
+
+  /**
+   * Constants.
+   */
+  private static final char ALLELE_SEPARATOR = '/';
+  private static final String MUTATION_SEPARATOR = ">";
+
+  /**
+   * Dependencies.
+   */
+  private final ObservationIdGenerator idGenerator;
+  private final ObservationIdGenerator maskedIdGenerator;
+
+  public MaskSsmObservations(@NonNull String projectName) {
+    this.idGenerator = new ObservationIdGenerator(projectName, SSM_TYPE);
+    this.maskedIdGenerator = new ObservationIdGenerator(projectName, MASKED_SSM_TYPE);
+  }
+
+  @Override
+  public Iterable<ObjectNode> call(Iterator<Tuple2<ObjectNode, Long>> rows) throws Exception {
+    return new MaskSsmObservationsIterator(rows, idGenerator, maskedIdGenerator);
+  }
+
+  static Marking getMarking(ObjectNode row) {
+    val referenceGenomeAllele = row.get(SUBMISSION_OBSERVATION_REFERENCE_GENOME_ALLELE).textValue();
+    val controlGenotype = row.get(SUBMISSION_OBSERVATION_CONTROL_GENOTYPE).textValue();
+    if (!matchesAllAlleles(referenceGenomeAllele, controlGenotype, null)) {
+      return Marking.CONTROLLED;
+    }
+
+    val tumourGenotype = row.get(SUBMISSION_OBSERVATION_TUMOUR_GENOTYPE).textValue();
+    val mutatedToAllele = row.get(SUBMISSION_OBSERVATION_MUTATED_TO_ALLELE).textValue();
+    checkState(
+        containsAllele(tumourGenotype, mutatedToAllele),
+        "'%s' ('%s') is expected to be in '%s' ('%s') as per primary validation rules",
+        mutatedToAllele, SUBMISSION_OBSERVATION_MUTATED_TO_ALLELE, tumourGenotype,
+        SUBMISSION_OBSERVATION_TUMOUR_GENOTYPE);
+
+    val open = matchesAllAlleles(referenceGenomeAllele, tumourGenotype, mutatedToAllele);
+
+    return open ? Marking.OPEN : Marking.CONTROLLED;
+  }
+
+  /**
+   * @return {@code true} if every allele of {@code genotype}, except {@code ignoredAllele}, is {@code allele}
+   */
+  private static boolean matchesAllAlleles(String allele, String genotype, String ignoredAllele) {
+    int start = 0;
+    while (true) {
+      int end = getAlleleEnd(genotype, start);
+      if (!isAllele(genotype, start, end, ignoredAllele) && !isAllele(genotype, start, end, allele)) {
+        return false;
+      }
+      if (end == genotype.length()) {
+        return true;
+      }
+
+      start = end + 1;
+    }
+  }
+
+  private static boolean containsAllele(String genotype, String allele) {
+    int start = 0;
+    while (true) {
+      int end = getAlleleEnd(genotype, start);
+      if (isAllele(genotype, start, end, allele)) {
+        return true;
+      }
+      if (end == genotype.length()) {
+        return false;
+      }
+
+      start = end + 1;
+    }
+  }
+
+  private static int getAlleleEnd(String genotype, int start) {
+    val end = genotype.indexOf(ALLELE_SEPARATOR, start);
+
+    return end == -1 ? genotype.length() : end;
+  }
+
+  private static boolean isAllele(String genotype, int start, int end, String allele) {
+    return allele != null && allele.length() == end - start && genotype.regionMatches(start, allele, 0, end - start);
+  }
+
+  @RequiredArgsConstructor
+  private static class MaskSsmObservationsIterator implements Iterable<ObjectNode>, Iterator<ObjectNode> {
+
+    /**
+     * Dependencies.
+     */
+    private final Iterator<Tuple2<ObjectNode, Long>> delegate;
+    private final ObservationIdGenerator idGenerator;
+    private final ObservationIdGenerator maskedIdGenerator;
+
+    /**
+     * State.
+     */
+    private ObjectNode mask;
+
+    @Override
+    public Iterator<ObjectNode> iterator() {
+      return this;
+    }
+
+    @Override
+    public boolean hasNext() {
+      return mask != null || delegate.hasNext();
+    }
+
+    @Override
+    public ObjectNode next() {
+      if (mask != null) {
+        val next = mask;
+        mask = null;
+
+        return next;
+      }
+
+      val indexedRow = delegate.next();
+      val row = indexedRow._1;
+      row.put(NORMALIZER_OBSERVATION_ID, idGenerator.getId(indexedRow._2));
+
+      val marking = getMarking(row);
+      row.put(NORMALIZER_MARKING, marking.getTupleValue());
+
+      if (marking == Marking.CONTROLLED) {
+        log.debug("Creating mask for '{}'", row);
+        mask = mask(row, indexedRow._2);
+      }
+
+      rebuildMutation(row);
+
+      return row;
+    }
+
+    @Override
+    public void remove() {
+      throw new UnsupportedOperationException("Cannot remove a " + getClass().getName() + " iterator");
+    }
+
+    /**
+     * Creates a row corresponding to a masked version of the observation.
+     */
+    private ObjectNode mask(ObjectNode row, long ordinal) {
+      val referenceGenomeAllele = row.get(SUBMISSION_OBSERVATION_REFERENCE_GENOME_ALLELE).textValue();
+      val copy = row.deepCopy();
+
+      // Empty the two genotype fields
+      copy.put(SUBMISSION_OBSERVATION_CONTROL_GENOTYPE, (String) SpecialValue.NO_VALUE);
+      copy.put(SUBMISSION_OBSERVATION_TUMOUR_GENOTYPE, (String) SpecialValue.NO_VALUE);
+
+      copy.put(SUBMISSION_OBSERVATION_MUTATED_FROM_ALLELE, referenceGenomeAllele);
+      copy.put(NORMALIZER_MARKING, Marking.MASKED.getTupleValue());
+      copy.put(NORMALIZER_OBSERVATION_ID, maskedIdGenerator.getId(ordinal));
+      rebuildMutation(copy);
+
+      return copy;
+    }
+
+    private static void rebuildMutation(ObjectNode row) {
+      val mutatedFromAllele = row.get(SUBMISSION_OBSERVATION_MUTATED_FROM_ALLELE).textValue();
+      val mutatedToAllele = row.get(SUBMISSION_OBSERVATION_MUTATED_TO_ALLELE).textValue();
+
+      row.put(NORMALIZER_MUTATION, mutatedFromAllele + MUTATION_SEPARATOR + mutatedToAllele);
+    }
+
+  }
+
+}
@@ -17,9 +17,12 @@
  */
 package org.icgc.dcc.release.job.mask.task;
 
+import lombok.val;
+
 import org.apache.spark.api.java.JavaRDD;
 import org.icgc.dcc.release.core.job.FileType;
 import org.icgc.dcc.release.core.task.GenericProcessTask;
+import org.icgc.dcc.release.core.task.TaskContext;
 import org.icgc.dcc.release.job.mask.function.AddSurrogateObservationId;
 
 import com.fasterxml.jackson.databind.node.ObjectNode;
@@ -31,10 +34,12 @@ public class SgvPMaskingTask extends GenericProcessTask {
   }
 
   @Override
-  protected JavaRDD<ObjectNode> process(JavaRDD<ObjectNode> input) {
-    // TODO: Check how the observation_id is used. Possibly remove
+  protected JavaRDD<ObjectNode> process(TaskContext taskContext, JavaRDD<ObjectNode> input) {
+    val projectName = taskContext.getProjectName().get();
+
     return input
-        .map(new AddSurrogateObservationId());
+        .zipWithIndex()
+        .map(new AddSurrogateObservationId(projectName));
   }
 
-}
\ No newline at end of file
+}
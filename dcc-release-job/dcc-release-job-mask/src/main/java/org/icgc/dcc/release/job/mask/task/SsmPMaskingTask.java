@@ -17,13 +17,13 @@
  */
 package org.icgc.dcc.release.job.mask.task;
 
+import lombok.val;
+
 import org.apache.spark.api.java.JavaRDD;
 import org.icgc.dcc.release.core.job.FileType;
 import org.icgc.dcc.release.core.task.GenericProcessTask;
-import org.icgc.dcc.release.job.mask.function.AddSurrogateObservationId;
-import org.icgc.dcc.release.job.mask.function.GenerateMaskedRow;
-import org.icgc.dcc.release.job.mask.function.MarkSensitiveRow;
-import org.icgc.dcc.release.job.mask.function.RebuildMutation;
+import org.icgc.dcc.release.core.task.TaskContext;
+import org.icgc.dcc.release.job.mask.function.MaskSsmObservations;
 
 import com.fasterxml.jackson.databind.node.ObjectNode;
 
@@ -34,12 +34,12 @@ public class SsmPMaskingTask extends GenericProcessTask {
   }
 
   @Override
-  protected JavaRDD<ObjectNode> process(JavaRDD<ObjectNode> input) {
+  protected JavaRDD<ObjectNode> process(TaskContext taskContext, JavaRDD<ObjectNode> input) {
+    val projectName = taskContext.getProjectName().get();
+
     return input
-        .map(new AddSurrogateObservationId())
-        .map(new MarkSensitiveRow())
-        .flatMap(new GenerateMaskedRow())
-        .map(new RebuildMutation());
+        .zipWithIndex()
+        .mapPartitions(new MaskSsmObservations(projectName));
   }
 
-}
\ No newline at end of file
+}
@@ -15,35 +15,45 @@
  * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
  * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
  */
-package org.icgc.dcc.release.job.mask.function;
+package org.icgc.dcc.release.job.mask.util;
 
-import static com.google.common.base.Joiner.on;
-import static org.icgc.dcc.common.core.model.FieldNames.NormalizerFieldNames.NORMALIZER_MUTATION;
-import static org.icgc.dcc.common.core.model.FieldNames.SubmissionFieldNames.SUBMISSION_OBSERVATION_MUTATED_FROM_ALLELE;
-import static org.icgc.dcc.common.core.model.FieldNames.SubmissionFieldNames.SUBMISSION_OBSERVATION_MUTATED_TO_ALLELE;
-import lombok.val;
+import java.io.Serializable;
 
-import org.apache.spark.api.java.function.Function;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
 
-import com.fasterxml.jackson.databind.node.ObjectNode;
-import com.google.common.base.Joiner;
-
-public class RebuildMutation implements Function<ObjectNode, ObjectNode> {
+/**
+ * Generates deterministic observation IDs for the rows of a single project.
+ * <p>
+ * IDs have the form {@code <project name>:<type>:<ordinal>}. {@code type} tells SSM, masked SSM and SGV observations
+ * apart, since their ordinals overlap, and {@code ordinal} is the base 36 position of the source row in the project
+ * input as assigned by {@code zipWithIndex}. Positions do not depend on how the input is split into partitions, so
+ * reruns over the same input files produce the same IDs. Assigning them costs an extra pass counting the rows of each
+ * partition.
+ */
+@RequiredArgsConstructor
+public class ObservationIdGenerator implements Serializable {
 
   /**
-   * Joiner to use to concatenate the "from" and "to" allele fields.
+   * Constants.
    */
-  private static final Joiner MUTATION_JOINER = on(">");
+  public static final String SSM_TYPE = "ssm";
+  public static final String MASKED_SSM_TYPE = "mssm";
+  public static final String SGV_TYPE = "sgv";
 
-  @Override
-  public ObjectNode call(ObjectNode row) throws Exception {
-    val mutatedFromAllele = row.get(SUBMISSION_OBSERVATION_MUTATED_FROM_ALLELE).textValue();
-    val mutatedToAllele = row.get(SUBMISSION_OBSERVATION_MUTATED_TO_ALLELE).textValue();
-    val mutation = MUTATION_JOINER.join(mutatedFromAllele, mutatedToAllele);
+  private static final char SEPARATOR = ':';
+  private static final int RADIX = Character.MAX_RADIX;
 
-    row.put(NORMALIZER_MUTATION, mutation);
+  /**
+   * Configuration.
+   */
+  @NonNull
+  private final String projectName;
+  @NonNull
+  private final String type;
 
-    return row;
+  public String getId(long ordinal) {
+    return projectName + SEPARATOR + type + SEPARATOR + Long.toString(ordinal, RADIX);
   }
 
-}
\ No newline at end of file
+}
@@ -23,7 +23,6 @@ import static org.icgc.dcc.common.core.model.FieldNames.NormalizerFieldNames.NOR
 import static org.icgc.dcc.release.test.util.TestJsonNodes.$;
 
 import java.io.File;
-import java.util.UUID;
 
 import lombok.val;
 import lombok.extern.slf4j.Slf4j;
@@ -59,26 +58,21 @@ public class MaskJobTest extends AbstractJobTest {
     val result = produces(PROJECT_NAME, FileType.SSM_P_MASKED);
     log.debug("Results: {}", result);
     val controlledMutation = result.get(0);
-    val controlledObservationId = controlledMutation.get(NORMALIZER_OBSERVATION_ID).textValue();
     val expectedControlled =
         $("{reference_genome_allele:'G',control_genotype:'G/T',mutated_from_allele:'T',mutated_to_allele:"
             + "'A',tumour_genotype:'G/A',marking:'CONTROLLED',mutation:'T>A'}");
-    assertControlled(controlledMutation, expectedControlled);
+    assertControlled(controlledMutation, PROJECT_NAME + ":ssm:0", expectedControlled);
 
     val maskedMutation = result.get(1);
-    val maskedObservationId = maskedMutation.get(NORMALIZER_OBSERVATION_ID).textValue();
-    assertThat(maskedObservationId).isNotEqualTo(controlledObservationId);
-
     val expectedMasked =
         $("{reference_genome_allele:'G',control_genotype:null,mutated_from_allele:'G',mutated_to_allele:"
             + "'A',tumour_genotype:null,marking:'MASKED',mutation:'G>A'}");
-    assertControlled(maskedMutation, expectedMasked);
+    assertControlled(maskedMutation, PROJECT_NAME + ":mssm:0", expectedMasked);
   }
 
-  private static void assertControlled(ObjectNode mutation, ObjectNode expected) {
-    val controlledObservationId = mutation.remove(NORMALIZER_OBSERVATION_ID).textValue();
-    // Will throw exception if it's not UUID
-    UUID.fromString(controlledObservationId);
+  private static void assertControlled(ObjectNode mutation, String expectedObservationId, ObjectNode expected) {
+    val observationId = mutation.remove(NORMALIZER_OBSERVATION_ID).textValue();
+    assertThat(observationId).isEqualTo(expectedObservationId);
     assertThat(mutation).isEqualTo(expected);
   }
 
@@ -18,31 +18,41 @@
 package org.icgc.dcc.release.job.stage.core;
 
 import java.util.List;
+import java.util.Map;
 
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.val;
 import lombok.extern.slf4j.Slf4j;
 
-import org.apache.hadoop.fs.Path;
 import org.icgc.dcc.release.core.job.Job;
 import org.icgc.dcc.release.core.job.JobContext;
 import org.icgc.dcc.release.core.job.JobType;
+import org.icgc.dcc.release.core.submission.SubmissionFile;
+import org.icgc.dcc.release.core.submission.SubmissionFileManifest;
+import org.icgc.dcc.release.core.submission.SubmissionFileSchema;
 import org.icgc.dcc.release.core.submission.SubmissionFileSchemas;
 import org.icgc.dcc.release.core.task.Task;
+import org.icgc.dcc.release.core.task.TaskSpec;
 import org.icgc.dcc.release.job.stage.task.DeleteStageTask;
 import org.icgc.dcc.release.job.stage.task.StageFileSchemaProjectTask;
+import org.icgc.dcc.release.job.stage.task.StageProjectTask;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import com.google.common.collect.ImmutableList;
-import com.google.common.collect.Table;
+import com.google.common.collect.Maps;
 
 @Slf4j
 @Component
 @RequiredArgsConstructor(onConstructor = @__({ @Autowired }))
 public class StageJob implements Job {
 
+  /**
+   * Schema files of a project up to this total length are staged together in one job per project.
+   */
+  private static final long SMALL_FILES_MAX_LENGTH = 32L * 1024L * 1024L;
+
   /**
    * Metadata.
    */
@@ -60,6 +70,15 @@ public class StageJob implements Job {
     stage(jobContext);
   }
 
+  /**
+   * The staging tasks depend on the submission files found at execution, so none are declared up front. A plan
+   * resolves them from the submission files itself.
+   */
+  @Override
+  public List<TaskSpec> getTaskSpecs() {
+    return ImmutableList.of();
+  }
+
   private void clean(JobContext jobContext) {
     jobContext.execute(new DeleteStageTask());
   }
@@ -69,17 +88,25 @@ public class StageJob implements Job {
     jobContext.execute(stagingTasks);
   }
 
-  private List<Task> createStagingTasks(String stagingDir, Table<String, String, List<Path>> files) {
+  private List<Task> createStagingTasks(String stagingDir, SubmissionFileManifest files) {
     int taskCount = 0;
     val schemaProjectTasks = ImmutableList.<Task> builder();
+    val smallProjectFiles = Maps.<String, Map<SubmissionFileSchema, List<SubmissionFile>>> newTreeMap();
 
-    for (val schemaName : files.rowKeySet()) {
+    for (val schemaName : files.getSchemaNames()) {
       val schema = schemas.get(schemaName);
-      val schemaPaths = files.row(schemaName);
+      val schemaPaths = files.getSchemaFiles(schemaName);
 
       for (val entry : schemaPaths.entrySet()) {
         val projectName = entry.getKey();
         val schemaProjectPaths = entry.getValue();
+        if (isSmall(schemaProjectPaths)) {
+          // Staged together with the other small files of the project
+          val projectFiles = smallProjectFiles.computeIfAbsent(projectName, key -> Maps.newLinkedHashMap());
+          projectFiles.put(schema, schemaProjectPaths);
+          continue;
+        }
+
         val schemaProjectTask = new StageFileSchemaProjectTask(schema, projectName, schemaProjectPaths);
 
         log.info("[{}] Submitting task '{}'...", taskCount++, schemaProjectTask.getName());
@@ -87,7 +114,37 @@ public class StageJob implements Job {
       }
     }
 
+    for (val entry : smallProjectFiles.entrySet()) {
+      val projectName = entry.getKey();
+      val projectFiles = entry.getValue();
+      val projectTask = createProjectTask(projectName, projectFiles);
+
+      log.info("[{}] Submitting task '{}' for {} schemas...", taskCount++, projectTask.getName(), projectFiles.size());
+      schemaProjectTasks.add(projectTask);
+    }
+
     return schemaProjectTasks.build();
   }
 
+  private static Task createProjectTask(String projectName,
+      Map<SubmissionFileSchema, List<SubmissionFile>> projectFiles) {
+    if (projectFiles.size() == 1) {
+      // Nothing to combine
+      val entry = projectFiles.entrySet().iterator().next();
+
+      return new StageFileSchemaProjectTask(entry.getKey(), projectName, entry.getValue());
+    }
+
+    return new StageProjectTask(projectName, projectFiles);
+  }
+
+  private static boolean isSmall(List<SubmissionFile> schemaProjectFiles) {
+    long length = 0;
+    for (val file : schemaProjectFiles) {
+      length += file.getLength();
+    }
+
+    return length <= SMALL_FILES_MAX_LENGTH;
+  }
+
 }
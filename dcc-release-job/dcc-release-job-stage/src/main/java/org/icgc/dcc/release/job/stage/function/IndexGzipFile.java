@@ -15,31 +15,38 @@
  * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
  * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
  */
-package org.icgc.dcc.release.job.id.function;
+package org.icgc.dcc.release.job.stage.function;
 
+import java.net.URI;
+
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
 import lombok.val;
 
-import org.icgc.dcc.common.core.model.FieldNames.IdentifierFieldNames;
-import org.icgc.dcc.common.core.model.FieldNames.SubmissionFieldNames;
-import org.icgc.dcc.id.client.core.IdClientFactory;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.spark.api.java.function.VoidFunction;
+import org.icgc.dcc.release.job.stage.hadoop.GzipIndex;
 
-import com.fasterxml.jackson.databind.node.ObjectNode;
+/**
+ * Builds and caches the {@link GzipIndex} of a gzip file on an executor.
+ */
+@RequiredArgsConstructor
+public class IndexGzipFile implements VoidFunction<String> {
 
-public class AddSurrogateSampleId extends AddSurrogateId {
-
-  public AddSurrogateSampleId(IdClientFactory idClientFactory) {
-    super(idClientFactory);
-  }
+  /**
+   * Configuration.
+   */
+  @NonNull
+  private final URI fsUri;
 
   @Override
-  public ObjectNode call(ObjectNode row) throws Exception {
-    val submittedSampleId = row.get(SubmissionFieldNames.SUBMISSION_ANALYZED_SAMPLE_ID).textValue();
-    val submittedProjectId = getSubmittedProjectId(row);
-    val sampleId = client().createSampleId(submittedSampleId, submittedProjectId);
-
-    row.put(IdentifierFieldNames.SURROGATE_SAMPLE_ID, sampleId);
+  public void call(String path) throws Exception {
+    val fileSystem = FileSystem.get(fsUri, new Configuration());
+    val file = fileSystem.getFileStatus(new Path(path));
 
-    return row;
+    GzipIndex.buildIndex(fileSystem, file, GzipIndex.DEFAULT_SPAN);
   }
 
-}
\ No newline at end of file
+}
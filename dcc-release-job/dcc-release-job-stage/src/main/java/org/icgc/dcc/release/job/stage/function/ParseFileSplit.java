@@ -22,7 +22,6 @@ import static com.google.common.base.Preconditions.checkState;
 import java.util.Iterator;
 
 import lombok.NonNull;
-import lombok.RequiredArgsConstructor;
 import lombok.val;
 
 import org.apache.hadoop.fs.Path;
@@ -35,20 +34,23 @@ import org.apache.spark.api.java.function.Function2;
 import org.icgc.dcc.release.core.submission.SubmissionFileSchema;
 import org.icgc.dcc.release.core.submission.SubmissionFiles;
 import org.icgc.dcc.release.job.stage.util.ParseFileSplitIterator;
+import org.icgc.dcc.release.job.stage.util.RowTransformer;
 
 import scala.Tuple2;
 
 import com.fasterxml.jackson.databind.node.ObjectNode;
 
-@RequiredArgsConstructor
 public class ParseFileSplit implements
     Function2<InputSplit, Iterator<Tuple2<LongWritable, Text>>, Iterator<ObjectNode>> {
 
   /**
    * Metadata.
    */
-  @NonNull
-  private final SubmissionFileSchema schema;
+  private final RowTransformer transformer;
+
+  public ParseFileSplit(@NonNull SubmissionFileSchema schema) {
+    this.transformer = new RowTransformer(schema);
+  }
 
   @Override
   public Iterator<ObjectNode> call(InputSplit split, Iterator<Tuple2<LongWritable, Text>> iterator) throws Exception {
@@ -56,10 +58,9 @@ public class ParseFileSplit implements
     val projectPath = SubmissionFiles.getProjectPath(projectFilePath);
     val projectName = SubmissionFiles.getProjectName(projectPath);
     val projectSplitName = split.toString();
-    val projectFileFields = schema.getFields();
 
     // Lazy iterator
-    return new ParseFileSplitIterator(iterator, projectFileFields, projectSplitName, split.getLength(), projectName);
+    return new ParseFileSplitIterator(iterator, transformer, projectSplitName, split.getLength(), projectName);
   }
 
   public static Path getFilePath(InputSplit split) {
@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2015 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.release.job.stage.function;
+
+import static com.google.common.base.Preconditions.checkState;
+import static org.icgc.dcc.common.core.util.Joiners.PATH;
+import static org.icgc.dcc.release.job.stage.function.ParseFileSplit.getFilePath;
+
+import java.util.Iterator;
+import java.util.Map;
+
+import lombok.NonNull;
+import lombok.val;
+
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.LongWritable;
+import org.apache.hadoop.io.Text;
+import org.apache.hadoop.mapred.InputSplit;
+import org.apache.spark.api.java.function.Function2;
+import org.icgc.dcc.release.core.job.FileType;
+import org.icgc.dcc.release.core.submission.SubmissionFileSchema;
+import org.icgc.dcc.release.core.util.Partitions;
+import org.icgc.dcc.release.core.util.Tuples;
+import org.icgc.dcc.release.job.stage.util.ParseFileSplitIterator;
+import org.icgc.dcc.release.job.stage.util.RowTransformer;
+
+import scala.Tuple2;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Iterators;
+import com.google.common.collect.Maps;
+
+/**
+ * Parses input splits of files of different schemas of a single project. Each row is keyed by the relative partition
+ * directory of its schema (e.g. {@code donor/project_name=PROJ-01}).
+ */
+public class ParseProjectFileSplit implements
+    Function2<InputSplit, Iterator<Tuple2<LongWritable, Text>>, Iterator<Tuple2<String, ObjectNode>>> {
+
+  /**
+   * Metadata.
+   */
+  private final String projectName;
+  private final Map<String, String> fileSchemaNames;
+  private final Map<String, RowTransformer> transformers;
+
+  /**
+   * @param fileSchemas schemas by input file
+   */
+  public ParseProjectFileSplit(@NonNull String projectName, @NonNull Map<Path, SubmissionFileSchema> fileSchemas) {
+    this.projectName = projectName;
+
+    val fileSchemaNames = ImmutableMap.<String, String> builder();
+    val transformers = Maps.<String, RowTransformer> newHashMap();
+    for (val entry : fileSchemas.entrySet()) {
+      val schema = entry.getValue();
+      fileSchemaNames.put(getFileName(entry.getKey()), schema.getName());
+
+      if (!transformers.containsKey(schema.getName())) {
+        transformers.put(schema.getName(), new RowTransformer(schema));
+      }
+    }
+
+    this.fileSchemaNames = fileSchemaNames.build();
+    this.transformers = transformers;
+  }
+
+  @Override
+  public Iterator<Tuple2<String, ObjectNode>> call(InputSplit split, Iterator<Tuple2<LongWritable, Text>> iterator)
+      throws Exception {
+    val fileName = getFileName(getFilePath(split));
+    val schemaName = fileSchemaNames.get(fileName);
+    checkState(schemaName != null, "No schema for input file '%s' of project '%s'", fileName, projectName);
+
+    val transformer = transformers.get(schemaName);
+    val partitionDir = getPartitionDir(schemaName);
+
+    // Lazy iterator
+    val rows = new ParseFileSplitIterator(iterator, transformer, split.toString(), split.getLength(), projectName);
+
+    return Iterators.transform(rows, row -> Tuples.tuple(partitionDir, row));
+  }
+
+  private String getPartitionDir(String schemaName) {
+    val fileType = FileType.valueOf(schemaName.toUpperCase());
+
+    return PATH.join(fileType.getDirName(), Partitions.getPartitionName(projectName));
+  }
+
+  /**
+   * Input splits carry fully qualified paths, so only the file names are compared. They are unique within a project.
+   */
+  private static String getFileName(Path path) {
+    return path.getName();
+  }
+
+}
@@ -0,0 +1,275 @@
+/*
+ * Copyright (c) 2015 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.release.job.stage.hadoop;
+
+import static com.google.common.base.Preconditions.checkState;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.EOFException;
+import java.io.IOException;
+import java.util.List;
+import java.util.zip.InflaterInputStream;
+import java.util.zip.ZipException;
+
+import lombok.Cleanup;
+import lombok.NonNull;
+import lombok.Value;
+import lombok.val;
+import lombok.extern.slf4j.Slf4j;
+
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+
+import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableList;
+import com.google.common.io.ByteStreams;
+
+/**
+ * Access points of a (possibly concatenated) gzip file, from which decompression may start: the headers of its
+ * members, and deflate blocks within them together with the window of bytes decompressed before them (like
+ * {@code zran.c} of zlib). This splits single member gzip files as well as multi-member ones (e.g. {@code bgzip}).
+ * <p>
+ * Building an index inflates the whole file once. The index is cached beside the indexed file and reused as long as
+ * the length and modification time of the file are unchanged. Files which can't be indexed (e.g. corrupt ones) are
+ * cached as such, so they are not inflated again.
+ */
+@Slf4j
+@Value
+public class GzipIndex {
+
+  /**
+   * Constants.
+   */
+  public static final long DEFAULT_SPAN = 16L * 1024 * 1024;
+  private static final String INDEX_FILE_PREFIX = ".";
+  private static final String INDEX_FILE_SUFFIX = ".gzidx";
+  private static final String TEMP_FILE_SUFFIX = ".tmp";
+  private static final int VERSION = 2;
+
+  long fileLength;
+  long modificationTime;
+  long uncompressedLength;
+
+  /**
+   * {@code false} if the file could not be indexed and is read by a single task.
+   */
+  boolean indexable;
+  List<AccessPoint> points;
+
+  public boolean isCurrent(@NonNull FileStatus file) {
+    return fileLength == file.getLen() && modificationTime == file.getModificationTime();
+  }
+
+  /**
+   * @return the cached index of {@code file}, or absent if there is no current one
+   */
+  public static Optional<GzipIndex> readIndex(@NonNull FileSystem fileSystem, @NonNull FileStatus file) {
+    val indexPath = getIndexPath(file.getPath());
+    try {
+      if (!fileSystem.exists(indexPath)) {
+        return Optional.absent();
+      }
+
+      val index = read(fileSystem, indexPath);
+      return index.isCurrent(file) ? Optional.of(index) : Optional.absent();
+    } catch (Exception e) {
+      log.warn("Ignoring unreadable gzip index '{}': {}", indexPath, e.getMessage());
+      return Optional.absent();
+    }
+  }
+
+  /**
+   * Builds the index of {@code file} with an access point about every {@code span} compressed bytes, and caches it.
+   * Nothing is built if the index can't be cached (e.g. a read-only submission directory).
+   */
+  public static void buildIndex(@NonNull FileSystem fileSystem, @NonNull FileStatus file, long span)
+      throws IOException {
+    val indexPath = getIndexPath(file.getPath());
+    val tempPath = new Path(indexPath.getParent(), indexPath.getName() + TEMP_FILE_SUFFIX);
+    if (!isWritable(fileSystem, tempPath)) {
+      log.warn("Not indexing '{}' since its index '{}' can't be cached", file.getPath(), indexPath);
+      return;
+    }
+
+    log.info("Indexing gzip file '{}'...", file.getPath());
+    try {
+      val index = GzipIndexBuilder.build(fileSystem, file, span, tempPath);
+      log.info("Indexed {} access point(s) of '{}'", index.getPoints().size(), file.getPath());
+    } catch (ZipException | EOFException e) {
+      log.warn("Could not index '{}', reading it in a single task: {}", file.getPath(), e.getMessage());
+      writeUnindexable(fileSystem, tempPath, file);
+    }
+
+    // Readers never see a partially written index
+    fileSystem.delete(indexPath, false);
+    if (!fileSystem.rename(tempPath, indexPath)) {
+      log.warn("Could not cache gzip index '{}'", indexPath);
+      fileSystem.delete(tempPath, false);
+    }
+  }
+
+  /**
+   * @return the bytes decompressed before {@code point}, stored in the index of {@code path}
+   */
+  public static byte[] readWindow(@NonNull FileSystem fileSystem, @NonNull Path path, @NonNull AccessPoint point)
+      throws IOException {
+    if (point.getWindowSize() == 0) {
+      return new byte[0];
+    }
+
+    val compressed = new byte[point.getWindowLength()];
+    @Cleanup
+    val input = fileSystem.open(getIndexPath(path));
+    input.readFully(point.getWindowOffset(), compressed);
+
+    val window = ByteStreams.toByteArray(new InflaterInputStream(new ByteArrayInputStream(compressed)));
+    checkState(window.length == point.getWindowSize(), "Corrupt window of gzip access point %s of '%s'", point, path);
+
+    return window;
+  }
+
+  public static Path getIndexPath(@NonNull Path path) {
+    return new Path(path.getParent(), INDEX_FILE_PREFIX + path.getName() + INDEX_FILE_SUFFIX);
+  }
+
+  /**
+   * Index files start with the version, followed by the compressed windows, this table, and the offset of this table.
+   * Split planning only reads the table.
+   */
+  void write(@NonNull DataOutput output) throws IOException {
+    output.writeLong(fileLength);
+    output.writeLong(modificationTime);
+    output.writeLong(uncompressedLength);
+    output.writeBoolean(indexable);
+    output.writeInt(points.size());
+    for (val point : points) {
+      point.write(output);
+    }
+  }
+
+  static void writeVersion(@NonNull DataOutput output) throws IOException {
+    output.writeInt(VERSION);
+  }
+
+  private static GzipIndex read(FileSystem fileSystem, Path indexPath) throws IOException {
+    val length = fileSystem.getFileStatus(indexPath).getLen();
+
+    @Cleanup
+    val input = fileSystem.open(indexPath);
+    val version = input.readInt();
+    checkState(version == VERSION, "Unsupported gzip index version %s", version);
+
+    input.seek(length - Long.BYTES);
+    input.seek(input.readLong());
+
+    val fileLength = input.readLong();
+    val modificationTime = input.readLong();
+    val uncompressedLength = input.readLong();
+    val indexable = input.readBoolean();
+    val count = input.readInt();
+    val points = ImmutableList.<AccessPoint> builder();
+    for (int i = 0; i < count; i++) {
+      points.add(AccessPoint.read(input));
+    }
+
+    return new GzipIndex(fileLength, modificationTime, uncompressedLength, indexable, points.build());
+  }
+
+  private static void writeUnindexable(FileSystem fileSystem, Path path, FileStatus file) throws IOException {
+    val index = new GzipIndex(file.getLen(), file.getModificationTime(), 0L, false, ImmutableList.of());
+
+    @Cleanup
+    val output = fileSystem.create(path, true);
+    writeVersion(output);
+    val tableOffset = output.getPos();
+    index.write(output);
+    output.writeLong(tableOffset);
+  }
+
+  private static boolean isWritable(FileSystem fileSystem, Path path) {
+    try {
+      fileSystem.create(path, true).close();
+      return true;
+    } catch (IOException e) {
+      log.debug("Could not create '{}': {}", path, e.getMessage());
+      return false;
+    }
+  }
+
+  @Value
+  public static class AccessPoint {
+
+    /**
+     * The start of the file.
+     */
+    public static final AccessPoint START = new AccessPoint(0L, 0, 0L, true, true, 0L, 0, 0);
+
+    /**
+     * Offset of the compressed byte holding the first bit of the member header or deflate block.
+     */
+    long offset;
+
+    /**
+     * Number of bits of the byte at {@link #offset} before the deflate block. Always 0 at a member header.
+     */
+    int bits;
+
+    /**
+     * Offset of the first decompressed byte after the access point.
+     */
+    long uncompressedOffset;
+
+    /**
+     * {@code true} at a member header, where decompression needs no window.
+     */
+    boolean header;
+
+    /**
+     * {@code true} if a line starts at the access point, i.e. the previous byte is a line feed.
+     */
+    boolean lineStart;
+
+    /**
+     * Offset and length of the compressed window in the index file, and its decompressed size.
+     */
+    long windowOffset;
+    int windowLength;
+    int windowSize;
+
+    public void write(@NonNull DataOutput output) throws IOException {
+      output.writeLong(offset);
+      output.writeByte(bits);
+      output.writeLong(uncompressedOffset);
+      output.writeBoolean(header);
+      output.writeBoolean(lineStart);
+      output.writeLong(windowOffset);
+      output.writeInt(windowLength);
+      output.writeInt(windowSize);
+    }
+
+    public static AccessPoint read(@NonNull DataInput input) throws IOException {
+      return new AccessPoint(input.readLong(), input.readByte(), input.readLong(), input.readBoolean(),
+          input.readBoolean(), input.readLong(), input.readInt(), input.readInt());
+    }
+
+  }
+
+}
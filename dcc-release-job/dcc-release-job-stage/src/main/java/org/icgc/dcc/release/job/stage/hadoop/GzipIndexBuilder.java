@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2015 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.release.job.stage.hadoop;
+
+import static lombok.AccessLevel.PRIVATE;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.zip.DeflaterOutputStream;
+
+import lombok.Cleanup;
+import lombok.NoArgsConstructor;
+import lombok.RequiredArgsConstructor;
+import lombok.val;
+
+import org.apache.hadoop.fs.FSDataOutputStream;
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.icgc.dcc.release.job.stage.hadoop.GzipIndex.AccessPoint;
+import org.icgc.dcc.release.job.stage.hadoop.GzipInflater.AccessPointListener;
+
+import com.google.common.collect.ImmutableList;
+
+/**
+ * Builds a {@link GzipIndex} by inflating a gzip file once, keeping an access point about every {@code span}
+ * compressed bytes. The windows of the access points are compressed and written as they are found, so only the
+ * table of access points is kept in memory.
+ */
+@NoArgsConstructor(access = PRIVATE)
+final class GzipIndexBuilder {
+
+  /**
+   * Constants.
+   */
+  private static final int BUFFER_SIZE = 64 * 1024;
+
+  /**
+   * Writes the index of {@code file} to {@code path}.
+   */
+  static GzipIndex build(FileSystem fileSystem, FileStatus file, long span, Path path) throws IOException {
+    @Cleanup
+    val input = fileSystem.open(file.getPath());
+    @Cleanup
+    val output = fileSystem.create(path, true);
+    GzipIndex.writeVersion(output);
+
+    val listener = new Listener(output, span);
+    val inflater = new GzipInflater(input, AccessPoint.START, new byte[0]);
+    inflater.setListener(listener);
+
+    val buffer = new byte[BUFFER_SIZE];
+    while (inflater.read(buffer) >= 0) {
+      // Access points are collected by the listener
+    }
+
+    val index = new GzipIndex(file.getLen(), file.getModificationTime(), inflater.getUncompressedOffset(), true,
+        listener.points.build());
+
+    val tableOffset = output.getPos();
+    index.write(output);
+    output.writeLong(tableOffset);
+
+    return index;
+  }
+
+  @RequiredArgsConstructor
+  private static class Listener implements AccessPointListener {
+
+    private final FSDataOutputStream output;
+    private final long span;
+    private final ImmutableList.Builder<AccessPoint> points = ImmutableList.builder();
+    private long lastOffset = -1L;
+
+    @Override
+    public void onAccessPoint(GzipInflater inflater, long bitOffset, boolean header) throws IOException {
+      val offset = bitOffset >>> 3;
+      if (lastOffset >= 0 && offset - lastOffset < span) {
+        return;
+      }
+
+      // A member never refers to the bytes before its header
+      val window = header ? new byte[0] : inflater.getWindow();
+      val windowOffset = output.getPos();
+      val compressed = compress(window);
+      output.write(compressed);
+
+      points.add(new AccessPoint(offset, (int) (bitOffset & 7), inflater.getUncompressedOffset(), header,
+          inflater.isLineStart(), windowOffset, compressed.length, window.length));
+      lastOffset = offset;
+    }
+
+    private static byte[] compress(byte[] window) throws IOException {
+      if (window.length == 0) {
+        return window;
+      }
+
+      val result = new ByteArrayOutputStream();
+      val deflater = new DeflaterOutputStream(result);
+      deflater.write(window);
+      deflater.close();
+
+      return result.toByteArray();
+    }
+
+  }
+
+}
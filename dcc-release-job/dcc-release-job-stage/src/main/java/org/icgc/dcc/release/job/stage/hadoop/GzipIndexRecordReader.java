@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2015 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.release.job.stage.hadoop;
+
+import static java.lang.Math.min;
+
+import java.io.IOException;
+
+import lombok.val;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.io.LongWritable;
+import org.apache.hadoop.io.Text;
+import org.apache.hadoop.mapred.RecordReader;
+import org.apache.hadoop.util.LineReader;
+
+/**
+ * Reads the lines of a {@link GzipIndexSplit}. Decompression starts at the access point of the split and continues
+ * past its end to complete the last line. Keys are decompressed line offsets.
+ */
+public class GzipIndexRecordReader implements RecordReader<LongWritable, Text> {
+
+  /**
+   * State.
+   */
+  private final LineReader in;
+  private final long start;
+  private final long end;
+  private long pos;
+
+  public GzipIndexRecordReader(GzipIndexSplit split, Configuration conf) throws IOException {
+    val path = split.getPath();
+    val fileSystem = path.getFileSystem(conf);
+    val point = split.getPoint();
+    val window = GzipIndex.readWindow(fileSystem, path, point);
+
+    val fileIn = fileSystem.open(path);
+    fileIn.seek(point.getOffset());
+
+    // Continues with the next members at the end of each member
+    this.in = new LineReader(new GzipInflater(fileIn, point, window), conf);
+    this.start = point.getUncompressedOffset();
+    this.end = split.getUncompressedEnd();
+    this.pos = start;
+
+    if (split.isSkipFirstLine()) {
+      pos += in.readLine(new Text(), 0, Integer.MAX_VALUE);
+    }
+  }
+
+  @Override
+  public boolean next(LongWritable key, Text value) throws IOException {
+    if (pos >= end) {
+      return false;
+    }
+
+    key.set(pos);
+    val size = in.readLine(value);
+    if (size == 0) {
+      return false;
+    }
+
+    pos += size;
+    return true;
+  }
+
+  @Override
+  public LongWritable createKey() {
+    return new LongWritable();
+  }
+
+  @Override
+  public Text createValue() {
+    return new Text();
+  }
+
+  @Override
+  public long getPos() throws IOException {
+    return pos;
+  }
+
+  @Override
+  public float getProgress() throws IOException {
+    if (start == end) {
+      return 0.0f;
+    }
+
+    return min(1.0f, (pos - start) / (float) (end - start));
+  }
+
+  @Override
+  public void close() throws IOException {
+    in.close();
+  }
+
+}
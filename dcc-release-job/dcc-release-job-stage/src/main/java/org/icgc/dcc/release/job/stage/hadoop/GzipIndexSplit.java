@@ -15,63 +15,69 @@
  * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
  * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
  */
-package org.icgc.dcc.release.job.stage.function;
+package org.icgc.dcc.release.job.stage.hadoop;
 
-import static java.lang.Double.parseDouble;
-import static java.lang.Long.parseLong;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 
-import java.io.Serializable;
-import java.util.Map;
+import lombok.Getter;
 
-import lombok.NonNull;
-import lombok.RequiredArgsConstructor;
-import lombok.val;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.mapred.FileSplit;
+import org.icgc.dcc.release.job.stage.hadoop.GzipIndex.AccessPoint;
 
-import org.apache.spark.api.java.function.Function;
-import org.icgc.dcc.common.core.model.ValueType;
-import org.icgc.dcc.release.core.submission.SubmissionFileSchema;
+/**
+ * Split of a gzip file between two access points of its {@link GzipIndex}. {@link #getStart()} and
+ * {@link #getLength()} are in compressed bytes, the line range is in decompressed bytes.
+ */
+@Getter
+public class GzipIndexSplit extends FileSplit {
 
-import com.fasterxml.jackson.databind.node.ObjectNode;
-import com.google.common.collect.Maps;
+  /**
+   * Access point decompression starts at.
+   */
+  private AccessPoint point;
 
-@RequiredArgsConstructor
-public class ConvertValueType implements Function<ObjectNode, ObjectNode>, Serializable {
+  /**
+   * Decompressed offset after the last byte of the split. Lines starting before it belong to the split.
+   */
+  private long uncompressedEnd;
 
-  @NonNull
-  private final Map<String, ValueType> fieldTypes = Maps.newHashMap();
+  public GzipIndexSplit() {
+    // Deserialization
+  }
 
-  public ConvertValueType(@NonNull SubmissionFileSchema schema) {
-    for (val field : schema.getFields()) {
-      fieldTypes.put(field.getName(), field.getType());
-    }
+  public GzipIndexSplit(Path file, long length, String[] hosts, AccessPoint point, long uncompressedEnd) {
+    super(file, point.getOffset(), length, hosts);
+    this.point = point;
+    this.uncompressedEnd = uncompressedEnd;
   }
 
-  @Override
-  public ObjectNode call(ObjectNode row) throws Exception {
-    for (val entry : fieldTypes.entrySet()) {
-      val fieldName = entry.getKey();
-      val fieldType = entry.getValue();
+  /**
+   * @return {@code true} if the split starts in the middle of a line which belongs to the previous split
+   */
+  public boolean isSkipFirstLine() {
+    return !point.isLineStart();
+  }
 
-      val value = row.path(fieldName).textValue();
-      if (value == null) {
-        continue;
-      }
+  @Override
+  public void write(DataOutput out) throws IOException {
+    super.write(out);
+    point.write(out);
+    out.writeLong(uncompressedEnd);
+  }
 
-      try {
-        if (fieldType == ValueType.DECIMAL) {
-          row.put(fieldName, parseDouble(value));
-        } else if (fieldType == ValueType.INTEGER) {
-          row.put(fieldName, parseLong(value));
-        } else {
-          row.put(fieldName, value);
-        }
-      } catch (Exception e) {
-        throw new IllegalArgumentException("Could not convert value " + "'" + value + "' in field " + fieldName
-            + "' with type " + fieldType, e);
-      }
-    }
+  @Override
+  public void readFields(DataInput in) throws IOException {
+    super.readFields(in);
+    point = AccessPoint.read(in);
+    uncompressedEnd = in.readLong();
+  }
 
-    return row;
+  @Override
+  public String toString() {
+    return super.toString() + "[" + point.getUncompressedOffset() + "," + uncompressedEnd + ")";
   }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,704 @@
+/*
+ * Copyright (c) 2015 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.release.job.stage.hadoop;
+
+import static java.lang.Math.min;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+import java.util.zip.ZipException;
+
+import lombok.Setter;
+import lombok.SneakyThrows;
+import lombok.val;
+
+import org.icgc.dcc.release.job.stage.hadoop.GzipIndex.AccessPoint;
+
+/**
+ * Decompresses a (possibly concatenated) gzip stream (RFC 1951 / 1952). Unlike {@link java.util.zip.Inflater} it can
+ * start at any deflate block given the {@link #WINDOW_SIZE} bytes decompressed before it, and reports the block and
+ * member boundaries it passes, so the stream can be indexed and read from the middle.
+ * <p>
+ * Trailing garbage after the last member is ignored, same as {@link java.util.zip.GZIPInputStream}. Checksums are
+ * only verified for members which are read from their header.
+ */
+final class GzipInflater extends InputStream {
+
+  /**
+   * Constants.
+   */
+  static final int WINDOW_SIZE = 32 * 1024;
+  private static final int WINDOW_MASK = WINDOW_SIZE - 1;
+  private static final int BUFFER_SIZE = 64 * 1024;
+
+  private static final int ID1 = 0x1f;
+  private static final int ID2 = 0x8b;
+  private static final int CM_DEFLATE = 8;
+  private static final int FHCRC = 2;
+  private static final int FEXTRA = 4;
+  private static final int FNAME = 8;
+  private static final int FCOMMENT = 16;
+  private static final int FRESERVED = 0xe0;
+
+  private static final int END_OF_BLOCK = 256;
+  private static final int[] LENGTH_BASE = {
+      3, 4, 5, 6, 7, 8, 9, 10, 11, 13, 15, 17, 19, 23, 27, 31, 35, 43, 51, 59, 67, 83, 99, 115, 131, 163, 195, 227,
+      258 };
+  private static final int[] LENGTH_EXTRA = {
+      0, 0, 0, 0, 0, 0, 0, 0, 1, 1, 1, 1, 2, 2, 2, 2, 3, 3, 3, 3, 4, 4, 4, 4, 5, 5, 5, 5, 0 };
+  private static final int[] DISTANCE_BASE = {
+      1, 2, 3, 4, 5, 7, 9, 13, 17, 25, 33, 49, 65, 97, 129, 193, 257, 385, 513, 769, 1025, 1537, 2049, 3073, 4097,
+      6145, 8193, 12289, 16385, 24577 };
+  private static final int[] DISTANCE_EXTRA = {
+      0, 0, 0, 0, 1, 1, 2, 2, 3, 3, 4, 4, 5, 5, 6, 6, 7, 7, 8, 8, 9, 9, 10, 10, 11, 11, 12, 12, 13, 13 };
+  private static final int[] CODE_LENGTH_ORDER = {
+      16, 17, 18, 0, 8, 7, 9, 6, 10, 5, 11, 4, 12, 3, 13, 2, 14, 1, 15 };
+
+  private static final Huffman FIXED_LITERALS = createFixedLiterals();
+  private static final Huffman FIXED_DISTANCES = createFixedDistances();
+
+  /**
+   * Notified at every access point the stream passes.
+   */
+  interface AccessPointListener {
+
+    /**
+     * @param bitOffset offset of the deflate block or member header in the compressed stream, in bits
+     * @param header {@code true} at the header of a member, {@code false} at a deflate block
+     */
+    void onAccessPoint(GzipInflater inflater, long bitOffset, boolean header) throws IOException;
+
+  }
+
+  private enum State {
+    MEMBER_HEADER, BLOCK_HEADER, STORED, HUFFMAN, TRAILER, END
+  }
+
+  /**
+   * Input.
+   */
+  private final InputStream input;
+  private final byte[] buffer = new byte[BUFFER_SIZE];
+
+  /**
+   * Absolute offset of {@code buffer[0]}.
+   */
+  private long bufferOffset;
+  private int position;
+  private int limit;
+
+  /**
+   * Unconsumed input bits, least significant first.
+   */
+  private long bitBuffer;
+  private int bitCount;
+
+  /**
+   * Last {@link #WINDOW_SIZE} decompressed bytes, of which the last {@code windowFill} are valid.
+   */
+  private final byte[] window = new byte[WINDOW_SIZE];
+  private int windowPosition;
+  private int windowFill;
+
+  /**
+   * Decompression state.
+   */
+  private State state;
+  private boolean lastBlock;
+  private int storedRemaining;
+  private final Huffman literals = new Huffman(286);
+  private final Huffman distances = new Huffman(30);
+  private Huffman literalCode;
+  private Huffman distanceCode;
+  private int matchLength;
+  private int matchDistance;
+
+  /**
+   * Decompressed so far, including everything before the access point the stream started at.
+   */
+  private long uncompressed;
+  private boolean lineStart;
+  private long memberStart;
+  private boolean verify;
+  private boolean member;
+  private final CRC32 crc = new CRC32();
+
+  @Setter
+  private AccessPointListener listener;
+
+  /**
+   * @param input compressed stream, positioned at the offset of {@code point}
+   * @param window bytes decompressed before {@code point}, ignored at a member header
+   */
+  GzipInflater(InputStream input, AccessPoint point, byte[] window) throws IOException {
+    this.input = input;
+    this.bufferOffset = point.getOffset();
+    this.uncompressed = point.getUncompressedOffset();
+    this.lineStart = point.isLineStart();
+
+    if (point.isHeader()) {
+      this.state = State.MEMBER_HEADER;
+    } else {
+      bits(point.getBits());
+      for (val value : window) {
+        this.window[windowPosition] = value;
+        windowPosition = (windowPosition + 1) & WINDOW_MASK;
+      }
+
+      this.windowFill = min(window.length, WINDOW_SIZE);
+      this.member = true;
+      this.state = State.BLOCK_HEADER;
+    }
+  }
+
+  /**
+   * @return absolute offset of the next decompressed byte
+   */
+  long getUncompressedOffset() {
+    return uncompressed;
+  }
+
+  /**
+   * @return {@code true} if a line starts at the next decompressed byte
+   */
+  boolean isLineStart() {
+    return lineStart;
+  }
+
+  /**
+   * @return copy of the bytes a deflate block starting at the current position may refer to
+   */
+  byte[] getWindow() {
+    val result = new byte[windowFill];
+    val start = windowPosition - windowFill;
+    for (int i = 0; i < windowFill; i++) {
+      result[i] = window[(start + i) & WINDOW_MASK];
+    }
+
+    return result;
+  }
+
+  @Override
+  public int read() throws IOException {
+    val value = new byte[1];
+    return read(value, 0, 1) < 0 ? -1 : value[0] & 0xff;
+  }
+
+  @Override
+  public int read(byte[] output, int offset, int length) throws IOException {
+    if (length == 0) {
+      return 0;
+    }
+
+    while (true) {
+      int count = 0;
+      switch (state) {
+      case MEMBER_HEADER:
+        state = readMemberHeader() ? State.BLOCK_HEADER : State.END;
+        break;
+      case BLOCK_HEADER:
+        readBlockHeader();
+        break;
+      case STORED:
+        count = inflateStored(output, offset, length);
+        break;
+      case HUFFMAN:
+        count = inflateHuffman(output, offset, length);
+        break;
+      case TRAILER:
+        readTrailer();
+        state = State.MEMBER_HEADER;
+        break;
+      default:
+        return -1;
+      }
+
+      if (count > 0) {
+        return update(output, offset, count);
+      }
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    input.close();
+  }
+
+  private boolean readMemberHeader() throws IOException {
+    val headerOffset = getBitOffset();
+    val id1 = readAlignedByte();
+    val id2 = id1 < 0 ? -1 : readAlignedByte();
+    if (id1 != ID1 || id2 != ID2) {
+      if (!member) {
+        throw new ZipException("Not in gzip format");
+      }
+
+      return false;
+    }
+
+    if (readRequiredByte() != CM_DEFLATE) {
+      throw new ZipException("Unsupported gzip compression method");
+    }
+
+    val flags = readRequiredByte();
+    if ((flags & FRESERVED) != 0) {
+      throw new ZipException("Unsupported gzip flags");
+    }
+
+    // MTIME, XFL, OS
+    skipBytes(6);
+
+    if ((flags & FEXTRA) != 0) {
+      skipBytes(readRequiredByte() | readRequiredByte() << 8);
+    }
+    if ((flags & FNAME) != 0) {
+      skipString();
+    }
+    if ((flags & FCOMMENT) != 0) {
+      skipString();
+    }
+    if ((flags & FHCRC) != 0) {
+      skipBytes(2);
+    }
+
+    member = true;
+    verify = true;
+    memberStart = uncompressed;
+    windowFill = 0;
+    crc.reset();
+
+    if (listener != null) {
+      listener.onAccessPoint(this, headerOffset, true);
+    }
+
+    return true;
+  }
+
+  private void readBlockHeader() throws IOException {
+    if (listener != null) {
+      listener.onAccessPoint(this, getBitOffset(), false);
+    }
+
+    lastBlock = bits(1) == 1;
+    val type = bits(2);
+    switch (type) {
+    case 0:
+      align();
+      int length = bits(16);
+      if ((bits(16) ^ 0xffff) != length) {
+        throw new ZipException("Invalid stored block length");
+      }
+
+      storedRemaining = length;
+      state = State.STORED;
+      break;
+    case 1:
+      literalCode = FIXED_LITERALS;
+      distanceCode = FIXED_DISTANCES;
+      state = State.HUFFMAN;
+      break;
+    case 2:
+      readDynamicCodes();
+      literalCode = literals;
+      distanceCode = distances;
+      state = State.HUFFMAN;
+      break;
+    default:
+      throw new ZipException("Invalid deflate block type");
+    }
+  }
+
+  private void readDynamicCodes() throws IOException {
+    val literalCount = bits(5) + 257;
+    val distanceCount = bits(5) + 1;
+    val codeLengthCount = bits(4) + 4;
+    if (literalCount > 286 || distanceCount > 30) {
+      throw new ZipException("Invalid dynamic code counts");
+    }
+
+    val lengths = new int[literalCount + distanceCount];
+    val codeLengths = new int[CODE_LENGTH_ORDER.length];
+    for (int i = 0; i < codeLengthCount; i++) {
+      codeLengths[CODE_LENGTH_ORDER[i]] = bits(3);
+    }
+
+    val codeLengthCode = new Huffman(codeLengths.length);
+    codeLengthCode.build(codeLengths, 0, codeLengths.length);
+
+    int index = 0;
+    while (index < lengths.length) {
+      val symbol = decode(codeLengthCode);
+      if (symbol < 16) {
+        lengths[index++] = symbol;
+        continue;
+      }
+
+      int length = 0;
+      int repeat;
+      if (symbol == 16) {
+        if (index == 0) {
+          throw new ZipException("Invalid repeat of missing code length");
+        }
+
+        length = lengths[index - 1];
+        repeat = 3 + bits(2);
+      } else if (symbol == 17) {
+        repeat = 3 + bits(3);
+      } else {
+        repeat = 11 + bits(7);
+      }
+
+      if (index + repeat > lengths.length) {
+        throw new ZipException("Too many code lengths");
+      }
+
+      Arrays.fill(lengths, index, index + repeat, length);
+      index += repeat;
+    }
+
+    if (lengths[END_OF_BLOCK] == 0) {
+      throw new ZipException("Missing end of block code");
+    }
+
+    literals.build(lengths, 0, literalCount);
+    distances.build(lengths, literalCount, distanceCount);
+  }
+
+  private int inflateStored(byte[] output, int offset, int length) throws IOException {
+    val count = min(storedRemaining, length);
+    for (int i = 0; i < count; i++) {
+      output[offset + i] = put((byte) readRequiredByte());
+    }
+
+    storedRemaining -= count;
+    if (storedRemaining == 0) {
+      endBlock();
+    }
+
+    return count;
+  }
+
+  private int inflateHuffman(byte[] output, int offset, int length) throws IOException {
+    int count = 0;
+    while (count < length) {
+      if (matchLength > 0) {
+        val copy = min(matchLength, length - count);
+        for (int i = 0; i < copy; i++) {
+          output[offset + count++] = put(window[(windowPosition - matchDistance) & WINDOW_MASK]);
+        }
+
+        matchLength -= copy;
+        continue;
+      }
+
+      val symbol = decode(literalCode);
+      if (symbol < END_OF_BLOCK) {
+        output[offset + count++] = put((byte) symbol);
+      } else if (symbol == END_OF_BLOCK) {
+        endBlock();
+        break;
+      } else {
+        val lengthSymbol = symbol - 257;
+        if (lengthSymbol >= LENGTH_BASE.length) {
+          throw new ZipException("Invalid length code");
+        }
+
+        matchLength = LENGTH_BASE[lengthSymbol] + bits(LENGTH_EXTRA[lengthSymbol]);
+
+        val distanceSymbol = decode(distanceCode);
+        if (distanceSymbol >= DISTANCE_BASE.length) {
+          throw new ZipException("Invalid distance code");
+        }
+
+        matchDistance = DISTANCE_BASE[distanceSymbol] + bits(DISTANCE_EXTRA[distanceSymbol]);
+        if (matchDistance > min(windowFill + count, WINDOW_SIZE)) {
+          throw new ZipException("Invalid distance too far back");
+        }
+      }
+    }
+
+    return count;
+  }
+
+  private void endBlock() {
+    state = lastBlock ? State.TRAILER : State.BLOCK_HEADER;
+  }
+
+  private void readTrailer() throws IOException {
+    align();
+    val expectedCrc = readInt();
+    val expectedSize = readInt();
+    if (verify && (expectedCrc != crc.getValue() || expectedSize != ((uncompressed - memberStart) & 0xffffffffL))) {
+      throw new ZipException("Corrupt gzip trailer");
+    }
+  }
+
+  private byte put(byte value) {
+    window[windowPosition] = value;
+    windowPosition = (windowPosition + 1) & WINDOW_MASK;
+
+    return value;
+  }
+
+  private int update(byte[] output, int offset, int count) {
+    if (verify) {
+      crc.update(output, offset, count);
+    }
+
+    uncompressed += count;
+    windowFill = min(windowFill + count, WINDOW_SIZE);
+    lineStart = output[offset + count - 1] == '\n';
+
+    return count;
+  }
+
+  /**
+   * Decodes a symbol using the first {@link Huffman#TABLE_BITS} bits, or bit by bit for longer codes.
+   */
+  private int decode(Huffman huffman) throws IOException {
+    if (bitCount < Huffman.MAX_BITS) {
+      refill();
+    }
+
+    val entry = huffman.table[(int) bitBuffer & Huffman.TABLE_MASK];
+    val length = entry & 0xf;
+    if (length != 0 && length <= bitCount) {
+      bitBuffer >>>= length;
+      bitCount -= length;
+
+      return entry >>> 4;
+    }
+
+    int code = 0;
+    int first = 0;
+    int index = 0;
+    for (int bits = 1; bits <= Huffman.MAX_BITS; bits++) {
+      code |= bits(1);
+      val count = huffman.count[bits];
+      if (code - count < first) {
+        return huffman.symbols[index + (code - first)];
+      }
+
+      index += count;
+      first = (first + count) << 1;
+      code <<= 1;
+    }
+
+    throw new ZipException("Invalid Huffman code");
+  }
+
+  private long getBitOffset() {
+    return ((bufferOffset + position) << 3) - bitCount;
+  }
+
+  private int bits(int count) throws IOException {
+    if (bitCount < count) {
+      refill();
+      if (bitCount < count) {
+        throw new EOFException("Unexpected end of gzip stream");
+      }
+    }
+
+    val result = (int) (bitBuffer & ((1L << count) - 1));
+    bitBuffer >>>= count;
+    bitCount -= count;
+
+    return result;
+  }
+
+  private void align() {
+    val count = bitCount & 7;
+    bitBuffer >>>= count;
+    bitCount -= count;
+  }
+
+  private int readAlignedByte() throws IOException {
+    if (bitCount >= 8) {
+      return bits(8);
+    }
+
+    if (position == limit && !fill()) {
+      return -1;
+    }
+
+    return buffer[position++] & 0xff;
+  }
+
+  private int readRequiredByte() throws IOException {
+    val value = readAlignedByte();
+    if (value < 0) {
+      throw new EOFException("Unexpected end of gzip stream");
+    }
+
+    return value;
+  }
+
+  private long readInt() throws IOException {
+    long result = 0;
+    for (int i = 0; i < 4; i++) {
+      result |= (long) readRequiredByte() << (8 * i);
+    }
+
+    return result;
+  }
+
+  private void skipBytes(int count) throws IOException {
+    for (int i = 0; i < count; i++) {
+      readRequiredByte();
+    }
+  }
+
+  private void skipString() throws IOException {
+    while (readRequiredByte() != 0) {
+      // Zero terminated
+    }
+  }
+
+  /**
+   * Tops up the bit buffer as far as the input allows.
+   */
+  private void refill() throws IOException {
+    while (bitCount <= 56) {
+      if (position == limit && !fill()) {
+        return;
+      }
+
+      bitBuffer |= (long) (buffer[position++] & 0xff) << bitCount;
+      bitCount += 8;
+    }
+  }
+
+  private boolean fill() throws IOException {
+    bufferOffset += limit;
+    position = 0;
+    limit = 0;
+
+    val count = input.read(buffer);
+    if (count <= 0) {
+      return false;
+    }
+
+    limit = count;
+    return true;
+  }
+
+  @SneakyThrows
+  private static Huffman createFixedLiterals() {
+    val lengths = new int[288];
+    Arrays.fill(lengths, 0, 144, 8);
+    Arrays.fill(lengths, 144, 256, 9);
+    Arrays.fill(lengths, 256, 280, 7);
+    Arrays.fill(lengths, 280, 288, 8);
+
+    val result = new Huffman(lengths.length);
+    result.build(lengths, 0, lengths.length);
+
+    return result;
+  }
+
+  @SneakyThrows
+  private static Huffman createFixedDistances() {
+    val lengths = new int[30];
+    Arrays.fill(lengths, 5);
+
+    val result = new Huffman(lengths.length);
+    result.build(lengths, 0, lengths.length);
+
+    return result;
+  }
+
+  /**
+   * Canonical Huffman code with a lookup table for the codes of up to {@link #TABLE_BITS} bits.
+   */
+  private static class Huffman {
+
+    static final int MAX_BITS = 15;
+    static final int TABLE_BITS = 10;
+    static final int TABLE_MASK = (1 << TABLE_BITS) - 1;
+
+    /**
+     * Number of codes of each length.
+     */
+    final int[] count = new int[MAX_BITS + 1];
+
+    /**
+     * Symbols ordered by code.
+     */
+    final int[] symbols;
+
+    /**
+     * Symbol and code length by the (bit reversed) first bits of the input, or 0 for longer codes.
+     */
+    final int[] table = new int[1 << TABLE_BITS];
+
+    Huffman(int maxSymbols) {
+      this.symbols = new int[maxSymbols];
+    }
+
+    void build(int[] lengths, int offset, int length) throws ZipException {
+      Arrays.fill(count, 0);
+      for (int symbol = 0; symbol < length; symbol++) {
+        count[lengths[offset + symbol]]++;
+      }
+
+      int left = 1;
+      for (int bits = 1; bits <= MAX_BITS; bits++) {
+        left = (left << 1) - count[bits];
+        if (left < 0) {
+          throw new ZipException("Over-subscribed Huffman code");
+        }
+      }
+
+      val offsets = new int[MAX_BITS + 2];
+      for (int bits = 1; bits <= MAX_BITS; bits++) {
+        offsets[bits + 1] = offsets[bits] + count[bits];
+      }
+      for (int symbol = 0; symbol < length; symbol++) {
+        val bits = lengths[offset + symbol];
+        if (bits != 0) {
+          symbols[offsets[bits]++] = symbol;
+        }
+      }
+
+      Arrays.fill(table, 0);
+      int code = 0;
+      int index = 0;
+      for (int bits = 1; bits <= TABLE_BITS; bits++) {
+        for (int i = 0; i < count[bits]; i++) {
+          val entry = symbols[index++] << 4 | bits;
+          for (int reversed = reverse(code, bits); reversed < table.length; reversed += 1 << bits) {
+            table[reversed] = entry;
+          }
+
+          code++;
+        }
+
+        code <<= 1;
+      }
+    }
+
+    private static int reverse(int code, int bits) {
+      return Integer.reverse(code) >>> (32 - bits);
+    }
+
+  }
+
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2015 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.release.job.stage.hadoop;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+
+import lombok.NonNull;
+import lombok.val;
+import lombok.extern.slf4j.Slf4j;
+
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.LongWritable;
+import org.apache.hadoop.io.Text;
+import org.apache.hadoop.mapred.FileSplit;
+import org.apache.hadoop.mapred.InputSplit;
+import org.apache.hadoop.mapred.JobConf;
+import org.apache.hadoop.mapred.RecordReader;
+import org.apache.hadoop.mapred.Reporter;
+import org.apache.hadoop.mapred.TextInputFormat;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+
+/**
+ * {@link TextInputFormat} which splits large gzip files, single member or multi-member (e.g. {@code bgzip} or
+ * concatenated gzip files), on the access points of their cached {@link GzipIndex}. The split is chosen per file:
+ * small gzip files and files without a usable index are read whole, and other files (e.g. {@code .bz2}, whose codec is
+ * splittable) are split by {@link TextInputFormat}.
+ * <p>
+ * Indexes are only read here, never built, so the driver does not inflate anything. Missing indexes are built
+ * beforehand by {@link GzipIndex#buildIndex(FileSystem, FileStatus, long)}.
+ */
+@Slf4j
+public class IndexedGzipTextInputFormat extends TextInputFormat {
+
+  /**
+   * Constants.
+   */
+  private static final String GZIP_EXTENSION = ".gz";
+
+  @Override
+  public InputSplit[] getSplits(JobConf job, int numSplits) throws IOException {
+    val splits = Lists.<InputSplit> newArrayList();
+    val indexed = Sets.<Path> newHashSet();
+    for (val file : listStatus(job)) {
+      if (!isIndexable(file)) {
+        continue;
+      }
+
+      val fileSystem = file.getPath().getFileSystem(job);
+      val index = GzipIndex.readIndex(fileSystem, file);
+      if (index.isPresent() && index.get().getPoints().size() > 1) {
+        val pointSplits = createSplits(fileSystem, file, index.get());
+        log.info("Split '{}' into {} gzip access point split(s)", file.getPath(), pointSplits.size());
+
+        splits.addAll(pointSplits);
+        indexed.add(file.getPath());
+      } else {
+        log.info("Reading gzip file '{}' without a usable index in a single split", file.getPath());
+      }
+    }
+
+    addUnindexedSplits(job, numSplits, indexed, splits);
+
+    return splits.toArray(new InputSplit[splits.size()]);
+  }
+
+  @Override
+  public RecordReader<LongWritable, Text> getRecordReader(InputSplit split, JobConf job, Reporter reporter)
+      throws IOException {
+    if (split instanceof GzipIndexSplit) {
+      reporter.setStatus(split.toString());
+      return new GzipIndexRecordReader((GzipIndexSplit) split, job);
+    }
+
+    return super.getRecordReader(split, job, reporter);
+  }
+
+  /**
+   * @return {@code true} if {@code file} is a gzip file worth splitting on a {@link GzipIndex}
+   */
+  public static boolean isIndexable(@NonNull FileStatus file) {
+    // A file within a block is a single split anyway
+    return file.getPath().getName().endsWith(GZIP_EXTENSION) && file.getLen() > file.getBlockSize();
+  }
+
+  private void addUnindexedSplits(JobConf job, int numSplits, Set<Path> indexed, List<InputSplit> splits)
+      throws IOException {
+    for (val split : super.getSplits(job, numSplits)) {
+      val path = ((FileSplit) split).getPath();
+      if (!indexed.contains(path)) {
+        splits.add(split);
+      }
+    }
+  }
+
+  /**
+   * Groups consecutive access points into splits of about one block.
+   */
+  private static List<InputSplit> createSplits(FileSystem fileSystem, FileStatus file, GzipIndex index)
+      throws IOException {
+    val splits = Lists.<InputSplit> newArrayList();
+    val points = index.getPoints();
+    val splitSize = file.getBlockSize();
+
+    int first = 0;
+    for (int i = 1; i <= points.size(); i++) {
+      val last = i == points.size();
+      val end = last ? file.getLen() : points.get(i).getOffset();
+      val start = points.get(first).getOffset();
+      if (!last && end - start < splitSize) {
+        continue;
+      }
+
+      val uncompressedEnd = last ? index.getUncompressedLength() : points.get(i).getUncompressedOffset();
+      val hosts = getHosts(fileSystem, file, start, end - start);
+
+      splits.add(new GzipIndexSplit(file.getPath(), end - start, hosts, points.get(first), uncompressedEnd));
+      first = i;
+    }
+
+    return splits;
+  }
+
+  private static String[] getHosts(FileSystem fileSystem, FileStatus file, long start, long length)
+      throws IOException {
+    val locations = fileSystem.getFileBlockLocations(file, start, length);
+
+    return locations.length == 0 ? new String[0] : locations[0].getHosts();
+  }
+
+}
@@ -15,31 +15,29 @@
  * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
  * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
  */
-package org.icgc.dcc.release.job.id.function;
+package org.icgc.dcc.release.job.stage.hadoop;
 
-import static org.icgc.dcc.common.core.model.FieldNames.SubmissionFieldNames.SUBMISSION_SPECIMEN_ID;
-import lombok.val;
+import static org.icgc.dcc.common.core.util.Joiners.PATH;
 
-import org.icgc.dcc.common.core.model.FieldNames.IdentifierFieldNames;
-import org.icgc.dcc.id.client.core.IdClientFactory;
+import org.apache.hadoop.io.BytesWritable;
+import org.apache.hadoop.io.NullWritable;
+import org.apache.hadoop.mapred.lib.MultipleSequenceFileOutputFormat;
 
-import com.fasterxml.jackson.databind.node.ObjectNode;
-
-public class AddSurrogateSpecimenId extends AddSurrogateId {
+/**
+ * Writes Smile encoded rows into the sequence file partition directory named by their key (e.g.
+ * {@code ssm_m/project_name=PROJ-01}). Keys are replaced with {@link NullWritable} so the output is identical to
+ * single path sequence file outputs.
+ */
+public class PartitionMultipleSequenceFileOutputFormat extends MultipleSequenceFileOutputFormat<Object, BytesWritable> {
 
-  public AddSurrogateSpecimenId(IdClientFactory identifierConfig) {
-    super(identifierConfig);
+  @Override
+  protected Object generateActualKey(Object key, BytesWritable value) {
+    return NullWritable.get();
   }
 
   @Override
-  public ObjectNode call(ObjectNode row) throws Exception {
-    val submittedSpecimenId = row.get(SUBMISSION_SPECIMEN_ID).textValue();
-    val submittedProjectId = getSubmittedProjectId(row);
-    val specimenId = client().createSpecimenId(submittedSpecimenId, submittedProjectId);
-
-    row.put(IdentifierFieldNames.SURROGATE_SPECIMEN_ID, specimenId);
-
-    return row;
+  protected String generateFileNameForKeyValue(Object key, BytesWritable value, String name) {
+    return PATH.join(key, name);
   }
 
-}
\ No newline at end of file
+}
@@ -15,32 +15,26 @@
  * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
  * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
  */
-package org.icgc.dcc.release.job.id.function;
+package org.icgc.dcc.release.job.stage.hadoop;
 
-import lombok.val;
+import static org.icgc.dcc.common.core.util.Joiners.PATH;
 
-import org.icgc.dcc.common.core.model.FieldNames.IdentifierFieldNames;
-import org.icgc.dcc.common.core.model.FieldNames.SubmissionFieldNames;
-import org.icgc.dcc.id.client.core.IdClientFactory;
+import org.apache.hadoop.mapred.lib.MultipleTextOutputFormat;
 
-import com.fasterxml.jackson.databind.node.ObjectNode;
-
-public class AddSurrogateDonorId extends AddSurrogateId {
+/**
+ * Writes JSON rows into the text partition directory named by their key (e.g. {@code ssm_m/project_name=PROJ-01}).
+ * Keys are omitted from the output lines.
+ */
+public class PartitionMultipleTextOutputFormat extends MultipleTextOutputFormat<Object, Object> {
 
-  public AddSurrogateDonorId(IdClientFactory idClientFactory) {
-    super(idClientFactory);
+  @Override
+  protected Object generateActualKey(Object key, Object value) {
+    return null;
   }
 
   @Override
-  public ObjectNode call(ObjectNode row) throws Exception {
-    val submittedDonorId = row.get(SubmissionFieldNames.SUBMISSION_DONOR_ID).textValue();
-    val submittedProjectId = getSubmittedProjectId(row);
-
-    val donorId = client().createDonorId(submittedDonorId, submittedProjectId);
-
-    row.put(IdentifierFieldNames.SURROGATE_DONOR_ID, donorId);
-
-    return row;
+  protected String generateFileNameForKeyValue(Object key, Object value, String name) {
+    return PATH.join(key, name);
   }
 
-}
\ No newline at end of file
+}
@@ -18,31 +18,26 @@
 package org.icgc.dcc.release.job.stage.task;
 
 import static org.icgc.dcc.common.core.util.Joiners.COMMA;
+import static org.icgc.dcc.common.core.util.stream.Collectors.toImmutableList;
 
 import java.util.List;
 
-import lombok.SneakyThrows;
 import lombok.val;
 import lombok.extern.slf4j.Slf4j;
-import nl.basjes.hadoop.io.compress.SplittableGzipCodec;
 
-import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
 import org.apache.spark.api.java.JavaRDD;
-import org.icgc.dcc.release.core.function.TranslateMissingCode;
 import org.icgc.dcc.release.core.job.FileType;
+import org.icgc.dcc.release.core.submission.SubmissionFile;
 import org.icgc.dcc.release.core.submission.SubmissionFileSchema;
 import org.icgc.dcc.release.core.task.GenericTask;
 import org.icgc.dcc.release.core.task.TaskContext;
 import org.icgc.dcc.release.core.task.TaskType;
-import org.icgc.dcc.release.core.util.Configurations;
 import org.icgc.dcc.release.core.util.JavaRDDs;
 import org.icgc.dcc.release.core.util.Partitions;
-import org.icgc.dcc.release.job.stage.function.CleanSensitiveFields;
-import org.icgc.dcc.release.job.stage.function.ConvertValueType;
 import org.icgc.dcc.release.job.stage.function.ParseFileSplit;
-import org.icgc.dcc.release.job.stage.function.TranslateCodeListTerm;
-import org.icgc.dcc.release.job.stage.function.TrimValues;
+import org.icgc.dcc.release.job.stage.hadoop.IndexedGzipTextInputFormat;
+import org.icgc.dcc.release.job.stage.util.GzipIndexes;
 
 import com.fasterxml.jackson.databind.node.ObjectNode;
 
@@ -54,13 +49,14 @@ public class StageFileSchemaProjectTask extends GenericTask {
    */
   private final SubmissionFileSchema schema;
   private final String projectName;
-  private final List<Path> schemaProjectPaths;
+  private final List<SubmissionFile> schemaProjectFiles;
 
-  public StageFileSchemaProjectTask(SubmissionFileSchema schema, String projectName, List<Path> schemaProjectPaths) {
+  public StageFileSchemaProjectTask(SubmissionFileSchema schema, String projectName,
+      List<SubmissionFile> schemaProjectFiles) {
     super(schema.getName() + ":" + projectName);
     this.schema = schema;
     this.projectName = projectName;
-    this.schemaProjectPaths = schemaProjectPaths;
+    this.schemaProjectFiles = schemaProjectFiles;
   }
 
   @Override
@@ -70,26 +66,20 @@ public class StageFileSchemaProjectTask extends GenericTask {
 
   @Override
   public void execute(TaskContext taskContext) {
-    val input = readInput(taskContext);
-    val processed = transform(input);
+    val output = readInput(taskContext);
 
-    writeOutput(processed, getOutputPath(taskContext), taskContext.isCompressOutput());
+    writeOutput(output, getOutputPath(taskContext), taskContext.isCompressOutput());
   }
 
   private JavaRDD<ObjectNode> readInput(TaskContext taskContext) {
     val sparkContext = taskContext.getSparkContext();
-    val paths = formatInputPaths(schemaProjectPaths);
+    val paths = formatInputPaths(schemaProjectFiles);
 
     val conf = createJobConf(taskContext);
 
-    val minLength = getMinInputFileLength(taskContext.getFileSystem());
-    val large = minLength > 128L * 1024L * 1024L;
-    if (large) {
-      // Add splittable gzip codec
-      Configurations.addCompressionCodec(conf, SplittableGzipCodec.class);
-    }
-
-    val input = JavaRDDs.textFile(sparkContext, paths, conf);
+    // The split is chosen per file: large gzip files on their index, bzip2 files by their splittable codec
+    GzipIndexes.indexFiles(sparkContext, taskContext.getFileSystem(), getInputPaths());
+    val input = JavaRDDs.textFile(sparkContext, paths, conf, IndexedGzipTextInputFormat.class);
 
     log.info("Input paths: {}", paths);
     JavaRDDs.logPartitions(log, input.partitions());
@@ -97,26 +87,8 @@ public class StageFileSchemaProjectTask extends GenericTask {
     return input.mapPartitionsWithInputSplit(new ParseFileSplit(schema), false);
   }
 
-  @SneakyThrows
-  private long getMinInputFileLength(FileSystem fileSystem) {
-    long minLength = Long.MAX_VALUE;
-    for (val path : schemaProjectPaths) {
-      val length = fileSystem.getFileStatus(path).getLen();
-      if (length < minLength) {
-        minLength = length;
-      }
-    }
-
-    return minLength;
-  }
-
-  private JavaRDD<ObjectNode> transform(JavaRDD<ObjectNode> input) {
-    return input
-        .map(new TrimValues())
-        .map(new TranslateMissingCode())
-        .map(new TranslateCodeListTerm(schema))
-        .map(new ConvertValueType(schema))
-        .map(new CleanSensitiveFields(schema));
+  private List<Path> getInputPaths() {
+    return schemaProjectFiles.stream().map(SubmissionFile::getPath).collect(toImmutableList());
   }
 
   private String getOutputPath(TaskContext taskContext) {
@@ -130,8 +102,8 @@ public class StageFileSchemaProjectTask extends GenericTask {
     return FileType.valueOf(schema.getName().toUpperCase());
   }
 
-  private static String formatInputPaths(Iterable<?> paths) {
-    return COMMA.join(paths);
+  private static String formatInputPaths(List<SubmissionFile> files) {
+    return COMMA.join(files.stream().map(SubmissionFile::getPath).iterator());
   }
 
 }
\ No newline at end of file
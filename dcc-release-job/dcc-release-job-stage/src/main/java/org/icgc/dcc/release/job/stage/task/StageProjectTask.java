@@ -0,0 +1,211 @@
+/*
+ * Copyright (c) 2015 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.release.job.stage.task;
+
+import static org.apache.hadoop.io.SequenceFile.Writer.compression;
+import static org.apache.hadoop.io.SequenceFile.Writer.file;
+import static org.apache.hadoop.io.SequenceFile.Writer.keyClass;
+import static org.apache.hadoop.io.SequenceFile.Writer.valueClass;
+import static org.icgc.dcc.common.core.util.Joiners.COMMA;
+
+import java.util.List;
+import java.util.Map;
+
+import lombok.NonNull;
+import lombok.SneakyThrows;
+import lombok.val;
+import lombok.extern.slf4j.Slf4j;
+
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.BytesWritable;
+import org.apache.hadoop.io.NullWritable;
+import org.apache.hadoop.io.SequenceFile;
+import org.apache.hadoop.io.Text;
+import org.apache.hadoop.io.compress.DefaultCodec;
+import org.apache.hadoop.mapred.SequenceFileOutputFormat;
+import org.apache.hadoop.util.ReflectionUtils;
+import org.apache.spark.api.java.JavaPairRDD;
+import org.icgc.dcc.release.core.job.FileType;
+import org.icgc.dcc.release.core.submission.SubmissionFile;
+import org.icgc.dcc.release.core.submission.SubmissionFileSchema;
+import org.icgc.dcc.release.core.task.GenericTask;
+import org.icgc.dcc.release.core.task.TaskContext;
+import org.icgc.dcc.release.core.task.TaskType;
+import org.icgc.dcc.release.core.util.JavaRDDs;
+import org.icgc.dcc.release.core.util.Partitions;
+import org.icgc.dcc.release.core.util.WriteObjectNode;
+import org.icgc.dcc.release.job.stage.function.ParseProjectFileSplit;
+import org.icgc.dcc.release.job.stage.hadoop.IndexedGzipTextInputFormat;
+import org.icgc.dcc.release.job.stage.hadoop.PartitionMultipleSequenceFileOutputFormat;
+import org.icgc.dcc.release.job.stage.hadoop.PartitionMultipleTextOutputFormat;
+import org.icgc.dcc.release.job.stage.util.GzipIndexes;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.collect.ImmutableMap;
+
+/**
+ * Stages the files of several schemas of a single project in one Spark job. Intended for small clinical and
+ * supplemental files, where launching a job per schema costs more than reading the files.
+ */
+@Slf4j
+public class StageProjectTask extends GenericTask {
+
+  /**
+   * Constants.
+   */
+  private static final String TEMP_DIR_PREFIX = "_stage_";
+  private static final String EMPTY_PART_NAME = "part-00000";
+
+  /**
+   * Configuration.
+   */
+  private final String projectName;
+  private final Map<SubmissionFileSchema, List<SubmissionFile>> projectFiles;
+
+  public StageProjectTask(@NonNull String projectName,
+      @NonNull Map<SubmissionFileSchema, List<SubmissionFile>> projectFiles) {
+    super(projectName);
+    this.projectName = projectName;
+    this.projectFiles = projectFiles;
+  }
+
+  @Override
+  public TaskType getType() {
+    return TaskType.FILE_TYPE;
+  }
+
+  @Override
+  public void execute(TaskContext taskContext) {
+    val output = readInput(taskContext);
+
+    // Write into a task private directory first, as concurrent jobs must not share an output committer directory
+    val tempDir = getTempDir(taskContext);
+    writeOutput(taskContext, output, tempDir);
+    moveOutput(taskContext, tempDir);
+  }
+
+  private JavaPairRDD<String, ObjectNode> readInput(TaskContext taskContext) {
+    val sparkContext = taskContext.getSparkContext();
+    val fileSchemas = getFileSchemas();
+    val paths = COMMA.join(fileSchemas.keySet());
+
+    val conf = createJobConf(taskContext);
+    GzipIndexes.indexFiles(sparkContext, taskContext.getFileSystem(), fileSchemas.keySet());
+    val input = JavaRDDs.textFile(sparkContext, paths, conf, IndexedGzipTextInputFormat.class);
+
+    log.info("Input paths: {}", paths);
+    JavaRDDs.logPartitions(log, input.partitions());
+
+    val rows = input.mapPartitionsWithInputSplit(new ParseProjectFileSplit(projectName, fileSchemas), false);
+
+    return JavaPairRDD.fromJavaRDD(rows);
+  }
+
+  private void writeOutput(TaskContext taskContext, JavaPairRDD<String, ObjectNode> output, Path tempDir) {
+    val conf = createJobConf(taskContext);
+    val path = tempDir.toString();
+
+    if (taskContext.isCompressOutput()) {
+      JavaRDDs.setSequenceFileCompression(conf);
+      val writeObjectNode = new WriteObjectNode<ObjectNode>(ObjectNode.class);
+      output
+          .mapValues(row -> writeObjectNode.call(row)._2)
+          .saveAsHadoopFile(path, NullWritable.class, BytesWritable.class,
+              PartitionMultipleSequenceFileOutputFormat.class, conf);
+    } else {
+      output
+          .mapValues(row -> row.toString())
+          .saveAsHadoopFile(path, NullWritable.class, Text.class, PartitionMultipleTextOutputFormat.class, conf);
+    }
+  }
+
+  @SneakyThrows
+  private void moveOutput(TaskContext taskContext, Path tempDir) {
+    val fileSystem = taskContext.getFileSystem();
+    val workingDir = taskContext.getJobContext().getWorkingDir();
+
+    for (val schema : projectFiles.keySet()) {
+      val partitionDir = getPartitionDir(schema);
+      val source = new Path(tempDir, partitionDir);
+      val target = new Path(workingDir, partitionDir);
+
+      fileSystem.delete(target, true);
+      fileSystem.mkdirs(target.getParent());
+      if (fileSystem.exists(source)) {
+        log.debug("Moving '{}' to '{}'", source, target);
+        checkRename(fileSystem, source, target);
+      } else {
+        // Header only files produce no rows, but readers expect a part file like the ones of single schema tasks
+        writeEmptyPartition(taskContext, target);
+      }
+    }
+
+    fileSystem.delete(tempDir, true);
+  }
+
+  @SneakyThrows
+  private void writeEmptyPartition(TaskContext taskContext, Path target) {
+    val fileSystem = taskContext.getFileSystem();
+    val part = new Path(target, EMPTY_PART_NAME);
+    if (!taskContext.isCompressOutput()) {
+      fileSystem.create(part).close();
+      return;
+    }
+
+    val conf = createJobConf(taskContext);
+    JavaRDDs.setSequenceFileCompression(conf);
+    val codecClass = SequenceFileOutputFormat.getOutputCompressorClass(conf, DefaultCodec.class);
+    val codec = ReflectionUtils.newInstance(codecClass, conf);
+
+    // A sequence file with a header only, so readers see a valid file without rows
+    SequenceFile.createWriter(conf, file(part), keyClass(NullWritable.class), valueClass(BytesWritable.class),
+        compression(SequenceFileOutputFormat.getOutputCompressionType(conf), codec)).close();
+  }
+
+  private Map<Path, SubmissionFileSchema> getFileSchemas() {
+    val fileSchemas = ImmutableMap.<Path, SubmissionFileSchema> builder();
+    for (val entry : projectFiles.entrySet()) {
+      for (val file : entry.getValue()) {
+        fileSchemas.put(file.getPath(), entry.getKey());
+      }
+    }
+
+    return fileSchemas.build();
+  }
+
+  private Path getTempDir(TaskContext taskContext) {
+    val workingDir = taskContext.getJobContext().getWorkingDir();
+
+    return new Path(workingDir, TEMP_DIR_PREFIX + Partitions.getPartitionName(projectName));
+  }
+
+  private String getPartitionDir(SubmissionFileSchema schema) {
+    val fileType = FileType.valueOf(schema.getName().toUpperCase());
+
+    return new Path(fileType.getDirName(), Partitions.getPartitionName(projectName)).toString();
+  }
+
+  @SneakyThrows
+  private static void checkRename(FileSystem fileSystem, Path source, Path target) {
+    if (!fileSystem.rename(source, target)) {
+      throw new IllegalStateException("Failed to move staged partition '" + source + "' to '" + target + "'");
+    }
+  }
+
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2015 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.release.job.stage.util;
+
+import static lombok.AccessLevel.PRIVATE;
+
+import java.util.Collection;
+
+import lombok.NoArgsConstructor;
+import lombok.NonNull;
+import lombok.SneakyThrows;
+import lombok.val;
+import lombok.extern.slf4j.Slf4j;
+
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.spark.api.java.JavaSparkContext;
+import org.icgc.dcc.release.job.stage.function.IndexGzipFile;
+import org.icgc.dcc.release.job.stage.hadoop.GzipIndex;
+import org.icgc.dcc.release.job.stage.hadoop.IndexedGzipTextInputFormat;
+
+import com.google.common.collect.Lists;
+
+@Slf4j
+@NoArgsConstructor(access = PRIVATE)
+public final class GzipIndexes {
+
+  /**
+   * Builds the missing {@link GzipIndex}es of the large gzip files among {@code paths}, one Spark task per file, so
+   * that {@link IndexedGzipTextInputFormat} can split them without inflating anything on the driver.
+   */
+  @SneakyThrows
+  public static void indexFiles(@NonNull JavaSparkContext sparkContext, @NonNull FileSystem fileSystem,
+      @NonNull Collection<Path> paths) {
+    val unindexed = Lists.<String> newArrayList();
+    for (val path : paths) {
+      val file = fileSystem.getFileStatus(path);
+      if (IndexedGzipTextInputFormat.isIndexable(file) && !GzipIndex.readIndex(fileSystem, file).isPresent()) {
+        unindexed.add(path.toString());
+      }
+    }
+
+    if (unindexed.isEmpty()) {
+      return;
+    }
+
+    log.info("Indexing gzip files: {}", unindexed);
+    sparkContext.parallelize(unindexed, unindexed.size()).foreach(new IndexGzipFile(fileSystem.getUri()));
+  }
+
+}
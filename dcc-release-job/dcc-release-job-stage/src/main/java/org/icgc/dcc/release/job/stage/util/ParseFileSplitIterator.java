@@ -22,7 +22,6 @@ import static org.icgc.dcc.common.core.util.Formats.formatCount;
 import static org.icgc.dcc.common.core.util.Formats.formatPercent;
 
 import java.util.Iterator;
-import java.util.List;
 
 import lombok.RequiredArgsConstructor;
 import lombok.val;
@@ -30,13 +29,9 @@ import lombok.extern.slf4j.Slf4j;
 
 import org.apache.hadoop.io.LongWritable;
 import org.apache.hadoop.io.Text;
-import org.icgc.dcc.common.core.model.FieldNames;
-import org.icgc.dcc.release.core.submission.SubmissionFileField;
-import org.icgc.dcc.release.core.submission.SubmissionFiles;
 
 import scala.Tuple2;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.google.common.base.Stopwatch;
 
@@ -48,7 +43,6 @@ public class ParseFileSplitIterator implements Iterator<ObjectNode> {
    * Constants.
    */
   private static final int LINE_STATUS_COUNT = 10 * 1000 * 1000;
-  private static final ObjectMapper MAPPER = new ObjectMapper();
 
   /**
    * Dependencies.
@@ -58,7 +52,7 @@ public class ParseFileSplitIterator implements Iterator<ObjectNode> {
   /**
    * Metadata
    */
-  private final List<SubmissionFileField> fields;
+  private final RowTransformer transformer;
   private final String fileSplitName;
   private final long fileSplitLength;
   private final String projectName;
@@ -69,6 +63,7 @@ public class ParseFileSplitIterator implements Iterator<ObjectNode> {
   private final Stopwatch watch = createStarted();
   private long lineCount = 0;
   private Tuple2<LongWritable, Text> record;
+  private final TsvLineTokenizer tokenizer = new TsvLineTokenizer();
 
   @Override
   public boolean hasNext() {
@@ -94,23 +89,9 @@ public class ParseFileSplitIterator implements Iterator<ObjectNode> {
 
   @Override
   public ObjectNode next() {
-    val line = getLine(record);
-    String[] values = SubmissionFiles.parseLine(line);
+    tokenizer.tokenize(record._2);
 
-    return createRow(values);
-  }
-
-  private ObjectNode createRow(String[] values) {
-    val objectNode = MAPPER.createObjectNode();
-    for (int i = 0; i < fields.size(); i++) {
-      val fieldName = fields.get(i).getName();
-      val fieldValue = values[i];
-
-      objectNode.put(fieldName, fieldValue);
-    }
-
-    objectNode.put(FieldNames.PROJECT_ID, projectName);
-    return objectNode;
+    return transformer.transform(tokenizer, projectName);
   }
 
   @Override
@@ -136,8 +117,4 @@ public class ParseFileSplitIterator implements Iterator<ObjectNode> {
     return record._1.get();
   }
 
-  public static String getLine(Tuple2<LongWritable, Text> record) {
-    return record._2.toString();
-  }
-
 }
\ No newline at end of file
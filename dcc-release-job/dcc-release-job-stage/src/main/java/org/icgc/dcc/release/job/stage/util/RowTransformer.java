@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) 2015 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.release.job.stage.util;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.lang.Double.parseDouble;
+import static java.lang.Long.parseLong;
+import static org.icgc.dcc.common.core.model.SpecialValue.isDeprecatedValue;
+import static org.icgc.dcc.common.core.model.SpecialValue.isFullMissingCode;
+
+import java.io.Serializable;
+import java.util.Map;
+import java.util.Set;
+
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.val;
+
+import org.icgc.dcc.common.core.model.FieldNames;
+import org.icgc.dcc.common.core.model.ValueType;
+import org.icgc.dcc.release.core.job.FileType;
+import org.icgc.dcc.release.core.submission.SubmissionFileSchema;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.collect.ImmutableSet;
+
+/**
+ * Transformations of the submission file values compiled once per {@link SubmissionFileSchema}.
+ * <p>
+ * A row is transformed in a single pass over its values in the schema order. Each value is trimmed, translated to
+ * {@code null} if it is a missing code, translated from its code list term and converted to the field type. Controlled
+ * values are dropped, but numeric ones are still converted so invalid values fail as before. Controlled text values are
+ * skipped without being decoded.
+ */
+public class RowTransformer implements Serializable {
+
+  /**
+   * Constants.
+   */
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+
+  /**
+   * Don't clean SSM_P and SGV_P as their controlled fields required to run annotation.
+   */
+  private static final Set<String> SKIP_CLEANUP_FILE_TYPES = ImmutableSet.of(FileType.SSM_P.getId(),
+      FileType.SGV_P.getId(), FileType.SGV_M.getId());
+
+  /**
+   * Metadata.
+   */
+  private final Column[] columns;
+
+  public RowTransformer(@NonNull SubmissionFileSchema schema) {
+    val skipCleanup = SKIP_CLEANUP_FILE_TYPES.contains(schema.getName());
+    val fields = schema.getFields();
+
+    this.columns = new Column[fields.size()];
+    for (int i = 0; i < columns.length; i++) {
+      val field = fields.get(i);
+      val removed = !skipCleanup && field.isControlled();
+
+      columns[i] = new Column(field.getName(), field.getType(), field.getTerms(), removed);
+    }
+  }
+
+  public ObjectNode transform(@NonNull TsvLineTokenizer cells, @NonNull String projectName) {
+    checkArgument(cells.getCount() >= columns.length, "Expected %s values but found %s", columns.length,
+        cells.getCount());
+
+    val row = MAPPER.createObjectNode();
+    for (int i = 0; i < columns.length; i++) {
+      val column = columns[i];
+      if (column.removed) {
+        if (column.isNumeric()) {
+          column.convert(cells.getTrimmedCell(i));
+        }
+
+        continue;
+      }
+
+      column.put(row, cells.getTrimmedCell(i));
+    }
+
+    row.put(FieldNames.PROJECT_ID, translateMissingCode(projectName.trim()));
+
+    return row;
+  }
+
+  private static String translateMissingCode(String value) {
+    // Replace any empty value, missing code or former missing code with null
+    return isMissingCode(value) ? null : value;
+  }
+
+  private static boolean isMissingCode(String value) {
+    return value.isEmpty() || isFullMissingCode(value) || isDeprecatedValue(value);
+  }
+
+  @RequiredArgsConstructor
+  private static final class Column implements Serializable {
+
+    private final String name;
+    private final ValueType type;
+    private final Map<String, String> terms;
+
+    /**
+     * Controlled field which must not be released.
+     */
+    private final boolean removed;
+
+    private boolean isNumeric() {
+      return type == ValueType.DECIMAL || type == ValueType.INTEGER;
+    }
+
+    private void put(ObjectNode row, String trimmedValue) {
+      val value = convert(trimmedValue);
+      if (value == null) {
+        row.putNull(name);
+      } else if (type == ValueType.DECIMAL) {
+        row.put(name, (Double) value);
+      } else if (type == ValueType.INTEGER) {
+        row.put(name, (Long) value);
+      } else {
+        row.put(name, (String) value);
+      }
+    }
+
+    private Object convert(String trimmedValue) {
+      val value = translateTerm(translateMissingCode(trimmedValue));
+      if (value == null) {
+        return null;
+      }
+
+      try {
+        if (type == ValueType.DECIMAL) {
+          return parseDouble(value);
+        } else if (type == ValueType.INTEGER) {
+          return parseLong(value);
+        } else {
+          return value;
+        }
+      } catch (Exception e) {
+        throw new IllegalArgumentException("Could not convert value " + "'" + value + "' in field " + name
+            + "' with type " + type, e);
+      }
+    }
+
+    private String translateTerm(String value) {
+      // Translate term code to value
+      if (value != null && terms != null && terms.containsKey(value)) {
+        return terms.get(value);
+      }
+
+      return value;
+    }
+
+  }
+
+}
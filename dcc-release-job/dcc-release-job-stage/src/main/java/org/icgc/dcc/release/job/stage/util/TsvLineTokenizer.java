@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2015 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.release.job.stage.util;
+
+import static com.google.common.base.Charsets.UTF_8;
+import static com.google.common.base.Preconditions.checkElementIndex;
+import static java.util.Arrays.copyOf;
+import lombok.NonNull;
+import lombok.val;
+
+import org.apache.hadoop.io.Text;
+
+/**
+ * Splits tab separated lines on the raw UTF-8 bytes of a {@link Text}. Only cell offsets are recorded, so cells are
+ * decoded to {@code String}s only when requested.
+ * <p>
+ * Not thread-safe. The offsets are reused across lines and are valid until the next call to {@link #tokenize(Text)}.
+ */
+public final class TsvLineTokenizer {
+
+  /**
+   * Constants.
+   */
+  private static final byte TAB = '\t';
+  private static final int SPACE = ' ';
+  private static final String EMPTY = "";
+  private static final int INITIAL_CAPACITY = 64;
+
+  /**
+   * State.
+   */
+  private byte[] bytes;
+  private int[] starts = new int[INITIAL_CAPACITY];
+  private int[] ends = new int[INITIAL_CAPACITY];
+  private int count;
+
+  /**
+   * @return the number of cells in the {@code line}
+   */
+  public int tokenize(@NonNull Text line) {
+    bytes = line.getBytes();
+    count = 0;
+
+    val length = line.getLength();
+    int start = 0;
+    for (int i = 0; i < length; i++) {
+      if (bytes[i] == TAB) {
+        addCell(start, i);
+        start = i + 1;
+      }
+    }
+
+    addCell(start, length);
+
+    return count;
+  }
+
+  public int getCount() {
+    return count;
+  }
+
+  /**
+   * Same as {@link String#trim()} of the decoded cell. ASCII whitespace and control characters are single bytes which
+   * never occur inside multi-byte UTF-8 sequences, so trimming can be done on the bytes.
+   */
+  public String getTrimmedCell(int index) {
+    checkElementIndex(index, count, "cell");
+
+    int start = starts[index];
+    int end = ends[index];
+    while (start < end && (bytes[start] & 0xFF) <= SPACE) {
+      start++;
+    }
+    while (end > start && (bytes[end - 1] & 0xFF) <= SPACE) {
+      end--;
+    }
+
+    return start == end ? EMPTY : new String(bytes, start, end - start, UTF_8);
+  }
+
+  private void addCell(int start, int end) {
+    if (count == starts.length) {
+      starts = copyOf(starts, count * 2);
+      ends = copyOf(ends, count * 2);
+    }
+
+    starts[count] = start;
+    ends[count] = end;
+    count++;
+  }
+
+}
@@ -24,12 +24,14 @@ import java.util.List;
 
 import lombok.val;
 
-import org.apache.hadoop.fs.Path;
 import org.icgc.dcc.common.core.model.FieldNames.SubmissionFieldNames;
+import org.icgc.dcc.release.core.job.DatasetCache;
 import org.icgc.dcc.release.core.job.DefaultJobContext;
 import org.icgc.dcc.release.core.job.FileType;
 import org.icgc.dcc.release.core.job.JobContext;
 import org.icgc.dcc.release.core.job.JobType;
+import org.icgc.dcc.release.core.submission.SubmissionFile;
+import org.icgc.dcc.release.core.submission.SubmissionFileManifest;
 import org.icgc.dcc.release.core.submission.SubmissionFileSchema;
 import org.icgc.dcc.release.core.submission.SubmissionFileSystem;
 import org.icgc.dcc.release.core.util.LazyTable;
@@ -39,7 +41,6 @@ import org.junit.Before;
 import org.junit.Test;
 
 import com.google.common.collect.ImmutableList;
-import com.google.common.collect.Table;
 
 public class StageJobTest extends AbstractJobTest {
 
@@ -96,15 +97,15 @@ public class StageJobTest extends AbstractJobTest {
 
   private JobContext createJobContext() {
     return new DefaultJobContext(JobType.STAGE, RELEASE_VERSION, PROJECTS, TEST_FIXTURES_DIR,
-        workingDir.toString(), resolveSubmissionFiles(), taskExecutor, false);
+        workingDir.toString(), resolveSubmissionFiles(), new DatasetCache(), taskExecutor, false);
   }
 
-  private Table<String, String, List<Path>> resolveSubmissionFiles() {
-    return new LazyTable<String, String, List<Path>>(() -> {
+  private SubmissionFileManifest resolveSubmissionFiles() {
+    return new SubmissionFileManifest(new LazyTable<String, String, List<SubmissionFile>>(() -> {
       List<SubmissionFileSchema> metadata = SubmissionFiles.getMetadata();
 
       return submissionFileSystem.getFiles(TEST_FIXTURES_DIR, PROJECTS, metadata);
-    });
+    }));
   }
 
 }
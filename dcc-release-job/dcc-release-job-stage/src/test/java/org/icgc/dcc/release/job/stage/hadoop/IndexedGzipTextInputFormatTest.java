@@ -0,0 +1,223 @@
+/*
+ * Copyright (c) 2015 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.release.job.stage.hadoop;
+
+import static com.google.common.base.Charsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.util.List;
+import java.util.Random;
+import java.util.zip.GZIPOutputStream;
+
+import lombok.Cleanup;
+import lombok.val;
+
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.mapred.InputSplit;
+import org.apache.hadoop.mapred.JobConf;
+import org.apache.hadoop.mapred.Reporter;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.google.common.collect.Lists;
+import com.google.common.io.Files;
+
+public class IndexedGzipTextInputFormatTest {
+
+  /**
+   * Constants.
+   */
+  private static final int LINE_COUNT = 20000;
+  private static final int MEMBER_SIZE = 97;
+  private static final long SPAN = 1024L;
+
+  @Rule
+  public TemporaryFolder tmp = new TemporaryFolder();
+
+  @Test
+  public void testGetSplits_multiMember() throws Exception {
+    val file = new File(tmp.getRoot(), "ssm_p.txt.gz");
+    val expected = writeMembers(file, MEMBER_SIZE);
+
+    val job = createJobConf(file);
+    buildIndex(job, file);
+
+    val splits = getSplits(job);
+    assertThat(splits.length).isGreaterThan(1);
+    for (val split : splits) {
+      assertThat(split).isInstanceOf(GzipIndexSplit.class);
+    }
+
+    assertThat(readLines(job, splits)).isEqualTo(expected);
+  }
+
+  @Test
+  public void testGetSplits_singleMember() throws Exception {
+    val file = new File(tmp.getRoot(), "ssm_p.txt.gz");
+    val expected = writeMembers(file, Integer.MAX_VALUE);
+
+    val job = createJobConf(file);
+    buildIndex(job, file);
+
+    val splits = getSplits(job);
+    assertThat(splits.length).isGreaterThan(1);
+    for (int i = 0; i < splits.length; i++) {
+      val point = ((GzipIndexSplit) splits[i]).getPoint();
+      assertThat(point.isHeader()).isEqualTo(i == 0);
+    }
+
+    assertThat(readLines(job, splits)).isEqualTo(expected);
+  }
+
+  @Test
+  public void testGetSplits_unindexed() throws Exception {
+    val file = new File(tmp.getRoot(), "ssm_p.txt.gz");
+    val expected = writeMembers(file, Integer.MAX_VALUE);
+
+    val job = createJobConf(file);
+    val splits = getSplits(job);
+    assertThat(splits).hasSize(1);
+    assertThat(splits[0]).isNotInstanceOf(GzipIndexSplit.class);
+    assertThat(readLines(job, splits)).isEqualTo(expected);
+  }
+
+  @Test
+  public void testReadIndex_cached() throws Exception {
+    val file = new File(tmp.getRoot(), "ssm_p.txt.gz");
+    writeMembers(file, Integer.MAX_VALUE);
+
+    val job = createJobConf(file);
+    val status = buildIndex(job, file);
+    val fileSystem = FileSystem.get(job);
+
+    val index = GzipIndex.readIndex(fileSystem, status).get();
+    assertThat(index.isIndexable()).isTrue();
+    assertThat(index.isCurrent(status)).isTrue();
+    assertThat(index.getPoints().get(0)).isEqualTo(GzipIndex.AccessPoint.START);
+    assertThat(GzipIndex.readIndex(fileSystem, status).get()).isEqualTo(index);
+  }
+
+  @Test
+  public void testBuildIndex_unindexable() throws Exception {
+    val file = new File(tmp.getRoot(), "ssm_p.txt.gz");
+    val bytes = new byte[4096];
+    new Random(1).nextBytes(bytes);
+    Files.write(bytes, file);
+
+    val job = createJobConf(file);
+    val status = buildIndex(job, file);
+
+    val index = GzipIndex.readIndex(FileSystem.get(job), status).get();
+    assertThat(index.isIndexable()).isFalse();
+    assertThat(index.getPoints()).isEmpty();
+
+    val splits = getSplits(job);
+    assertThat(splits).hasSize(1);
+    assertThat(splits[0]).isNotInstanceOf(GzipIndexSplit.class);
+  }
+
+  private static FileStatus buildIndex(JobConf job, File file) throws Exception {
+    val fileSystem = FileSystem.get(job);
+    val status = fileSystem.getFileStatus(new Path(file.toURI()));
+    GzipIndex.buildIndex(fileSystem, status, SPAN);
+
+    val indexPath = GzipIndex.getIndexPath(status.getPath());
+    assertThat(new File(indexPath.toUri())).exists();
+
+    return status;
+  }
+
+  private static InputSplit[] getSplits(JobConf job) throws Exception {
+    val format = new IndexedGzipTextInputFormat();
+    format.configure(job);
+
+    return format.getSplits(job, 1);
+  }
+
+  private static List<String> readLines(JobConf job, InputSplit[] splits) throws Exception {
+    val format = new IndexedGzipTextInputFormat();
+    format.configure(job);
+
+    val lines = Lists.<String> newArrayList();
+    for (val split : splits) {
+      @Cleanup
+      val reader = format.getRecordReader(split, job, Reporter.NULL);
+      val key = reader.createKey();
+      val value = reader.createValue();
+      while (reader.next(key, value)) {
+        if (lines.isEmpty()) {
+          assertThat(key.get()).isEqualTo(0L);
+        }
+
+        lines.add(value.toString());
+      }
+    }
+
+    return lines;
+  }
+
+  private static JobConf createJobConf(File file) {
+    val job = new JobConf();
+    job.setBoolean("fs.file.impl.disable.cache", true);
+    job.setLong("fs.local.block.size", 1024L);
+    IndexedGzipTextInputFormat.setInputPaths(job, new Path(file.toURI()));
+
+    return job;
+  }
+
+  /**
+   * Writes every {@code memberSize} bytes of the lines as a separate gzip member, so most members end mid-line. Values
+   * are random so that a single member has many deflate blocks.
+   */
+  private static List<String> writeMembers(File file, int memberSize) throws Exception {
+    val random = new Random(1);
+    val lines = Lists.<String> newArrayList();
+    val text = new StringBuilder();
+    for (int i = 0; i < LINE_COUNT; i++) {
+      val line = "line-" + i + "\tvalue-" + Long.toString(random.nextLong(), 36);
+      lines.add(line);
+      text.append(line).append('\n');
+    }
+
+    val bytes = text.toString().getBytes(UTF_8);
+
+    @Cleanup
+    val output = new FileOutputStream(file);
+    for (int offset = 0; offset < bytes.length; offset += memberSize) {
+      output.write(compress(bytes, offset, Math.min(memberSize, bytes.length - offset)));
+    }
+
+    return lines;
+  }
+
+  private static byte[] compress(byte[] bytes, int offset, int length) throws Exception {
+    val member = new ByteArrayOutputStream();
+    val gzip = new GZIPOutputStream(member);
+    gzip.write(bytes, offset, length);
+    gzip.close();
+
+    return member.toByteArray();
+  }
+
+}
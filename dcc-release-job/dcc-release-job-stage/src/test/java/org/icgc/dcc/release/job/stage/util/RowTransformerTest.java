@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2015 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.release.job.stage.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import lombok.val;
+
+import org.apache.hadoop.io.Text;
+import org.icgc.dcc.common.core.model.FieldNames;
+import org.icgc.dcc.common.core.model.ValueType;
+import org.icgc.dcc.release.core.submission.SubmissionFileField;
+import org.icgc.dcc.release.core.submission.SubmissionFileSchema;
+import org.junit.Test;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+
+public class RowTransformerTest {
+
+  @Test
+  public void testTransform() throws Exception {
+    val transformer = new RowTransformer(createSchema("donor"));
+    val row = transform(transformer, " DO1 \t1\t12\t0.5\tsecret\t40");
+
+    assertThat(row.get("donor_id").textValue()).isEqualTo("DO1");
+    assertThat(row.get("donor_sex").textValue()).isEqualTo("male");
+    assertThat(row.get("donor_age").longValue()).isEqualTo(12L);
+    assertThat(row.get("donor_weight").doubleValue()).isEqualTo(0.5);
+    assertThat(row.has("donor_secret")).isFalse();
+    assertThat(row.has("donor_secret_age")).isFalse();
+    assertThat(row.get(FieldNames.PROJECT_ID).textValue()).isEqualTo("PRJ-1");
+    assertThat(row).hasSize(5);
+  }
+
+  @Test
+  public void testTransform_missing() throws Exception {
+    val transformer = new RowTransformer(createSchema("donor"));
+    val row = transform(transformer, "DO1\t \t\t0.5\t\t");
+
+    assertThat(row.get("donor_sex").isNull()).isTrue();
+    assertThat(row.get("donor_age").isNull()).isTrue();
+    assertThat(row.has("donor_secret")).isFalse();
+  }
+
+  @Test
+  public void testTransform_skipCleanup() throws Exception {
+    val transformer = new RowTransformer(createSchema("ssm_p"));
+    val row = transform(transformer, "DO1\t2\t12\t0.5\tsecret\t40");
+
+    assertThat(row.get("donor_sex").textValue()).isEqualTo("female");
+    assertThat(row.get("donor_secret").textValue()).isEqualTo("secret");
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testTransform_missingValues() throws Exception {
+    val transformer = new RowTransformer(createSchema("donor"));
+    transform(transformer, "DO1\t1");
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testTransform_invalidType() throws Exception {
+    val transformer = new RowTransformer(createSchema("donor"));
+    transform(transformer, "DO1\t1\ttwelve\t0.5\tsecret\t40");
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testTransform_invalidControlledType() throws Exception {
+    val transformer = new RowTransformer(createSchema("donor"));
+    transform(transformer, "DO1\t1\t12\t0.5\tsecret\tforty");
+  }
+
+  private static ObjectNode transform(RowTransformer transformer, String line) {
+    val tokenizer = new TsvLineTokenizer();
+    tokenizer.tokenize(new Text(line));
+
+    return transformer.transform(tokenizer, "PRJ-1");
+  }
+
+  private static SubmissionFileSchema createSchema(String name) {
+    val terms = ImmutableMap.of("1", "male", "2", "female");
+
+    return new SubmissionFileSchema(name, name + "\\.txt", ImmutableList.of(
+        new SubmissionFileField("donor_id", ValueType.TEXT, false, null),
+        new SubmissionFileField("donor_sex", ValueType.TEXT, false, terms),
+        new SubmissionFileField("donor_age", ValueType.INTEGER, false, null),
+        new SubmissionFileField("donor_weight", ValueType.DECIMAL, false, null),
+        new SubmissionFileField("donor_secret", ValueType.TEXT, true, null),
+        new SubmissionFileField("donor_secret_age", ValueType.INTEGER, true, null)));
+  }
+
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2015 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.release.job.stage.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import lombok.val;
+
+import org.apache.hadoop.io.Text;
+import org.junit.Test;
+
+public class TsvLineTokenizerTest {
+
+  @Test
+  public void testTokenize() throws Exception {
+    val tokenizer = new TsvLineTokenizer();
+
+    assertThat(tokenizer.tokenize(new Text(" a \t\tc\t"))).isEqualTo(4);
+    assertThat(tokenizer.getTrimmedCell(0)).isEqualTo("a");
+    assertThat(tokenizer.getTrimmedCell(1)).isEmpty();
+    assertThat(tokenizer.getTrimmedCell(2)).isEqualTo("c");
+    assertThat(tokenizer.getTrimmedCell(3)).isEmpty();
+  }
+
+  @Test
+  public void testTokenize_reuse() throws Exception {
+    val tokenizer = new TsvLineTokenizer();
+    tokenizer.tokenize(new Text("a\tb\tc"));
+
+    assertThat(tokenizer.tokenize(new Text("d"))).isEqualTo(1);
+    assertThat(tokenizer.getTrimmedCell(0)).isEqualTo("d");
+  }
+
+  @Test
+  public void testTokenize_multiByte() throws Exception {
+    val tokenizer = new TsvLineTokenizer();
+    tokenizer.tokenize(new Text(" \u00e9t\u00e9 \t\u65e5\u672c"));
+
+    assertThat(tokenizer.getTrimmedCell(0)).isEqualTo("\u00e9t\u00e9");
+    assertThat(tokenizer.getTrimmedCell(1)).isEqualTo("\u65e5\u672c");
+  }
+
+  @Test
+  public void testTokenize_wide() throws Exception {
+    val line = new StringBuilder("0");
+    for (int i = 1; i < 100; i++) {
+      line.append('\t').append(i);
+    }
+
+    val tokenizer = new TsvLineTokenizer();
+
+    assertThat(tokenizer.tokenize(new Text(line.toString()))).isEqualTo(100);
+    assertThat(tokenizer.getTrimmedCell(99)).isEqualTo("99");
+  }
+
+  @Test(expected = IndexOutOfBoundsException.class)
+  public void testGetTrimmedCell_outOfBounds() throws Exception {
+    val tokenizer = new TsvLineTokenizer();
+    tokenizer.tokenize(new Text("a"));
+    tokenizer.getTrimmedCell(1);
+  }
+
+}
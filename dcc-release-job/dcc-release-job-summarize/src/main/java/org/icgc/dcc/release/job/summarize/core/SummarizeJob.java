@@ -18,6 +18,11 @@
 package org.icgc.dcc.release.job.summarize.core;
 
 import static com.google.common.base.Stopwatch.createStarted;
+import static org.icgc.dcc.release.job.summarize.util.Datasets.OBSERVATIONS;
+import static org.icgc.dcc.release.job.summarize.util.Datasets.OBSERVATIONS_CONSUMERS;
+
+import java.util.List;
+
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
@@ -30,6 +35,7 @@ import org.icgc.dcc.release.core.job.FileType;
 import org.icgc.dcc.release.core.job.GenericJob;
 import org.icgc.dcc.release.core.job.JobContext;
 import org.icgc.dcc.release.core.job.JobType;
+import org.icgc.dcc.release.core.task.TaskSpec;
 import org.icgc.dcc.release.job.summarize.task.DonorSummarizeTask;
 import org.icgc.dcc.release.job.summarize.task.FeatureTypeSummarizeTask;
 import org.icgc.dcc.release.job.summarize.task.GeneSetSummarizeTask;
@@ -42,6 +48,8 @@ import org.icgc.dcc.release.job.summarize.task.ResolveProjectSummaryTask;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import com.google.common.collect.ImmutableList;
+
 @Slf4j
 @Component
 @RequiredArgsConstructor(onConstructor = @__(@Autowired))
@@ -70,6 +78,20 @@ public class SummarizeJob extends GenericJob {
     summarize(jobContext);
   }
 
+  /**
+   * The values the driver resolves between the tasks are summaries of their inputs, hence counted as inputs.
+   */
+  @Override
+  public List<TaskSpec> getTaskSpecs() {
+    return ImmutableList.of(
+        GeneSetSummarizeTask.getSpec(),
+        DonorSummarizeTask.getSpec(),
+        ProjectSummarizeTask.getSpec(),
+        GeneSummarizeTask.getSpec(),
+        MutationSummarizeTask.getSpec(),
+        ReleaseSummarizeTask.getSpec());
+  }
+
   private void clean(JobContext jobContext) {
     delete(jobContext, OUTPUT_FILE_TYPES);
   }
@@ -77,6 +99,7 @@ public class SummarizeJob extends GenericJob {
   private void summarize(JobContext jobContext) {
     val watch = createStarted();
     log.info("Executing summary job...");
+    jobContext.getDatasetCache().register(OBSERVATIONS, OBSERVATIONS_CONSUMERS);
     jobContext.execute(new GeneSetSummarizeTask());
 
     val featureTypeSummary = new FeatureTypeSummarizeTask();
@@ -27,10 +27,10 @@ import static org.icgc.dcc.common.core.model.FieldNames.OBSERVATION_DONOR_ID;
 import static org.icgc.dcc.common.core.model.FieldNames.OBSERVATION_TYPE;
 import static org.icgc.dcc.release.core.function.Unwind.unwindToParent;
 import static org.icgc.dcc.release.core.job.FileType.CLINICAL;
-import static org.icgc.dcc.release.core.job.FileType.OBSERVATION_FI;
 import static org.icgc.dcc.release.core.util.ObjectNodes.mergeObjects;
 import static org.icgc.dcc.release.core.util.ObjectNodes.textValue;
 import static org.icgc.dcc.release.core.util.Tasks.resolveProjectName;
+import static org.icgc.dcc.release.job.summarize.util.Datasets.OBSERVATIONS;
 
 import java.util.Map;
 
@@ -48,6 +48,7 @@ import org.icgc.dcc.release.core.function.RetainFields;
 import org.icgc.dcc.release.core.job.FileType;
 import org.icgc.dcc.release.core.task.GenericTask;
 import org.icgc.dcc.release.core.task.TaskContext;
+import org.icgc.dcc.release.core.task.TaskSpec;
 import org.icgc.dcc.release.job.summarize.function.CreateDonorGenesSummary;
 import org.icgc.dcc.release.job.summarize.function.CreateDonorSummary;
 import org.icgc.dcc.release.job.summarize.function.MergeDonorSummary;
@@ -56,11 +57,17 @@ import org.icgc.dcc.release.job.summarize.function.RetainObservationConsequenceF
 import scala.Tuple2;
 
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Maps;
 
 @RequiredArgsConstructor
 public class DonorSummarizeTask extends GenericTask {
 
+  /**
+   * Constants.
+   */
+  private static final FileType OUTPUT_FILE_TYPE = FileType.DONOR_SUMMARY;
+
   @NonNull
   private final Broadcast<Map<String, Map<String, ObjectNode>>> projectDonorSummary;
 
@@ -80,7 +87,7 @@ public class DonorSummarizeTask extends GenericTask {
 
   @Override
   public void execute(TaskContext taskContext) {
-    val outputFileType = FileType.DONOR_SUMMARY;
+    val outputFileType = OUTPUT_FILE_TYPE;
 
     val projectName = resolveProjectName(taskContext);
     val summary = createDonorSummary(taskContext)
@@ -148,13 +155,26 @@ public class DonorSummarizeTask extends GenericTask {
         .mapToPair(new CreateDonorGenesSummary());
   }
 
+  /**
+   * @return the inputs and output of the task, including the feature type files the donor summaries are collected from
+   * by the {@link FeatureTypeSummarizeTask}
+   */
+  public static TaskSpec getSpec() {
+    val inputs = ImmutableList.<FileType> builder()
+        .add(CLINICAL, OBSERVATIONS.getFileType())
+        .addAll(FeatureTypeSummarizeTask.getInputFileTypes())
+        .build();
+
+    return TaskSpec.of(OUTPUT_FILE_TYPE.getId(), inputs, ImmutableList.of(OUTPUT_FILE_TYPE));
+  }
+
   // DCC-1401: Only ssm for now
   private Function<ObjectNode, Boolean> filterSsm() {
     return row -> textValue(row, OBSERVATION_TYPE).equals(SSM_TYPE.getId());
   }
 
   private JavaRDD<ObjectNode> readObservation(TaskContext taskContext) {
-    return readInput(taskContext, OBSERVATION_FI);
+    return readCachedInput(taskContext, OBSERVATIONS);
   }
 
   private JavaRDD<ObjectNode> readClinical(TaskContext taskContext) {
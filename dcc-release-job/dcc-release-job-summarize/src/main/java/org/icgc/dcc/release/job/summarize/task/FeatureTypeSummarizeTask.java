@@ -22,12 +22,14 @@ import static java.util.Collections.singletonMap;
 import static org.icgc.dcc.common.core.model.FieldNames.AVAILABLE_DATA_TYPES;
 import static org.icgc.dcc.common.core.model.FieldNames.DONOR_ID;
 import static org.icgc.dcc.common.core.model.FieldNames.DONOR_SUMMARY;
+import static org.icgc.dcc.common.core.model.FieldNames.LoaderFieldNames.OBSERVATION_ARRAY_NAME;
 import static org.icgc.dcc.common.core.model.FieldNames.LoaderFieldNames.OBSERVATION_TYPE;
 import static org.icgc.dcc.release.core.function.PairFunctions.sum;
 import static org.icgc.dcc.release.core.util.FeatureTypes.getFeatureTypes;
 import static org.icgc.dcc.release.core.util.ObjectNodes.mergeObjects;
 import static org.icgc.dcc.release.core.util.Tasks.resolveProjectName;
 
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 
@@ -40,6 +42,7 @@ import org.icgc.dcc.common.core.model.FeatureTypes.FeatureType;
 import org.icgc.dcc.common.core.model.FieldNames;
 import org.icgc.dcc.common.core.model.Marking;
 import org.icgc.dcc.release.core.function.KeyFields;
+import org.icgc.dcc.release.core.function.RetainFields;
 import org.icgc.dcc.release.core.job.FileType;
 import org.icgc.dcc.release.core.task.GenericTask;
 import org.icgc.dcc.release.core.task.TaskContext;
@@ -50,11 +53,17 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Table;
 
 public class FeatureTypeSummarizeTask extends GenericTask {
 
+  /**
+   * Fields of the feature type files used by the summary.
+   */
+  private static final String[] FIELDS = { DONOR_ID, OBSERVATION_TYPE, OBSERVATION_ARRAY_NAME };
+
   private final Table<String, FeatureType, Map<String, ObjectNode>> projectFeatureTypeDonors = create();
 
   @Override
@@ -66,6 +75,18 @@ public class FeatureTypeSummarizeTask extends GenericTask {
     }
   }
 
+  /**
+   * @return the feature type files summarized per donor
+   */
+  public static List<FileType> getInputFileTypes() {
+    val fileTypes = ImmutableList.<FileType> builder();
+    for (val featureType : getFeatureTypes()) {
+      fileTypes.add(resolveInputFileType(featureType));
+    }
+
+    return fileTypes.build();
+  }
+
   public Map<String, Map<String, ObjectNode>> getProjectFeatureTypeDonors() {
     // See: SparkWorkaroundUtils.toHashMap()
     val projectDonorSummary = Maps.<String, Map<String, ObjectNode>> newHashMap();
@@ -109,7 +130,7 @@ public class FeatureTypeSummarizeTask extends GenericTask {
 
   private Map<String, ObjectNode> createMapping(TaskContext taskContext, FeatureType featureType) {
     val fileType = resolveInputFileType(featureType);
-    JavaRDD<ObjectNode> input = readInput(taskContext, fileType);
+    JavaRDD<ObjectNode> input = readInput(taskContext, fileType).map(new RetainFields(FIELDS));
     if (FeatureType.SSM_TYPE.equals(featureType)) {
       input = input.filter(filterControlled());
     }
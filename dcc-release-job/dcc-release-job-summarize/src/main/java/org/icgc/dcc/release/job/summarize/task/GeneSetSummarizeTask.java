@@ -32,13 +32,21 @@ import org.icgc.dcc.release.core.function.RetainFields;
 import org.icgc.dcc.release.core.job.FileType;
 import org.icgc.dcc.release.core.task.GenericTask;
 import org.icgc.dcc.release.core.task.TaskContext;
+import org.icgc.dcc.release.core.task.TaskSpec;
 import org.icgc.dcc.release.core.task.TaskType;
 import org.icgc.dcc.release.job.summarize.function.AddGeneSetSummary;
 
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.collect.ImmutableList;
 
 public class GeneSetSummarizeTask extends GenericTask {
 
+  /**
+   * Constants.
+   */
+  private static final FileType GENE_SET_FILE_TYPE = FileType.GENE_SET;
+  private static final FileType GENE_FILE_TYPE = FileType.GENE;
+
   @Override
   public TaskType getType() {
     return TaskType.FILE_TYPE;
@@ -56,13 +64,18 @@ public class GeneSetSummarizeTask extends GenericTask {
     writeOutput(taskContext, summary, GENE_SET_SUMMARY);
   }
 
+  public static TaskSpec getSpec() {
+    return TaskSpec.of(GENE_SET_SUMMARY.getId(), ImmutableList.of(GENE_SET_FILE_TYPE, GENE_FILE_TYPE),
+        ImmutableList.of(GENE_SET_SUMMARY));
+  }
+
   private JavaPairRDD<String, ObjectNode> readGeneSets(TaskContext taskContext) {
-    return readInput(taskContext, FileType.GENE_SET)
+    return readInput(taskContext, GENE_SET_FILE_TYPE)
         .mapToPair(new KeyFields(GENE_SET_ID, GENE_SETS_TYPE));
   }
 
   private JavaPairRDD<String, String> readGenePairs(TaskContext taskContext) {
-    val genes = readInput(taskContext, FileType.GENE);
+    val genes = readInput(taskContext, GENE_FILE_TYPE);
     return genes
         .map(new RetainFields(GENE_SETS))
         .flatMap(unwind(GENE_SETS))
@@ -28,15 +28,23 @@ import org.icgc.dcc.release.core.function.KeyFields;
 import org.icgc.dcc.release.core.job.FileType;
 import org.icgc.dcc.release.core.task.GenericTask;
 import org.icgc.dcc.release.core.task.TaskContext;
+import org.icgc.dcc.release.core.task.TaskSpec;
 import org.icgc.dcc.release.core.task.TaskType;
 import org.icgc.dcc.release.job.summarize.function.CreateGeneSummary;
 import org.icgc.dcc.release.job.summarize.function.MergeGeneGeneSummary;
 
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.collect.ImmutableList;
 
 @RequiredArgsConstructor
 public class GeneSummarizeTask extends GenericTask {
 
+  /**
+   * Constants.
+   */
+  private static final FileType GENE_FILE_TYPE = FileType.GENE;
+  private static final FileType OUTPUT_FILE_TYPE = FileType.GENE_SUMMARY;
+
   @NonNull
   private final Broadcast<JavaPairRDD<String, ObjectNode>> geneStatsBroadcast;
 
@@ -45,6 +53,15 @@ public class GeneSummarizeTask extends GenericTask {
     return TaskType.FILE_TYPE;
   }
 
+  /**
+   * @return the inputs and output of the task, including the observations the gene stats are resolved from by the
+   * {@link ResolveGeneSummaryTask}
+   */
+  public static TaskSpec getSpec() {
+    return TaskSpec.of(OUTPUT_FILE_TYPE.getId(), ImmutableList.of(GENE_FILE_TYPE,
+        ResolveGeneSummaryTask.INPUT_FILE_TYPE), ImmutableList.of(OUTPUT_FILE_TYPE));
+  }
+
   @Override
   public void execute(TaskContext taskContext) {
     val geneStats = geneStatsBroadcast.getValue()
@@ -54,11 +71,11 @@ public class GeneSummarizeTask extends GenericTask {
     val output = genes
         .leftOuterJoin(geneStats)
         .map(new MergeGeneGeneSummary());
-    writeOutput(taskContext, output, FileType.GENE_SUMMARY);
+    writeOutput(taskContext, output, OUTPUT_FILE_TYPE);
   }
 
   private JavaPairRDD<String, ObjectNode> readGenes(TaskContext taskContext) {
-    return readInput(taskContext, FileType.GENE)
+    return readInput(taskContext, GENE_FILE_TYPE)
         .mapToPair(new KeyFields(GENE_ID));
   }
 
@@ -20,7 +20,7 @@ package org.icgc.dcc.release.job.summarize.task;
 import static com.google.common.base.Objects.firstNonNull;
 import static org.icgc.dcc.common.core.model.FieldNames.MUTATION_ID;
 import static org.icgc.dcc.release.core.job.FileType.MUTATION;
-import static org.icgc.dcc.release.core.job.FileType.OBSERVATION_FI;
+import static org.icgc.dcc.release.job.summarize.util.Datasets.OBSERVATIONS;
 
 import java.util.Set;
 
@@ -34,11 +34,13 @@ import org.icgc.dcc.release.core.function.KeyFieldsFunction;
 import org.icgc.dcc.release.core.function.RetainFields;
 import org.icgc.dcc.release.core.task.GenericTask;
 import org.icgc.dcc.release.core.task.TaskContext;
+import org.icgc.dcc.release.core.task.TaskSpec;
 import org.icgc.dcc.release.core.task.TaskType;
 
 import scala.Tuple2;
 
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 
 public class MutationSummarizeTask extends GenericTask {
@@ -63,6 +65,10 @@ public class MutationSummarizeTask extends GenericTask {
     writeOutput(taskContext, output, MUTATION);
   }
 
+  public static TaskSpec getSpec() {
+    return TaskSpec.of(MUTATION.getId(), ImmutableList.of(OBSERVATIONS.getFileType()), ImmutableList.of(MUTATION));
+  }
+
   private KeyFieldsFunction<ObjectNode> pairMutationIdMutation() {
     val valueFunction = new RetainFields(RETAIN_FIELDS);
 
@@ -85,7 +91,7 @@ public class MutationSummarizeTask extends GenericTask {
   }
 
   private JavaRDD<ObjectNode> readObservations(TaskContext taskContext) {
-    return readInput(taskContext, OBSERVATION_FI);
+    return readCachedInput(taskContext, OBSERVATIONS);
   }
 
 }
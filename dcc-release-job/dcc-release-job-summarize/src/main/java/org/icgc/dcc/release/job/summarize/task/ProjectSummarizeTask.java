@@ -35,9 +35,11 @@ import org.icgc.dcc.common.core.model.FieldNames;
 import org.icgc.dcc.release.core.job.FileType;
 import org.icgc.dcc.release.core.task.GenericTask;
 import org.icgc.dcc.release.core.task.TaskContext;
+import org.icgc.dcc.release.core.task.TaskSpec;
 import org.icgc.dcc.release.core.task.TaskType;
 
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.collect.ImmutableList;
 
 /**
  * Summarizes {@code Project} collection information.
@@ -77,6 +79,11 @@ import com.fasterxml.jackson.databind.node.ObjectNode;
 @RequiredArgsConstructor
 public class ProjectSummarizeTask extends GenericTask {
 
+  /**
+   * Constants.
+   */
+  private static final FileType PROJECT_FILE_TYPE = FileType.PROJECT;
+
   @NonNull
   private final Broadcast<Map<String, ObjectNode>> projectSummaryBroadcast;
 
@@ -85,6 +92,15 @@ public class ProjectSummarizeTask extends GenericTask {
     return TaskType.FILE_TYPE;
   }
 
+  /**
+   * @return the inputs and output of the task, including the donor summaries the project summaries are resolved from by
+   * the {@link ResolveProjectSummaryTask}
+   */
+  public static TaskSpec getSpec() {
+    return TaskSpec.of(PROJECT_SUMMARY.getId(), ImmutableList.of(PROJECT_FILE_TYPE,
+        ResolveProjectSummaryTask.INPUT_FILE_TYPE), ImmutableList.of(PROJECT_SUMMARY));
+  }
+
   @Override
   public void execute(TaskContext taskContext) {
     val output = readProjects(taskContext)
@@ -106,7 +122,7 @@ public class ProjectSummarizeTask extends GenericTask {
   }
 
   private JavaRDD<ObjectNode> readProjects(TaskContext taskContext) {
-    return readInput(taskContext, FileType.PROJECT);
+    return readInput(taskContext, PROJECT_FILE_TYPE);
   }
 
 }
@@ -53,15 +53,23 @@ import org.icgc.dcc.release.core.function.RetainFields;
 import org.icgc.dcc.release.core.job.FileType;
 import org.icgc.dcc.release.core.task.GenericTask;
 import org.icgc.dcc.release.core.task.TaskContext;
+import org.icgc.dcc.release.core.task.TaskSpec;
 import org.icgc.dcc.release.core.task.TaskType;
 import org.joda.time.DateTime;
 
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.collect.ImmutableList;
 import com.google.common.primitives.Ints;
 
 @RequiredArgsConstructor
 public class ReleaseSummarizeTask extends GenericTask {
 
+  /**
+   * Constants.
+   */
+  private static final FileType OUTPUT_FILE_TYPE = FileType.RELEASE_SUMMARY;
+  private static final FileType PROJECT_FILE_TYPE = FileType.PROJECT_SUMMARY;
+
   private final long donorsCount;
   private final long liveDonorsCount;
 
@@ -69,7 +77,12 @@ public class ReleaseSummarizeTask extends GenericTask {
   public void execute(TaskContext taskContext) {
     val release = createReleaseSummary(taskContext);
     val output = taskContext.getSparkContext().parallelize(singletonList(release));
-    writeOutput(taskContext, output, FileType.RELEASE_SUMMARY);
+    writeOutput(taskContext, output, OUTPUT_FILE_TYPE);
+  }
+
+  public static TaskSpec getSpec() {
+    return TaskSpec.of(OUTPUT_FILE_TYPE.getId(), ImmutableList.of(GENE_SUMMARY, MUTATION, PROJECT_FILE_TYPE),
+        ImmutableList.of(OUTPUT_FILE_TYPE));
   }
 
   private ObjectNode createReleaseSummary(TaskContext taskContext) {
@@ -178,7 +191,7 @@ public class ReleaseSummarizeTask extends GenericTask {
   }
 
   private JavaRDD<ObjectNode> readProjects(TaskContext taskContext) {
-    return readInput(taskContext, FileType.PROJECT_SUMMARY);
+    return readInput(taskContext, PROJECT_FILE_TYPE);
   }
 
 }
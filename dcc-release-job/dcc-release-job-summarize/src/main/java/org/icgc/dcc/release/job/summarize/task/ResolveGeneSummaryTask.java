@@ -28,6 +28,7 @@ import static org.icgc.dcc.release.core.util.FieldNames.SummarizeFieldNames.FAKE
 import static org.icgc.dcc.release.core.util.ObjectNodes.textValue;
 import static org.icgc.dcc.release.core.util.Tasks.resolveProjectName;
 import static org.icgc.dcc.release.core.util.Tuples.tuple;
+import static org.icgc.dcc.release.job.summarize.util.Datasets.OBSERVATIONS;
 
 import java.util.List;
 
@@ -52,6 +53,7 @@ import com.fasterxml.jackson.databind.node.ObjectNode;
 
 public class ResolveGeneSummaryTask extends GenericTask {
 
+  public static final FileType INPUT_FILE_TYPE = OBSERVATIONS.getFileType();
   private static final String MATCH_MUTATION_ID_REGEX = "[\\d\\w]*#";
 
   private final List<JavaPairRDD<String, ObjectNode>> geneDonorTypeCounts = newCopyOnWriteArrayList();
@@ -105,7 +107,7 @@ public class ResolveGeneSummaryTask extends GenericTask {
   private JavaRDD<ObjectNode> readObservations(TaskContext taskContext) {
     val retainGeneFields = new RetainGeneFields(OBSERVATION_DONOR_ID, OBSERVATION_TYPE, OBSERVATION_CONSEQUENCES,
         GENE_ID, MUTATION_ID);
-    return readInput(taskContext, FileType.OBSERVATION_FI)
+    return readCachedInput(taskContext, OBSERVATIONS)
         .map(new RetainFields(OBSERVATION_DONOR_ID, OBSERVATION_TYPE, OBSERVATION_CONSEQUENCES, MUTATION_ID))
         .flatMap(unwindToParent(OBSERVATION_CONSEQUENCES))
         .map(retainGeneFields);
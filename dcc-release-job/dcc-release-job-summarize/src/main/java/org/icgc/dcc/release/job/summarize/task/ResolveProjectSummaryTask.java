@@ -63,6 +63,8 @@ import com.google.common.collect.Maps;
 
 public class ResolveProjectSummaryTask extends GenericTask {
 
+  public static final FileType INPUT_FILE_TYPE = FileType.DONOR_SUMMARY;
+
   @Getter
   private final Map<String, ObjectNode> projectSummaries = Maps.newConcurrentMap();
 
@@ -207,13 +209,13 @@ public class ResolveProjectSummaryTask extends GenericTask {
   }
 
   private JavaRDD<ObjectNode> readDonorSummary(TaskContext taskContext) {
-    return readInput(taskContext, FileType.DONOR_SUMMARY)
+    return readInput(taskContext, INPUT_FILE_TYPE)
         .map(new RetainFields(FieldNames.DONOR_SUMMARY))
         .map(new PullUpField(FieldNames.DONOR_SUMMARY));
   }
 
   private JavaRDD<ObjectNode> readDonors(TaskContext taskContext) {
-    return readInput(taskContext, FileType.DONOR_SUMMARY);
+    return readInput(taskContext, INPUT_FILE_TYPE);
   }
 
 }
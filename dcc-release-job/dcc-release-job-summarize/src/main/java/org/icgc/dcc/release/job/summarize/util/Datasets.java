@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2016 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.release.job.summarize.util;
+
+import static lombok.AccessLevel.PRIVATE;
+import static org.icgc.dcc.common.core.model.FieldNames.MUTATION_ID;
+import static org.icgc.dcc.common.core.model.FieldNames.OBSERVATION_CONSEQUENCES;
+import static org.icgc.dcc.common.core.model.FieldNames.OBSERVATION_DONOR_ID;
+import static org.icgc.dcc.common.core.model.FieldNames.SubmissionFieldNames.SUBMISSION_MUTATION;
+import static org.icgc.dcc.common.core.model.FieldNames.SubmissionFieldNames.SUBMISSION_OBSERVATION_ASSEMBLY_VERSION;
+import static org.icgc.dcc.common.core.model.FieldNames.SubmissionFieldNames.SUBMISSION_OBSERVATION_CHROMOSOME;
+import static org.icgc.dcc.common.core.model.FieldNames.SubmissionFieldNames.SUBMISSION_OBSERVATION_CHROMOSOME_END;
+import static org.icgc.dcc.common.core.model.FieldNames.SubmissionFieldNames.SUBMISSION_OBSERVATION_CHROMOSOME_START;
+import static org.icgc.dcc.common.core.model.FieldNames.SubmissionFieldNames.SUBMISSION_OBSERVATION_MUTATION_TYPE;
+import static org.icgc.dcc.common.core.model.FieldNames.SubmissionFieldNames.SUBMISSION_OBSERVATION_REFERENCE_GENOME_ALLELE;
+import static org.icgc.dcc.release.core.job.DatasetCache.DatasetKey.datasetKey;
+import lombok.NoArgsConstructor;
+
+import org.icgc.dcc.common.core.model.FieldNames;
+import org.icgc.dcc.common.core.model.FieldNames.LoaderFieldNames;
+import org.icgc.dcc.release.core.job.DatasetCache.DatasetKey;
+import org.icgc.dcc.release.core.job.FileType;
+
+@NoArgsConstructor(access = PRIVATE)
+public final class Datasets {
+
+  /**
+   * {@link FileType#OBSERVATION_FI} projected to the fields used by the donor, gene and mutation summaries.
+   */
+  public static final DatasetKey OBSERVATIONS = datasetKey(FileType.OBSERVATION_FI,
+      MUTATION_ID,
+      OBSERVATION_DONOR_ID,
+      FieldNames.OBSERVATION_TYPE,
+      LoaderFieldNames.OBSERVATION_TYPE,
+      OBSERVATION_CONSEQUENCES,
+      SUBMISSION_OBSERVATION_REFERENCE_GENOME_ALLELE,
+      SUBMISSION_MUTATION,
+      SUBMISSION_OBSERVATION_MUTATION_TYPE,
+      SUBMISSION_OBSERVATION_CHROMOSOME,
+      SUBMISSION_OBSERVATION_CHROMOSOME_START,
+      SUBMISSION_OBSERVATION_CHROMOSOME_END,
+      SUBMISSION_OBSERVATION_ASSEMBLY_VERSION);
+
+  /**
+   * Number of summarize tasks reading {@link #OBSERVATIONS}.
+   */
+  public static final int OBSERVATIONS_CONSUMERS = 3;
+
+}
@@ -35,10 +35,12 @@ import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.spark.SparkConf;
 import org.apache.spark.api.java.JavaSparkContext;
+import org.icgc.dcc.release.core.job.DatasetCache;
 import org.icgc.dcc.release.core.job.DefaultJobContext;
 import org.icgc.dcc.release.core.job.FileType;
 import org.icgc.dcc.release.core.job.JobContext;
 import org.icgc.dcc.release.core.job.JobType;
+import org.icgc.dcc.release.core.submission.SubmissionFileManifest;
 import org.icgc.dcc.release.core.task.DefaultTaskContext;
 import org.icgc.dcc.release.core.task.TaskContext;
 import org.icgc.dcc.release.core.task.TaskExecutor;
@@ -56,7 +58,6 @@ import org.junit.rules.TemporaryFolder;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Maps;
-import com.google.common.collect.Table;
 import com.google.common.util.concurrent.MoreExecutors;
 
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
@@ -194,7 +195,7 @@ public abstract class AbstractJobTest {
   @SuppressWarnings("unchecked")
   protected JobContext createJobContext(JobType type, List<String> projectNames) {
     return new DefaultJobContext(type, RELEASE_VERSION, projectNames, "/dev/null",
-        workingDir.toString(), mock(Table.class), taskExecutor, false);
+        workingDir.toString(), mock(SubmissionFileManifest.class), new DatasetCache(), taskExecutor, false);
   }
 
   protected TaskContext createTaskContext(JobType jobType) {